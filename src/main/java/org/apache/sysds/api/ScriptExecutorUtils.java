@@ -28,6 +28,7 @@ import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.codegen.SpoofCompiler;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteManager;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.Data;
@@ -87,6 +88,9 @@ public class ScriptExecutorUtils {
 				ec.setGPUContexts(gCtxs);
 			}
 			rtprog.execute(ec);
+			
+			// wait for pending asynchronous writes before returning
+			AsyncWriteManager.waitForAllWrites();
 		} catch (Throwable e) {
 			throw e;
 		} finally { // ensure cleanup/shutdown
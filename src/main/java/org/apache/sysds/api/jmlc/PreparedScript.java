@@ -37,6 +37,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.AsyncWriteManager;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -443,6 +444,7 @@ public class PreparedScript implements ConfigurableAPI
 		
 		//core execute runtime program
 		_prog.execute(ec);
+		AsyncWriteManager.waitForAllWrites();
 		
 		//cleanup unnecessary outputs
 		_vars.removeAllNotIn(_outVarnames);
@@ -67,14 +67,22 @@ public class DMLConfig
 	public static final String DEFAULT_BLOCK_SIZE   = "sysds.defaultblocksize";
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
+	public static final String CP_ASYNC_WRITE       = "sysds.cp.async.write";
+	public static final String CP_SPILL_STORE       = "sysds.cp.spill.store";
+	public static final String CP_SPILL_MAXSIZE     = "sysds.cp.spill.maxsize";
+	public static final String CP_FRAME_COLUMNAR    = "sysds.cp.frame.columnar"; // boolean: write binary frames in columnar format
+	public static final String CP_NATIVE_LOCAL_FILES = "sysds.cp.native.localfiles"; // boolean: write/read native binary block files on local fs
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg";
 	public static final String COMPRESSED_LOSSY     = "sysds.compressed.lossy";
+	public static final String COMPRESSED_LOSSY_BOUND = "sysds.compressed.lossy.bound";
+	public static final String COMPRESSED_LOSSY_RELATIVE = "sysds.compressed.lossy.relative";
 	public static final String COMPRESSED_VALID_COMPRESSIONS = "sysds.compressed.valid.compressions";
 	public static final String COMPRESSED_OVERLAPPING = "sysds.compressed.overlapping"; 
 	public static final String COMPRESSED_SAMPLING_RATIO = "sysds.compressed.sampling.ratio"; 
 	public static final String COMPRESSED_COCODE    = "sysds.compressed.cocode"; 
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
+	public static final String COMPRESSED_COST_PROFILE = "sysds.compressed.costprofile";
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String CODEGEN              = "sysds.codegen.enabled"; //boolean
@@ -125,14 +133,22 @@ public class DMLConfig
 		_defaultVals.put(DEFAULT_BLOCK_SIZE,     String.valueOf(OptimizerUtils.DEFAULT_BLOCKSIZE) );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_ASYNC_WRITE,         "false" );
+		_defaultVals.put(CP_SPILL_STORE,         "false" );
+		_defaultVals.put(CP_SPILL_MAXSIZE,       "-1" );
+		_defaultVals.put(CP_FRAME_COLUMNAR,      "false" );
+		_defaultVals.put(CP_NATIVE_LOCAL_FILES,  "false" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.FALSE.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
+		_defaultVals.put(COMPRESSED_LOSSY_BOUND, "0.001" );
+		_defaultVals.put(COMPRESSED_LOSSY_RELATIVE, "true" );
 		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "SDC,DDC");
 		_defaultVals.put(COMPRESSED_OVERLAPPING, "true" );
 		_defaultVals.put(COMPRESSED_SAMPLING_RATIO, "0.01");
 		_defaultVals.put(COMPRESSED_COCODE,      "AUTO");
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
+		_defaultVals.put(COMPRESSED_COST_PROFILE, "none");
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
@@ -398,9 +414,11 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
-			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
-			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_ASYNC_WRITE, CP_SPILL_STORE, CP_SPILL_MAXSIZE, CP_FRAME_COLUMNAR, CP_NATIVE_LOCAL_FILES,
+			NATIVE_BLAS, NATIVE_BLAS_DIR,
+			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_LOSSY_BOUND, COMPRESSED_LOSSY_RELATIVE,
+			COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
+			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_COST_PROFILE,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, PRINT_GPU_MEMORY_INFO,
 			AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, 
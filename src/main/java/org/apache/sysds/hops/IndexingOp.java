@@ -21,8 +21,10 @@ package org.apache.sysds.hops;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.OpOp1;
 import org.apache.sysds.common.Types.OpOp2;
+import org.apache.sysds.common.Types.OpOpData;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.hops.AggBinaryOp.SparkAggType;
 import org.apache.sysds.hops.rewrite.HopRewriteUtils;
@@ -30,6 +32,7 @@ import org.apache.sysds.lops.Data;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.lops.RightIndex;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 
@@ -352,6 +355,13 @@ public class IndexingOp extends Hop
 			
 			//check for valid CP dimensions and matrix size
 			checkAndSetInvalidCPDimsAndSize();
+			
+			//read-indexing pushdown: CP right indexing directly reads the index
+			//range from large binary inputs (see MatrixObject.readMatrixRange)
+			if( _etype == ExecType.SPARK && isIndexedReadPushdownApplicable() ) {
+				_etype = ExecType.CP;
+				getInput().get(0).setRequiresCheckpoint(false);
+			}
 		}
 
 		if( getInput().get(0).getDataType()==DataType.LIST )
@@ -363,6 +373,28 @@ public class IndexingOp extends Hop
 		return _etype;
 	}
 
+	/**
+	 * Indicates if this right indexing directly consumes a persistent read of a
+	 * binary block matrix, which exceeds the local memory budget, while the output
+	 * fits in memory. In this case, the runtime reads only the blocks overlapping
+	 * the index range instead of the entire input.
+	 * 
+	 * @return true if read-indexing pushdown is applicable
+	 */
+	private boolean isIndexedReadPushdownApplicable() {
+		Hop input = getInput().get(0);
+		return MatrixObject.ALLOW_INDEXED_READ
+			&& getDataType() == DataType.MATRIX
+			&& input instanceof DataOp
+			&& ((DataOp)input).getOp() == OpOpData.PERSISTENTREAD
+			&& ((DataOp)input).getFileFormat() == FileFormat.BINARY
+			&& input.getParent().size() == 1
+			&& input.dimsKnown() && dimsKnown()
+			&& OptimizerUtils.isValidCPDimensions(getDim1(), getDim2())
+			&& input.getOutputMemEstimate() > OptimizerUtils.getLocalMemBudget()
+			&& getOutputMemEstimate() < OptimizerUtils.getLocalMemBudget();
+	}
+
 	private static IndexingMethod optFindIndexingMethod( boolean singleRow, boolean singleCol, long m1_dim1, long m1_dim2, long m2_dim1, long m2_dim2 )
 	{
 		if(    singleRow && m1_dim2 == m2_dim2 && m2_dim2!=-1
@@ -363,6 +363,19 @@ public class Data extends Lop
 				}
 			}
 
+			//compressed binary blocks are only written by CP (single-file format)
+			if(oparams.getFormat() == FileFormat.BINARY && getDataType() == DataType.MATRIX
+				&& getExecType() == ExecType.CP && getNamedInputLop(DataExpression.COMPRESSED) != null) {
+				Data compressedLop = (Data) getNamedInputLop(DataExpression.COMPRESSED);
+				if(compressedLop.isVariable())
+					throw new LopsException(this.printErrorLocation()
+						+ "Parameter " + DataExpression.COMPRESSED + " must be a literal for a seq operation.");
+				if(compressedLop.getBooleanValue()) {
+					sb.append(OPERAND_DELIMITOR);
+					sb.append(true);
+				}
+			}
+
 		}
 
 		if (_op.isWrite()) {
@@ -446,6 +459,13 @@ public class Data extends Lop
 				sb.append( createVarHDF5Helper() );
 			}
 
+			// Format-specific properties (compressed binary blocks, see metadata)
+			if ( oparams.getFormat() == FileFormat.BINARY && getDataType() == DataType.MATRIX
+				&& isCompressedBinary() ) {
+				sb.append(OPERAND_DELIMITOR);
+				sb.append(true);
+			}
+
 			// Frame-specific properties
 			if( getDataType()==DataType.FRAME ) {
 				Data schema = (Data) getNamedInputLop(DataExpression.SCHEMAPARAM);
@@ -459,6 +479,11 @@ public class Data extends Lop
 		}
 	}
 
+	private boolean isCompressedBinary() {
+		Data compressedLop = (Data) getNamedInputLop(DataExpression.COMPRESSED);
+		return compressedLop != null && !compressedLop.isVariable() && compressedLop.getBooleanValue();
+	}
+
 	/**
 	 * Helper function that attaches CSV format-specific properties to createvar instruction.
 	 * The set of properties that are attached for a READ operation is different from that for a WRITE operation.
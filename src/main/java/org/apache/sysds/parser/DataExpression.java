@@ -117,6 +117,7 @@ public class DataExpression extends DataIdentifier
 	public static final String HDF5_DATASET_NAME = "dataset";
 	
 	public static final String DELIM_SPARSE = "sparse";  // applicable only for write
+	public static final String COMPRESSED = "compressed";  // applicable only for binary matrices
 	
 	public static final Set<String> RAND_VALID_PARAM_NAMES = new HashSet<>(
 		Arrays.asList(RAND_ROWS, RAND_COLS, RAND_DIMS,
@@ -145,6 +146,8 @@ public class DataExpression extends DataIdentifier
 			LIBSVM_INDEX_DELIM,
 			//Parameters related to dataset name/HDF4 files.
 			HDF5_DATASET_NAME,
+			// Parameters related to compressed binary files.
+			COMPRESSED,
 			// Parameters related to privacy
 			PRIVACY, FINE_GRAINED_PRIVACY));
 
@@ -157,7 +160,9 @@ public class DataExpression extends DataIdentifier
 			// Parameters related to delimited/libsvm files.
 			LIBSVM_INDEX_DELIM,
 			//Parameters related to dataset name/HDF4 files.
-			HDF5_DATASET_NAME));
+			HDF5_DATASET_NAME,
+			// Parameters related to compressed binary files.
+			COMPRESSED));
 	
 	/* Default Values for delimited (CSV/LIBSVM) files */
 	public static final String  DEFAULT_DELIM_DELIMITER = ",";
@@ -1372,6 +1377,17 @@ public class DataExpression extends DataIdentifier
 					}
 				}
 			
+			//validate compressed binary write (literal boolean, binary format only)
+			if( getVarParam(COMPRESSED) != null ) {
+				if( !(getVarParam(COMPRESSED) instanceof BooleanIdentifier) )
+					raiseValidateError("Write parameter " + COMPRESSED
+						+ " must be a boolean literal, but is " + getVarParam(COMPRESSED), conditional);
+				if( getVarParam(FORMAT_TYPE) == null
+					|| !getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.BINARY.toString()) )
+					raiseValidateError("Write parameter " + COMPRESSED
+						+ " is only supported for format " + FileFormat.BINARY.toString(), conditional);
+			}
+			
 			//validate read filename
 			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString()))
 				getOutput().setBlocksize(-1);
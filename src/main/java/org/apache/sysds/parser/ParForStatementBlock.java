@@ -370,6 +370,14 @@ public class ParForStatementBlock extends ForStatementBlock
 			.filter(var -> read.isMatrix(var)).collect(Collectors.toList());
 	}
 
+	public List<String> getReadOnlyParentMatrixOrFrameVars() {
+		VariableSet read = variablesRead();
+		VariableSet updated = variablesUpdated();
+		return liveIn().getVariableNames().stream() //read-only vars
+			.filter(var -> read.containsVariable(var) && !updated.containsVariable(var))
+			.filter(var -> read.isMatrixOrFrame(var)).collect(Collectors.toList());
+	}
+
 	/**
 	 * Determines the PDataPartitioningFormat for read-only parent variables according
 	 * to the access pattern of that variable within the parfor statement block.
@@ -82,6 +82,11 @@ public class VariableSet
 			&& _variables.get(name).getDataType().isMatrix();
 	}
 	
+	public boolean isMatrixOrFrame(String name) {
+		return _variables.containsKey(name)
+			&& _variables.get(name).getDataType().isMatrixOrFrame();
+	}
+	
 	@Override
 	public String toString() {
 		return Arrays.toString(
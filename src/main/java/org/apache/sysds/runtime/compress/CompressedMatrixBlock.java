@@ -48,20 +48,25 @@ import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupCompressed;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.cost.InstructionTypeCounter;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable;
 import org.apache.sysds.runtime.compress.lib.CLALibCompAgg;
+import org.apache.sysds.runtime.compress.lib.CLALibGroupedAgg;
+import org.apache.sysds.runtime.compress.lib.CLALibLeftIndexing;
 import org.apache.sysds.runtime.compress.lib.CLALibLeftMultBy;
 import org.apache.sysds.runtime.compress.lib.CLALibReExpand;
+import org.apache.sysds.runtime.compress.lib.CLALibRemoveEmpty;
 import org.apache.sysds.runtime.compress.lib.CLALibRightMultBy;
 import org.apache.sysds.runtime.compress.lib.CLALibScalar;
 import org.apache.sysds.runtime.compress.lib.CLALibSquash;
+import org.apache.sysds.runtime.compress.lib.CLALibStatistics;
+import org.apache.sysds.runtime.compress.lib.CLALibUnary;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -72,6 +77,7 @@ import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
 import org.apache.sysds.runtime.functionobjects.Mean;
 import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
 import org.apache.sysds.runtime.functionobjects.SwapIndex;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
@@ -100,7 +106,6 @@ import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
-import org.apache.sysds.runtime.util.SortUtils;
 import org.apache.sysds.utils.DMLCompressionStatistics;
 
 public class CompressedMatrixBlock extends MatrixBlock {
@@ -125,6 +130,12 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	 */
 	protected SoftReference<MatrixBlock> decompressedVersion;
 
+	/**
+	 * Counter of the operations executed on this block, used as feedback to the compression cost model. Null if the
+	 * operations are not observed.
+	 */
+	protected transient InstructionTypeCounter workloadCounter = null;
+
 	/**
 	 * Constructor for building an empty Compressed Matrix block object.
 	 * 
@@ -209,6 +220,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			}
 			return decompressedVersion.get();
 		}
+		if(workloadCounter != null)
+			workloadCounter.incDecompressions();
 		
 
 		long nnz = getNonZeros() == -1 ? recomputeNonZeros() : nonZeros;
@@ -272,6 +285,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			}
 			return decompressedVersion.get();
 		}
+		if(workloadCounter != null)
+			workloadCounter.incDecompressions();
 
 		MatrixBlock ret = getUncompressedColGroupAndRemoveFromListOfColGroups();
 		if(ret != null && getColGroups().size() == 0)
@@ -464,11 +479,15 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock scalarOperations(ScalarOperator sop, MatrixValue result) {
+		if(workloadCounter != null)
+			workloadCounter.incDictionaryOps();
 		return CLALibScalar.scalarOperations(sop, this, result);
 	}
 
 	@Override
 	public MatrixBlock binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
+		if(workloadCounter != null)
+			workloadCounter.incDictionaryOps();
 		return CLALibBinaryCellOp.binaryOperations(op, this, thatValue, result);
 	}
 
@@ -485,10 +504,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock append(MatrixBlock that, MatrixBlock ret, boolean cbind) {
 		if(cbind) // use supported operation
 			return append(that, ret);
-		printDecompressWarning("append-rbind", that);
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		return left.append(right, ret, cbind);
+		return CLALibAppend.appendRows(this, that);
 	}
 
 	@Override
@@ -525,6 +541,11 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		if(isEmptyBlock(false))
 			return out;
 
+		if(workloadCounter != null) {
+			workloadCounter.incRightMultiplications();
+			workloadCounter.incLeftMultiplications();
+		}
+
 		BinaryOperator bop = new BinaryOperator(Multiply.getMultiplyFnObject());
 		boolean allowOverlap = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_OVERLAPPING);
 		MatrixBlock tmp = CLALibRightMultBy.rightMultByMatrix(this, v, null, k, allowOverlap);
@@ -604,6 +625,13 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		}
 
 		// create output matrix block
+		if(workloadCounter != null) {
+			if(right)
+				workloadCounter.incRightMultiplications();
+			else
+				workloadCounter.incLeftMultiplications();
+		}
+
 		if(right) {
 			boolean allowOverlap = ConfigurationManager.getDMLConfig()
 				.getBooleanValue(DMLConfig.COMPRESSED_OVERLAPPING);
@@ -637,6 +665,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			return aggregateBinaryOperations(m1, getUncompressed(m2), ret, op, transposeLeft, transposeRight);
 		}
 		else if(transposeLeft && !transposeRight) {
+			if(m1.workloadCounter != null)
+				m1.workloadCounter.incCompressedMultiplications();
+			if(m2 != m1 && m2.workloadCounter != null)
+				m2.workloadCounter.incCompressedMultiplications();
 			// Select witch compressed matrix to decompress.
 			if(m1.getNumColumns() > m2.getNumColumns()) {
 				ret = CLALibLeftMultBy.leftMultByMatrixTransposed(m1, m2, ret, op.getNumThreads());
@@ -672,6 +704,13 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			throw new NotImplementedException("Unary aggregate " + op.aggOp.increOp.fn + " not supported yet.");
 		}
 
+		if(workloadCounter != null) {
+			if(op.indexFn instanceof ReduceCol)
+				workloadCounter.incScans();
+			else
+				workloadCounter.incDictionaryOps();
+		}
+
 		return CLALibCompAgg.aggregateUnary(this, result, op, blen, indexesIn, inCP);
 	}
 
@@ -687,6 +726,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			if(isEmptyBlock()) {
 				return new MatrixBlock(clen, clen, true);
 			}
+			if(workloadCounter != null)
+				workloadCounter.incCompressedMultiplications();
 			// create output matrix block
 			if(out == null)
 				out = new MatrixBlock(clen, clen, false);
@@ -709,6 +750,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			MatrixBlock tmp = getUncompressed(this);
 			return tmp.replaceOperations(result, pattern, replacement);
 		}
+		else if(pattern == 0 || Double.isNaN(pattern)) {
+			// replace implicit zeros and NaNs via the value-wise function path
+			return CLALibUnary.replaceOperations(this, result, pattern, replacement);
+		}
 		else {
 
 			CompressedMatrixBlock ret = new CompressedMatrixBlock(getNumRows(), getNumColumns());
@@ -819,6 +864,15 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return sb.toString();
 	}
 
+	/**
+	 * Set the counter observing the operations executed on this block, used as feedback to the compression cost model.
+	 * 
+	 * @param counter The counter, or null to stop observing
+	 */
+	public void setWorkloadCounter(InstructionTypeCounter counter) {
+		workloadCounter = counter;
+	}
+
 	public boolean isOverlapping() {
 		return _colGroups.size() != 1 && overlappingColGroups;
 	}
@@ -897,6 +951,12 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		if(Builtin.isBuiltinCode(op.fn, BuiltinCode.ISNAN, BuiltinCode.ISNA) && !containsValue(op.getPattern()))
 			return new MatrixBlock(getNumRows(), getNumColumns(), 0); // avoid unnecessary allocation
 
+		if(CLALibUnary.isValueWise(op, this)) {
+			if(workloadCounter != null)
+				workloadCounter.incDictionaryOps();
+			return CLALibUnary.unaryOperations(op, this, result);
+		}
+
 		printDecompressWarning("unaryOperations " + op.fn.toString());
 		MatrixBlock tmp = getUncompressed();
 		return tmp.unaryOperations(op, result);
@@ -959,11 +1019,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock) thatValue);
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
-		return this;
+		MatrixBlock res = CLALibBinaryCellOp.binaryOperationsInPlace(op, this, thatValue);
+		return res == this ? this : updateInPlace(res);
 	}
 
 	@Override
@@ -1001,112 +1058,70 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock leftIndexingOperations(MatrixBlock rhsMatrix, int rl, int ru, int cl, int cu, MatrixBlock ret,
 		UpdateType update) {
-		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(rhsMatrix);
-		return left.leftIndexingOperations(right, rl, ru, cl, cu, ret, update);
+		MatrixBlock res = CLALibLeftIndexing.leftIndexing(this, rhsMatrix, rl, ru, cl, cu,
+			OptimizerUtils.getConstrainedNumThreads(-1));
+		return update.isInPlace() ? updateInPlace(res) : res;
 	}
 
 	@Override
 	public MatrixBlock leftIndexingOperations(ScalarObject scalar, int rl, int cl, MatrixBlock ret, UpdateType update) {
-		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.leftIndexingOperations(scalar, rl, cl, ret, update);
+		MatrixBlock rhs = new MatrixBlock(scalar.getDoubleValue());
+		return leftIndexingOperations(rhs, rl, rl, cl, cl, ret, update);
 	}
 
 	@Override
 	public MatrixBlock zeroOutOperations(MatrixValue result, IndexRange range, boolean complementary) {
-		printDecompressWarning("zeroOutOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.zeroOutOperations(result, range, complementary);
+		return CLALibLeftIndexing.zeroOut(this, range, complementary, OptimizerUtils.getConstrainedNumThreads(-1));
 	}
 
-	@Override
-	public CM_COV_Object cmOperations(CMOperator op) {
-		printDecompressWarning("cmOperations");
-		if(isEmptyBlock())
-			return super.cmOperations(op);
-		AColGroup grp = _colGroups.get(0);
-		MatrixBlock vals = grp.getValuesAsBlock();
-		if(grp instanceof ColGroupValue) {
-			MatrixBlock counts = getCountsAsBlock(((ColGroupValue) grp).getCounts());
-			if(counts.isEmpty())
-				return vals.cmOperations(op);
-			return vals.cmOperations(op, counts);
+	/**
+	 * Replace the content of this block with the given result of an update operation. Compressed results are adopted
+	 * column group wise, uncompressed results are wrapped in a single uncompressed column group.
+	 * 
+	 * @param res The result of the update
+	 * @return This block
+	 */
+	private MatrixBlock updateInPlace(MatrixBlock res) {
+		if(res instanceof CompressedMatrixBlock) {
+			CompressedMatrixBlock cres = (CompressedMatrixBlock) res;
+			_colGroups = cres._colGroups;
+			overlappingColGroups = cres.overlappingColGroups;
 		}
 		else {
-			return vals.cmOperations(op);
+			int[] cols = new int[clen];
+			for(int i = 0; i < clen; i++)
+				cols[i] = i;
+			allocateColGroup(new ColGroupUncompressed(cols, res, false));
+			overlappingColGroups = false;
 		}
+		nonZeros = res.getNonZeros();
+		decompressedVersion = null;
+		return this;
 	}
 
-	private static MatrixBlock getCountsAsBlock(int[] counts) {
-		if(counts != null) {
-			MatrixBlock ret = new MatrixBlock(counts.length, 1, false);
-			for(int i = 0; i < counts.length; i++)
-				ret.quickSetValue(i, 0, counts[i]);
-			return ret;
-		}
-		else
-			return new MatrixBlock(1, 1, false);
+	@Override
+	public CM_COV_Object cmOperations(CMOperator op) {
+		return CLALibStatistics.centralMoment(this, op, null);
 	}
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) {
-		printDecompressWarning("cmOperations");
-		MatrixBlock right = getUncompressed(weights);
-		if(isEmptyBlock())
-			return super.cmOperations(op, right);
-		AColGroup grp = _colGroups.get(0);
-		if(grp instanceof ColGroupUncompressed)
-			return ((ColGroupUncompressed) grp).getData().cmOperations(op);
-		return getUncompressed().cmOperations(op, right);
+		return CLALibStatistics.centralMoment(this, op, getUncompressed(weights));
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		return left.covOperations(op, right);
+		return CLALibStatistics.covariance(this, op, that, null);
 	}
 
 	@Override
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) {
-		printDecompressWarning("covOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right1 = getUncompressed(that);
-		MatrixBlock right2 = getUncompressed(weights);
-		return left.covOperations(op, right1, right2);
+		return CLALibStatistics.covariance(this, op, that, getUncompressed(weights));
 	}
 
 	@Override
 	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
-		MatrixBlock right = getUncompressed(weights);
-		if(_colGroups.size() == 1) {
-			AColGroup grp = _colGroups.get(0);
-			if(grp instanceof ColGroupEmpty || grp instanceof ColGroupConst)
-				return this;
-			printDecompressWarning("sortOperations");
-			if(grp instanceof ColGroupUncompressed)
-				return grp.getValuesAsBlock().sortOperations(right, result);
-
-			if(right == null && grp instanceof ColGroupCompressed) {
-				MatrixBlock vals = grp.getValuesAsBlock();
-				int[] counts = ((ColGroupValue) grp).getCounts();
-				double[] data = (vals.getDenseBlock() != null) ? vals.getDenseBlockValues() : null;
-				SortUtils.sortByValue(0, vals.getNumRows(), data, counts);
-				MatrixBlock counts2 = getCountsAsBlock(counts);
-				if(counts2.isEmpty())
-					return vals;
-				return vals.sortOperations(counts2, result);
-			}
-			else
-				return getUncompressed().sortOperations(right, result);
-		}
-		else {
-			printDecompressWarning("sortOperations with multiple column groups is not supported");
-			return getUncompressed().sortOperations(weights, result);
-		}
+		return CLALibStatistics.sort(this, weights == null ? null : getUncompressed(weights), result);
 	}
 
 	// @Override
@@ -1151,29 +1166,26 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
-		printDecompressWarning("groupedAggOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return CLALibGroupedAgg.groupedAggOperations(this, tgt, wghts, ret, ngroups, op, k);
 	}
 
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
-		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		return CLALibRemoveEmpty.rmempty(this, ret, rows, emptyReturn, select);
 	}
 
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn) {
-		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.removeEmptyOperations(ret, rows, emptyReturn);
+		return CLALibRemoveEmpty.rmempty(this, ret, rows, emptyReturn, null);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.isSupportedVector(this)) {
+			CLALibCTable.ctable(this, scalar, that, resultMap, resultBlock);
+			return;
+		}
 		printDecompressWarning("ctableOperations Var 1");
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
@@ -1183,6 +1195,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(!isOverlapping()) {
+			CLALibCTable.ctable(this, scalar, scalar2, resultMap, resultBlock);
+			return;
+		}
 		printDecompressWarning("ctableOperations Var 2");
 		MatrixBlock tmp = getUncompressed();
 		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
@@ -1199,6 +1215,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.isSupportedVector(this)) {
+			CLALibCTable.ctable(this, that, scalar, ignoreZeros, resultMap, resultBlock);
+			return;
+		}
 		printDecompressWarning("ctableOperations Var 4");
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
@@ -1209,22 +1229,22 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock ctableSeqOperations(MatrixValue that, double scalar, MatrixBlock resultBlock) {
 		printDecompressWarning("ctableOperations Var 5");
 		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		return left.ctableSeqOperations(right, scalar, resultBlock);
+		// a compressed right column vector is decoded via its tuple IDs
+		return left.ctableSeqOperations(that, scalar, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap) {
-		printDecompressWarning("ctableOperations Var 6");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right1 = getUncompressed(that);
-		MatrixBlock right2 = getUncompressed(that2);
-		left.ctableOperations(op, right1, right2, resultMap);
+		ctableOperations(op, that, that2, resultMap, null);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.isSupportedVector(this)) {
+			CLALibCTable.ctable(this, that, that2, resultMap, resultBlock);
+			return;
+		}
 		printDecompressWarning("ctableOperations Var 7");
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right1 = getUncompressed(that);
@@ -1234,6 +1254,9 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock ternaryOperations(TernaryOperator op, MatrixBlock m2, MatrixBlock m3, MatrixBlock ret) {
+		if(CLALibUnary.isValueWise(this, m2, m3))
+			return CLALibUnary.ternaryOperations(op, this, m2, m3);
+
 		printDecompressWarning("ternaryOperations  " + op.fn);
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right1 = getUncompressed(m2);
@@ -32,14 +32,18 @@ import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.cost.CostEstimatorFactory;
 import org.apache.sysds.runtime.compress.cost.ICostEstimate;
 import org.apache.sysds.runtime.compress.cost.MemoryCostEstimator;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimatorFactory;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.compress.lib.CLALibLossy;
 import org.apache.sysds.runtime.compress.utils.DblArrayIntListHashMap;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -72,6 +76,12 @@ public class CompressedMatrixBlockFactory {
 	private int phase = 0;
 	/** Compression information gathered through the sampling, used for the actual compression decided */
 	private CompressedSizeInfo coCodeColGroups;
+	/** Columns that are cheaper to process uncompressed given the calibrated cost model, null if none */
+	private int[] uncompressedColumns;
+	/** Quantization step per column if the compression is lossy, null otherwise */
+	private double[] quantizationSteps;
+	/** The original matrix if the compressed input is a quantized copy, returned if the compression is aborted */
+	private MatrixBlock lossyOriginal;
 	/** The main cost estimator used for the compression */
 	private ICostEstimate costEstimator;
 
@@ -188,6 +198,8 @@ public class CompressedMatrixBlockFactory {
 		_stats.originalSize = mb.getInMemorySize();
 
 		res = new CompressedMatrixBlock(mb); // copy metadata.
+		if(compSettings.lossy)
+			quantize();
 		classifyPhase();
 		if(coCodeColGroups == null)
 			return abortCompression();
@@ -222,10 +234,47 @@ public class CompressedMatrixBlockFactory {
 		coCodeColGroups = CoCoderFactory.findCoCodesByPartitioning(sizeEstimator, sizeInfos, k, costEstimator,
 			compSettings);
 
+		if(costEstimator instanceof ComputationCostEstimator && ((ComputationCostEstimator) costEstimator).isCalibrated())
+			extractUncompressedColumns((ComputationCostEstimator) costEstimator);
+
 		_stats.estimatedSizeCoCoded = coCodeColGroups.memoryEstimate();
 		logPhase();
 	}
 
+	/**
+	 * Remove the column groups that are estimated to be cheaper to process uncompressed than compressed from the
+	 * compression plan. Their columns are combined into one uncompressed column group in the compression phase.
+	 * 
+	 * @param cost The calibrated cost estimator
+	 */
+	private void extractUncompressedColumns(ComputationCostEstimator cost) {
+		final List<CompressedSizeInfoColGroup> compressed = new ArrayList<>();
+		final List<CompressedSizeInfoColGroup> uncompressed = new ArrayList<>();
+		for(CompressedSizeInfoColGroup g : coCodeColGroups.getInfo()) {
+			if(cost.getUncompressedCostOfColumnGroup(g) < cost.getCostOfColumnGroup(g))
+				uncompressed.add(g);
+			else
+				compressed.add(g);
+		}
+
+		if(uncompressed.isEmpty())
+			return;
+
+		int nCols = 0;
+		for(CompressedSizeInfoColGroup g : uncompressed)
+			nCols += g.getColumns().length;
+		uncompressedColumns = new int[nCols];
+		int off = 0;
+		for(CompressedSizeInfoColGroup g : uncompressed)
+			for(int c : g.getColumns())
+				uncompressedColumns[off++] = c;
+		Arrays.sort(uncompressedColumns);
+
+		if(LOG.isDebugEnabled())
+			LOG.debug("Columns left uncompressed based on cost: " + Arrays.toString(uncompressedColumns));
+		coCodeColGroups.setInfo(compressed);
+	}
+
 	private void transposePhase() {
 		boolean sparse = mb.isInSparseFormat();
 		transposeHeuristics();
@@ -254,8 +303,24 @@ public class CompressedMatrixBlockFactory {
 		}
 	}
 
+	private void quantize() {
+		quantizationSteps = CLALibLossy.getQuantizationSteps(mb, compSettings);
+		Pair<MatrixBlock, Double> q = CLALibLossy.quantize(mb, quantizationSteps);
+		lossyOriginal = mb;
+		mb = q.getKey();
+		_stats.lossy = true;
+		_stats.maxError = q.getValue();
+		if(LOG.isDebugEnabled())
+			LOG.debug("--lossy max error: " + _stats.maxError);
+	}
+
 	private void compressPhase() {
-		res.allocateColGroupList(ColGroupFactory.compressColGroups(mb, coCodeColGroups, compSettings, k));
+		List<AColGroup> groups = ColGroupFactory.compressColGroups(mb, coCodeColGroups, compSettings, k);
+		if(uncompressedColumns != null)
+			groups.add(new ColGroupUncompressed(uncompressedColumns, mb, compSettings.transposed));
+		if(quantizationSteps != null)
+			groups = CLALibLossy.quantizeDictionaries(groups, quantizationSteps);
+		res.allocateColGroupList(groups);
 		_stats.compressedInitialSize = res.getInMemorySize();
 		logPhase();
 	}
@@ -342,6 +407,7 @@ public class CompressedMatrixBlockFactory {
 			res = null;
 			setNextTimePhase(time.stop());
 			DMLCompressionStatistics.addCompressionTime(getLastTimePhase(), phase);
+			_stats.setPhaseTime(phase, getLastTimePhase());
 			return;
 		}
 
@@ -356,6 +422,9 @@ public class CompressedMatrixBlockFactory {
 	private Pair<MatrixBlock, CompressionStatistics> abortCompression() {
 		LOG.warn("Compression aborted at phase: " + phase);
 
+		if(lossyOriginal != null)
+			return new ImmutablePair<>(lossyOriginal, _stats);
+
 		if(compSettings.transposed)
 			LibMatrixReorg.transposeInPlace(mb, k);
 
@@ -365,6 +434,7 @@ public class CompressedMatrixBlockFactory {
 	private void logPhase() {
 		setNextTimePhase(time.stop());
 		DMLCompressionStatistics.addCompressionTime(getLastTimePhase(), phase);
+		_stats.setPhaseTime(phase, getLastTimePhase());
 		if(LOG.isDebugEnabled()) {
 			switch(phase) {
 				case 0:
@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.compress;
 
 import java.util.EnumSet;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -72,6 +73,18 @@ public class CompressionSettings {
 	/** True if lossy compression is enabled */
 	public final boolean lossy;
 
+	/**
+	 * The maximum error allowed per value in lossy compression, for all columns without a column specific bound. The
+	 * bound is absolute, or relative to the largest absolute value of the column if lossyRelativeError is set.
+	 */
+	public final double lossyErrorBound;
+
+	/** True if the lossy error bounds are relative to the largest absolute value of each column */
+	public final boolean lossyRelativeError;
+
+	/** Column specific lossy error bounds overriding lossyErrorBound, null if none are set */
+	public final Map<Integer, Double> lossyColumnErrorBounds;
+
 	/** The selected method for column partitioning used in CoCoding compressed columns */
 	public final PartitionerType columnPartitioner;
 
@@ -110,7 +123,8 @@ public class CompressionSettings {
 	public boolean transposed = false;
 
 	protected CompressionSettings(double samplingRatio, boolean allowSharedDictionary, String transposeInput,
-		boolean skipList, int seed, boolean lossy, EnumSet<CompressionType> validCompressions,
+		boolean skipList, int seed, boolean lossy, double lossyErrorBound, boolean lossyRelativeError,
+		Map<Integer, Double> lossyColumnErrorBounds, EnumSet<CompressionType> validCompressions,
 		boolean sortValuesByLength, PartitionerType columnPartitioner, int maxColGroupCoCode, double coCodePercentage,
 		int minimumSampleSize, EstimationType estimationType, CostType costComputationType) {
 		this.samplingRatio = samplingRatio;
@@ -120,6 +134,9 @@ public class CompressionSettings {
 		this.seed = seed;
 		this.validCompressions = validCompressions;
 		this.lossy = lossy;
+		this.lossyErrorBound = lossyErrorBound;
+		this.lossyRelativeError = lossyRelativeError;
+		this.lossyColumnErrorBounds = lossyColumnErrorBounds;
 		this.sortValuesByLength = sortValuesByLength;
 		this.columnPartitioner = columnPartitioner;
 		this.maxColGroupCoCode = maxColGroupCoCode;
@@ -139,6 +156,8 @@ public class CompressionSettings {
 		sb.append("\n DDC1 share dict: " + allowSharedDictionary);
 		sb.append("\n Partitioner: " + columnPartitioner);
 		sb.append("\n Lossy: " + lossy);
+		if(lossy)
+			sb.append("\n Lossy Error Bound: " + lossyErrorBound + (lossyRelativeError ? " relative" : " absolute"));
 		sb.append("\n sortValuesByLength: " + sortValuesByLength);
 		sb.append("\n column Partitioner: " + columnPartitioner);
 		sb.append("\n Max Static ColGroup CoCode: " + maxColGroupCoCode);
@@ -20,6 +20,8 @@
 package org.apache.sysds.runtime.compress;
 
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
@@ -38,6 +40,9 @@ public class CompressionSettingsBuilder {
 	private boolean skipList = true;
 	private int seed = -1;
 	private boolean lossy = false;
+	private double lossyErrorBound;
+	private boolean lossyRelativeError;
+	private Map<Integer, Double> lossyColumnErrorBounds = null;
 	private EnumSet<CompressionType> validCompressions;
 	private boolean sortValuesByLength = true;
 	private int maxColGroupCoCode = 10000;
@@ -51,6 +56,8 @@ public class CompressionSettingsBuilder {
 
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		this.lossy = conf.getBooleanValue(DMLConfig.COMPRESSED_LOSSY);
+		this.lossyErrorBound = conf.getDoubleValue(DMLConfig.COMPRESSED_LOSSY_BOUND);
+		this.lossyRelativeError = conf.getBooleanValue(DMLConfig.COMPRESSED_LOSSY_RELATIVE);
 		this.validCompressions = EnumSet.of(CompressionType.UNCOMPRESSED, CompressionType.CONST);
 		String[] validCompressionsString = conf.getTextValue(DMLConfig.COMPRESSED_VALID_COMPRESSIONS).split(",");
 		for(String comp : validCompressionsString)
@@ -74,6 +81,10 @@ public class CompressionSettingsBuilder {
 		this.skipList = that.skipList;
 		this.seed = that.seed;
 		this.lossy = that.lossy;
+		this.lossyErrorBound = that.lossyErrorBound;
+		this.lossyRelativeError = that.lossyRelativeError;
+		this.lossyColumnErrorBounds = that.lossyColumnErrorBounds != null ? new HashMap<>(
+			that.lossyColumnErrorBounds) : null;
 		this.validCompressions = EnumSet.copyOf(that.validCompressions);
 		this.sortValuesByLength = that.sortValuesByLength;
 		this.columnPartitioner = that.columnPartitioner;
@@ -94,6 +105,36 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the maximum error allowed per value in lossy compression for all columns. The values of each column are
+	 * quantized to the coarsest grid that keeps the error within the bound, and the dictionaries store the quantized
+	 * values in 8 or 16 bit.
+	 * 
+	 * @param bound    The maximum error
+	 * @param relative If the bound is relative to the largest absolute value of each column, otherwise absolute
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setLossyErrorBound(double bound, boolean relative) {
+		this.lossyErrorBound = bound;
+		this.lossyRelativeError = relative;
+		return this;
+	}
+
+	/**
+	 * Set the maximum error allowed per value in lossy compression for a specific column, in the same absolute or
+	 * relative unit as the overall bound. A bound of zero keeps the column lossless.
+	 * 
+	 * @param col   The column index
+	 * @param bound The maximum error
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setLossyErrorBound(int col, double bound) {
+		if(lossyColumnErrorBounds == null)
+			lossyColumnErrorBounds = new HashMap<>();
+		lossyColumnErrorBounds.put(col, bound);
+		return this;
+	}
+
 	/**
 	 * Set the sampling ratio in percent to sample the input matrix. Input value should be in range 0.0 - 1.0
 	 * 
@@ -288,7 +329,7 @@ public class CompressionSettingsBuilder {
 	 */
 	public CompressionSettings create() {
 		return new CompressionSettings(samplingRatio, allowSharedDictionary, transposeInput, skipList, seed, lossy,
-			validCompressions, sortValuesByLength, columnPartitioner, maxColGroupCoCode, coCodePercentage,
+			lossyErrorBound, lossyRelativeError, lossyColumnErrorBounds, validCompressions, sortValuesByLength, columnPartitioner, maxColGroupCoCode, coCodePercentage,
 			minimumSampleSize, estimationType, costType);
 	}
 }
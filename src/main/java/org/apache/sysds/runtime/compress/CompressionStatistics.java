@@ -43,6 +43,17 @@ public class CompressionStatistics {
 	// compressed size
 	public long size;
 
+	// lossy compression, and the maximum absolute error introduced
+	public boolean lossy;
+	public double maxError;
+
+	/** Names of the compression phases, in order of execution */
+	public static final String[] PHASES = new String[] {"Classify", "Grouping", "Transpose", "Compress", "Share",
+		"Cleanup"};
+
+	/** Time in milliseconds spent in each compression phase, indexed as PHASES */
+	private final double[] phaseTimes = new double[PHASES.length];
+
 	private Map<String, int[]> colGroupCounts;
 
 	/**
@@ -93,6 +104,46 @@ public class CompressionStatistics {
 		return sb.toString();
 	}
 
+	/**
+	 * Set the time spent in a compression phase.
+	 * 
+	 * @param phase The phase index, as in PHASES
+	 * @param time  The time in milliseconds
+	 */
+	protected void setPhaseTime(int phase, double time) {
+		if(phase < phaseTimes.length)
+			phaseTimes[phase] = time;
+	}
+
+	/**
+	 * Get the time spent in a compression phase.
+	 * 
+	 * @param phase The phase index, as in PHASES
+	 * @return The time in milliseconds
+	 */
+	public double getPhaseTime(int phase) {
+		return phaseTimes[phase];
+	}
+
+	/**
+	 * Get the total time spent in all compression phases.
+	 * 
+	 * @return The time in milliseconds
+	 */
+	public double getTotalTime() {
+		double t = 0;
+		for(double p : phaseTimes)
+			t += p;
+		return t;
+	}
+
+	public String getPhaseTimesString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < PHASES.length; i++)
+			sb.append(PHASES[i] + ":" + String.format("%.3f", phaseTimes[i]) + " ");
+		return sb.toString();
+	}
+
 	public double getRatio() {
 		return size == 0.0 ? Double.POSITIVE_INFINITY : (double) originalSize / size;
 	}
@@ -105,6 +156,9 @@ public class CompressionStatistics {
 		sb.append("Original Size    : " + originalSize);
 		sb.append("Compressed Size  : " + size);
 		sb.append("CompressionRatio : " + getRatio());
+		if(lossy)
+			sb.append("Lossy Max Error  : " + maxError);
+		sb.append("\n\tPhase Times [ms] : " + getPhaseTimesString() + "\n");
 		if(colGroupCounts != null){
 			sb.append("\t" + getGroupsTypesString() + "\n");
 			sb.append("\t" + getGroupsSizesString() + "\n");
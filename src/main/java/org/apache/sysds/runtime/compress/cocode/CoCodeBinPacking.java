@@ -22,17 +22,20 @@ package org.apache.sysds.runtime.compress.cocode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.cost.ICostEstimate;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
-import org.apache.sysds.runtime.compress.utils.Util;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 /**
  * Column group partitioning with bin packing heuristic.
@@ -56,7 +59,7 @@ public class CoCodeBinPacking extends AColumnCoCoder {
 	protected CoCodeBinPacking(CompressedSizeEstimator sizeEstimator, ICostEstimate costEstimator,
 		CompressionSettings cs) {
 		super(sizeEstimator, costEstimator, cs);
-		mem = new Memorizer();
+		mem = new Memorizer(sizeEstimator, cs);
 	}
 
 	@Override
@@ -172,6 +175,7 @@ public class CoCodeBinPacking extends AColumnCoCoder {
 	private CompressedSizeInfo getCoCodingGroupsBruteForce(CompressedSizeInfo bins, int k) {
 
 		List<CompressedSizeInfoColGroup> finalGroups = new ArrayList<>();
+		List<BinTask> tasks = new ArrayList<>();
 		// For each bin of columns that is allowed to potentially cocode.
 		for(CompressedSizeInfoColGroup bin : bins.getInfo()) {
 			final int len = bin.getColumns().length;
@@ -180,10 +184,27 @@ public class CoCodeBinPacking extends AColumnCoCoder {
 			else if(len == 1)
 				// early termination
 				finalGroups.add(bin);
+			else if(k > 1)
+				tasks.add(new BinTask(bin));
 			else
 				finalGroups.addAll(coCodeBruteForce(bin));
 		}
 
+		if(tasks.size() == 1)
+			finalGroups.addAll(tasks.get(0).call());
+		else if(!tasks.isEmpty()) {
+			// the bins are disjoint, therefore they can be searched independently sharing the memo table
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				for(Future<List<CompressedSizeInfoColGroup>> f : pool.invokeAll(tasks))
+					finalGroups.addAll(f.get());
+				pool.shutdown();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLCompressionException("Failed parallel bin packing co-coding", e);
+			}
+		}
+
 		bins.setInfo(finalGroups);
 		return bins;
 	}
@@ -242,8 +263,8 @@ public class CoCodeBinPacking extends AColumnCoCoder {
 				break;
 		}
 
-		LOG.debug(mem.stats());
-		mem.resetStats();
+		if(LOG.isDebugEnabled())
+			LOG.debug(mem.stats());
 
 		List<CompressedSizeInfoColGroup> ret = new ArrayList<>(workset.size());
 
@@ -253,92 +274,16 @@ public class CoCodeBinPacking extends AColumnCoCoder {
 		return ret;
 	}
 
-	protected class Memorizer {
-		private final Map<ColIndexes, CompressedSizeInfoColGroup> mem;
-		private int st1 = 0, st2 = 0, st3 = 0, st4 = 0;
-
-		public Memorizer() {
-			mem = new HashMap<>();
-		}
-
-		public void put(CompressedSizeInfoColGroup g) {
-			mem.put(new ColIndexes(g.getColumns()), g);
-		}
-
-		public CompressedSizeInfoColGroup get(CompressedSizeInfoColGroup g) {
-			return mem.get(new ColIndexes(g.getColumns()));
-		}
-
-		public CompressedSizeInfoColGroup get(int[] c) {
-			return mem.get(new ColIndexes(c));
-		}
-
-		public CompressedSizeInfoColGroup getOrCreate(int[] c1, int[] c2) {
-			final int[] c = Util.join(c1, c2);
-			final ColIndexes cI = new ColIndexes(Util.join(c1, c2));
-			CompressedSizeInfoColGroup g = mem.get(cI);
-			st2++;
-			if(g == null) {
-				final CompressedSizeInfoColGroup left = mem.get(new ColIndexes(c1));
-				final CompressedSizeInfoColGroup right = mem.get(new ColIndexes(c2));
-				final boolean leftConst = left.getBestCompressionType(_cs) == CompressionType.CONST &&
-					left.getNumOffs() == 0;
-				final boolean rightConst = right.getBestCompressionType(_cs) == CompressionType.CONST &&
-					right.getNumOffs() == 0;
-				if(leftConst)
-					g = CompressedSizeInfoColGroup.addConstGroup(c, right, _cs.validCompressions);
-				else if(rightConst)
-					g = CompressedSizeInfoColGroup.addConstGroup(c, left, _cs.validCompressions);
-				else {
-					st3++;
-					g = _sest.estimateJoinCompressedSize(left, right);
-				}
-
-				if(leftConst || rightConst)
-					st4++;
-
-				mem.put(cI, g);
-			}
-			return g;
-		}
-
-		public void incst1() {
-			st1++;
-		}
-
-		public String stats() {
-			return st1 + " " + st2 + " " + st3 + " " + st4;
-		}
-
-		public void resetStats() {
-			st1 = 0;
-			st2 = 0;
-			st3 = 0;
-			st4 = 0;
-		}
-
-		@Override
-		public String toString() {
-			return mem.toString();
-		}
-	}
-
-	private static class ColIndexes {
-		final int[] _indexes;
-
-		public ColIndexes(int[] indexes) {
-			_indexes = indexes;
-		}
+	private class BinTask implements Callable<List<CompressedSizeInfoColGroup>> {
+		private final CompressedSizeInfoColGroup _bin;
 
-		@Override
-		public int hashCode() {
-			return Arrays.hashCode(_indexes);
+		protected BinTask(CompressedSizeInfoColGroup bin) {
+			_bin = bin;
 		}
 
 		@Override
-		public boolean equals(Object that) {
-			ColIndexes thatGrp = (ColIndexes) that;
-			return Arrays.equals(_indexes, thatGrp._indexes);
+		public List<CompressedSizeInfoColGroup> call() {
+			return coCodeBruteForce(_bin);
 		}
 	}
 }
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- *
+ * 
  *   http://www.apache.org/licenses/LICENSE-2.0
- *
+ * 
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -20,92 +20,69 @@
 package org.apache.sysds.runtime.compress.cocode;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.runtime.compress.CompressionSettings;
-import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.cost.ICostEstimate;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
-import org.apache.sysds.runtime.compress.utils.Util;
-
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public class CoCodeGreedy extends AColumnCoCoder {
 
+	/** Minimum number of column groups in the workset before the candidate search is parallelized */
+	private static final int PAR_WORKSET_THRESHOLD = 64;
 
 	private final Memorizer mem;
 
 	protected CoCodeGreedy(CompressedSizeEstimator sizeEstimator, ICostEstimate costEstimator,
 		CompressionSettings cs) {
 		super(sizeEstimator, costEstimator, cs);
-		mem = new Memorizer();
+		mem = new Memorizer(sizeEstimator, cs);
 	}
 
 	@Override
 	protected CompressedSizeInfo coCodeColumns(CompressedSizeInfo colInfos, int k) {
 		for(CompressedSizeInfoColGroup g : colInfos.compressionInfo)
 			mem.put(g);
-		
-		colInfos.setInfo(coCodeBruteForce(colInfos.compressionInfo));
+
+		colInfos.setInfo(coCodeBruteForce(colInfos.compressionInfo, k));
 		return colInfos;
 	}
 
-	private List<CompressedSizeInfoColGroup> coCodeBruteForce(List<CompressedSizeInfoColGroup> inputColumns) {
+	private List<CompressedSizeInfoColGroup> coCodeBruteForce(List<CompressedSizeInfoColGroup> inputColumns, int k) {
 
 		List<int[]> workset = new ArrayList<>(inputColumns.size());
 
 		for(int i = 0; i < inputColumns.size(); i++)
 			workset.add(inputColumns.get(i).getColumns());
 
-		// process merging iterations until no more change
-		while(workset.size() > 1) {
-			double changeInSize = 0;
-			CompressedSizeInfoColGroup tmp = null;
-			int[] selected1 = null, selected2 = null;
-			for(int i = 0; i < workset.size(); i++) {
-				for(int j = i + 1; j < workset.size(); j++) {
-					final int[] c1 = workset.get(i);
-					final int[] c2 = workset.get(j);
-					final double costC1 = _cest.getCostOfColumnGroup(mem.get(c1));
-					final double costC2 = _cest.getCostOfColumnGroup(mem.get(c2));
-
-					mem.incst1();
-					// pruning filter : skip dominated candidates
-					// Since even if the entire size of one of the column lists is removed,
-					// it still does not improve compression
-					if(-Math.min(costC1, costC2) > changeInSize)
-						continue;
-
-					// Join the two column groups.
-					// and Memorize the new join.
-					final CompressedSizeInfoColGroup c1c2Inf = mem.getOrCreate(c1, c2);
-					final double costC1C2 = _cest.getCostOfColumnGroup(c1c2Inf);
-
-					final double newSizeChangeIfSelected = costC1C2 - costC1 - costC2;
-					// Select the best join of either the currently selected
-					// or keep the old one.
-					if((tmp == null && newSizeChangeIfSelected < changeInSize) || tmp != null &&
-						(newSizeChangeIfSelected < changeInSize || newSizeChangeIfSelected == changeInSize &&
-							c1c2Inf.getColumns().length < tmp.getColumns().length)) {
-						changeInSize = newSizeChangeIfSelected;
-						tmp = c1c2Inf;
-						selected1 = c1;
-						selected2 = c2;
-					}
+		final ExecutorService pool = k > 1 && workset.size() >= PAR_WORKSET_THRESHOLD ? CommonThreadPool.get(k) : null;
+		try {
+			// process merging iterations until no more change
+			while(workset.size() > 1) {
+				final Candidate best = pool != null && workset.size() >= PAR_WORKSET_THRESHOLD ? findBestJoinParallel(
+					workset, pool, k) : findBestJoin(workset, 0, 1);
+
+				if(best != null) {
+					// j > i, remove the higher index first
+					workset.remove(best.j);
+					workset.remove(best.i);
+					workset.add(best.g.getColumns());
 				}
+				else
+					break;
 			}
-
-			if(tmp != null) {
-				workset.remove(selected1);
-				workset.remove(selected2);
-				workset.add(tmp.getColumns());
-			}
-			else
-				break;
+		}
+		finally {
+			if(pool != null)
+				pool.shutdown();
 		}
 
 		LOG.debug(mem.stats());
@@ -119,92 +96,117 @@ public class CoCodeGreedy extends AColumnCoCoder {
 		return ret;
 	}
 
-	protected class Memorizer {
-		private final Map<ColIndexes, CompressedSizeInfoColGroup> mem;
-		private int st1 = 0, st2 = 0, st3 = 0, st4 = 0;
-
-		public Memorizer() {
-			mem = new HashMap<>();
-		}
-
-		public void put(CompressedSizeInfoColGroup g) {
-			mem.put(new ColIndexes(g.getColumns()), g);
-		}
-
-		public CompressedSizeInfoColGroup get(CompressedSizeInfoColGroup g) {
-			return mem.get(new ColIndexes(g.getColumns()));
+	private Candidate findBestJoinParallel(List<int[]> workset, ExecutorService pool, int k) {
+		try {
+			// stride the outer loop over the tasks to balance the triangular pair enumeration
+			List<SearchTask> tasks = new ArrayList<>(k);
+			for(int t = 0; t < k; t++)
+				tasks.add(new SearchTask(workset, t, k));
+			Candidate best = null;
+			for(Future<Candidate> f : pool.invokeAll(tasks)) {
+				final Candidate c = f.get();
+				if(c != null && c.isBetterThan(best))
+					best = c;
+			}
+			return best;
 		}
-
-		public CompressedSizeInfoColGroup get(int[] c) {
-			return mem.get(new ColIndexes(c));
+		catch(InterruptedException | ExecutionException e) {
+			throw new DMLCompressionException("Failed parallel greedy co-coding", e);
 		}
+	}
 
-		public CompressedSizeInfoColGroup getOrCreate(int[] c1, int[] c2) {
-			final int[] c = Util.join(c1, c2);
-			final ColIndexes cI = new ColIndexes(Util.join(c1, c2));
-			CompressedSizeInfoColGroup g = mem.get(cI);
-			st2++;
-			if(g == null) {
-				final CompressedSizeInfoColGroup left = mem.get(new ColIndexes(c1));
-				final CompressedSizeInfoColGroup right = mem.get(new ColIndexes(c2));
-				final boolean leftConst = left.getBestCompressionType(_cs) == CompressionType.CONST &&
-					left.getNumOffs() == 0;
-				final boolean rightConst = right.getBestCompressionType(_cs) == CompressionType.CONST &&
-					right.getNumOffs() == 0;
-				if(leftConst)
-					g = CompressedSizeInfoColGroup.addConstGroup(c, right, _cs.validCompressions);
-				else if(rightConst)
-					g = CompressedSizeInfoColGroup.addConstGroup(c, left, _cs.validCompressions);
-				else {
-					st3++;
-					g = _sest.estimateJoinCompressedSize(left, right);
+	/**
+	 * Find the best join among the pairs (i, j) with j &gt; i for every i = start + n * stride.
+	 * 
+	 * @param workset The current column groups
+	 * @param start   The first outer index to evaluate
+	 * @param stride  The step between outer indexes
+	 * @return The best candidate or null if no join improves the cost
+	 */
+	private Candidate findBestJoin(List<int[]> workset, int start, int stride) {
+		final int n = workset.size();
+		Candidate best = null;
+		double changeInSize = 0;
+		for(int i = start; i < n; i += stride) {
+			final int[] c1 = workset.get(i);
+			final double costC1 = _cest.getCostOfColumnGroup(mem.get(c1));
+			for(int j = i + 1; j < n; j++) {
+				final int[] c2 = workset.get(j);
+				final double costC2 = _cest.getCostOfColumnGroup(mem.get(c2));
+
+				mem.incst1();
+				// pruning filter : skip dominated candidates
+				// Since even if the entire size of one of the column lists is removed,
+				// it still does not improve compression
+				if(-Math.min(costC1, costC2) > changeInSize)
+					continue;
+
+				// Join the two column groups.
+				// and Memorize the new join.
+				final CompressedSizeInfoColGroup c1c2Inf = mem.getOrCreate(c1, c2);
+				final double costC1C2 = _cest.getCostOfColumnGroup(c1c2Inf);
+
+				final double newSizeChangeIfSelected = costC1C2 - costC1 - costC2;
+				// Select the best join of either the currently selected
+				// or keep the old one.
+				if((best == null && newSizeChangeIfSelected < changeInSize) || best != null &&
+					(newSizeChangeIfSelected < changeInSize || newSizeChangeIfSelected == changeInSize &&
+						c1c2Inf.getColumns().length < best.g.getColumns().length)) {
+					changeInSize = newSizeChangeIfSelected;
+					best = new Candidate(i, j, c1c2Inf, newSizeChangeIfSelected);
 				}
-
-				if(leftConst || rightConst)
-					st4++;
-
-				mem.put(cI, g);
 			}
-			return g;
-		}
-
-		public void incst1() {
-			st1++;
 		}
+		return best;
+	}
 
-		public String stats() {
-			return st1 + " " + st2 + " " + st3 + " " + st4;
-		}
+	private class SearchTask implements Callable<Candidate> {
+		private final List<int[]> _workset;
+		private final int _start;
+		private final int _stride;
 
-		public void resetStats() {
-			st1 = 0;
-			st2 = 0;
-			st3 = 0;
-			st4 = 0;
+		protected SearchTask(List<int[]> workset, int start, int stride) {
+			_workset = workset;
+			_start = start;
+			_stride = stride;
 		}
 
 		@Override
-		public String toString() {
-			return mem.toString();
+		public Candidate call() {
+			return findBestJoin(_workset, _start, _stride);
 		}
 	}
 
-	private static class ColIndexes {
-		final int[] _indexes;
-
-		public ColIndexes(int[] indexes) {
-			_indexes = indexes;
-		}
-
-		@Override
-		public int hashCode() {
-			return Arrays.hashCode(_indexes);
+	private static class Candidate {
+		private final int i;
+		private final int j;
+		private final CompressedSizeInfoColGroup g;
+		private final double change;
+
+		private Candidate(int i, int j, CompressedSizeInfoColGroup g, double change) {
+			this.i = i;
+			this.j = j;
+			this.g = g;
+			this.change = change;
 		}
 
-		@Override
-		public boolean equals(Object that) {
-			ColIndexes thatGrp = (ColIndexes) that;
-			return Arrays.equals(_indexes, thatGrp._indexes);
+		/**
+		 * Compare candidates in the same order as the sequential search, such that the parallel search selects the
+		 * same join: lower change, then fewer columns, then the first pair in enumeration order.
+		 * 
+		 * @param o The other candidate, can be null
+		 * @return If this candidate should be selected over o
+		 */
+		private boolean isBetterThan(Candidate o) {
+			if(o == null)
+				return true;
+			else if(change != o.change)
+				return change < o.change;
+			final int l = g.getColumns().length;
+			final int ol = o.g.getColumns().length;
+			if(l != ol)
+				return l < ol;
+			return i < o.i || i == o.i && j < o.j;
 		}
 	}
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.cocode;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.compress.utils.Util;
+
+/**
+ * Memo table of joint column group estimates, shared by the co-coding algorithms.
+ * 
+ * The table is safe for concurrent use, such that multiple threads searching for co-coding candidates can reuse each
+ * others joint estimates. Two threads requesting the same missing join might both estimate it, but since the estimate
+ * is deterministic the result is the same.
+ */
+public class Memorizer {
+	private final Map<ColIndexes, CompressedSizeInfoColGroup> mem;
+	private final CompressedSizeEstimator _sest;
+	private final CompressionSettings _cs;
+	private final AtomicInteger st1 = new AtomicInteger();
+	private final AtomicInteger st2 = new AtomicInteger();
+	private final AtomicInteger st3 = new AtomicInteger();
+	private final AtomicInteger st4 = new AtomicInteger();
+
+	public Memorizer(CompressedSizeEstimator sEst, CompressionSettings cs) {
+		mem = new ConcurrentHashMap<>();
+		_sest = sEst;
+		_cs = cs;
+	}
+
+	public void put(CompressedSizeInfoColGroup g) {
+		mem.put(new ColIndexes(g.getColumns()), g);
+	}
+
+	public CompressedSizeInfoColGroup get(CompressedSizeInfoColGroup g) {
+		return mem.get(new ColIndexes(g.getColumns()));
+	}
+
+	public CompressedSizeInfoColGroup get(int[] c) {
+		return mem.get(new ColIndexes(c));
+	}
+
+	public CompressedSizeInfoColGroup getOrCreate(int[] c1, int[] c2) {
+		final int[] c = Util.join(c1, c2);
+		final ColIndexes cI = new ColIndexes(c);
+		CompressedSizeInfoColGroup g = mem.get(cI);
+		st2.incrementAndGet();
+		if(g == null) {
+			final CompressedSizeInfoColGroup left = mem.get(new ColIndexes(c1));
+			final CompressedSizeInfoColGroup right = mem.get(new ColIndexes(c2));
+			final boolean leftConst = left.getBestCompressionType(_cs) == CompressionType.CONST &&
+				left.getNumOffs() == 0;
+			final boolean rightConst = right.getBestCompressionType(_cs) == CompressionType.CONST &&
+				right.getNumOffs() == 0;
+			if(leftConst)
+				g = CompressedSizeInfoColGroup.addConstGroup(c, right, _cs.validCompressions);
+			else if(rightConst)
+				g = CompressedSizeInfoColGroup.addConstGroup(c, left, _cs.validCompressions);
+			else {
+				st3.incrementAndGet();
+				g = _sest.estimateJoinCompressedSize(left, right);
+			}
+
+			if(leftConst || rightConst)
+				st4.incrementAndGet();
+
+			// keep the first inserted estimate if another thread was faster
+			final CompressedSizeInfoColGroup prev = mem.putIfAbsent(cI, g);
+			if(prev != null)
+				g = prev;
+		}
+		return g;
+	}
+
+	public void incst1() {
+		st1.incrementAndGet();
+	}
+
+	public String stats() {
+		return st1 + " " + st2 + " " + st3 + " " + st4;
+	}
+
+	public void resetStats() {
+		st1.set(0);
+		st2.set(0);
+		st3.set(0);
+		st4.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return mem.toString();
+	}
+
+	private static class ColIndexes {
+		final int[] _indexes;
+		final int _hash;
+
+		public ColIndexes(int[] indexes) {
+			_indexes = indexes;
+			_hash = Arrays.hashCode(indexes);
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(Object that) {
+			ColIndexes thatGrp = (ColIndexes) that;
+			return Arrays.equals(_indexes, thatGrp._indexes);
+		}
+	}
+}
@@ -46,7 +46,7 @@ public abstract class AColGroup implements Serializable {
 
 	/** Public super types of compression ColGroups supported */
 	public enum CompressionType {
-		UNCOMPRESSED, RLE, OLE, DDC, CONST, EMPTY, SDC
+		UNCOMPRESSED, RLE, OLE, DDC, CONST, EMPTY, SDC, FOR, DELTA
 	}
 
 	/**
@@ -55,7 +55,7 @@ public abstract class AColGroup implements Serializable {
 	 * Protected such that outside the ColGroup package it should be unknown which specific subtype is used.
 	 */
 	protected enum ColGroupType {
-		UNCOMPRESSED, RLE, OLE, DDC, CONST, EMPTY, SDC, SDCSingle, SDCSingleZeros, SDCZeros;
+		UNCOMPRESSED, RLE, OLE, DDC, CONST, EMPTY, SDC, SDCSingle, SDCSingleZeros, SDCZeros, FOR, DELTA;
 	}
 
 	/** The ColGroup Indexes contained in the ColGroup */
@@ -211,6 +211,26 @@ public abstract class AColGroup implements Serializable {
 			g.decompressToBlockUnSafe(target, rl, ru, rl);
 	}
 
+	/**
+	 * Decompress all rows of this column group into a new dense matrix block that only contains the columns of this
+	 * group, such that column j of the output is column getColIndices()[j] of the group.
+	 * 
+	 * @return The decompressed columns of this group
+	 */
+	public MatrixBlock decompressToColumnBlock() {
+		final int nRow = getNumRows();
+		final int nCol = _colIndexes.length;
+		final AColGroup tmp = copy();
+		tmp._colIndexes = new int[nCol];
+		for(int j = 0; j < nCol; j++)
+			tmp._colIndexes[j] = j;
+		final MatrixBlock ret = new MatrixBlock(nRow, nCol, false);
+		ret.allocateDenseBlock();
+		tmp.decompressToBlockUnSafe(ret, 0, nRow, 0);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
 	/**
 	 * Serializes column group to data output.
 	 * 
@@ -516,6 +536,24 @@ public abstract class AColGroup implements Serializable {
 	 */
 	public abstract AColGroup replace(double pattern, double replace);
 
+	/**
+	 * Append rows to this column group (rbind), by encoding the values of the new rows in the columns of this group
+	 * into extended index structures, and merging new distinct tuples into the dictionary.
+	 * 
+	 * @param right The uncompressed rows to append, containing all columns of the compressed matrix.
+	 * @return A new column group containing the rows of this group followed by the appended rows.
+	 */
+	public abstract AColGroup appendRows(MatrixBlock right);
+
+	/**
+	 * Select a subset of the rows of this column group (e.g., for removeEmpty), by remapping the index structures to
+	 * the selected rows while reusing the dictionary.
+	 * 
+	 * @param rows The sorted and distinct row indexes to select, containing at least one row.
+	 * @return A new column group containing only the selected rows, in the given order.
+	 */
+	public abstract AColGroup selectRows(int[] rows);
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -23,6 +23,8 @@ import java.util.Arrays;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -187,4 +189,21 @@ public class ColGroupConst extends ColGroupValue {
 	protected boolean sameIndexStructure(ColGroupCompressed that) {
 		return that instanceof ColGroupEmpty || that instanceof ColGroupConst;
 	}
+
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		return appendRowsOffsets(_colIndexes, _numRows, right, new TupleMap(nCol), getTuple(_dict, 0, nCol), null,
+			null);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return MapToFactory.create(_numRows, 1);
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return new ColGroupConst(_colIndexes, rows.length, _dict);
+	}
 }
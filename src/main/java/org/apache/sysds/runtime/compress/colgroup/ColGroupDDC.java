@@ -410,4 +410,28 @@ public class ColGroupDDC extends ColGroupValue {
 		return sb.toString();
 	}
 
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		final int nVals = getNumValues();
+		final TupleMap map = new TupleMap(nCol, _dict, nVals);
+		final int[] idx = new int[_numRows + right.getNumRows()];
+		int zeroID = -1;
+		for(int i = 0; i < _numRows; i++) {
+			int v = _data.getIndex(i);
+			if(v >= nVals) { // zero tuple not materialized in the dictionary (otherwise mapped to its ID)
+				if(zeroID < 0)
+					zeroID = map.getOrAdd(new double[nCol]);
+				v = zeroID;
+			}
+			idx[i] = v;
+		}
+		encodeRows(right, _colIndexes, map, idx, _numRows);
+		return createDDC(_colIndexes, map, idx);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return _data;
+	}
 }
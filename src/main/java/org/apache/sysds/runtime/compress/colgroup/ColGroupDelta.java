@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * Delta encoded column group. Each row is stored as the integer difference to the previous row, relative to the
+ * smallest difference and packed like the frame of reference group. This suits smooth sequences such as timestamps,
+ * identifiers and cumulative counters, where the values are spread out but neighbouring rows are close.
+ * 
+ * To decompress ranges of rows without decoding from the first row, the code at the start of every block of rows is
+ * kept as an anchor.
+ */
+public class ColGroupDelta extends ColGroupLinear {
+	private static final long serialVersionUID = -6420851796034170815L;
+
+	/** The number of rows between anchors */
+	protected static final int ANCHOR_SZ = DECODE_BLOCK_SZ;
+
+	/** The smallest difference between two neighbouring rows */
+	private double _delta;
+
+	/** The difference of each row to the previous row minus the smallest difference, the first row is unused */
+	private AMapToData _data;
+
+	/** Lazily computed code at the first row of each block of ANCHOR_SZ rows */
+	private transient double[] _anchors;
+
+	/**
+	 * Constructor for serialization
+	 * 
+	 * @param numRows Number of rows contained
+	 */
+	protected ColGroupDelta(int numRows) {
+		super(numRows);
+	}
+
+	protected ColGroupDelta(int[] colIndices, int numRows, double[] reference, double[] scale, double delta,
+		AMapToData data) {
+		super(colIndices, numRows, reference, scale);
+		_delta = delta;
+		_data = data;
+	}
+
+	/**
+	 * Delta encode a single column.
+	 * 
+	 * @param colIndexes The column index of the column
+	 * @param values     The values of all rows in the column
+	 * @return The column group, or null if the column contains values that are not integers or the range of the
+	 *         differences is too large
+	 */
+	public static ColGroupDelta create(int[] colIndexes, double[] values) {
+		if(colIndexes.length != 1)
+			throw new DMLCompressionException("Delta encoding only supports single columns");
+		final int nRow = values.length;
+		double min = nRow > 1 ? Double.POSITIVE_INFINITY : 0;
+		double max = nRow > 1 ? Double.NEGATIVE_INFINITY : 0;
+		if(nRow > 0 && !isExactInteger(values[0]))
+			return null;
+		for(int r = 1; r < nRow; r++) {
+			final double d = values[r] - values[r - 1];
+			if(!isExactInteger(values[r]) || !isExactInteger(d))
+				return null;
+			min = Math.min(min, d);
+			max = Math.max(max, d);
+		}
+		if(max - min >= Integer.MAX_VALUE)
+			return null;
+
+		final AMapToData data = MapToFactory.create(nRow, (int) (max - min) + 1);
+		for(int r = 1; r < nRow; r++)
+			data.set(r, (int) (values[r] - values[r - 1] - min));
+		return new ColGroupDelta(colIndexes, nRow, new double[] {values[0]}, new double[] {1}, min, data);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.DELTA;
+	}
+
+	@Override
+	protected ColGroupType getColGroupType() {
+		return ColGroupType.DELTA;
+	}
+
+	@Override
+	protected void decodeCodes(double[] z, int rl, int ru) {
+		if(rl >= ru)
+			return;
+		double code = getCode(rl);
+		z[0] = code;
+		for(int r = rl + 1; r < ru; r++) {
+			code += _delta + _data.getIndex(r);
+			z[r - rl] = code;
+		}
+	}
+
+	@Override
+	protected double getCode(int r) {
+		final int a = r / ANCHOR_SZ;
+		double code = getAnchors()[a];
+		for(int i = a * ANCHOR_SZ + 1; i <= r; i++)
+			code += _delta + _data.getIndex(i);
+		return code;
+	}
+
+	private double[] getAnchors() {
+		if(_anchors == null) {
+			final double[] anchors = new double[(_numRows - 1) / ANCHOR_SZ + 1];
+			double code = 0;
+			for(int r = 1; r < _numRows; r++) {
+				code += _delta + _data.getIndex(r);
+				if(r % ANCHOR_SZ == 0)
+					anchors[r / ANCHOR_SZ] = code;
+			}
+			_anchors = anchors;
+		}
+		return _anchors;
+	}
+
+	@Override
+	protected ColGroupLinear copyAndSet(int[] colIndexes, double[] reference, double[] scale) {
+		final ColGroupDelta ret = new ColGroupDelta(colIndexes, _numRows, reference, scale, _delta, _data);
+		ret._anchors = _anchors;
+		return ret;
+	}
+
+	@Override
+	protected AColGroup encode(double[] values) {
+		return create(_colIndexes, values);
+	}
+
+	@Override
+	public int getNumValues() {
+		return _data.getUnique();
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		// the selected rows are not neighbours anymore, therefore encode the codes with frame of reference.
+		final double[] codes = new double[rows.length];
+		int r = rows[0];
+		double code = getCode(r);
+		codes[0] = code;
+		for(int p = 1; p < rows.length; p++) {
+			for(r = r + 1; r <= rows[p]; r++)
+				code += _delta + _data.getIndex(r);
+			r = rows[p];
+			codes[p] = code;
+		}
+		final AColGroup ret = ColGroupFOR.create(_colIndexes, codes, _reference, _scale);
+		return ret != null ? ret : toUncompressed().selectRows(rows);
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		out.writeDouble(_delta);
+		_data.write(out);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		_delta = in.readDouble();
+		_data = MapToFactory.readIn(in);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + 8 + _data.getExactSizeOnDisk();
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+		size += 8; // delta
+		size += 8; // map reference
+		size += 8; // anchors reference
+		size += _data.getInMemorySize();
+		size += MemoryEstimates.doubleArrayCost((_numRows - 1) / ANCHOR_SZ + 1);
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append(String.format("\n%15s ", "Delta: "));
+		sb.append(_delta);
+		sb.append(String.format("\n%15s ", "Data: "));
+		sb.append(_data);
+		return sb.toString();
+	}
+}
@@ -221,4 +221,16 @@ public class ColGroupEmpty extends ColGroupCompressed {
 		else
 			return new ColGroupEmpty(_colIndexes, getNumRows());
 	}
+
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		return ColGroupValue.appendRowsOffsets(_colIndexes, _numRows, right, new ColGroupValue.TupleMap(nCol),
+			new double[nCol], null, null);
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return new ColGroupEmpty(_colIndexes, rows.length);
+	}
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+
+/**
+ * Frame of reference column group. The rows are stored as integer offsets from a reference value, packed into the
+ * smallest mapping that covers the range of the offsets. This suits high cardinality integer columns with a small range
+ * of values, where a dictionary would be as large as the column itself.
+ */
+public class ColGroupFOR extends ColGroupLinear {
+	private static final long serialVersionUID = 4861470234768113752L;
+
+	/** The offset of each row from the reference */
+	private AMapToData _data;
+
+	/**
+	 * Constructor for serialization
+	 * 
+	 * @param numRows Number of rows contained
+	 */
+	protected ColGroupFOR(int numRows) {
+		super(numRows);
+	}
+
+	protected ColGroupFOR(int[] colIndices, int numRows, double[] reference, double[] scale, AMapToData data) {
+		super(colIndices, numRows, reference, scale);
+		_data = data;
+	}
+
+	/**
+	 * Encode a single column with frame of reference.
+	 * 
+	 * @param colIndexes The column index of the column
+	 * @param values     The values of all rows in the column
+	 * @return The column group, or null if the column contains values that are not integers or the range is too large
+	 */
+	public static ColGroupFOR create(int[] colIndexes, double[] values) {
+		if(colIndexes.length != 1)
+			throw new DMLCompressionException("Frame of reference encoding only supports single columns");
+		for(double v : values)
+			if(!isExactInteger(v))
+				return null;
+		return create(colIndexes, values, new double[] {0}, new double[] {1});
+	}
+
+	/**
+	 * Encode the given integer codes with frame of reference, where the values of each column is the given reference
+	 * plus scale multiplied with the code.
+	 * 
+	 * @param colIndexes The column indexes
+	 * @param codes      The integer code of each row
+	 * @param reference  The reference of each column
+	 * @param scale      The scale of each column
+	 * @return The column group, or null if the range of the codes is too large
+	 */
+	protected static ColGroupFOR create(int[] colIndexes, double[] codes, double[] reference, double[] scale) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(double z : codes) {
+			min = Math.min(min, z);
+			max = Math.max(max, z);
+		}
+		if(max - min >= Integer.MAX_VALUE)
+			return null;
+
+		final AMapToData data = MapToFactory.create(codes.length, (int) (max - min) + 1);
+		for(int r = 0; r < codes.length; r++)
+			data.set(r, (int) (codes[r] - min));
+
+		final double[] newReference = new double[colIndexes.length];
+		for(int j = 0; j < colIndexes.length; j++)
+			newReference[j] = reference[j] + scale[j] * min;
+		return new ColGroupFOR(colIndexes, codes.length, newReference, scale, data);
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.FOR;
+	}
+
+	@Override
+	protected ColGroupType getColGroupType() {
+		return ColGroupType.FOR;
+	}
+
+	@Override
+	protected void decodeCodes(double[] z, int rl, int ru) {
+		for(int r = rl; r < ru; r++)
+			z[r - rl] = _data.getIndex(r);
+	}
+
+	@Override
+	protected double getCode(int r) {
+		return _data.getIndex(r);
+	}
+
+	@Override
+	protected ColGroupLinear copyAndSet(int[] colIndexes, double[] reference, double[] scale) {
+		return new ColGroupFOR(colIndexes, _numRows, reference, scale, _data);
+	}
+
+	@Override
+	protected AColGroup encode(double[] values) {
+		return create(_colIndexes, values);
+	}
+
+	@Override
+	public int getNumValues() {
+		return _data.getUnique();
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return new ColGroupFOR(_colIndexes, rows.length, _reference, _scale, ColGroupValue.selectData(_data, rows));
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		_data.write(out);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		_data = MapToFactory.readIn(in);
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + _data.getExactSizeOnDisk();
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+		size += 8; // map reference
+		size += _data.getInMemorySize();
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append(String.format("\n%15s ", "Data: "));
+		sb.append(_data);
+		return sb.toString();
+	}
+}
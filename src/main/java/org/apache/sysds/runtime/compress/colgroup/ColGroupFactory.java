@@ -48,6 +48,7 @@ import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
 import org.apache.sysds.runtime.compress.lib.BitmapEncoder;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.compress.utils.Bitmap;
 import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -90,13 +91,23 @@ public final class ColGroupFactory {
 	private static List<AColGroup> compressColGroupsParallel(MatrixBlock in, CompressedSizeInfo csi,
 		CompressionSettings compSettings, int k) {
 		try {
+			final List<CompressedSizeInfoColGroup> groups = csi.getInfo();
+			final int nGroups = groups.size();
+			// submit the widest groups first to avoid a straggling large group at the end,
+			// while the output keeps the planned group order.
+			final Integer[] order = new Integer[nGroups];
+			for(int i = 0; i < nGroups; i++)
+				order[i] = i;
+			Arrays.sort(order, (a, b) -> Integer.compare(groups.get(b).getColumns().length,
+				groups.get(a).getColumns().length));
+
 			ExecutorService pool = CommonThreadPool.get(k);
-			List<CompressTask> tasks = new ArrayList<>();
-			for(CompressedSizeInfoColGroup g : csi.getInfo())
-				tasks.add(new CompressTask(in, g.getColumns(), compSettings));
+			List<Future<Collection<AColGroup>>> futures = new ArrayList<>(Collections.nCopies(nGroups, null));
+			for(int i : order)
+				futures.set(i, pool.submit(new CompressTask(in, groups.get(i).getColumns(), compSettings)));
 
-			List<AColGroup> ret = new ArrayList<>(csi.getNumberColGroups());
-			for(Future<Collection<AColGroup>> t : pool.invokeAll(tasks))
+			List<AColGroup> ret = new ArrayList<>(nGroups);
+			for(Future<Collection<AColGroup>> t : futures)
 				ret.addAll(t.get());
 			pool.shutdown();
 			return ret;
@@ -153,6 +164,28 @@ public final class ColGroupFactory {
 		}
 	}
 
+	/**
+	 * Compress a block that contains exactly the columns of one column group into a single column group with the given
+	 * column indexes. This is used to recompress a column group after its decompressed values were modified, without
+	 * touching the rest of the compressed matrix.
+	 * 
+	 * @param in           The non transposed block with one column per entry in colIndexes
+	 * @param colIndexes   The column indexes of the resulting column group
+	 * @param compSettings The compression settings to use
+	 * @return The compressed column group
+	 */
+	public static AColGroup compressColumns(MatrixBlock in, int[] colIndexes, CompressionSettings compSettings) {
+		if(compSettings.transposed || in.getNumColumns() != colIndexes.length)
+			throw new DMLCompressionException("Invalid input to compress columns, expected non transposed block with "
+				+ colIndexes.length + " columns");
+		final int[] localCols = new int[colIndexes.length];
+		for(int i = 0; i < localCols.length; i++)
+			localCols[i] = i;
+		final AColGroup ret = compressColGroup(in, localCols, compSettings).iterator().next();
+		ret.setColIndices(colIndexes);
+		return ret;
+	}
+
 	private static Collection<AColGroup> compressColGroup(MatrixBlock in, int[] colIndexes,
 		CompressionSettings compSettings) {
 		if(in.isEmpty())
@@ -313,6 +346,10 @@ public final class ColGroupFactory {
 					return compressOLE(colIndexes, rlen, ubm, cs, tupleSparsity);
 				case SDC:
 					return compressSDC(colIndexes, rlen, ubm, cs, tupleSparsity);
+				case FOR:
+					return compressFOR(colIndexes, rlen, ubm, cs, tupleSparsity);
+				case DELTA:
+					return compressDelta(colIndexes, rlen, ubm, cs, tupleSparsity);
 				case UNCOMPRESSED:
 					return new ColGroupUncompressed(colIndexes, rawMatrixBlock, cs.transposed);
 				default:
@@ -419,6 +456,32 @@ public final class ColGroupFactory {
 		return new ColGroupDDC(colIndexes, rlen, dict, data, null);
 	}
 
+	private static AColGroup compressFOR(int[] colIndexes, int rlen, ABitmap ubm, CompressionSettings cs,
+		double tupleSparsity) {
+		final AColGroup ret = ubm instanceof Bitmap ? ColGroupFOR.create(colIndexes, extractColumn((Bitmap) ubm,
+			rlen)) : null;
+		// fall back to DDC if the estimate was based on a sample that did not contain the non integer values.
+		return ret != null ? ret : compressDDC(colIndexes, rlen, ubm, cs, tupleSparsity);
+	}
+
+	private static AColGroup compressDelta(int[] colIndexes, int rlen, ABitmap ubm, CompressionSettings cs,
+		double tupleSparsity) {
+		final AColGroup ret = ubm instanceof Bitmap ? ColGroupDelta.create(colIndexes, extractColumn((Bitmap) ubm,
+			rlen)) : null;
+		return ret != null ? ret : compressDDC(colIndexes, rlen, ubm, cs, tupleSparsity);
+	}
+
+	private static double[] extractColumn(Bitmap ubm, int rlen) {
+		final double[] values = ubm.getValues();
+		final double[] column = new double[rlen];
+		for(int i = 0; i < values.length; i++) {
+			final IntArrayList offsets = ubm.getOffsetsList(i);
+			for(int k = 0; k < offsets.size(); k++)
+				column[offsets.get(k)] = values[i];
+		}
+		return column;
+	}
+
 	private static AColGroup compressOLE(int[] colIndexes, int rlen, ABitmap ubm, CompressionSettings cs,
 		double tupleSparsity) {
 
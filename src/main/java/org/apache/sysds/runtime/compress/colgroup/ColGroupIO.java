@@ -92,6 +92,12 @@ public class ColGroupIO {
 				case SDCZeros:
 					grp = new ColGroupSDCZeros(nRows);
 					break;
+				case FOR:
+					grp = new ColGroupFOR(nRows);
+					break;
+				case DELTA:
+					grp = new ColGroupDelta(nRows);
+					break;
 				default:
 					throw new DMLRuntimeException("Unsupported ColGroup Type used:  " + ctype);
 			}
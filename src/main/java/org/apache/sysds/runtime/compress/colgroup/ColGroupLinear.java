@@ -0,0 +1,711 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * Base class for column groups where each column is a linear function of a single integer code per row. The value in
+ * row r of column j is reference[j] + scale[j] * z[r]. Subclasses decide how the codes z are encoded, while the kernels
+ * in this class only rely on decoding blocks of consecutive codes.
+ * 
+ * Since plus, minus, multiply and divide by a scalar only modify the reference and scale, these operations and right
+ * matrix multiplications stay in the compressed representation.
+ */
+public abstract class ColGroupLinear extends ColGroupCompressed {
+	private static final long serialVersionUID = -3571939523471097324L;
+
+	/** The number of rows decoded at a time in the blocked kernels */
+	protected static final int DECODE_BLOCK_SZ = 2048;
+
+	/** The largest magnitude where all integers are exactly representable as doubles */
+	private static final double MAX_EXACT_INTEGER = 9007199254740992.0;
+
+	/** The value of each column for code zero */
+	protected double[] _reference;
+
+	/** The distance between two consecutive codes in each column */
+	protected double[] _scale;
+
+	/** Lazily computed sum, sum of squares, min and max of the codes */
+	private transient double[] _codeStats;
+
+	/**
+	 * Constructor for serialization
+	 * 
+	 * @param numRows Number of rows contained
+	 */
+	protected ColGroupLinear(int numRows) {
+		super(numRows);
+	}
+
+	protected ColGroupLinear(int[] colIndices, int numRows, double[] reference, double[] scale) {
+		super(colIndices, numRows);
+		_reference = reference;
+		_scale = scale;
+	}
+
+	/**
+	 * Decode the codes of the rows rl to ru into the start of z.
+	 * 
+	 * @param z  The output array, at least of length ru - rl
+	 * @param rl The row to start at
+	 * @param ru The row to end at (not inclusive)
+	 */
+	protected abstract void decodeCodes(double[] z, int rl, int ru);
+
+	/**
+	 * Get the code of a single row.
+	 * 
+	 * @param r The row
+	 * @return The code of the row
+	 */
+	protected abstract double getCode(int r);
+
+	/**
+	 * Construct a column group of the same type sharing the encoded codes, but with new columns, references and scales.
+	 * 
+	 * @param colIndexes The column indexes of the new group
+	 * @param reference  The reference of each column
+	 * @param scale      The scale of each column
+	 * @return The new column group
+	 */
+	protected abstract ColGroupLinear copyAndSet(int[] colIndexes, double[] reference, double[] scale);
+
+	/**
+	 * Encode a single column of values with the encoding of this group.
+	 * 
+	 * @param values The values of the column
+	 * @return The encoded column group or null if the values are not encodable
+	 */
+	protected abstract AColGroup encode(double[] values);
+
+	/**
+	 * Get if the value is an integer that is exactly representable, and therefore safe to encode as a code.
+	 * 
+	 * @param v The value
+	 * @return If the value can be encoded
+	 */
+	public static boolean isExactInteger(double v) {
+		return Math.abs(v) <= MAX_EXACT_INTEGER && v == Math.rint(v);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		final int ix = Arrays.binarySearch(_colIndexes, c);
+		if(ix < 0)
+			return 0;
+		return _reference[ix] + _scale[ix] * getCode(r);
+	}
+
+	@Override
+	public void decompressToBlockSafe(MatrixBlock target, int rl, int ru, int offT) {
+		final long nnz = decompressToBlock(target, rl, ru, offT);
+		target.setNonZeros(target.getNonZeros() + nnz);
+	}
+
+	@Override
+	public void decompressToBlockUnSafe(MatrixBlock target, int rl, int ru, int offT) {
+		decompressToBlock(target, rl, ru, offT);
+	}
+
+	private long decompressToBlock(MatrixBlock target, int rl, int ru, int offT) {
+		final double[] c = target.getDenseBlockValues();
+		final int tCol = target.getNumColumns();
+		final int nCol = _colIndexes.length;
+		final double[] z = allocateCodeBlock(rl, ru);
+		long nnz = 0;
+		for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+			decodeCodes(z, bl, bu);
+			for(int r = bl, off = (offT + bl - rl) * tCol; r < bu; r++, off += tCol) {
+				final double zr = z[r - bl];
+				for(int j = 0; j < nCol; j++) {
+					final double v = _reference[j] + _scale[j] * zr;
+					c[off + _colIndexes[j]] += v;
+					nnz += v != 0 ? 1 : 0;
+				}
+			}
+		}
+		return nnz;
+	}
+
+	@Override
+	public void leftMultByMatrix(MatrixBlock matrix, MatrixBlock result, int rl, int ru) {
+		if(matrix.isEmpty())
+			return;
+		// pre aggregate the row sums and the code weighted row sums of the left side.
+		final double[] rowSums = new double[ru - rl];
+		final double[] codeSums = new double[ru - rl];
+		final double[] z = allocateCodeBlock(0, _numRows);
+		if(matrix.isInSparseFormat()) {
+			final SparseBlock sb = matrix.getSparseBlock();
+			final int[] pos = new int[ru - rl];
+			for(int i = rl; i < ru; i++)
+				pos[i - rl] = sb.isEmpty(i) ? 0 : sb.pos(i);
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decodeCodes(z, bl, bu);
+				for(int i = rl; i < ru; i++) {
+					if(sb.isEmpty(i))
+						continue;
+					final int alen = sb.pos(i) + sb.size(i);
+					final int[] aix = sb.indexes(i);
+					final double[] avals = sb.values(i);
+					int p = pos[i - rl];
+					for(; p < alen && aix[p] < bu; p++) {
+						rowSums[i - rl] += avals[p];
+						codeSums[i - rl] += avals[p] * z[aix[p] - bl];
+					}
+					pos[i - rl] = p;
+				}
+			}
+		}
+		else {
+			final double[] a = matrix.getDenseBlockValues();
+			final int nColA = matrix.getNumColumns();
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decodeCodes(z, bl, bu);
+				for(int i = rl; i < ru; i++) {
+					final int offA = i * nColA;
+					double s = 0;
+					double t = 0;
+					for(int r = bl; r < bu; r++) {
+						s += a[offA + r];
+						t += a[offA + r] * z[r - bl];
+					}
+					rowSums[i - rl] += s;
+					codeSums[i - rl] += t;
+				}
+			}
+		}
+
+		final double[] resV = result.getDenseBlockValues();
+		final int nColRet = result.getNumColumns();
+		for(int i = rl; i < ru; i++) {
+			final int offR = i * nColRet;
+			for(int j = 0; j < _colIndexes.length; j++)
+				resV[offR + _colIndexes[j]] += _reference[j] * rowSums[i - rl] + _scale[j] * codeSums[i - rl];
+		}
+	}
+
+	@Override
+	public void leftMultByAColGroup(AColGroup lhs, MatrixBlock result) {
+		if(lhs instanceof ColGroupEmpty)
+			return;
+		// t(lhs) %*% this = colSums(lhs) * reference + t(lhs) %*% z * scale
+		final int nColRet = result.getNumColumns();
+		final double[] tmpV = preAggregateCodes(lhs, nColRet).getDenseBlockValues();
+		final double[] resV = result.getDenseBlockValues();
+		for(int a : lhs._colIndexes) {
+			final int offR = a * nColRet;
+			for(int j = 0; j < _colIndexes.length; j++)
+				resV[offR + _colIndexes[j]] += _reference[j] * tmpV[a] + _scale[j] * tmpV[nColRet + a];
+		}
+	}
+
+	/**
+	 * Multiply the transposed of this column group with another column group, t(this) %*% rhs, and add it to the
+	 * result.
+	 * 
+	 * @param rhs    The right hand side column group
+	 * @param result The result matrix to add to
+	 */
+	public void transposedLeftMult(AColGroup rhs, MatrixBlock result) {
+		if(rhs instanceof ColGroupEmpty)
+			return;
+		final int nColRet = result.getNumColumns();
+		final double[] tmpV = preAggregateCodes(rhs, nColRet).getDenseBlockValues();
+		final double[] resV = result.getDenseBlockValues();
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int offR = _colIndexes[j] * nColRet;
+			for(int b : rhs._colIndexes)
+				resV[offR + b] += _reference[j] * tmpV[b] + _scale[j] * tmpV[nColRet + b];
+		}
+	}
+
+	/**
+	 * Left multiply the given column group with a two row matrix containing ones and the codes of this group, to get
+	 * the column sums and the code weighted column sums of the given group.
+	 * 
+	 * @param g       The column group to pre aggregate
+	 * @param nColOut The number of columns in the output
+	 * @return A dense two row matrix with the column sums in the first row and the code weighted sums in the second
+	 */
+	private MatrixBlock preAggregateCodes(AColGroup g, int nColOut) {
+		final MatrixBlock codes = new MatrixBlock(2, _numRows, false);
+		codes.allocateDenseBlock();
+		final double[] codesV = codes.getDenseBlockValues();
+		Arrays.fill(codesV, 0, _numRows, 1);
+		final double[] z = new double[_numRows];
+		decodeCodes(z, 0, _numRows);
+		System.arraycopy(z, 0, codesV, _numRows, _numRows);
+		codes.setNonZeros(2L * _numRows);
+
+		final MatrixBlock tmp = new MatrixBlock(2, nColOut, false);
+		tmp.allocateDenseBlock();
+		g.leftMultByMatrix(codes, tmp, 0, 2);
+		return tmp;
+	}
+
+	@Override
+	public void tsmm(MatrixBlock ret) {
+		final double[] stats = getCodeStats();
+		final double[] retV = ret.getDenseBlockValues();
+		final int nColRet = ret.getNumColumns();
+		final int nCol = _colIndexes.length;
+		for(int i = 0; i < nCol; i++) {
+			final int offR = _colIndexes[i] * nColRet;
+			for(int j = i; j < nCol; j++)
+				retV[offR + _colIndexes[j]] += _numRows * _reference[i] * _reference[j] +
+					(_reference[i] * _scale[j] + _reference[j] * _scale[i]) * stats[0] + _scale[i] * _scale[j] * stats[1];
+		}
+	}
+
+	@Override
+	public AColGroup rightMultByMatrix(MatrixBlock right) {
+		if(right.isEmpty())
+			return null;
+		final int nColR = right.getNumColumns();
+		final double[] reference = new double[nColR];
+		final double[] scale = new double[nColR];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int row = _colIndexes[j];
+			for(int k = 0; k < nColR; k++) {
+				final double v = right.quickGetValue(row, k);
+				reference[k] += _reference[j] * v;
+				scale[k] += _scale[j] * v;
+			}
+		}
+		final int[] outputCols = new int[nColR];
+		for(int k = 0; k < nColR; k++)
+			outputCols[k] = k;
+		final AColGroup ret = derive(outputCols, reference, scale);
+		return ret instanceof ColGroupEmpty ? null : ret;
+	}
+
+	@Override
+	public AColGroup scalarOperation(ScalarOperator op) {
+		final double slope = getSlope(op.fn, op.getConstant(), op instanceof RightScalarOperator);
+		if(!Double.isFinite(slope))
+			return toUncompressed().scalarOperation(op);
+		final int nCol = _colIndexes.length;
+		final double[] reference = new double[nCol];
+		final double[] scale = new double[nCol];
+		for(int j = 0; j < nCol; j++) {
+			reference[j] = op.executeScalar(_reference[j]);
+			scale[j] = _scale[j] * slope;
+		}
+		if(!isFinite(reference) || !isFinite(scale))
+			return toUncompressed().scalarOperation(op);
+		return derive(_colIndexes, reference, scale);
+	}
+
+	@Override
+	public AColGroup binaryRowOp(BinaryOperator op, double[] v, boolean sparseSafe, boolean left) {
+		final ValueFunction fn = op.fn;
+		final int nCol = _colIndexes.length;
+		final double[] reference = new double[nCol];
+		final double[] scale = new double[nCol];
+		for(int j = 0; j < nCol; j++) {
+			final double c = v[_colIndexes[j]];
+			final double slope = getSlope(fn, c, !left);
+			if(!Double.isFinite(slope))
+				return toUncompressed().binaryRowOp(op, v, sparseSafe, left);
+			reference[j] = left ? fn.execute(c, _reference[j]) : fn.execute(_reference[j], c);
+			scale[j] = _scale[j] * slope;
+		}
+		if(!isFinite(reference) || !isFinite(scale))
+			return toUncompressed().binaryRowOp(op, v, sparseSafe, left);
+		return derive(_colIndexes, reference, scale);
+	}
+
+	/**
+	 * Get the slope of the function x -> fn(x, c), or x -> fn(c, x) for left operations. The slope is derived from the
+	 * function type instead of evaluating the function, because evaluations at different points are not exact for
+	 * non-finite constants (e.g., (1 + inf) - (0 + inf) is NaN).
+	 * 
+	 * @param fn    The value function
+	 * @param c     The constant operand
+	 * @param right If the constant is the right operand
+	 * @return The slope, or NaN if the function is not affine in x
+	 */
+	private static double getSlope(ValueFunction fn, double c, boolean right) {
+		if(fn instanceof Plus)
+			return 1;
+		else if(fn instanceof Minus)
+			return right ? 1 : -1;
+		else if(fn instanceof Multiply)
+			return c;
+		else if(fn instanceof Divide && right)
+			return 1 / c;
+		return Double.NaN;
+	}
+
+	private static boolean isFinite(double[] values) {
+		for(double v : values)
+			if(!Double.isFinite(v))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Construct a column group with the same codes, that is constant or empty if no column depend on the codes.
+	 * 
+	 * @param colIndexes The column indexes of the new group
+	 * @param reference  The reference of each column
+	 * @param scale      The scale of each column
+	 * @return The new column group
+	 */
+	private AColGroup derive(int[] colIndexes, double[] reference, double[] scale) {
+		boolean constant = true;
+		for(int j = 0; j < scale.length && constant; j++)
+			constant = scale[j] == 0;
+		if(constant) {
+			boolean empty = true;
+			for(int j = 0; j < reference.length && empty; j++)
+				empty = reference[j] == 0;
+			if(empty)
+				return new ColGroupEmpty(colIndexes, _numRows);
+			return new ColGroupConst(colIndexes, _numRows, new Dictionary(reference));
+		}
+		final ColGroupLinear ret = copyAndSet(colIndexes, reference, scale);
+		ret._codeStats = _codeStats;
+		return ret;
+	}
+
+	/**
+	 * Decompress this column group into an uncompressed column group, used for the operations that are not linear.
+	 * 
+	 * @return The uncompressed column group
+	 */
+	protected ColGroupUncompressed toUncompressed() {
+		return new ColGroupUncompressed(_colIndexes, getValuesAsBlock());
+	}
+
+	@Override
+	public MatrixBlock getValuesAsBlock() {
+		final int nCol = _colIndexes.length;
+		final MatrixBlock ret = new MatrixBlock(_numRows, nCol, false);
+		ret.allocateDenseBlock();
+		final double[] retV = ret.getDenseBlockValues();
+		final double[] z = allocateCodeBlock(0, _numRows);
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			decodeCodes(z, bl, bu);
+			for(int r = bl, off = bl * nCol; r < bu; r++)
+				for(int j = 0; j < nCol; j++)
+					retV[off++] = _reference[j] + _scale[j] * z[r - bl];
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	protected double computeMxx(double c, Builtin builtin) {
+		final double[] stats = getCodeStats();
+		for(int j = 0; j < _colIndexes.length; j++) {
+			c = builtin.execute(c, _reference[j] + _scale[j] * stats[2]);
+			c = builtin.execute(c, _reference[j] + _scale[j] * stats[3]);
+		}
+		return c;
+	}
+
+	@Override
+	protected void computeColMxx(double[] c, Builtin builtin) {
+		final double[] stats = getCodeStats();
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int col = _colIndexes[j];
+			c[col] = builtin.execute(c[col], _reference[j] + _scale[j] * stats[2]);
+			c[col] = builtin.execute(c[col], _reference[j] + _scale[j] * stats[3]);
+		}
+	}
+
+	@Override
+	public void addMinMax(double[] ret) {
+		final double[] stats = getCodeStats();
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final double lo = _reference[j] + _scale[j] * stats[2];
+			final double hi = _reference[j] + _scale[j] * stats[3];
+			ret[_colIndexes[j] * 2] += Math.min(lo, hi);
+			ret[_colIndexes[j] * 2 + 1] += Math.max(lo, hi);
+		}
+	}
+
+	@Override
+	protected void computeSum(double[] c, boolean square) {
+		for(int j = 0; j < _colIndexes.length; j++)
+			c[0] += computeColSum(j, square);
+	}
+
+	@Override
+	protected void computeColSums(double[] c, boolean square) {
+		for(int j = 0; j < _colIndexes.length; j++)
+			c[_colIndexes[j]] += computeColSum(j, square);
+	}
+
+	private double computeColSum(int j, boolean square) {
+		final double[] stats = getCodeStats();
+		final double a = _reference[j];
+		final double b = _scale[j];
+		if(square)
+			return _numRows * a * a + 2 * a * b * stats[0] + b * b * stats[1];
+		else
+			return _numRows * a + b * stats[0];
+	}
+
+	@Override
+	protected void computeRowSums(double[] c, boolean square, int rl, int ru) {
+		final double[] z = allocateCodeBlock(rl, ru);
+		for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+			decodeCodes(z, bl, bu);
+			for(int r = bl; r < bu; r++) {
+				double s = 0;
+				for(int j = 0; j < _colIndexes.length; j++) {
+					final double v = _reference[j] + _scale[j] * z[r - bl];
+					s += square ? v * v : v;
+				}
+				c[r] += s;
+			}
+		}
+	}
+
+	@Override
+	protected void computeRowMxx(double[] c, Builtin builtin, int rl, int ru) {
+		final double[] z = allocateCodeBlock(rl, ru);
+		for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+			decodeCodes(z, bl, bu);
+			for(int r = bl; r < bu; r++)
+				for(int j = 0; j < _colIndexes.length; j++)
+					c[r] = builtin.execute(c[r], _reference[j] + _scale[j] * z[r - bl]);
+		}
+	}
+
+	@Override
+	public void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		final double[] z = allocateCodeBlock(rl, ru);
+		for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+			decodeCodes(z, bl, bu);
+			for(int r = bl; r < bu; r++)
+				for(int j = 0; j < _colIndexes.length; j++)
+					rnnz[r - rl] += _reference[j] + _scale[j] * z[r - bl] != 0 ? 1 : 0;
+		}
+	}
+
+	@Override
+	public long getNumberNonZeros() {
+		final int[] rnnz = new int[Math.min(_numRows, DECODE_BLOCK_SZ)];
+		long nnz = 0;
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			Arrays.fill(rnnz, 0);
+			countNonZerosPerRow(rnnz, bl, bu);
+			for(int i = 0; i < bu - bl; i++)
+				nnz += rnnz[i];
+		}
+		return nnz;
+	}
+
+	@Override
+	public boolean containsValue(double pattern) {
+		final double[] stats = getCodeStats();
+		boolean inRange = Double.isNaN(pattern);
+		for(int j = 0; j < _colIndexes.length && !inRange; j++) {
+			final double lo = _reference[j] + _scale[j] * stats[2];
+			final double hi = _reference[j] + _scale[j] * stats[3];
+			inRange = pattern >= Math.min(lo, hi) && pattern <= Math.max(lo, hi);
+		}
+		if(!inRange)
+			return false;
+
+		final double[] z = allocateCodeBlock(0, _numRows);
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			decodeCodes(z, bl, bu);
+			for(int r = bl; r < bu; r++)
+				for(int j = 0; j < _colIndexes.length; j++) {
+					final double v = _reference[j] + _scale[j] * z[r - bl];
+					if(v == pattern || (Double.isNaN(pattern) && Double.isNaN(v)))
+						return true;
+				}
+		}
+		return false;
+	}
+
+	@Override
+	public AColGroup replace(double pattern, double replace) {
+		if(!containsValue(pattern))
+			return copy();
+		return toUncompressed().replace(pattern, replace);
+	}
+
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		if(_colIndexes.length == 1) {
+			// re-encode the single column, such that the appended rows keep the encoding if possible
+			final int nRowR = right.getNumRows();
+			final double[] values = new double[_numRows + nRowR];
+			decodeCodes(values, 0, _numRows);
+			for(int r = 0; r < _numRows; r++)
+				values[r] = _reference[0] + _scale[0] * values[r];
+			for(int r = 0; r < nRowR; r++)
+				values[_numRows + r] = right.quickGetValue(r, _colIndexes[0]);
+			final AColGroup ret = encode(values);
+			if(ret != null)
+				return ret;
+		}
+		return toUncompressed().appendRows(right);
+	}
+
+	@Override
+	protected AColGroup sliceSingleColumn(int idx) {
+		return derive(new int[] {0}, new double[] {_reference[idx]}, new double[] {_scale[idx]});
+	}
+
+	@Override
+	protected AColGroup sliceMultiColumns(int idStart, int idEnd, int[] outputCols) {
+		return derive(outputCols, Arrays.copyOfRange(_reference, idStart, idEnd),
+			Arrays.copyOfRange(_scale, idStart, idEnd));
+	}
+
+	@Override
+	public AColGroup copy() {
+		final ColGroupLinear ret = copyAndSet(_colIndexes, _reference.clone(), _scale.clone());
+		ret._codeStats = _codeStats;
+		return ret;
+	}
+
+	/**
+	 * Get the sum, sum of squares, min and max of the codes, computed on first access.
+	 * 
+	 * @return The statistics of the codes
+	 */
+	private double[] getCodeStats() {
+		if(_codeStats == null) {
+			final double[] stats = new double[] {0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+			final double[] z = allocateCodeBlock(0, _numRows);
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				final int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decodeCodes(z, bl, bu);
+				for(int i = 0; i < bu - bl; i++) {
+					stats[0] += z[i];
+					stats[1] += z[i] * z[i];
+					stats[2] = Math.min(stats[2], z[i]);
+					stats[3] = Math.max(stats[3], z[i]);
+				}
+			}
+			_codeStats = stats;
+		}
+		return _codeStats;
+	}
+
+	private static double[] allocateCodeBlock(int rl, int ru) {
+		return new double[Math.max(0, Math.min(ru - rl, DECODE_BLOCK_SZ))];
+	}
+
+	@Override
+	public double[] getValues() {
+		return null;
+	}
+
+	@Override
+	public boolean isLossy() {
+		return false;
+	}
+
+	@Override
+	public boolean isDense() {
+		return true;
+	}
+
+	@Override
+	protected boolean sameIndexStructure(ColGroupCompressed that) {
+		return false;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		for(int j = 0; j < _colIndexes.length; j++) {
+			out.writeDouble(_reference[j]);
+			out.writeDouble(_scale[j]);
+		}
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		_reference = new double[_colIndexes.length];
+		_scale = new double[_colIndexes.length];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			_reference[j] = in.readDouble();
+			_scale[j] = in.readDouble();
+		}
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + 16L * _colIndexes.length;
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		long size = super.estimateInMemorySize();
+		size += 8; // reference array reference
+		size += 8; // scale array reference
+		size += 8; // code statistics reference
+		size += 2 * MemoryEstimates.doubleArrayCost(_colIndexes.length);
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append(String.format("\n%15s ", "Reference: "));
+		sb.append(Arrays.toString(_reference));
+		sb.append(String.format("\n%15s ", "Scale: "));
+		sb.append(Arrays.toString(_scale));
+		return sb.toString();
+	}
+}
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.util.Arrays;
 
 import org.apache.commons.lang.NotImplementedException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
@@ -551,4 +552,24 @@ public class ColGroupSDC extends ColGroupValue {
 		}
 	}
 
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		final int nVals = getNumValues();
+		return appendRowsOffsets(_colIndexes, _numRows, right, new TupleMap(nCol, _dict, nVals - 1),
+			getTuple(_dict, nVals - 1, nCol), _indexes, _data);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return getRowCodesOffsets(_indexes, _data, getNumValues() - 1);
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final Pair<int[], int[]> sel = selectOffsets(_indexes, rows);
+		if(sel.getKey().length == 0)
+			return createConstOrEmpty(_colIndexes, rows.length, _dict.getTuple(getNumValues() - 1, _colIndexes.length));
+		return new ColGroupSDC(_colIndexes, rows.length, _dict, sel.getKey(), selectData(_data, sel.getValue()));
+	}
 }
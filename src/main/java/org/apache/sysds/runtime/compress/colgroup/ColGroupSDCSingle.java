@@ -27,6 +27,7 @@ import java.util.Arrays;
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
 import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
@@ -465,4 +466,23 @@ public class ColGroupSDCSingle extends ColGroupValue {
 
 	}
 
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		return appendRowsOffsets(_colIndexes, _numRows, right, new TupleMap(nCol, _dict, 1), getTuple(_dict, 1, nCol),
+			_indexes, null);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return getRowCodesOffsets(_indexes, null, 1);
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[] off = selectOffsets(_indexes, rows).getKey();
+		if(off.length == 0)
+			return createConstOrEmpty(_colIndexes, rows.length, _dict.getTuple(1, _colIndexes.length));
+		return new ColGroupSDCSingle(_colIndexes, rows.length, _dict, off);
+	}
 }
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
 import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
@@ -394,4 +395,23 @@ public class ColGroupSDCSingleZeros extends ColGroupValue {
 		}
 	}
 
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		return appendRowsOffsets(_colIndexes, _numRows, right, new TupleMap(nCol, _dict, 1), new double[nCol],
+			_indexes, null);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return getRowCodesOffsets(_indexes, null, 1);
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[] off = selectOffsets(_indexes, rows).getKey();
+		if(off.length == 0)
+			return new ColGroupEmpty(_colIndexes, rows.length);
+		return new ColGroupSDCSingleZeros(_colIndexes, rows.length, _dict, off);
+	}
 }
@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.util.Arrays;
 
 import org.apache.commons.lang.NotImplementedException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
@@ -428,4 +429,23 @@ public class ColGroupSDCZeros extends ColGroupValue {
 		throw new NotImplementedException();
 	}
 
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final int nCol = _colIndexes.length;
+		return appendRowsOffsets(_colIndexes, _numRows, right, new TupleMap(nCol, _dict, getNumValues()),
+			new double[nCol], _indexes, _data);
+	}
+
+	@Override
+	public AMapToData getRowCodes() {
+		return getRowCodesOffsets(_indexes, _data, getNumValues());
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final Pair<int[], int[]> sel = selectOffsets(_indexes, rows);
+		if(sel.getKey().length == 0)
+			return new ColGroupEmpty(_colIndexes, rows.length);
+		return new ColGroupSDCZeros(_colIndexes, rows.length, _dict, sel.getKey(), selectData(_data, sel.getValue()));
+	}
 }
@@ -111,6 +111,30 @@ public final class ColGroupSizes {
 		return estimateInMoemorySizeCompressedColumn(nrColumns);
 	}
 
+	public static long estimateInMemorySizeLinear(int nrColumns) {
+		long size = estimateInMoemorySizeCompressedColumn(nrColumns);
+		size += 8; // reference array reference
+		size += 8; // scale array reference
+		size += 8; // code statistics reference
+		size += 2 * MemoryEstimates.doubleArrayCost(nrColumns);
+		return size;
+	}
+
+	public static long estimateInMemorySizeFOR(int nrColumns, int nrRows, int nrCodes) {
+		long size = estimateInMemorySizeLinear(nrColumns);
+		size += 8; // map reference
+		size += MapToFactory.estimateInMemorySize(nrRows, nrCodes);
+		return size;
+	}
+
+	public static long estimateInMemorySizeDELTA(int nrColumns, int nrRows, int nrCodes) {
+		long size = estimateInMemorySizeFOR(nrColumns, nrRows, nrCodes);
+		size += 8; // delta
+		size += 8; // anchors reference
+		size += MemoryEstimates.doubleArrayCost((nrRows - 1) / ColGroupDelta.ANCHOR_SZ + 1);
+		return size;
+	}
+
 	public static long estimateInMemorySizeUncompressed(int nrRows, int nrColumns, double sparsity) {
 		long size = 0;
 		// Since the Object is a col group the overhead from the Memory Size group is added
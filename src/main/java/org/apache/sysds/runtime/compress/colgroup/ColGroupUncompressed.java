@@ -620,4 +620,18 @@ public class ColGroupUncompressed extends AColGroup {
 		MatrixBlock replaced = _data.replaceOperations(new MatrixBlock(), pattern, replace);
 		return new ColGroupUncompressed(_colIndexes, replaced);
 	}
+
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		final MatrixBlock rightCols = new ColGroupUncompressed(_colIndexes.clone(), right, false)._data;
+		return new ColGroupUncompressed(_colIndexes, _data.append(rightCols, null, false));
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final MatrixBlock select = new MatrixBlock(_data.getNumRows(), 1, false);
+		for(int r : rows)
+			select.quickSetValue(r, 0, 1);
+		return new ColGroupUncompressed(_colIndexes, _data.removeEmptyOperations(new MatrixBlock(), true, false, select));
+	}
 }
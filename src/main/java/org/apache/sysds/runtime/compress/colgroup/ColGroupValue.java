@@ -24,6 +24,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -35,6 +36,12 @@ import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFP64;
@@ -164,8 +171,7 @@ public abstract class ColGroupValue extends ColGroupCompressed implements Clonea
 
 	@Override
 	public final MatrixBlock getValuesAsBlock() {
-		_dict = _dict.getAsMatrixBlockDictionary(_colIndexes.length);
-		MatrixBlock ret = ((MatrixBlockDictionary) _dict).getMatrixBlock();
+		MatrixBlock ret = forceMatrixBlockDictionary().getMatrixBlock();
 		if(_zeros) {
 			MatrixBlock tmp = new MatrixBlock();
 			ret.append(new MatrixBlock(1, _colIndexes.length, 0), tmp, false);
@@ -633,6 +639,8 @@ public abstract class ColGroupValue extends ColGroupCompressed implements Clonea
 			leftMultByColGroupValue((ColGroupValue) lhs, result);
 		else if(lhs instanceof ColGroupUncompressed)
 			leftMultByUncompressedColGroup((ColGroupUncompressed) lhs, result);
+		else if(lhs instanceof ColGroupLinear)
+			((ColGroupLinear) lhs).transposedLeftMult(this, result);
 		else
 			throw new DMLCompressionException(
 				"Not supported left multiplication with A ColGroup of type: " + lhs.getClass().getSimpleName());
@@ -748,7 +756,9 @@ public abstract class ColGroupValue extends ColGroupCompressed implements Clonea
 
 		final int[] counts = getCounts();
 
-		_dict = _dict.getAsMatrixBlockDictionary(_colIndexes.length);
+		// quantized dictionaries are decoded on the fly to keep their memory savings
+		if(!_dict.isLossy())
+			_dict = _dict.getAsMatrixBlockDictionary(_colIndexes.length);
 		if(_dict instanceof MatrixBlockDictionary) {
 			MatrixBlockDictionary mbd = (MatrixBlockDictionary) _dict;
 			MatrixBlock mb = mbd.getMatrixBlock();
@@ -1113,6 +1123,8 @@ public abstract class ColGroupValue extends ColGroupCompressed implements Clonea
 	}
 
 	private MatrixBlockDictionary forceMatrixBlockDictionary() {
+		if(_dict.isLossy())
+			return _dict.getAsMatrixBlockDictionary(_colIndexes.length);
 		if(!(_dict instanceof MatrixBlockDictionary))
 			_dict = _dict.getAsMatrixBlockDictionary(_colIndexes.length);
 		return((MatrixBlockDictionary) _dict);
@@ -1223,4 +1235,271 @@ public abstract class ColGroupValue extends ColGroupCompressed implements Clonea
 		ADictionary replaced = _dict.replace(pattern, replace, _colIndexes.length, _zeros);
 		return copyAndSet(replaced);
 	}
+
+	@Override
+	public AColGroup appendRows(MatrixBlock right) {
+		// generic fallback for groups without a row to tuple mapping (e.g., OLE and RLE), that decompresses
+		// only the columns of this group and encodes all rows as DDC over the merged dictionary.
+		final int nCol = _colIndexes.length;
+		final double[] lv = decompressOwnColumns();
+		final TupleMap map = new TupleMap(nCol);
+		final int[] idx = new int[_numRows + right.getNumRows()];
+		for(int i = 0; i < _numRows; i++)
+			idx[i] = map.getOrAdd(Arrays.copyOfRange(lv, i * nCol, (i + 1) * nCol));
+		encodeRows(right, _colIndexes, map, idx, _numRows);
+		return createDDC(_colIndexes, map, idx);
+	}
+
+	/**
+	 * Get the tuple ID of each row of this column group. The IDs follow the layout of the counts returned by
+	 * getCounts, that is the IDs refer to the tuples of the dictionary, and if the group contains zero rows that are
+	 * not materialized in the dictionary, the ID getNumValues() refers to the zero tuple.
+	 * 
+	 * The returned mapping can be shared with the column group and is therefore not allowed to be modified.
+	 * 
+	 * @return The tuple ID of each row.
+	 */
+	public AMapToData getRowCodes() {
+		// generic fallback for groups without a row to tuple mapping (e.g., OLE and RLE), that decompresses
+		// only the columns of this group and looks up the rows in the dictionary.
+		final int nCol = _colIndexes.length;
+		final int nVals = getNumValues();
+		final double[] lv = decompressOwnColumns();
+		final TupleMap map = new TupleMap(nCol, _dict, nVals);
+		final AMapToData ret = MapToFactory.create(_numRows, nVals + (_zeros ? 1 : 0));
+		for(int i = 0; i < _numRows; i++)
+			ret.set(i, Math.min(map.getOrAdd(Arrays.copyOfRange(lv, i * nCol, (i + 1) * nCol)), nVals));
+		return ret;
+	}
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		// generic fallback that encodes the selected rows as DDC, with an appended zero tuple if needed
+		final AMapToData codes = getRowCodes();
+		final AMapToData data = MapToFactory.create(rows.length, getNumValues() + (_zeros ? 1 : 0));
+		for(int i = 0; i < rows.length; i++)
+			data.set(i, codes.getIndex(rows[i]));
+		final ADictionary dict = _zeros ? _dict.cloneAndExtend(_colIndexes.length) : _dict;
+		return new ColGroupDDC(_colIndexes, rows.length, dict, data, null);
+	}
+
+	private double[] decompressOwnColumns() {
+		return decompressToColumnBlock().getDenseBlockValues();
+	}
+
+	/**
+	 * Select the offsets of the given rows, for column groups with a default tuple and offsets of all rows with other
+	 * tuples.
+	 * 
+	 * @param indexes The offsets of rows with non default tuples
+	 * @param rows    The sorted and distinct row indexes to select
+	 * @return The offsets in the selected rows, and the data indexes of these offsets in the given offsets
+	 */
+	protected static Pair<int[], int[]> selectOffsets(AOffset indexes, int[] rows) {
+		final IntArrayList off = new IntArrayList();
+		final IntArrayList dix = new IntArrayList();
+		final AIterator it = indexes.getIterator();
+		for(int i = 0; i < rows.length && it.hasNext(); i++) {
+			while(it.hasNext() && it.value() < rows[i])
+				it.next();
+			if(it.hasNext() && it.value() == rows[i]) {
+				off.appendValue(i);
+				dix.appendValue(it.getDataIndex());
+			}
+		}
+		return off.size() == 0 ? new ImmutablePair<>(new int[0], new int[0]) : new ImmutablePair<>(
+			off.extractValues(true), dix.extractValues(true));
+	}
+
+	/**
+	 * Get the tuple ID of each row, for column groups with a default tuple and offsets of all rows with other tuples.
+	 * 
+	 * @param indexes The offsets of rows with non default tuples
+	 * @param data    The mapping of offsets to tuple IDs, or null if all offsets refer to the first tuple
+	 * @param def     The tuple ID of the default tuple
+	 * @return The tuple ID of each row.
+	 */
+	protected final AMapToData getRowCodesOffsets(AOffset indexes, AMapToData data, int def) {
+		final AMapToData ret = MapToFactory.create(_numRows, getNumValues() + (_zeros ? 1 : 0));
+		ret.fill(def);
+		final AIterator it = indexes.getIterator();
+		while(it.hasNext()) {
+			ret.set(it.value(), data != null ? data.getIndex(it.getDataIndex()) : 0);
+			it.next();
+		}
+		return ret;
+	}
+
+	protected static AMapToData selectData(AMapToData data, int[] dix) {
+		final AMapToData ret = MapToFactory.create(dix.length, data.getUnique());
+		for(int i = 0; i < dix.length; i++)
+			ret.set(i, data.getIndex(dix[i]));
+		return ret;
+	}
+
+	/**
+	 * Encode the appended rows into tuple IDs of the given tuple map.
+	 * 
+	 * @param right      The uncompressed rows to append
+	 * @param colIndexes The column indexes of the column group
+	 * @param map        The tuple map to encode into (extended by new tuples)
+	 * @param idx        The output tuple IDs
+	 * @param off        The offset of the first appended row in the output
+	 */
+	protected static void encodeRows(MatrixBlock right, int[] colIndexes, TupleMap map, int[] idx, int off) {
+		for(int i = 0; i < right.getNumRows(); i++)
+			idx[off + i] = map.getOrAdd(getRowTuple(right, i, colIndexes));
+	}
+
+	/**
+	 * Get a tuple of the dictionary, where the all-zero tuple (that the dictionaries return as null) is materialized.
+	 * 
+	 * @param dict  The dictionary
+	 * @param index The tuple index
+	 * @param nCol  The number of columns
+	 * @return The tuple, never null.
+	 */
+	protected static double[] getTuple(ADictionary dict, int index, int nCol) {
+		final double[] tuple = dict.getTuple(index, nCol);
+		return tuple != null ? tuple : new double[nCol];
+	}
+
+	/**
+	 * Create a column group of rows that all equal the given tuple.
+	 * 
+	 * @param colIndexes The column indexes of the column group
+	 * @param nRows      The number of rows
+	 * @param tuple      The tuple, or null for the all-zero tuple
+	 * @return A ColGroupConst, or a ColGroupEmpty for the zero tuple.
+	 */
+	protected static AColGroup createConstOrEmpty(int[] colIndexes, int nRows, double[] tuple) {
+		return tuple != null ? new ColGroupConst(colIndexes, nRows, new Dictionary(tuple)) : new ColGroupEmpty(
+			colIndexes, nRows);
+	}
+
+	protected static double[] getRowTuple(MatrixBlock right, int r, int[] colIndexes) {
+		final double[] ret = new double[colIndexes.length];
+		for(int j = 0; j < colIndexes.length; j++)
+			ret[j] = right.quickGetValue(r, colIndexes[j]);
+		return ret;
+	}
+
+	protected static ColGroupDDC createDDC(int[] colIndexes, TupleMap map, int[] idx) {
+		final AMapToData data = MapToFactory.create(idx.length, map.size());
+		for(int i = 0; i < idx.length; i++)
+			data.set(i, idx[i]);
+		return new ColGroupDDC(colIndexes, idx.length, new Dictionary(map.getValues()), data, null);
+	}
+
+	/**
+	 * Append rows to a column group with a default tuple and offsets of all rows with other tuples (SDC, SDCZeros,
+	 * SDCSingle, SDCSingleZeros, Const and Empty). Appended rows that equal the default tuple are not materialized, and
+	 * the result is the most specific of these column groups that can represent the appended rows.
+	 * 
+	 * @param colIndexes The column indexes of the column group
+	 * @param numRows    The number of rows of the column group
+	 * @param right      The uncompressed rows to append
+	 * @param map        The tuple map of non default tuples, seeded with the existing dictionary
+	 * @param def        The default tuple
+	 * @param indexes    The offsets of rows with non default tuples, or null if none
+	 * @param data       The mapping of offsets to tuple IDs, or null if all offsets refer to the first tuple
+	 * @return A new column group containing the rows of this group followed by the appended rows.
+	 */
+	protected static AColGroup appendRowsOffsets(int[] colIndexes, int numRows, MatrixBlock right, TupleMap map,
+		double[] def, AOffset indexes, AMapToData data) {
+		if(def == null) // all-zero default tuple
+			def = new double[colIndexes.length];
+		final IntArrayList offsets = new IntArrayList();
+		final IntArrayList ids = new IntArrayList();
+		if(indexes != null) {
+			final AIterator it = indexes.getIterator();
+			while(it.hasNext()) {
+				ids.appendValue(data != null ? data.getIndex(it.getDataIndex()) : 0);
+				offsets.appendValue(it.valueAndIncrement());
+			}
+		}
+		for(int i = 0; i < right.getNumRows(); i++) {
+			final double[] tuple = getRowTuple(right, i, colIndexes);
+			if(!Arrays.equals(tuple, def)) {
+				offsets.appendValue(numRows + i);
+				ids.appendValue(map.getOrAdd(tuple));
+			}
+		}
+
+		final int nRows = numRows + right.getNumRows();
+		boolean zeros = true;
+		for(double v : def)
+			zeros &= v == 0;
+		if(offsets.size() == 0)
+			return zeros ? new ColGroupEmpty(colIndexes, nRows) : new ColGroupConst(colIndexes, nRows,
+				new Dictionary(def));
+
+		final int[] off = offsets.extractValues(true);
+		final double[] values = zeros ? map.getValues() : map.getValuesAndAppend(def);
+		if(map.size() == 1)
+			return zeros ? new ColGroupSDCSingleZeros(colIndexes, nRows, new Dictionary(values), off) : new ColGroupSDCSingle(
+				colIndexes, nRows, new Dictionary(values), off);
+
+		final AMapToData ret = MapToFactory.create(off.length, map.size());
+		for(int i = 0; i < off.length; i++)
+			ret.set(i, ids.get(i));
+		return zeros ? new ColGroupSDCZeros(colIndexes, nRows, new Dictionary(values), off, ret) : new ColGroupSDC(
+			colIndexes, nRows, new Dictionary(values), off, ret);
+	}
+
+	/**
+	 * Map of distinct tuples to tuple IDs, used to merge the tuples of appended rows into a dictionary.
+	 */
+	protected static class TupleMap {
+		private final int _nCol;
+		private final HashMap<DblArray, Integer> _map = new HashMap<>();
+		private double[] _values;
+		private int _size = 0;
+
+		protected TupleMap(int nCol) {
+			_nCol = nCol;
+			_values = new double[nCol * 8];
+		}
+
+		/**
+		 * Create a tuple map seeded with the first tuples of a dictionary, preserving their IDs.
+		 * 
+		 * @param nCol   The number of columns
+		 * @param dict   The dictionary
+		 * @param nTuple The number of tuples to take from the dictionary
+		 */
+		protected TupleMap(int nCol, ADictionary dict, int nTuple) {
+			_nCol = nCol;
+			_values = new double[nCol * Math.max(nTuple, 8)];
+			for(int i = 0; i < nTuple; i++)
+				add(getTuple(dict, i, nCol));
+		}
+
+		protected int getOrAdd(double[] tuple) {
+			final Integer id = _map.get(new DblArray(tuple));
+			return id != null ? id : add(tuple);
+		}
+
+		protected int size() {
+			return _size;
+		}
+
+		protected double[] getValues() {
+			return Arrays.copyOf(_values, _size * _nCol);
+		}
+
+		protected double[] getValuesAndAppend(double[] tuple) {
+			final double[] ret = Arrays.copyOf(_values, (_size + 1) * _nCol);
+			System.arraycopy(tuple, 0, ret, _size * _nCol, _nCol);
+			return ret;
+		}
+
+		private int add(double[] tuple) {
+			if((_size + 1) * _nCol > _values.length)
+				_values = Arrays.copyOf(_values, Math.max(_values.length * 2, (_size + 1) * _nCol));
+			System.arraycopy(tuple, 0, _values, _size * _nCol, _nCol);
+			_map.putIfAbsent(new DblArray(tuple), _size);
+			return _size++;
+		}
+	}
 }
@@ -39,7 +39,7 @@ public class DictionaryFactory {
 	protected static final Log LOG = LogFactory.getLog(DictionaryFactory.class.getName());
 
 	public enum Type {
-		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT
+		FP64_DICT, MATRIX_BLOCK_DICT, INT8_DICT, INT16_DICT
 	}
 
 	public static ADictionary read(DataInput in) throws IOException {
@@ -51,6 +51,8 @@ public class DictionaryFactory {
 				return MatrixBlockDictionary.read(in);
 			case INT8_DICT:
 				return QDictionary.read(in);
+			case INT16_DICT:
+				return QDictionary.read16(in);
 			default:
 				throw new DMLCompressionException("Unsupported type of dictionary : " + type);
 		}
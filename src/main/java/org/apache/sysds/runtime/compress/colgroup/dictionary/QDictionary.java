@@ -22,28 +22,35 @@ package org.apache.sysds.runtime.compress.colgroup.dictionary;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.Arrays;
 
-import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.compress.utils.BitmapLossy;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Divide;
 import org.apache.sysds.runtime.functionobjects.Multiply;
-import org.apache.sysds.runtime.functionobjects.Plus;
-import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.utils.MemoryEstimates;
 
 /**
- * This dictionary class aims to encapsulate the storage and operations over unique floating point values of a column
- * group. The primary reason for its introduction was to provide an entry point for specialization such as shared
- * dictionaries, which require additional information.
+ * This dictionary class stores quantized values of a column group as 8 or 16 bit integer codes and a single scale,
+ * such that each value is code * scale.
+ * 
+ * Aggregations such as sums are calculated on the integer codes and scaled once at the end. Operations that change the
+ * values other than by rescaling return a double dictionary, since their results are no longer on the quantization
+ * grid.
  */
 public class QDictionary extends ADictionary {
 
 	protected double _scale;
+	/** 8 bit codes, null if the dictionary is 16 bit */
 	protected byte[] _values;
+	/** 16 bit codes, null if the dictionary is 8 bit */
+	protected short[] _values16;
+	/** Soft cache of the decoded matrix block dictionary, used by the matrix multiplication kernels */
+	private SoftReference<MatrixBlockDictionary> _decoded = null;
 
 	public QDictionary(BitmapLossy bm) {
 		_values = bm.getValues();
@@ -55,21 +62,67 @@ public class QDictionary extends ADictionary {
 		_scale = scale;
 	}
 
-	@Override
-	public double[] getValues() {
-		if(_values == null) {
-			return new double[0];
+	protected QDictionary(short[] values, double scale) {
+		_values16 = values;
+		_scale = scale;
+	}
+
+	/**
+	 * Create a quantized dictionary from values that all are integer multiples of the scale. The codes are stored in 8
+	 * bit if possible, otherwise in 16 bit.
+	 * 
+	 * @param values The values to encode
+	 * @param scale  The scale, or step size of the quantization grid
+	 * @return The dictionary, or null if a value is not a multiple of the scale or needs more than 16 bit
+	 */
+	public static QDictionary create(double[] values, double scale) {
+		if(!(scale > 0) || Double.isInfinite(scale))
+			return null;
+		int max = 0;
+		for(double v : values) {
+			final double c = Math.rint(v / scale);
+			if(Math.abs(c) > Short.MAX_VALUE || c * scale != v)
+				return null;
+			max = Math.max(max, (int) Math.abs(c));
 		}
-		double[] res = new double[_values.length];
-		for(int i = 0; i < _values.length; i++) {
-			res[i] = getValue(i);
+		if(max <= Byte.MAX_VALUE) {
+			final byte[] ret = new byte[values.length];
+			for(int i = 0; i < values.length; i++)
+				ret[i] = (byte) Math.rint(values[i] / scale);
+			return new QDictionary(ret, scale);
 		}
+		else {
+			final short[] ret = new short[values.length];
+			for(int i = 0; i < values.length; i++)
+				ret[i] = (short) Math.rint(values[i] / scale);
+			return new QDictionary(ret, scale);
+		}
+	}
+
+	private int code(int i) {
+		return _values != null ? _values[i] : _values16[i];
+	}
+
+	private int size() {
+		return _values != null ? _values.length : _values16 != null ? _values16.length : 0;
+	}
+
+	public boolean is16Bit() {
+		return _values16 != null;
+	}
+
+	@Override
+	public double[] getValues() {
+		final int len = size();
+		double[] res = new double[len];
+		for(int i = 0; i < len; i++)
+			res[i] = code(i) * _scale;
 		return res;
 	}
 
 	@Override
 	public double getValue(int i) {
-		return (i >= size()) ? 0.0 : _values[i] * _scale;
+		return (i >= size()) ? 0.0 : code(i) * _scale;
 	}
 
 	public byte getValueByte(int i) {
@@ -86,13 +139,18 @@ public class QDictionary extends ADictionary {
 
 	@Override
 	public long getInMemorySize() {
-		// object + values array + double
-		return getInMemorySize(size());
+		return getInMemorySize(size(), is16Bit());
 	}
 
 	public static long getInMemorySize(int valuesCount) {
-		// object + values array + double
-		return 16 + MemoryEstimates.byteArrayCost(valuesCount) + 8;
+		return getInMemorySize(valuesCount, false);
+	}
+
+	public static long getInMemorySize(int valuesCount, boolean sixteenBit) {
+		// object + values array + double + second array reference
+		// a 16 bit array has the same size as a char array.
+		return 16 + (sixteenBit ? MemoryEstimates.charArrayCost(valuesCount) : MemoryEstimates
+			.byteArrayCost(valuesCount)) + 8 + 8;
 	}
 
 	@Override
@@ -109,144 +167,75 @@ public class QDictionary extends ADictionary {
 	public double[] aggregateTuples(Builtin fn, final int nCol) {
 		if(nCol == 1)
 			return getValues();
-		final int nRows = _values.length / nCol;
+		final int nRows = size() / nCol;
 		double[] res = new double[nRows];
 		for(int i = 0; i < nRows; i++) {
 			final int off = i * nCol;
-			res[i] = _values[off];
+			res[i] = getValue(off);
 			for(int j = off + 1; j < off + nCol; j++)
-				res[i] = fn.execute(res[i], _values[j] * _scale);
+				res[i] = fn.execute(res[i], getValue(j));
 		}
 		return res;
 	}
 
 	@Override
-	public QDictionary apply(ScalarOperator op) {
-		if(_values == null)
+	public ADictionary apply(ScalarOperator op) {
+		if(size() == 0)
 			return this;
-
-		if(op.fn instanceof Multiply || op.fn instanceof Divide) {
+		// scaling all values keeps the codes and only modifies the scale.
+		if(op.fn instanceof Multiply || (op.fn instanceof Divide && op instanceof RightScalarOperator)) {
 			_scale = op.executeScalar(_scale);
+			_decoded = null;
 			return this;
-			// return new QDictionary(_values, op.executeScalar(_scale));
-		}
-		else if(op.fn instanceof Plus) {
-			// TODO: find more operations that have the property of larges and smallest value producing the largest or
-			// smallest value from operation
-			double max = Math.max(Math.abs(op.executeScalar(-127 * _scale)), Math.abs(op.executeScalar(127 * _scale)));
-			double oldScale = _scale;
-			_scale = max / 127.0;
-
-			for(int i = 0; i < _values.length; i++) {
-				_values[i] = (byte) Math.round(op.executeScalar(_values[i] * oldScale) / _scale);
-			}
-		}
-		else {
-			double[] temp = new double[_values.length];
-			double max = Math.abs(op.executeScalar(getValue(0)));
-			for(int i = 0; i < _values.length; i++) {
-				temp[i] = op.executeScalar(getValue(i));
-				double absTemp = Math.abs(temp[i]);
-				if(absTemp > max) {
-					max = absTemp;
-				}
-			}
-			_scale = max / (double) (Byte.MAX_VALUE);
-			for(int i = 0; i < _values.length; i++) {
-				_values[i] = (byte) Math.round(temp[i] / _scale);
-			}
 		}
-		return this;
+		return makeDoubleDictionary().apply(op);
 	}
 
 	@Override
-	public QDictionary applyScalarOp(ScalarOperator op, double newVal, int numCols) {
-		double[] temp = getValues();
-		double max = Math.abs(newVal);
-		for(int i = 0; i < size(); i++) {
-			temp[i] = op.executeScalar(temp[i]);
-			double absTemp = Math.abs(temp[i]);
-			if(absTemp > max) {
-				max = absTemp;
-			}
-		}
-		double scale = max / (double) (Byte.MAX_VALUE);
-		byte[] res = new byte[size() + numCols];
-		for(int i = 0; i < size(); i++) {
-			res[i] = (byte) Math.round(temp[i] / scale);
-		}
-		Arrays.fill(res, size(), size() + numCols, (byte) Math.round(newVal / scale));
-		return new QDictionary(res, scale);
+	public ADictionary applyScalarOp(ScalarOperator op, double newVal, int numCols) {
+		return makeDoubleDictionary().applyScalarOp(op, newVal, numCols);
 	}
 
 	@Override
-	public QDictionary applyBinaryRowOpRight(BinaryOperator op, double[] v, boolean sparseSafe, int[] colIndexes) {
-		ValueFunction fn = op.fn;
-		if(_values == null) {
-			if(sparseSafe) {
-				return new QDictionary(null, 1);
-			}
-			else {
-				_values = new byte[0];
-			}
-		}
-
-		double[] temp = sparseSafe ? new double[_values.length] : new double[_values.length + colIndexes.length];
-		double max = Math.abs(fn.execute(0, v[0]));
-		final int colL = colIndexes.length;
-		int i = 0;
-		for(; i < size(); i++) {
-			temp[i] = fn.execute(_values[i] * _scale, v[colIndexes[i % colL]]);
-			double absTemp = Math.abs(temp[i]);
-			if(absTemp > max) {
-				max = absTemp;
-			}
-		}
-		if(!sparseSafe)
-			for(; i < size() + colL; i++) {
-				temp[i] = fn.execute(0, v[colIndexes[i % colL]]);
-				double absTemp = Math.abs(temp[i]);
-				if(absTemp > max) {
-					max = absTemp;
-				}
-			}
-
-		double scale = max / (double) (Byte.MAX_VALUE);
-		byte[] res = sparseSafe ? _values : new byte[size() + colIndexes.length];
-
-		for(i = 0; i < temp.length; i++) {
-			res[i] = (byte) Math.round(temp[i] / scale);
-		}
-		return new QDictionary(res, scale);
+	public ADictionary applyBinaryRowOpRight(BinaryOperator op, double[] v, boolean sparseSafe, int[] colIndexes) {
+		return makeDoubleDictionary().applyBinaryRowOpRight(op, v, sparseSafe, colIndexes);
 	}
 
 	@Override
-	public QDictionary applyBinaryRowOpLeft(BinaryOperator op, double[] v, boolean sparseSafe, int[] colIndexes) {
-		throw new NotImplementedException("Not Implemented yet");
-	}
-
-	private int size() {
-		return _values.length;
+	public ADictionary applyBinaryRowOpLeft(BinaryOperator op, double[] v, boolean sparseSafe, int[] colIndexes) {
+		return makeDoubleDictionary().applyBinaryRowOpLeft(op, v, sparseSafe, colIndexes);
 	}
 
 	@Override
 	public QDictionary clone() {
-		return new QDictionary(_values.clone(), _scale);
+		return is16Bit() ? new QDictionary(_values16.clone(), _scale) : new QDictionary(
+			_values != null ? _values.clone() : null, _scale);
 	}
 
 	@Override
 	public QDictionary cloneAndExtend(int len) {
-		byte[] ret = Arrays.copyOf(_values, _values.length + len);
-		return new QDictionary(ret, _scale);
+		if(is16Bit())
+			return new QDictionary(Arrays.copyOf(_values16, _values16.length + len), _scale);
+		return new QDictionary(Arrays.copyOf(_values != null ? _values : new byte[0], size() + len), _scale);
 	}
 
 	@Override
 	public void write(DataOutput out) throws IOException {
-		out.writeByte(DictionaryFactory.Type.INT8_DICT.ordinal());
-		out.writeDouble(_scale);
-		out.writeInt(_values.length);
-		for(int i = 0; i < _values.length; i++)
-			out.writeByte(_values[i]);
+		final int len = size();
+		if(is16Bit()) {
+			out.writeByte(DictionaryFactory.Type.INT16_DICT.ordinal());
+			out.writeDouble(_scale);
+			out.writeInt(len);
+			for(int i = 0; i < len; i++)
+				out.writeShort(_values16[i]);
+		}
+		else {
+			out.writeByte(DictionaryFactory.Type.INT8_DICT.ordinal());
+			out.writeDouble(_scale);
+			out.writeInt(len);
+			for(int i = 0; i < len; i++)
+				out.writeByte(_values[i]);
+		}
 	}
 
 	public static QDictionary read(DataInput in) throws IOException {
@@ -259,20 +248,29 @@ public class QDictionary extends ADictionary {
 		return new QDictionary(values, scale);
 	}
 
+	public static QDictionary read16(DataInput in) throws IOException {
+		double scale = in.readDouble();
+		int numVals = in.readInt();
+		short[] values = new short[numVals];
+		for(int i = 0; i < numVals; i++)
+			values[i] = in.readShort();
+		return new QDictionary(values, scale);
+	}
+
 	@Override
 	public long getExactSizeOnDisk() {
-		return 1 + 8 + 4 + size();
+		return 1 + 8 + 4 + (long) size() * (is16Bit() ? 2 : 1);
 	}
 
 	@Override
 	public int getNumberOfValues(int nCol) {
-		return (_values == null) ? 0 : _values.length / nCol;
+		return size() / nCol;
 	}
 
 	@Override
 	public double[] sumAllRowsToDouble(boolean square, int nrColumns) {
 		if(nrColumns == 1 && !square)
-			return getValues(); // shallow copy of values
+			return getValues();
 
 		final int numVals = getNumberOfValues(nrColumns);
 		double[] ret = new double[numVals];
@@ -285,128 +283,107 @@ public class QDictionary extends ADictionary {
 
 	@Override
 	public double sumRow(int k, boolean square, int nrColumns) {
-		if(_values == null)
+		if(size() == 0)
 			return 0;
-		int valOff = k * nrColumns;
-
+		final int valOff = k * nrColumns;
+		long res = 0;
 		if(!square) {
-			int res = 0;
-			for(int i = 0; i < nrColumns; i++) {
-				res += _values[valOff + i];
-			}
+			for(int i = valOff; i < valOff + nrColumns; i++)
+				res += code(i);
 			return res * _scale;
 		}
 		else {
-			// kSquare
-			double res = 0.0;
-			for(int i = 0; i < nrColumns; i++)
-				res += (int) (_values[valOff + i] * _values[valOff + i]) * _scale * _scale;
-			return res;
+			for(int i = valOff; i < valOff + nrColumns; i++)
+				res += (long) code(i) * code(i);
+			return res * _scale * _scale;
 		}
 	}
 
 	@Override
 	public double[] colSum(int[] counts, int nCol) {
-		throw new NotImplementedException("Not Implemented");
-		// final double[] res = new double[counts.length];
-		// int idx = 0;
-		// for(int k = 0; k< _values.length / counts.length; k++){
-		// final int cntk = counts[k];
-		// for(int j = 0; j< counts.length; j++){
-		// res[j] += _values[idx++] * cntk;
-		// }
-		// }
-		// return res;
+		final long[] sums = new long[nCol];
+		int idx = 0;
+		for(int k = 0; k < size() / nCol; k++) {
+			final long cntk = counts[k];
+			for(int j = 0; j < nCol; j++)
+				sums[j] += code(idx++) * cntk;
+		}
+		final double[] res = new double[nCol];
+		for(int j = 0; j < nCol; j++)
+			res[j] = sums[j] * _scale;
+		return res;
 	}
 
 	@Override
 	public void colSum(double[] c, int[] counts, int[] colIndexes, boolean square) {
-		throw new NotImplementedException("Not Implemented");
-		// final int rows = c.length / 2;
-		// if(!(kplus instanceof KahanPlusSq)) {
-		// int[] sum = new int[colIndexes.length];
-		// int valOff = 0;
-		// for(int k = 0; k < getNumberOfValues(colIndexes.length); k++) {
-		// int cntk = counts[k];
-		// for(int j = 0; j < colIndexes.length; j++) {
-		// sum[j] += cntk * getValueByte(valOff++);
-		// }
-		// }
-		// for(int j = 0; j < colIndexes.length; j++) {
-		// c[colIndexes[j]] = c[colIndexes[j]] + sum[j] * _scale;
-		// }
-		// }
-		// else {
-		// KahanObject kbuff = new KahanObject(0, 0);
-		// int valOff = 0;
-		// for(int k = 0; k < getNumberOfValues(colIndexes.length); k++) {
-		// int cntk = counts[k];
-		// for(int j = 0; j < colIndexes.length; j++) {
-		// kbuff.set(c[colIndexes[j]], c[colIndexes[j] + rows]);
-		// kplus.execute3(kbuff, getValue(valOff++), cntk);
-		// c[colIndexes[j]] = kbuff._sum;
-		// c[colIndexes[j] + rows] = kbuff._correction;
-		// }
-		// }
-		// }
+		final int nCol = colIndexes.length;
+		final long[] sums = new long[nCol];
+		int idx = 0;
+		for(int k = 0; k < size() / nCol; k++) {
+			final long cntk = counts[k];
+			for(int j = 0; j < nCol; j++) {
+				final long v = code(idx++);
+				sums[j] += (square ? v * v : v) * cntk;
+			}
+		}
+		final double s = square ? _scale * _scale : _scale;
+		for(int j = 0; j < nCol; j++)
+			c[colIndexes[j]] += sums[j] * s;
 	}
 
 	@Override
 	public double sum(int[] counts, int ncol) {
-		throw new NotImplementedException("Not Implemented");
-		// if(!(kplus instanceof KahanPlusSq)) {
-		// int sum = 0;
-		// int valOff = 0;
-		// for(int k = 0; k < getNumberOfValues(ncol); k++) {
-		// int countK = counts[k];
-		// for(int j = 0; j < ncol; j++) {
-		// sum += countK * getValueByte(valOff++);
-		// }
-		// }
-		// return sum * _scale;
-		// }
-		// else {
-		// KahanObject kbuff = new KahanObject(0, 0);
-		// int valOff = 0;
-		// for(int k = 0; k < getNumberOfValues(ncol); k++) {
-		// int countK = counts[k];
-		// for(int j = 0; j < ncol; j++) {
-		// kplus.execute3(kbuff, getValue(valOff++), countK);
-		// }
-		// }
-		// return kbuff._sum;
-		// }
+		long sum = 0;
+		int valOff = 0;
+		for(int k = 0; k < size() / ncol; k++) {
+			final long countK = counts[k];
+			for(int j = 0; j < ncol; j++)
+				sum += code(valOff++) * countK;
+		}
+		return sum * _scale;
 	}
 
 	@Override
 	public double sumsq(int[] counts, int ncol) {
-		throw new NotImplementedException("Not Implemented");
+		long sum = 0;
+		int valOff = 0;
+		for(int k = 0; k < size() / ncol; k++) {
+			final long countK = counts[k];
+			for(int j = 0; j < ncol; j++) {
+				final long v = code(valOff++);
+				sum += v * v * countK;
+			}
+		}
+		return sum * _scale * _scale;
 	}
 
 	@Override
 	public void addMaxAndMin(double[] ret, int[] colIndexes) {
-		byte[] mins = new byte[colIndexes.length];
-		byte[] maxs = new byte[colIndexes.length];
-		for(int i = 0; i < colIndexes.length; i++) {
-			mins[i] = _values[i];
-			maxs[i] = _values[i];
+		final int nCol = colIndexes.length;
+		int[] mins = new int[nCol];
+		int[] maxs = new int[nCol];
+		for(int i = 0; i < nCol; i++) {
+			mins[i] = code(i);
+			maxs[i] = code(i);
 		}
-		for(int i = colIndexes.length; i < _values.length; i++) {
-			int idx = i % colIndexes.length;
-			mins[idx] = (byte) Math.min(_values[i], mins[idx]);
-			maxs[idx] = (byte) Math.max(_values[i], maxs[idx]);
+		for(int i = nCol; i < size(); i++) {
+			int idx = i % nCol;
+			mins[idx] = Math.min(code(i), mins[idx]);
+			maxs[idx] = Math.max(code(i), maxs[idx]);
 		}
-		for(int i = 0; i < colIndexes.length; i++) {
+		for(int i = 0; i < nCol; i++) {
 			int idy = colIndexes[i] * 2;
-			ret[idy] += mins[i] * _scale;
-			ret[idy + 1] += maxs[i] * _scale;
+			// a negative scale swaps the minimum and maximum
+			ret[idy] += Math.min(mins[i] * _scale, maxs[i] * _scale);
+			ret[idy + 1] += Math.max(mins[i] * _scale, maxs[i] * _scale);
 		}
 	}
 
 	public String getString(int colIndexes) {
 		StringBuilder sb = new StringBuilder();
+		sb.append("scale: " + _scale + "\n");
 		for(int i = 0; i < size(); i++) {
-			sb.append(_values[i]);
+			sb.append(code(i));
 			sb.append((i) % (colIndexes) == colIndexes - 1 ? "\n" : " ");
 		}
 		return sb.toString();
@@ -420,23 +397,33 @@ public class QDictionary extends ADictionary {
 	public ADictionary sliceOutColumnRange(int idxStart, int idxEnd, int previousNumberOfColumns) {
 		int numberTuples = getNumberOfValues(previousNumberOfColumns);
 		int tupleLengthAfter = idxEnd - idxStart;
-		byte[] newDictValues = new byte[tupleLengthAfter * numberTuples];
+		int[] idx = new int[tupleLengthAfter * numberTuples];
 		int orgOffset = idxStart;
 		int targetOffset = 0;
 		for(int v = 0; v < numberTuples; v++) {
 			for(int c = 0; c < tupleLengthAfter; c++, orgOffset++, targetOffset++) {
-				newDictValues[targetOffset] = _values[orgOffset];
+				idx[targetOffset] = orgOffset;
 			}
 			orgOffset += previousNumberOfColumns - idxEnd + idxStart;
 		}
+		if(is16Bit()) {
+			short[] newDictValues = new short[idx.length];
+			for(int i = 0; i < idx.length; i++)
+				newDictValues[i] = _values16[idx[i]];
+			return new QDictionary(newDictValues, _scale);
+		}
+		byte[] newDictValues = new byte[idx.length];
+		for(int i = 0; i < idx.length; i++)
+			newDictValues[i] = _values[idx[i]];
 		return new QDictionary(newDictValues, _scale);
 	}
 
 	public ADictionary reExpandColumns(int max) {
-		byte[] newDictValues = new byte[_values.length * max];
+		final int len = size();
+		byte[] newDictValues = new byte[len * max];
 
-		for(int i = 0, offset = 0; i < _values.length; i++, offset += max) {
-			int val = _values[i] - 1;
+		for(int i = 0, offset = 0; i < len; i++, offset += max) {
+			int val = (int) getValue(i) - 1;
 			newDictValues[offset + val] = 1;
 		}
 
@@ -447,18 +434,21 @@ public class QDictionary extends ADictionary {
 	public boolean containsValue(double pattern) {
 		if(Double.isNaN(pattern) || Double.isInfinite(pattern))
 			return false;
-		throw new NotImplementedException("Not contains value on Q Dictionary");
+		for(int i = 0; i < size(); i++)
+			if(getValue(i) == pattern)
+				return true;
+		return false;
 	}
 
 	@Override
 	public long getNumberNonZeros(int[] counts, int nCol) {
 		long nnz = 0;
-		final int nRow = _values.length / nCol;
+		final int nRow = size() / nCol;
 		for(int i = 0; i < nRow; i++) {
 			long rowCount = 0;
 			final int off = i * nCol;
 			for(int j = off; j < off + nCol; j++) {
-				if(_values[j] != 0)
+				if(code(j) != 0)
 					rowCount++;
 			}
 			nnz += rowCount * counts[i];
@@ -468,46 +458,84 @@ public class QDictionary extends ADictionary {
 
 	@Override
 	public void addToEntry(Dictionary d, int fr, int to, int nCol) {
-		throw new NotImplementedException("Not implemented yet");
+		final int sf = nCol * fr; // start from
+		final int ef = sf + nCol; // end from
+		double[] v = d.getValues();
+		for(int i = sf, j = nCol * to; i < ef; i++, j++)
+			v[j] += code(i) * _scale;
 	}
 
 	@Override
 	public boolean isLossy() {
-		return false;
+		return true;
 	}
 
 	@Override
 	public double[] getTuple(int index, int nCol) {
-		return null;
+		final double[] tuple = new double[nCol];
+		boolean allZero = true;
+		for(int i = index * nCol, off = 0; i < (index + 1) * nCol && i < size(); i++, off++) {
+			if(code(i) != 0) {
+				tuple[off] = code(i) * _scale;
+				allZero = false;
+			}
+		}
+		return allZero ? null : tuple;
 	}
 
 	@Override
 	public ADictionary subtractTuple(double[] tuple) {
-		throw new NotImplementedException();
+		return makeDoubleDictionary().subtractTuple(tuple);
 	}
 
 	@Override
 	public MatrixBlockDictionary getAsMatrixBlockDictionary(int nCol) {
-		throw new NotImplementedException();
+		// the returned dictionary is only read by the callers, therefore the decoded values are reused
+		MatrixBlockDictionary ret = _decoded != null ? _decoded.get() : null;
+		if(ret == null || ret.getMatrixBlock().getNumColumns() != nCol) {
+			ret = makeDoubleDictionary().getAsMatrixBlockDictionary(nCol);
+			_decoded = new SoftReference<>(ret);
+		}
+		return ret;
 	}
 
 	@Override
 	public void aggregateCols(double[] c, Builtin fn, int[] colIndexes) {
-		throw new NotImplementedException();
+		int ncol = colIndexes.length;
+		int vlen = size() / ncol;
+		for(int k = 0; k < vlen; k++)
+			for(int j = 0, valOff = k * ncol; j < ncol; j++)
+				c[colIndexes[j]] = fn.execute(c[colIndexes[j]], code(valOff + j) * _scale);
 	}
 
 	@Override
 	public ADictionary scaleTuples(int[] scaling, int nCol) {
-		throw new NotImplementedException();
+		return makeDoubleDictionary().scaleTuples(scaling, nCol);
 	}
 
 	@Override
 	public ADictionary preaggValuesFromDense(int numVals, int[] colIndexes, int[] aggregateColumns, double[] b, int cut) {
-		throw new NotImplementedException();
+		// aggregate on the integer codes and scale the result once
+		final int nCol = colIndexes.length;
+		final int nAgg = aggregateColumns.length;
+		double[] ret = new double[numVals * nAgg];
+		for(int k = 0, off = 0; k < numVals * nCol; k += nCol, off += nAgg) {
+			for(int h = 0; h < nCol; h++) {
+				final int v = code(k + h);
+				if(v != 0) {
+					final int idb = colIndexes[h] * cut;
+					for(int i = 0; i < nAgg; i++)
+						ret[off + i] += v * b[idb + aggregateColumns[i]];
+				}
+			}
+		}
+		for(int i = 0; i < ret.length; i++)
+			ret[i] *= _scale;
+		return new Dictionary(ret);
 	}
 
 	@Override
 	public ADictionary replace(double pattern, double replace, int nCol, boolean safe) {
-		throw new NotImplementedException();
+		return makeDoubleDictionary().replace(pattern, replace, nCol, safe);
 	}
 }
@@ -21,7 +21,8 @@ package org.apache.sysds.runtime.compress.cost;
 
 import java.util.Collection;
 
-import org.apache.commons.lang.NotImplementedException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.cost.CostCalibration.Kernel;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
 
 public class ComputationCostEstimator implements ICostEstimate {
@@ -44,12 +45,20 @@ public class ComputationCostEstimator implements ICostEstimate {
 	// private final int _rowBasedOps;
 	private final int _dictionaryOps;
 
+	// Measured kernel throughputs per column group type, null if not calibrated.
+	private final CostCalibration _calibration;
+
 	/**
 	 * A Cost based estimator based on the WTree that is parsed in IPA.
 	 * 
-	 * @param tree The tree to estimate cost from.
+	 * @param nRows       The number of rows in the matrix to compress
+	 * @param nCols       The number of columns in the matrix to compress
+	 * @param compareAll  If the cost should compare all column groups
+	 * @param counts      The counted instructions of the workload
+	 * @param calibration The measured kernel costs, or null to use the static weights
 	 */
-	protected ComputationCostEstimator(int nRows, int nCols, boolean compareAll, InstructionTypeCounter counts) {
+	protected ComputationCostEstimator(int nRows, int nCols, boolean compareAll, InstructionTypeCounter counts,
+		CostCalibration calibration) {
 		_nRows = nRows;
 		// _nColsInMatrix = nCols;
 		_isCompareAll = compareAll;
@@ -61,72 +70,111 @@ public class ComputationCostEstimator implements ICostEstimate {
 		_rightMultiplications = counts.rightMultiplications;
 		_dictionaryOps = counts.dictionaryOps;
 		// _rowBasedOps = counts.rowBasedOps;
+		_calibration = calibration;
 		if(LOG.isDebugEnabled())
 			LOG.debug(this);
 	}
 
 	@Override
 	public double getUncompressedCost(int nRows, int nCols, int sparsity) {
-		throw new NotImplementedException();
+		return getCost(CompressionType.UNCOMPRESSED, nRows, nCols, 0, 1.0);
 	}
 
 	@Override
 	public double getCostOfColumnGroup(CompressedSizeInfoColGroup g) {
 		if(g == null)
 			return Double.POSITIVE_INFINITY;
+		final CompressionType ct = g.getBestCompressionType() != null ? g.getBestCompressionType() : CompressionType.DDC;
+		return getCost(ct, _nRows, g.getColumns().length, g.getNumVals(), g.getTupleSparsity());
+	}
+
+	/**
+	 * Get the cost of processing the columns of the given group in an uncompressed column group.
+	 * 
+	 * @param g The column group to estimate the uncompressed cost of
+	 * @return The cost if left uncompressed
+	 */
+	public double getUncompressedCostOfColumnGroup(CompressedSizeInfoColGroup g) {
+		return getCost(CompressionType.UNCOMPRESSED, _nRows, g.getColumns().length, g.getNumVals(), 1.0);
+	}
+
+	/**
+	 * Get if the cost model is based on measured kernel throughputs. Only then the costs of different column group
+	 * types, including uncompressed, are comparable.
+	 * 
+	 * @return If calibrated
+	 */
+	public boolean isCalibrated() {
+		return _calibration != null;
+	}
+
+	private double getCost(CompressionType ct, int nRows, int nCols, int nVals, double tupleSparsity) {
 		double cost = 0;
-		cost += _scans * scanCost(g);
-		cost += _decompressions * decompressionCost(g);
-		cost += _overlappingDecompressions * overlappingDecompressionCost(g);
-		// 16 is assuming that the left side is 16 rows.
-		cost += _leftMultiplications * leftMultCost(g) * 16;
-		// 16 is assuming that the right side is 16 rows.
-		cost += _rightMultiplications * rightMultCost(g) * 16;
-		cost += _dictionaryOps * dictionaryOpsCost(g);
+		cost += _scans * weight(ct, Kernel.SCAN) * scanCost(ct, nRows, nCols);
+		cost += _decompressions * weight(ct, Kernel.DECOMPRESSION) * decompressionCost(ct, nRows, nCols, nVals);
+		cost += _overlappingDecompressions * weight(ct, Kernel.DECOMPRESSION) *
+			overlappingDecompressionCost(ct, nRows, nVals);
+		cost += _leftMultiplications * weight(ct, Kernel.LEFT_MULT) * leftMultCost(ct, nRows, nCols, nVals, tupleSparsity);
+		cost += _rightMultiplications * weight(ct, Kernel.RIGHT_MULT) *
+			rightMultCost(ct, nRows, nCols, nVals, tupleSparsity);
+		cost += _dictionaryOps * weight(ct, Kernel.DICTIONARY) * dictionaryOpsCost(ct, nRows, nCols, nVals);
 		return cost;
 	}
 
-	private double scanCost(CompressedSizeInfoColGroup g) {
-		return _nRows;
+	private double weight(CompressionType ct, Kernel k) {
+		return _calibration == null ? 1.0 : _calibration.getWeight(ct, k);
 	}
 
-	private double leftMultCost(CompressedSizeInfoColGroup g) {
-		final int nCols = g.getColumns().length;
-		final double preAggregateCost = _nRows * 2.5;
+	protected static double scanCost(CompressionType ct, int nRows, int nCols) {
+		return ct == CompressionType.UNCOMPRESSED ? (double) nRows * nCols : nRows;
+	}
+
+	protected static double leftMultCost(CompressionType ct, int nRows, int nCols, int numberTuples,
+		double tupleSparsity) {
+		// 16 is assuming that the left side is 16 rows.
+		if(ct == CompressionType.UNCOMPRESSED)
+			return (double) nRows * nCols * 16;
+		final double preAggregateCost = nRows * 2.5;
 		// final double preAggregateCost = _nRows * 0.2;
 
-		final int numberTuples = g.getNumVals();
-		final double tupleSparsity = g.getTupleSparsity();
 		final double postScalingCost = (nCols > 1 && tupleSparsity > 0.4) ? numberTuples * nCols : numberTuples *
 			nCols * tupleSparsity;
 		if(numberTuples > 64000)
-			return preAggregateCost + postScalingCost * 2;
-			
-		return preAggregateCost + postScalingCost;
+			return (preAggregateCost + postScalingCost * 2) * 16;
+
+		return (preAggregateCost + postScalingCost) * 16;
 	}
 
-	private static double rightMultCost(CompressedSizeInfoColGroup g) {
-		final int nCols = g.getColumns().length;
-		final int numberTuples = g.getNumVals() * 10;
-		final double tupleSparsity = g.getTupleSparsity();
+	protected static double rightMultCost(CompressionType ct, int nRows, int nCols, int nVals,
+		double tupleSparsity) {
+		// 16 is assuming that the right side is 16 columns.
+		if(ct == CompressionType.UNCOMPRESSED)
+			return (double) nRows * nCols * 16;
+		final int numberTuples = nVals * 10;
 		final double postScalingCost = (nCols > 1 && tupleSparsity > 0.4) ? numberTuples * nCols : numberTuples *
 			nCols * tupleSparsity;
 
-		return postScalingCost;
+		return postScalingCost * 16;
 	}
 
-	private double decompressionCost(CompressedSizeInfoColGroup g) {
-		return _nRows * g.getColumns().length * (g.getNumVals() / 64000 + 1);
+	protected static double decompressionCost(CompressionType ct, int nRows, int nCols, int nVals) {
+		if(ct == CompressionType.UNCOMPRESSED)
+			return (double) nRows * nCols;
+		return nRows * nCols * (nVals / 64000 + 1);
 	}
 
-	private double overlappingDecompressionCost(CompressedSizeInfoColGroup g) {
+	protected static double overlappingDecompressionCost(CompressionType ct, int nRows, int nVals) {
 		// final int nVal = g.getNumVals();
 		// return nVal < 512 ? _nRows : _nRows * _nColsInMatrix * (nVal / 64000 + 1);
-		return  _nRows * 16 * (g.getNumVals() / 64000 + 1);
+		if(ct == CompressionType.UNCOMPRESSED)
+			return nRows * 16;
+		return nRows * 16 * (nVals / 64000 + 1);
 	}
 
-	private static double dictionaryOpsCost(CompressedSizeInfoColGroup g) {
-		return g.getColumns().length * g.getNumVals();
+	protected static double dictionaryOpsCost(CompressionType ct, int nRows, int nCols, int nVals) {
+		if(ct == CompressionType.UNCOMPRESSED)
+			return (double) nRows * nCols;
+		return nCols * nVals;
 	}
 
 	@Override
@@ -223,6 +271,8 @@ public class ComputationCostEstimator implements ICostEstimate {
 		sb.append(_rightMultiplications + " ");
 		sb.append(_compressedMultiplication + " ");
 		sb.append(_dictionaryOps + " ");
+		if(_calibration != null)
+			sb.append("calibrated");
 		return sb.toString();
 	}
 
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.cost;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.compress.lib.BitmapEncoder;
+import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Measured cost per unit of work for the kernels of each column group type.
+ * 
+ * The weights scale the static unit counts of the ComputationCostEstimator, such that the costs of different column
+ * group types, including uncompressed, become comparable on the machine the program runs on. The calibration is either
+ * loaded from a local profile file, or measured once with small micro benchmarks and stored in the profile file for
+ * later runs. The profile file is specified with the configuration sysds.compressed.costprofile.
+ */
+public final class CostCalibration implements Serializable {
+
+	private static final long serialVersionUID = -3526409283491201856L;
+
+	protected static final Log LOG = LogFactory.getLog(CostCalibration.class.getName());
+
+	/** The kernels calibrated */
+	public enum Kernel {
+		SCAN, DECOMPRESSION, LEFT_MULT, RIGHT_MULT, DICTIONARY
+	}
+
+	/** The column group types measured, other types fall back to the weights of DDC */
+	private static final CompressionType[] CALIBRATED = new CompressionType[] {CompressionType.DDC,
+		CompressionType.SDC, CompressionType.OLE, CompressionType.RLE, CompressionType.UNCOMPRESSED};
+
+	private static final int CALIBRATION_ROWS = 1 << 16;
+	private static final int CALIBRATION_DISTINCT = 32;
+	private static final int CALIBRATION_LEFT_ROWS = 16;
+	private static final int CALIBRATION_REPETITIONS = 5;
+
+	private static CostCalibration _profile = null;
+	private static String _profilePath = null;
+
+	// nanoseconds per unit of work, indexed by [CompressionType][Kernel], NaN if not measured.
+	private final double[][] _weights;
+
+	private CostCalibration() {
+		_weights = new double[CompressionType.values().length][Kernel.values().length];
+		for(double[] w : _weights)
+			Arrays.fill(w, Double.NaN);
+	}
+
+	/**
+	 * Get the calibration specified in the configuration. On first use the profile file is read, or if it does not exist
+	 * the calibration is measured and written to the file.
+	 * 
+	 * @return The calibration, or null if no cost profile is configured
+	 */
+	public static synchronized CostCalibration get() {
+		final String path = ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.COMPRESSED_COST_PROFILE);
+		if(path == null || path.isEmpty() || path.equalsIgnoreCase("none"))
+			return null;
+		if(_profile == null || !path.equals(_profilePath)) {
+			_profile = readOrCalibrate(new File(path));
+			_profilePath = path;
+		}
+		return _profile;
+	}
+
+	/**
+	 * Get the weight of a kernel for a column group type.
+	 * 
+	 * @param ct The column group type
+	 * @param k  The kernel
+	 * @return The measured cost per unit of work
+	 */
+	public double getWeight(CompressionType ct, Kernel k) {
+		final double w = _weights[ct.ordinal()][k.ordinal()];
+		return Double.isNaN(w) ? _weights[CompressionType.DDC.ordinal()][k.ordinal()] : w;
+	}
+
+	private static CostCalibration readOrCalibrate(File f) {
+		if(f.exists()) {
+			try {
+				return read(f);
+			}
+			catch(IOException e) {
+				LOG.warn("Failed to read compression cost profile " + f + ", recalibrating", e);
+			}
+		}
+		final CostCalibration ret = calibrate();
+		try {
+			ret.write(f);
+		}
+		catch(IOException e) {
+			LOG.warn("Failed to write compression cost profile " + f, e);
+		}
+		return ret;
+	}
+
+	/**
+	 * Read a calibration from a profile file.
+	 * 
+	 * @param f The profile file
+	 * @return The calibration
+	 * @throws IOException If the file could not be read or is missing the DDC weights
+	 */
+	public static CostCalibration read(File f) throws IOException {
+		final Properties p = new Properties();
+		try(InputStream in = new FileInputStream(f)) {
+			p.load(in);
+		}
+		final CostCalibration ret = new CostCalibration();
+		try {
+			for(CompressionType ct : CompressionType.values())
+				for(Kernel k : Kernel.values()) {
+					final String v = p.getProperty(ct + "." + k);
+					if(v != null)
+						ret._weights[ct.ordinal()][k.ordinal()] = Double.parseDouble(v);
+				}
+		}
+		catch(NumberFormatException e) {
+			throw new IOException("Invalid compression cost profile " + f, e);
+		}
+		for(Kernel k : Kernel.values())
+			if(Double.isNaN(ret._weights[CompressionType.DDC.ordinal()][k.ordinal()]))
+				throw new IOException("Invalid compression cost profile " + f + ", missing " + CompressionType.DDC + "." + k);
+		return ret;
+	}
+
+	/**
+	 * Write this calibration to a profile file.
+	 * 
+	 * @param f The profile file
+	 * @throws IOException If the file could not be written
+	 */
+	public void write(File f) throws IOException {
+		final Properties p = new Properties();
+		for(CompressionType ct : CompressionType.values())
+			for(Kernel k : Kernel.values())
+				if(!Double.isNaN(_weights[ct.ordinal()][k.ordinal()]))
+					p.setProperty(ct + "." + k, Double.toString(_weights[ct.ordinal()][k.ordinal()]));
+		try(OutputStream out = new FileOutputStream(f)) {
+			p.store(out, "SystemDS compression cost profile");
+		}
+	}
+
+	/**
+	 * Measure the kernel costs of each calibrated column group type, on a synthetic column with few distinct values.
+	 * 
+	 * @return The measured calibration
+	 */
+	public static CostCalibration calibrate() {
+		final CostCalibration ret = new CostCalibration();
+		final int nRows = CALIBRATION_ROWS;
+		final MatrixBlock in = generateColumn(nRows, CALIBRATION_DISTINCT, 7);
+		final MatrixBlock left = generateLeft(CALIBRATION_LEFT_ROWS, nRows, 13);
+		final MatrixBlock right = new MatrixBlock(1, 16, 1.0);
+		final ScalarOperator sop = new RightScalarOperator(Plus.getPlusFnObject(), 1);
+		final CompressionSettings cs = new CompressionSettingsBuilder().create();
+		final int[] cols = new int[] {0};
+		final ABitmap ubm = BitmapEncoder.extractBitmap(cols, in, false);
+
+		for(CompressionType ct : CALIBRATED) {
+			final AColGroup g;
+			try {
+				g = ColGroupFactory.compress(cols, nRows, ubm, ct, cs, in, 1.0);
+			}
+			catch(Exception e) {
+				LOG.warn("Failed to calibrate compression cost of " + ct, e);
+				continue;
+			}
+			final int nVals = g.getNumValues();
+			final double[] w = ret._weights[ct.ordinal()];
+
+			final int[] rnnz = new int[nRows];
+			w[Kernel.SCAN.ordinal()] = time(() -> g.countNonZerosPerRow(rnnz, 0, nRows)) /
+				ComputationCostEstimator.scanCost(ct, nRows, 1);
+
+			final MatrixBlock target = new MatrixBlock(nRows, 1, false);
+			target.allocateDenseBlock();
+			w[Kernel.DECOMPRESSION.ordinal()] = time(() -> g.decompressToBlockSafe(target, 0, nRows, 0)) /
+				ComputationCostEstimator.decompressionCost(ct, nRows, 1, nVals);
+
+			final MatrixBlock result = new MatrixBlock(left.getNumRows(), 1, false);
+			result.allocateDenseBlock();
+			w[Kernel.LEFT_MULT.ordinal()] = time(() -> g.leftMultByMatrix(left, result, 0, left.getNumRows())) /
+				ComputationCostEstimator.leftMultCost(ct, nRows, 1, nVals, 1.0);
+
+			w[Kernel.RIGHT_MULT.ordinal()] = time(() -> g.rightMultByMatrix(right)) /
+				ComputationCostEstimator.rightMultCost(ct, nRows, 1, nVals, 1.0);
+
+			w[Kernel.DICTIONARY.ordinal()] = time(() -> g.scalarOperation(sop)) /
+				ComputationCostEstimator.dictionaryOpsCost(ct, nRows, 1, nVals);
+		}
+
+		if(LOG.isDebugEnabled())
+			LOG.debug(ret);
+		return ret;
+	}
+
+	private static double time(Runnable r) {
+		// warmup, then take the fastest repetition to reduce noise from other threads and the JIT.
+		r.run();
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < CALIBRATION_REPETITIONS; i++) {
+			final long t = System.nanoTime();
+			r.run();
+			best = Math.min(best, System.nanoTime() - t);
+		}
+		return Math.max(best, 1);
+	}
+
+	private static MatrixBlock generateColumn(int nRows, int nDistinct, int seed) {
+		final Random r = new Random(seed);
+		final MatrixBlock ret = new MatrixBlock(nRows, 1, false);
+		ret.allocateDenseBlock();
+		final double[] values = ret.getDenseBlockValues();
+		// a fifth of the rows are zero to make SDC and OLE exploit their offsets.
+		for(int i = 0; i < nRows; i++)
+			values[i] = r.nextInt(5) == 0 ? 0 : r.nextInt(nDistinct) + 1;
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static MatrixBlock generateLeft(int nRows, int nCols, int seed) {
+		final Random r = new Random(seed);
+		final MatrixBlock ret = new MatrixBlock(nRows, nCols, false);
+		ret.allocateDenseBlock();
+		final double[] values = ret.getDenseBlockValues();
+		for(int i = 0; i < values.length; i++)
+			values[i] = r.nextDouble();
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		for(CompressionType ct : CALIBRATED) {
+			sb.append("\n ");
+			sb.append(ct);
+			sb.append(" ");
+			for(Kernel k : Kernel.values())
+				sb.append(String.format(" %s:%.4f", k, getWeight(ct, k)));
+		}
+		return sb.toString();
+	}
+}
@@ -50,8 +50,19 @@ public final class CostEstimatorBuilder implements Serializable {
 			addNode(1, n, counter);
 	}
 
+	/**
+	 * Create a cost estimator builder from already counted instructions, for instance the operations observed while
+	 * executing on a previously compressed matrix.
+	 * 
+	 * @param counter The instruction counts
+	 */
+	public CostEstimatorBuilder(InstructionTypeCounter counter) {
+		this.counter = counter;
+	}
+
 	public ComputationCostEstimator create(int nRows, int nCols) {
-		return new ComputationCostEstimator(nRows, nCols, counter.compressedMultiplications > 0, counter);
+		return new ComputationCostEstimator(nRows, nCols, counter.compressedMultiplications > 0, counter,
+			CostCalibration.get());
 	}
 
 	public InstructionTypeCounter getCounter() {
@@ -70,6 +70,47 @@ public final class InstructionTypeCounter implements Serializable {
 		return indexing;
 	}
 
+	/**
+	 * Get if no operations are counted.
+	 * 
+	 * @return true if all counters are zero
+	 */
+	public boolean isEmpty() {
+		return scans + decompressions + overlappingDecompressions + leftMultiplications + rightMultiplications +
+			compressedMultiplications + dictionaryOps + indexing == 0;
+	}
+
+	// increments used to count the operations observed at runtime on a compressed matrix,
+	// synchronized since a compressed block can be shared across parfor workers.
+
+	public synchronized void incScans() {
+		scans++;
+	}
+
+	public synchronized void incDecompressions() {
+		decompressions++;
+	}
+
+	public synchronized void incOverlappingDecompressions() {
+		overlappingDecompressions++;
+	}
+
+	public synchronized void incLeftMultiplications() {
+		leftMultiplications++;
+	}
+
+	public synchronized void incRightMultiplications() {
+		rightMultiplications++;
+	}
+
+	public synchronized void incCompressedMultiplications() {
+		compressedMultiplications++;
+	}
+
+	public synchronized void incDictionaryOps() {
+		dictionaryOps++;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
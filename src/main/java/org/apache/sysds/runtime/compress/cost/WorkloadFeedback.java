@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.cost;
+
+/**
+ * Operations observed at runtime on the last matrix compressed by a compression instruction. Every workload-planned
+ * compression instruction holds its own feedback, such that observations are neither shared across instructions nor
+ * kept after the instruction (and its program) is released.
+ * 
+ * When the same compression instruction executes again, for instance in a loop or a repeated function call, the
+ * observed counts replace the static counts of the workload tree in the decision to compress and in the cost based
+ * planning of the compression.
+ */
+public final class WorkloadFeedback {
+
+	private volatile InstructionTypeCounter _observed = null;
+
+	/**
+	 * Get the operations observed on the last compressed matrix.
+	 * 
+	 * @return The observed operations, or null if nothing was observed
+	 */
+	public InstructionTypeCounter getObserved() {
+		final InstructionTypeCounter c = _observed;
+		return c == null || c.isEmpty() ? null : c;
+	}
+
+	/**
+	 * Start observing the operations on a newly compressed matrix, replacing the previous observation.
+	 * 
+	 * @return The counter to attach to the compressed matrix
+	 */
+	public InstructionTypeCounter observe() {
+		final InstructionTypeCounter c = new InstructionTypeCounter();
+		_observed = c;
+		return c;
+	}
+
+	/**
+	 * Remove the current observation.
+	 */
+	public void clear() {
+		_observed = null;
+	}
+}
@@ -220,7 +220,7 @@ public abstract class CompressedSizeEstimator {
 	public static EstimationFactors estimateCompressedColGroupSize(ABitmap ubm, int[] colIndexes, int nrRows,
 		CompressionSettings cs) {
 		return EstimationFactors.computeSizeEstimationFactors(ubm, cs.validCompressions.contains(CompressionType.RLE),
-			colIndexes);
+			cs.validCompressions.contains(CompressionType.DELTA), colIndexes);
 	}
 
 	private CompressedSizeInfoColGroup[] CompressedSizeInfoColGroup(int clen) {
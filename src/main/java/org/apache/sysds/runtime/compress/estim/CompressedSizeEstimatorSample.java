@@ -19,7 +19,8 @@
 
 package org.apache.sysds.runtime.compress.estim;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.compress.CompressionSettings;
@@ -40,7 +41,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 	private int[] _sampleRows;
 	private MatrixBlock _sample;
-	private HashMap<Integer, Double> _solveCache = null;
+	private Map<Integer, Double> _solveCache = null;
 
 	/**
 	 * CompressedSizeEstimatorSample, samples from the input data and estimates the size of the compressed matrix.
@@ -60,7 +61,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 	public MatrixBlock sampleData(int sampleSize) {
 		_sampleRows = CompressedSizeEstimatorSample.getSortedUniformSample(_numRows, sampleSize, _cs.seed);
-		_solveCache = new HashMap<>();
+		_solveCache = new ConcurrentHashMap<>();
 		MatrixBlock sampledMatrixBlock;
 		if(_data.isInSparseFormat() && !_cs.transposed) {
 			sampledMatrixBlock = new MatrixBlock(_sampleRows.length, _data.getNumColumns(), true);
@@ -95,7 +96,8 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 		// extract statistics from sample
 		final ABitmap ubm = BitmapEncoder.extractBitmap(colIndexes, _sample, _transposed);
-		final EstimationFactors sampleFacts = EstimationFactors.computeSizeEstimationFactors(ubm, false, colIndexes);
+		final EstimationFactors sampleFacts = EstimationFactors.computeSizeEstimationFactors(ubm, false,
+			_cs.validCompressions.contains(CompressionType.DELTA), colIndexes);
 		final AMapToData map = MapToFactory.create(ubm);
 
 		// result facts
@@ -152,7 +154,8 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 			return new EstimationFactors(colIndexes, totalCardinality, numNonZeros, largestInstanceCount,
 				sampleFacts.frequencies, totalNumRuns, sampleFacts.numSingle, _numRows, sampleFacts.lossy,
-				sampleFacts.zeroIsMostFrequent, sampleFacts.overAllSparsity, sampleFacts.tupleSparsity);
+				sampleFacts.zeroIsMostFrequent, sampleFacts.overAllSparsity, sampleFacts.tupleSparsity,
+				sampleFacts.valueRange, sampleFacts.deltaRange);
 		}
 	}
 
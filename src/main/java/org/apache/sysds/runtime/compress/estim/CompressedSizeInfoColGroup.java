@@ -230,6 +230,16 @@ public class CompressedSizeInfoColGroup {
 						fact.lossy);
 				return ColGroupSizes.estimateInMemorySizeSDC(numCols, fact.numVals, fact.numRows, fact.largestOff,
 					fact.zeroIsMostFrequent, fact.containNoZeroValues, fact.tupleSparsity, fact.lossy);
+			case FOR:
+				if(numCols == 1 && fact.valueRange >= 0)
+					return ColGroupSizes.estimateInMemorySizeFOR(numCols, fact.numRows, fact.valueRange + 1);
+				else
+					return -1;
+			case DELTA:
+				if(numCols == 1 && fact.deltaRange >= 0)
+					return ColGroupSizes.estimateInMemorySizeDELTA(numCols, fact.numRows, fact.deltaRange + 1);
+				else
+					return -1;
 			case CONST:
 				if(fact.numOffs == 0)
 					return ColGroupSizes.estimateInMemorySizeEMPTY(numCols);
@@ -26,8 +26,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressionSettings;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupLinear;
 import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.compress.utils.Bitmap;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 
 /**
  * Compressed Size Estimation factors. Contains meta information used to estimate the compression sizes of given columns
@@ -60,6 +63,10 @@ public class EstimationFactors {
 	protected final double overAllSparsity;
 	/** The sparsity of the tuples them selves in isolation */
 	protected final double tupleSparsity;
+	/** The range of the values if they all are integers, used in frame of reference encoding, -1 if not applicable */
+	protected final int valueRange;
+	/** The range of the differences between neighbouring rows if they all are integers, -1 if not applicable */
+	protected final int deltaRange;
 
 	protected EstimationFactors(int[] cols, int numVals, int numRows) {
 		this.cols = cols;
@@ -75,6 +82,8 @@ public class EstimationFactors {
 		this.containNoZeroValues = false;
 		this.overAllSparsity = 1;
 		this.tupleSparsity = 1;
+		this.valueRange = -1;
+		this.deltaRange = -1;
 	}
 
 	protected EstimationFactors(int[] cols, EstimationFactors old) {
@@ -91,11 +100,20 @@ public class EstimationFactors {
 		this.containNoZeroValues = old.containNoZeroValues;
 		this.overAllSparsity = old.overAllSparsity;
 		this.tupleSparsity = old.tupleSparsity;
+		this.valueRange = old.valueRange;
+		this.deltaRange = old.deltaRange;
 	}
 
 	protected EstimationFactors(int[] cols, int numVals, int numOffs, int largestOff, int[] frequencies, int numRuns,
 		int numSingle, int numRows, boolean lossy, boolean zeroIsMostFrequent, double overAllSparsity,
 		double tupleSparsity) {
+		this(cols, numVals, numOffs, largestOff, frequencies, numRuns, numSingle, numRows, lossy, zeroIsMostFrequent,
+			overAllSparsity, tupleSparsity, -1, -1);
+	}
+
+	protected EstimationFactors(int[] cols, int numVals, int numOffs, int largestOff, int[] frequencies, int numRuns,
+		int numSingle, int numRows, boolean lossy, boolean zeroIsMostFrequent, double overAllSparsity,
+		double tupleSparsity, int valueRange, int deltaRange) {
 		this.cols = cols;
 		this.numVals = numVals;
 		this.numOffs = numOffs;
@@ -109,6 +127,8 @@ public class EstimationFactors {
 		this.containNoZeroValues = numOffs == numRows;
 		this.overAllSparsity = overAllSparsity;
 		this.tupleSparsity = tupleSparsity;
+		this.valueRange = valueRange;
+		this.deltaRange = deltaRange;
 
 		if(!containNoZeroValues && overAllSparsity >= 1)
 			throw new DMLCompressionException(
@@ -124,6 +144,11 @@ public class EstimationFactors {
 	}
 
 	protected static EstimationFactors computeSizeEstimationFactors(ABitmap ubm, boolean inclRLE, int[] cols) {
+		return computeSizeEstimationFactors(ubm, inclRLE, false, cols);
+	}
+
+	protected static EstimationFactors computeSizeEstimationFactors(ABitmap ubm, boolean inclRLE, boolean inclDelta,
+		int[] cols) {
 		final int numRows = ubm.getNumRows();
 		if(ubm == null || ubm.getOffsetList() == null)
 			return new EstimationFactors(cols, 0, 0, numRows, new int[] {numRows}, 1, 0, numRows, false, true, 0, 0);
@@ -172,9 +197,54 @@ public class EstimationFactors {
 			double overAllSparsity = (double) overallNonZeroCount / (numRows * cols.length);
 			double tupleSparsity = (double) tupleNonZeroCount / (numVals * cols.length);
 
+			// the integer ranges are only used by the single column frame of reference and delta encodings
+			final boolean single = ubm instanceof Bitmap;
+			final int valueRange = single ? getValueRange(((Bitmap) ubm).getValues(), containsZero) : -1;
+			final int deltaRange = single && inclDelta ? getDeltaRange((Bitmap) ubm) : -1;
+
 			return new EstimationFactors(cols, numVals, numOffs, largestOffs, frequencies, numRuns, numSingle, numRows,
-				ubm.lossy(), zerosLargestOffset, overAllSparsity, tupleSparsity);
+				ubm.lossy(), zerosLargestOffset, overAllSparsity, tupleSparsity, valueRange, deltaRange);
+		}
+	}
+
+	private static int getValueRange(double[] values, boolean containsZero) {
+		double min = containsZero ? 0 : Double.POSITIVE_INFINITY;
+		double max = containsZero ? 0 : Double.NEGATIVE_INFINITY;
+		for(double v : values) {
+			if(!ColGroupLinear.isExactInteger(v))
+				return -1;
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+		}
+		return max - min < Integer.MAX_VALUE ? (int) (max - min) : -1;
+	}
+
+	private static int getDeltaRange(Bitmap ubm) {
+		final double[] values = ubm.getValues();
+		for(double v : values)
+			if(!ColGroupLinear.isExactInteger(v))
+				return -1;
+
+		// materialize the column in row order, rows not in any offset list are zero
+		final int numRows = ubm.getNumRows();
+		final double[] column = new double[numRows];
+		for(int i = 0; i < values.length; i++) {
+			final IntArrayList offsets = ubm.getOffsetsList(i);
+			for(int k = 0; k < offsets.size(); k++)
+				column[offsets.get(k)] = values[i];
+		}
+		if(numRows <= 1)
+			return 0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(int r = 1; r < numRows; r++) {
+			final double d = column[r] - column[r - 1];
+			if(!ColGroupLinear.isExactInteger(d))
+				return -1;
+			min = Math.min(min, d);
+			max = Math.max(max, d);
 		}
+		return max - min < Integer.MAX_VALUE ? (int) (max - min) : -1;
 	}
 
 	protected static EstimationFactors computeSizeEstimation(final int[] cols, final AMapToData map,
@@ -226,6 +296,8 @@ public class EstimationFactors {
 		sb.append(" num Unique Vals:" + numVals);
 		sb.append(" overallSparsity:" + overAllSparsity);
 		sb.append(" tupleSparsity:" + tupleSparsity);
+		sb.append(" valueRange:" + valueRange);
+		sb.append(" deltaRange:" + deltaRange);
 		sb.append(" cols:" + Arrays.toString(cols));
 		return sb.toString();
 	}
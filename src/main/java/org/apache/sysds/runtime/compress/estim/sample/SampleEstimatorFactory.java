@@ -20,7 +20,7 @@
 package org.apache.sysds.runtime.compress.estim.sample;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -37,7 +37,7 @@ public class SampleEstimatorFactory {
 	}
 
 	public static int distinctCount(int[] frequencies, int nRows, int sampleSize, EstimationType type,
-		HashMap<Integer, Double> solveCache) {
+		Map<Integer, Double> solveCache) {
 		final int numVals = ((float) frequencies[frequencies.length - 1] /
 			sampleSize < 0.4) ? frequencies.length : frequencies.length - 1;
 		try {
@@ -25,11 +25,14 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class CLALibAppend {
@@ -61,20 +64,70 @@ public class CLALibAppend {
 				right = x.getLeft();
 		}
 
-		// if compression failed then use default append method.
-		if(!(left instanceof CompressedMatrixBlock && right instanceof CompressedMatrixBlock))
-			return uc(left).append(uc(right), null);
-
-		CompressedMatrixBlock leftC = (CompressedMatrixBlock) left;
-		CompressedMatrixBlock rightC = (CompressedMatrixBlock) right;
+		// if compression failed on both sides then use default append method,
+		// otherwise append the uncompressed side as an uncompressed column group
+		if(!(left instanceof CompressedMatrixBlock) && !(right instanceof CompressedMatrixBlock))
+			return left.append(right, null);
 
 		// init result matrix
 		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n);
 
-		ret = appendColGroups(ret, leftC.getColGroups(), rightC.getColGroups(), leftC.getNumColumns());
+		ret = appendColGroups(ret, getColGroups(left), getColGroups(right), left.getNumColumns());
+		ret.setOverlapping(isOverlapping(left) || isOverlapping(right));
+		return ret;
+	}
+
+	/**
+	 * Append rows (rbind) to a compressed matrix, without decompressing it. The appended rows are encoded into the
+	 * index structures of each column group, and new distinct tuples are merged into the group dictionaries.
+	 * 
+	 * @param left  The compressed matrix on top
+	 * @param right The matrix to append below, typically a small batch of new rows
+	 * @return The compressed result of the rbind, or an uncompressed result if left is overlapping.
+	 */
+	public static MatrixBlock appendRows(CompressedMatrixBlock left, MatrixBlock right) {
+		final int m = left.getNumRows() + right.getNumRows();
+		final int n = left.getNumColumns();
+		if(n != right.getNumColumns())
+			throw new DMLRuntimeException("Append-rbind is not possible for input matrices with different number of columns: "
+				+ n + " vs " + right.getNumColumns());
+
+		// overlapping groups cannot be extended column group wise
+		if(left.isOverlapping()) {
+			LOG.warn("Decompressing overlapping matrix for append-rbind");
+			return left.decompress().append(uc(right), null, false);
+		}
+
+		// encode the appended rows from an uncompressed representation
+		final MatrixBlock rightU = uc(right);
+		final List<AColGroup> groups = new ArrayList<>(left.getColGroups().size());
+		long nnz = 0;
+		for(AColGroup g : left.getColGroups()) {
+			AColGroup tmp = g.appendRows(rightU);
+			if(exceedsMappingCapacity(g, tmp)) {
+				// bound the dictionary growth of repeated appends, by recompressing the result
+				LOG.debug("Recompressing for append-rbind, appended distinct tuples exceed the mapping capacity");
+				return CompressedMatrixBlockFactory.compress(left.decompress().append(rightU, null, false)).getLeft();
+			}
+			groups.add(tmp);
+			nnz += tmp.getNumberNonZeros();
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n);
+		ret.allocateColGroupList(groups);
+		ret.setNonZeros(nnz);
 		return ret;
 	}
 
+	private static boolean exceedsMappingCapacity(AColGroup before, AColGroup after) {
+		if(!(before instanceof ColGroupValue) || !(after instanceof ColGroupValue))
+			return false;
+		// the number of tuple IDs the mapping of the group holds (at least a byte), including the zero tuple
+		final int nVals = before.getNumValues() + 1;
+		final int capacity = nVals < 256 ? 256 : nVals < Character.MAX_VALUE ? Character.MAX_VALUE : Integer.MAX_VALUE;
+		return after.getNumValues() + 1 > capacity;
+	}
+
 	private static MatrixBlock appendRightEmpty(CompressedMatrixBlock left, MatrixBlock right) {
 
 		final int m = left.getNumRows();
@@ -125,6 +178,21 @@ public class CLALibAppend {
 		return ret;
 	}
 
+	private static List<AColGroup> getColGroups(MatrixBlock mb) {
+		if(mb instanceof CompressedMatrixBlock)
+			return ((CompressedMatrixBlock) mb).getColGroups();
+		final int[] cols = new int[mb.getNumColumns()];
+		for(int i = 0; i < cols.length; i++)
+			cols[i] = i;
+		final List<AColGroup> ret = new ArrayList<>(1);
+		ret.add(new ColGroupUncompressed(cols, mb, false));
+		return ret;
+	}
+
+	private static boolean isOverlapping(MatrixBlock mb) {
+		return mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock) mb).isOverlapping();
+	}
+
 	private static MatrixBlock uc(MatrixBlock mb) {
 		// get uncompressed
 		return CompressedMatrixBlock.getUncompressed(mb);
@@ -38,6 +38,7 @@ import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Divide;
 import org.apache.sysds.runtime.functionobjects.Minus;
@@ -78,6 +79,78 @@ public class CLALibBinaryCellOp {
 		return selectProcessingBasedOnAccessType(op, m1, thatValue, result, atype, true);
 	}
 
+	/**
+	 * Binary cell operation that updates m1. If the right hand side is a matrix of equal dimensions and the operation
+	 * is plus or minus, only the column groups containing columns with non zeros in the right hand side are
+	 * recompressed, and all other column groups are shared. Otherwise the operation is executed out of place.
+	 * 
+	 * @param op        The operator
+	 * @param m1        The compressed left hand side
+	 * @param thatValue The right hand side
+	 * @return The result that m1 should be updated to, m1 itself if nothing changed
+	 */
+	public static MatrixBlock binaryOperationsInPlace(BinaryOperator op, CompressedMatrixBlock m1,
+		MatrixValue thatValue) {
+		MatrixBlock that = CompressedMatrixBlock.getUncompressed(thatValue);
+		LibMatrixBincell.isValidDimensionsBinary(m1, that);
+		BinaryAccessType atype = LibMatrixBincell.getBinaryAccessType(m1, that);
+		if(atype == BinaryAccessType.MATRIX_MATRIX && (op.fn instanceof Plus || op.fn instanceof Minus) &&
+			!m1.isOverlapping()) {
+			if(that.isEmpty())
+				return m1;
+			final boolean[] mask = getNonZeroColumns(that);
+			return CLALibLeftIndexing.allocate(m1,
+				CLALibLeftIndexing.updateColumnGroups(m1, mask, false, new ApplyMatrix(op.fn, that), op.getNumThreads()));
+		}
+		return selectProcessingBasedOnAccessType(op, m1, that, null, atype, false);
+	}
+
+	private static boolean[] getNonZeroColumns(MatrixBlock that) {
+		final boolean[] ret = new boolean[that.getNumColumns()];
+		if(that.isInSparseFormat()) {
+			final SparseBlock sb = that.getSparseBlock();
+			for(int r = 0; r < that.getNumRows(); r++) {
+				if(sb.isEmpty(r))
+					continue;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				for(int i = apos; i < alen; i++)
+					ret[aix[i]] = true;
+			}
+		}
+		else {
+			final DenseBlock db = that.getDenseBlock();
+			final int nCol = that.getNumColumns();
+			for(int r = 0; r < that.getNumRows(); r++) {
+				final double[] vals = db.values(r);
+				final int off = db.pos(r);
+				for(int c = 0; c < nCol; c++)
+					ret[c] |= vals[off + c] != 0;
+			}
+		}
+		return ret;
+	}
+
+	/** Apply a binary function with the corresponding cells of a matrix of the full dimensions. */
+	private static class ApplyMatrix implements CLALibLeftIndexing.ColumnUpdate {
+		private final ValueFunction _fn;
+		private final MatrixBlock _that;
+
+		protected ApplyMatrix(ValueFunction fn, MatrixBlock that) {
+			_fn = fn;
+			_that = that;
+		}
+
+		@Override
+		public void apply(double[] values, int nRow, int[] cols) {
+			final int nCol = cols.length;
+			for(int r = 0, off = 0; r < nRow; r++)
+				for(int j = 0; j < nCol; j++, off++)
+					values[off] = _fn.execute(values[off], _that.quickGetValue(r, cols[j]));
+		}
+	}
+
 	private static MatrixBlock selectProcessingBasedOnAccessType(BinaryOperator op, CompressedMatrixBlock m1,
 		MatrixValue thatValue, MatrixValue result, BinaryAccessType atype, boolean left) {
 		MatrixBlock that = (MatrixBlock) thatValue;
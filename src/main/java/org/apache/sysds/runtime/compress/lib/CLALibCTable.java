@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.List;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupLinear;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Compressed contingency tables (ctable). Compressed column vectors are read via the tuple IDs of their column group,
+ * such that the ctable function is called once per distinct value and its count instead of once per cell where
+ * possible (e.g., histograms and joint counts of two compressed vectors).
+ */
+public class CLALibCTable {
+
+	/**
+	 * Indicate if the ctable operation with the compressed matrix as first input and a matrix as second and/or third
+	 * input can be executed on the tuple IDs, which is the case if the compressed input is a column vector of a single
+	 * column group.
+	 * 
+	 * @param m1 The compressed matrix
+	 * @return true if supported on the compressed representation
+	 */
+	public static boolean isSupportedVector(CompressedMatrixBlock m1) {
+		return CodedVector.isSupported(m1);
+	}
+
+	/**
+	 * D = ctable(A,v2,w), executed once per distinct value of each column group and the count of that value.
+	 * 
+	 * @param m1          The compressed input A, that must not be overlapping
+	 * @param v2          The scalar second input
+	 * @param w           The scalar weight
+	 * @param resultMap   The result map, if the result block is null
+	 * @param resultBlock The result block, or null
+	 */
+	public static void ctable(CompressedMatrixBlock m1, double v2, double w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final int nRow = m1.getNumRows();
+		for(AColGroup g : m1.getColGroups()) {
+			final int nCol = g.getNumCols();
+			if(g instanceof ColGroupValue) {
+				final ColGroupValue vg = (ColGroupValue) g;
+				final ADictionary dict = vg.getDictionary();
+				final int nVals = vg.getNumValues();
+				final int[] counts = vg.getCounts();
+				for(int c = 0; c < counts.length; c++) {
+					if(counts[c] == 0)
+						continue;
+					// all zero tuples are returned as null
+					final double[] dTuple = c < nVals ? dict.getTuple(c, nCol) : null;
+					final double[] tuple = dTuple != null ? dTuple : new double[nCol];
+					for(int j = 0; j < nCol; j++)
+						ctable.execute(tuple[j], v2, w * counts[c], false, resultMap, resultBlock);
+				}
+			}
+			else if(g instanceof ColGroupEmpty)
+				ctable.execute(0, v2, w * ((double) nRow * nCol), false, resultMap, resultBlock);
+			else if(g instanceof ColGroupLinear)
+				// FOR and DELTA groups have no dictionary of distinct values
+				g.decompressToColumnBlock().ctableOperations(null, v2, w, resultMap, resultBlock);
+			else
+				((ColGroupUncompressed) g).getData().ctableOperations(null, v2, w, resultMap, resultBlock);
+		}
+
+		// maintain nnz (if necessary)
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(A,v2,W), where the weights are summed per distinct value of the compressed column vector A.
+	 * 
+	 * @param m1          The compressed column vector A
+	 * @param v2          The scalar second input
+	 * @param w           The weights W
+	 * @param resultMap   The result map, if the result block is null
+	 * @param resultBlock The result block, or null
+	 */
+	public static void ctable(CompressedMatrixBlock m1, double v2, MatrixValue w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final CodedVector a = CodedVector.create(m1);
+		final CodedVector cw = CodedVector.create((MatrixBlock) w);
+		final MatrixBlock mw = cw == null ? CompressedMatrixBlock.getUncompressed(w) : null;
+		final int nVals = a.values.length;
+		final double[] wsum = new double[nVals];
+		final int[] counts = new int[nVals];
+		for(int i = 0; i < m1.getNumRows(); i++) {
+			final double wi = get(cw, mw, i);
+			// weights of NaN are skipped by ctable
+			if(!Double.isNaN(wi)) {
+				final int c = a.codes.getIndex(i);
+				wsum[c] += wi;
+				counts[c]++;
+			}
+		}
+		for(int c = 0; c < nVals; c++)
+			if(counts[c] > 0)
+				ctable.execute(a.values[c], v2, wsum[c], false, resultMap, resultBlock);
+
+		// maintain nnz (if necessary)
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(A,B,w), where the joint counts of two compressed column vectors are computed from their tuple IDs,
+	 * and otherwise the values of the compressed column vector A are decoded row by row.
+	 * 
+	 * @param m1          The compressed column vector A
+	 * @param m2          The second input B
+	 * @param w           The scalar weight
+	 * @param ignoreZeros Ignore cells where both inputs are zero
+	 * @param resultMap   The result map, if the result block is null
+	 * @param resultBlock The result block, or null
+	 */
+	public static void ctable(CompressedMatrixBlock m1, MatrixValue m2, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final CodedVector a = CodedVector.create(m1);
+		final CodedVector b = CodedVector.create((MatrixBlock) m2);
+		final int nRow = m1.getNumRows();
+		final int nA = a.values.length;
+		if(b != null && (long) nA * b.values.length <= Math.max(nRow, 1024)) {
+			// joint counts of the tuple IDs of both inputs
+			final int nB = b.values.length;
+			final int[] counts = new int[nA * nB];
+			for(int i = 0; i < nRow; i++)
+				counts[a.codes.getIndex(i) + b.codes.getIndex(i) * nA]++;
+			for(int cb = 0, off = 0; cb < nB; cb++, off += nA)
+				for(int ca = 0; ca < nA; ca++)
+					if(counts[off + ca] > 0)
+						ctable.execute(a.values[ca], b.values[cb], w * counts[off + ca], ignoreZeros, resultMap,
+							resultBlock);
+		}
+		else {
+			final MatrixBlock mb = b == null ? CompressedMatrixBlock.getUncompressed(m2) : null;
+			for(int i = 0; i < nRow; i++)
+				ctable.execute(a.get(i), get(b, mb, i), w, ignoreZeros, resultMap, resultBlock);
+		}
+
+		// maintain nnz (if necessary)
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(A,B,W), where the values of the compressed column vector A (and other compressed column vectors) are
+	 * decoded row by row from the tuple IDs.
+	 * 
+	 * @param m1          The compressed column vector A
+	 * @param m2          The second input B
+	 * @param w           The weights W
+	 * @param resultMap   The result map, if the result block is null
+	 * @param resultBlock The result block, or null
+	 */
+	public static void ctable(CompressedMatrixBlock m1, MatrixValue m2, MatrixValue w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final CodedVector a = CodedVector.create(m1);
+		final CodedVector b = CodedVector.create((MatrixBlock) m2);
+		final CodedVector cw = CodedVector.create((MatrixBlock) w);
+		final MatrixBlock mb = b == null ? CompressedMatrixBlock.getUncompressed(m2) : null;
+		final MatrixBlock mw = cw == null ? CompressedMatrixBlock.getUncompressed(w) : null;
+		for(int i = 0; i < m1.getNumRows(); i++)
+			ctable.execute(a.get(i), get(b, mb, i), get(cw, mw, i), false, resultMap, resultBlock);
+
+		// maintain nnz (if necessary)
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	/**
+	 * D = ctable(seq,A,w), where the values of the compressed column vector A are decoded row by row from the tuple
+	 * IDs. This is the common case of one-hot encoding a compressed categorical column vector.
+	 * 
+	 * @param m2          The compressed column vector A
+	 * @param w           The scalar weight
+	 * @param resultBlock The result block, allocated with the number of rows of A
+	 * @param updateClen  Update the number of columns of the result to the maximum seen column
+	 * @return The result block
+	 */
+	public static MatrixBlock ctableSeqOperations(CompressedMatrixBlock m2, double w, MatrixBlock resultBlock,
+		boolean updateClen) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final CodedVector a = CodedVector.create(m2);
+		int maxCol = 0;
+		for(int i = 0; i < m2.getNumRows(); i++)
+			maxCol = ctable.execute(i + 1, a.get(i), w, maxCol, resultBlock);
+
+		// update meta data (initially unknown number of columns)
+		if(updateClen)
+			resultBlock.setNumColumns(maxCol);
+		return resultBlock;
+	}
+
+	private static double get(CodedVector cv, MatrixBlock mb, int r) {
+		return cv != null ? cv.get(r) : mb.quickGetValue(r, 0);
+	}
+
+	/**
+	 * A column vector represented by the tuple IDs of a single column group, and the values of these tuples including
+	 * the zero of rows that are not materialized in the dictionary.
+	 */
+	static final class CodedVector {
+		protected final AMapToData codes;
+		protected final double[] values;
+		protected final int[] counts;
+
+		private CodedVector(AMapToData codes, double[] values, int[] counts) {
+			this.codes = codes;
+			this.values = values;
+			this.counts = counts;
+		}
+
+		/**
+		 * Create a coded column vector from a compressed column vector of a single column group.
+		 * 
+		 * @param mb The matrix block
+		 * @return The coded vector, or null if not a compressed column vector of a single column group
+		 */
+		protected static CodedVector create(MatrixBlock mb) {
+			if(!isSupported(mb))
+				return null;
+			final AColGroup g = ((CompressedMatrixBlock) mb).getColGroups().get(0);
+			final int nRow = mb.getNumRows();
+			if(g instanceof ColGroupEmpty)
+				return new CodedVector(MapToFactory.create(nRow, 1), new double[1], new int[] {nRow});
+
+			final ColGroupValue vg = (ColGroupValue) g;
+			final ADictionary dict = vg.getDictionary();
+			final int nVals = vg.getNumValues();
+			// the last value refers to zero rows, if not materialized in the dictionary
+			final double[] values = new double[nVals + 1];
+			for(int i = 0; i < nVals; i++)
+				values[i] = dict.getValue(i);
+			final int[] counts = new int[nVals + 1];
+			final int[] gCounts = vg.getCounts();
+			System.arraycopy(gCounts, 0, counts, 0, gCounts.length);
+			return new CodedVector(vg.getRowCodes(), values, counts);
+		}
+
+		protected static boolean isSupported(MatrixBlock mb) {
+			if(!(mb instanceof CompressedMatrixBlock) || mb.getNumColumns() != 1)
+				return false;
+			final CompressedMatrixBlock cmb = (CompressedMatrixBlock) mb;
+			final List<AColGroup> groups = cmb.getColGroups();
+			return !cmb.isOverlapping() && groups.size() == 1 &&
+				(groups.get(0) instanceof ColGroupValue || groups.get(0) instanceof ColGroupEmpty);
+		}
+
+		protected double get(int r) {
+			return values[codes.getIndex(r)];
+		}
+	}
+}
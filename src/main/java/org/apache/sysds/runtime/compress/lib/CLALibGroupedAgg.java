@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable.CodedVector;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Compressed grouped aggregates, where the groups are a compressed column vector. The tuple IDs of the column group
+ * are used as group keys, such that group counts are computed from the counts per dictionary entry, and the group of
+ * each row is looked up via its tuple ID instead of decoding the group vector.
+ */
+public class CLALibGroupedAgg {
+	private static final Log LOG = LogFactory.getLog(CLALibGroupedAgg.class.getName());
+
+	public static MatrixBlock groupedAggOperations(CompressedMatrixBlock groups, MatrixValue tgt, MatrixValue wghts,
+		MatrixValue ret, int ngroups, Operator op, int k) {
+		final MatrixBlock target = CompressedMatrixBlock.getUncompressed(tgt);
+		final MatrixBlock weights = wghts == null ? null : CompressedMatrixBlock.getUncompressed(wghts);
+		final int nRow = groups.getNumRows();
+		final boolean supported = CodedVector.isSupported(groups) && target.getNumRows() == nRow &&
+			(weights == null || (weights.getNumRows() == nRow && weights.getNumColumns() == 1)) &&
+			(op instanceof CMOperator || op instanceof AggregateOperator);
+		if(!supported) {
+			LOG.warn("Decompressing groups for groupedAggregate");
+			return groups.decompress().groupedAggOperations(target, weights, ret, ngroups, op, k);
+		}
+
+		final CodedVector g = CodedVector.create(groups);
+		if(ngroups <= 0)
+			ngroups = getNumGroups(g);
+		final int[] gid = getGroupIDs(g, ngroups);
+
+		// allocate result matrix
+		final int nCol = target.getNumColumns();
+		MatrixBlock result = (MatrixBlock) ret;
+		if(result == null)
+			result = new MatrixBlock(ngroups, nCol, false);
+		else
+			result.reset(ngroups, nCol, false);
+		result.allocateDenseBlock();
+
+		if(op instanceof CMOperator) {
+			final CMOperator cmOp = (CMOperator) op;
+			if(cmOp.getAggOpType() == AggregateOperationTypes.COUNT && weights == null && nCol == 1)
+				groupedCount(g, gid, result);
+			else
+				groupedCM(g, gid, target, weights, result, ngroups, cmOp);
+		}
+		else
+			groupedSum(g, gid, target, weights, result, ngroups, (AggregateOperator) op);
+
+		result.recomputeNonZeros();
+		result.examSparsity();
+		return result;
+	}
+
+	private static int getNumGroups(CodedVector g) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for(int c = 0; c < g.values.length; c++)
+			if(g.counts[c] > 0) {
+				min = Math.min(min, g.values[c]);
+				max = Math.max(max, g.values[c]);
+			}
+		if(min <= 0)
+			throw new DMLRuntimeException(
+				"Invalid value (" + min + ") encountered in 'groups' while computing groupedAggregate");
+		if(max <= 0)
+			throw new DMLRuntimeException(
+				"Invalid value (" + max + ") encountered in 'groups' while computing groupedAggregate.");
+		return (int) max;
+	}
+
+	/**
+	 * Get the 0-based group of each tuple ID, or -1 if the group is out of range and skipped.
+	 */
+	private static int[] getGroupIDs(CodedVector g, int ngroups) {
+		final int[] gid = new int[g.values.length];
+		for(int c = 0; c < gid.length; c++) {
+			final int v = (int) g.values[c];
+			if(v > ngroups)
+				gid[c] = -1;
+			else if(v <= 0 && g.counts[c] > 0)
+				throw new DMLRuntimeException(
+					"Invalid value (" + g.values[c] + ") encountered in 'groups' while computing groupedAggregate");
+			else
+				gid[c] = v - 1;
+		}
+		return gid;
+	}
+
+	private static void groupedCount(CodedVector g, int[] gid, MatrixBlock result) {
+		final double[] c = result.getDenseBlockValues();
+		for(int i = 0; i < gid.length; i++)
+			if(gid[i] >= 0)
+				c[gid[i]] += g.counts[i];
+	}
+
+	private static void groupedSum(CodedVector g, int[] gid, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock result, int ngroups, AggregateOperator aggop) {
+		final int nCol = target.getNumColumns();
+		if(target.isEmptyBlock(false))
+			return;
+
+		final KahanObject[][] buffer = new KahanObject[ngroups][nCol];
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < nCol; j++)
+				buffer[i][j] = new KahanObject(aggop.initialValue, 0);
+
+		if(target.isInSparseFormat()) {
+			final SparseBlock a = target.getSparseBlock();
+			for(int i = 0; i < target.getNumRows(); i++) {
+				final int gi = gid[g.codes.getIndex(i)];
+				if(gi < 0 || a.isEmpty(i))
+					continue;
+				final double w = weights != null ? weights.quickGetValue(i, 0) : 1;
+				final int apos = a.pos(i);
+				final int alen = a.size(i) + apos;
+				final int[] aix = a.indexes(i);
+				final double[] avals = a.values(i);
+				for(int j = apos; j < alen; j++)
+					aggop.increOp.fn.execute(buffer[gi][aix[j]], avals[j] * w);
+			}
+		}
+		else {
+			final DenseBlock a = target.getDenseBlock();
+			for(int i = 0; i < target.getNumRows(); i++) {
+				final int gi = gid[g.codes.getIndex(i)];
+				if(gi < 0)
+					continue;
+				final double w = weights != null ? weights.quickGetValue(i, 0) : 1;
+				final double[] avals = a.values(i);
+				final int aix = a.pos(i);
+				for(int j = 0; j < nCol; j++) {
+					final double d = avals[aix + j];
+					if(d != 0) // sparse-safe
+						aggop.increOp.fn.execute(buffer[gi][j], d * w);
+				}
+			}
+		}
+
+		// extract the results from group buffers
+		final double[] c = result.getDenseBlockValues();
+		for(int i = 0, off = 0; i < ngroups; i++, off += nCol)
+			for(int j = 0; j < nCol; j++)
+				c[off + j] = buffer[i][j]._sum;
+	}
+
+	private static void groupedCM(CodedVector g, int[] gid, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock result, int ngroups, CMOperator cmOp) {
+		final CM cmFn = CM.getCMFnObject(cmOp.getAggOpType());
+		final int nCol = target.getNumColumns();
+		final CM_COV_Object[][] cmValues = new CM_COV_Object[ngroups][nCol];
+		for(int i = 0; i < ngroups; i++)
+			for(int j = 0; j < nCol; j++)
+				cmValues[i][j] = new CM_COV_Object();
+
+		for(int i = 0; i < target.getNumRows(); i++) {
+			final int gi = gid[g.codes.getIndex(i)];
+			if(gi < 0)
+				continue;
+			final double w = weights != null ? weights.quickGetValue(i, 0) : 1;
+			for(int j = 0; j < nCol; j++) // sparse-unsafe
+				cmFn.execute(cmValues[gi][j], target.quickGetValue(i, j), w);
+		}
+
+		// extract the required value from each CM_COV_Object
+		final double[] c = result.getDenseBlockValues();
+		for(int i = 0, off = 0; i < ngroups; i++, off += nCol)
+			for(int j = 0; j < nCol; j++)
+				c[off + j] = cmValues[i][j].getRequiredResult(cmOp);
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Compressed left indexing and zero out operations, that only decompress and recompress the column groups containing
+ * modified columns. All other column groups are shared with the input.
+ */
+public class CLALibLeftIndexing {
+	private static final Log LOG = LogFactory.getLog(CLALibLeftIndexing.class.getName());
+
+	/**
+	 * Left indexing of rhs into the range [rl:ru, cl:cu] (inclusive) of m1.
+	 * 
+	 * @param m1  The compressed matrix to update
+	 * @param rhs The values to assign
+	 * @param rl  The row lower index
+	 * @param ru  The row upper index, inclusive
+	 * @param cl  The column lower index
+	 * @param cu  The column upper index, inclusive
+	 * @param k   The parallelization degree
+	 * @return A new compressed matrix, or an uncompressed matrix if m1 contains overlapping column groups
+	 */
+	public static MatrixBlock leftIndexing(CompressedMatrixBlock m1, MatrixBlock rhs, int rl, int ru, int cl, int cu,
+		int k) {
+		final MatrixBlock right = CompressedMatrixBlock.getUncompressed(rhs);
+		if(m1.isOverlapping()) {
+			LOG.warn("Decompressing for left indexing into overlapping compressed matrix");
+			return m1.decompress(k).leftIndexingOperations(right, rl, ru, cl, cu, null, UpdateType.COPY);
+		}
+		checkRange(m1, rl, ru, cl, cu);
+		if(ru - rl + 1 != right.getNumRows() || cu - cl + 1 != right.getNumColumns())
+			throw new DMLRuntimeException("Invalid values for matrix indexing: dimensions of the source matrix ["
+				+ right.getNumRows() + "x" + right.getNumColumns() + "] do not match the shape of the matrix specified "
+				+ "by indices [" + (rl + 1) + ":" + (ru + 1) + ", " + (cl + 1) + ":" + (cu + 1) + "].");
+
+		final boolean[] mask = rangeMask(m1.getNumColumns(), cl, cu);
+		return allocate(m1, updateColumnGroups(m1, mask, false, new AssignRange(right, rl, ru, cl, cu), k));
+	}
+
+	/**
+	 * Zero out operation on a compressed matrix.
+	 * 
+	 * @param m1            The compressed matrix
+	 * @param range         The index range, inclusive
+	 * @param complementary If true keep only the range and zero everything else, otherwise zero the range
+	 * @param k             The parallelization degree
+	 * @return A new compressed matrix, or an uncompressed matrix if m1 contains overlapping column groups
+	 */
+	public static MatrixBlock zeroOut(CompressedMatrixBlock m1, IndexRange range, boolean complementary, int k) {
+		if(m1.isOverlapping()) {
+			LOG.warn("Decompressing for zero out of overlapping compressed matrix");
+			return m1.decompress(k).zeroOutOperations(null, range, complementary);
+		}
+		final int rl = (int) range.rowStart;
+		final int ru = (int) range.rowEnd;
+		final int cl = (int) range.colStart;
+		final int cu = (int) range.colEnd;
+		checkRange(m1, rl, ru, cl, cu);
+
+		final boolean[] mask = rangeMask(m1.getNumColumns(), cl, cu);
+		final ColumnUpdate fn = complementary ? new SelectRange(rl, ru, cl, cu) : new AssignRange(null, rl, ru, cl, cu);
+		return allocate(m1, updateColumnGroups(m1, mask, complementary, fn, k));
+	}
+
+	/**
+	 * Modification of the decompressed columns of one column group.
+	 */
+	protected interface ColumnUpdate {
+		/**
+		 * Modify the decompressed values of a column group in place.
+		 * 
+		 * @param values The dense row major values of the group, with one column per group column
+		 * @param nRow   The number of rows
+		 * @param cols   The column indexes of the group in the full matrix
+		 */
+		void apply(double[] values, int nRow, int[] cols);
+	}
+
+	/**
+	 * Update the column groups of m1 that contain at least one of the marked columns. Each affected group is
+	 * decompressed into a block of only its own columns, modified and recompressed with the same column indexes, while
+	 * all other groups are kept as they are.
+	 * 
+	 * @param m1               The compressed non overlapping matrix
+	 * @param mask             Marks the modified columns
+	 * @param clearUnaffected  If the groups without any marked column should be replaced with empty groups
+	 * @param fn               The modification
+	 * @param k                The parallelization degree
+	 * @return The new list of column groups
+	 */
+	protected static List<AColGroup> updateColumnGroups(CompressedMatrixBlock m1, boolean[] mask,
+		boolean clearUnaffected, ColumnUpdate fn, int k) {
+		final List<AColGroup> groups = m1.getColGroups();
+		final List<AColGroup> ret = new ArrayList<>(groups);
+		final List<UpdateTask> tasks = new ArrayList<>();
+		final CompressionSettings cs = new CompressionSettingsBuilder().create();
+		for(int i = 0; i < groups.size(); i++) {
+			final AColGroup g = groups.get(i);
+			if(isAffected(g, mask))
+				tasks.add(new UpdateTask(ret, i, g, fn, cs));
+			else if(clearUnaffected && !(g instanceof ColGroupEmpty))
+				ret.set(i, new ColGroupEmpty(g.getColIndices(), g.getNumRows()));
+		}
+
+		if(LOG.isDebugEnabled())
+			LOG.debug("Recompressing " + tasks.size() + " of " + groups.size() + " column groups");
+
+		if(k <= 1 || tasks.size() <= 1)
+			for(UpdateTask t : tasks)
+				t.call();
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				for(Future<Object> f : pool.invokeAll(tasks))
+					f.get();
+				pool.shutdown();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException("Failed parallel recompression of updated column groups", e);
+			}
+		}
+		return ret;
+	}
+
+	protected static CompressedMatrixBlock allocate(CompressedMatrixBlock m1, List<AColGroup> groups) {
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(m1.getNumRows(), m1.getNumColumns());
+		ret.allocateColGroupList(groups);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static boolean isAffected(AColGroup g, boolean[] mask) {
+		for(int c : g.getColIndices())
+			if(mask[c])
+				return true;
+		return false;
+	}
+
+	private static boolean[] rangeMask(int nCol, int cl, int cu) {
+		final boolean[] mask = new boolean[nCol];
+		for(int c = cl; c <= cu; c++)
+			mask[c] = true;
+		return mask;
+	}
+
+	private static void checkRange(MatrixBlock m1, int rl, int ru, int cl, int cu) {
+		if(rl < 0 || rl >= m1.getNumRows() || ru < rl || ru >= m1.getNumRows() || cl < 0 ||
+			cl >= m1.getNumColumns() || cu < cl || cu >= m1.getNumColumns())
+			throw new DMLRuntimeException("Invalid values for matrix indexing: [" + (rl + 1) + ":" + (ru + 1) + ","
+				+ (cl + 1) + ":" + (cu + 1) + "] must be within matrix dimensions [" + m1.getNumRows() + ","
+				+ m1.getNumColumns() + "].");
+	}
+
+	private static class UpdateTask implements Callable<Object> {
+		private final List<AColGroup> _groups;
+		private final int _idx;
+		private final AColGroup _g;
+		private final ColumnUpdate _fn;
+		private final CompressionSettings _cs;
+
+		protected UpdateTask(List<AColGroup> groups, int idx, AColGroup g, ColumnUpdate fn, CompressionSettings cs) {
+			_groups = groups;
+			_idx = idx;
+			_g = g;
+			_fn = fn;
+			_cs = cs;
+		}
+
+		@Override
+		public Object call() {
+			final int[] cols = _g.getColIndices();
+			final MatrixBlock local = _g.decompressToColumnBlock();
+			_fn.apply(local.getDenseBlockValues(), local.getNumRows(), cols);
+			local.recomputeNonZeros();
+			// each task writes a distinct index of the pre-sized list
+			_groups.set(_idx, ColGroupFactory.compressColumns(local, cols.clone(), _cs));
+			return null;
+		}
+	}
+
+	/** Assign a block of values, or zeros if no block is given, to a row and column range. */
+	private static class AssignRange implements ColumnUpdate {
+		private final MatrixBlock _rhs;
+		private final int _rl;
+		private final int _ru;
+		private final int _cl;
+		private final int _cu;
+
+		protected AssignRange(MatrixBlock rhs, int rl, int ru, int cl, int cu) {
+			_rhs = rhs;
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public void apply(double[] values, int nRow, int[] cols) {
+			final int nCol = cols.length;
+			for(int j = 0; j < nCol; j++) {
+				final int c = cols[j];
+				if(c < _cl || c > _cu)
+					continue;
+				for(int r = _rl, off = _rl * nCol + j; r <= _ru; r++, off += nCol)
+					values[off] = _rhs == null ? 0 : _rhs.quickGetValue(r - _rl, c - _cl);
+			}
+		}
+	}
+
+	/** Keep only the values inside a row and column range, and zero all other values. */
+	private static class SelectRange implements ColumnUpdate {
+		private final int _rl;
+		private final int _ru;
+		private final int _cl;
+		private final int _cu;
+
+		protected SelectRange(int rl, int ru, int cl, int cu) {
+			_rl = rl;
+			_ru = ru;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public void apply(double[] values, int nRow, int[] cols) {
+			final int nCol = cols.length;
+			for(int r = 0; r < nRow; r++) {
+				final int off = r * nCol;
+				if(r < _rl || r > _ru)
+					for(int j = 0; j < nCol; j++)
+						values[off + j] = 0;
+				else
+					for(int j = 0; j < nCol; j++)
+						if(cols[j] < _cl || cols[j] > _cu)
+							values[off + j] = 0;
+			}
+		}
+	}
+}
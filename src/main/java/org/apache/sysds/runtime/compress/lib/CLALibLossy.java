@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Library for lossy compression with per column error bounds.
+ * 
+ * Before compression the values of each column are rounded to a grid with a power of two step, the coarsest that keeps
+ * the error within the column's bound. This reduces the number of distinct values, and therefore the size of the maps
+ * of the column groups. After compression the dictionaries are stored as 8 or 16 bit codes of the smallest step of the
+ * columns in each group, which is exact since all larger power of two steps are multiples of it.
+ */
+public class CLALibLossy {
+
+	// private static final Log LOG = LogFactory.getLog(CLALibLossy.class.getName());
+
+	private CLALibLossy() {
+		// private constructor
+	}
+
+	/**
+	 * Get the quantization step of each column, based on the error bounds of the compression settings. A step of zero
+	 * means the column is kept lossless, for instance because the bound is zero or cannot be met with 16 bit codes.
+	 * 
+	 * @param mb The matrix to compress
+	 * @param cs The compression settings containing the error bounds
+	 * @return The step per column
+	 */
+	public static double[] getQuantizationSteps(MatrixBlock mb, CompressionSettings cs) {
+		final int nCol = mb.getNumColumns();
+		final double[] maxAbs = getColumnMaxAbs(mb);
+		final double[] steps = new double[nCol];
+		for(int c = 0; c < nCol; c++) {
+			final Double colBound = cs.lossyColumnErrorBounds != null ? cs.lossyColumnErrorBounds.get(c) : null;
+			final double bound = colBound != null ? colBound : cs.lossyErrorBound;
+			steps[c] = getStep(cs.lossyRelativeError ? bound * maxAbs[c] : bound, maxAbs[c]);
+		}
+		return steps;
+	}
+
+	private static double getStep(double bound, double maxAbs) {
+		if(!(bound > 0) || !(maxAbs > 0) || Double.isInfinite(bound) || Double.isInfinite(maxAbs))
+			return 0;
+		// largest power of two with a rounding error (half the step) within the bound
+		final double step = Math.scalb(1.0, Math.getExponent(2 * bound));
+		if(step / 2 > bound || maxAbs / step > Short.MAX_VALUE)
+			return 0;
+		return step;
+	}
+
+	private static double[] getColumnMaxAbs(MatrixBlock mb) {
+		final double[] ret = new double[mb.getNumColumns()];
+		if(mb.isEmpty())
+			return ret;
+		else if(mb.isInSparseFormat()) {
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int r = 0; r < mb.getNumRows(); r++) {
+				if(sb.isEmpty(r))
+					continue;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				final double[] avals = sb.values(r);
+				for(int j = apos; j < alen; j++)
+					ret[aix[j]] = maxAbs(ret[aix[j]], avals[j]);
+			}
+		}
+		else {
+			final DenseBlock db = mb.getDenseBlock();
+			final int nCol = mb.getNumColumns();
+			for(int r = 0; r < mb.getNumRows(); r++) {
+				final double[] a = db.values(r);
+				final int off = db.pos(r);
+				for(int c = 0; c < nCol; c++)
+					ret[c] = maxAbs(ret[c], a[off + c]);
+			}
+		}
+		return ret;
+	}
+
+	private static double maxAbs(double m, double v) {
+		// NaN values are kept, and do not decide the step
+		return Double.isNaN(v) ? m : Math.max(m, Math.abs(v));
+	}
+
+	/**
+	 * Quantize the values of each column to the grid of its step.
+	 * 
+	 * @param mb    The matrix to quantize, not modified
+	 * @param steps The step per column, zero for lossless columns
+	 * @return The quantized matrix and the maximum absolute error introduced
+	 */
+	public static Pair<MatrixBlock, Double> quantize(MatrixBlock mb, double[] steps) {
+		final int nRow = mb.getNumRows();
+		final int nCol = mb.getNumColumns();
+		double err = 0;
+		final MatrixBlock ret;
+		if(mb.isEmpty())
+			return new ImmutablePair<>(mb, 0.0);
+		else if(mb.isInSparseFormat()) {
+			ret = new MatrixBlock(nRow, nCol, true);
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int r = 0; r < nRow; r++) {
+				if(sb.isEmpty(r))
+					continue;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				final double[] avals = sb.values(r);
+				for(int j = apos; j < alen; j++) {
+					final double v = avals[j];
+					final double q = quantize(v, steps[aix[j]]);
+					if(q != v && !Double.isNaN(v))
+						err = Math.max(err, Math.abs(v - q));
+					ret.appendValue(r, aix[j], q);
+				}
+			}
+		}
+		else {
+			ret = new MatrixBlock(nRow, nCol, false);
+			ret.allocateDenseBlock();
+			final DenseBlock db = mb.getDenseBlock();
+			final DenseBlock rdb = ret.getDenseBlock();
+			for(int r = 0; r < nRow; r++) {
+				final double[] a = db.values(r);
+				final int off = db.pos(r);
+				final double[] c = rdb.values(r);
+				final int offR = rdb.pos(r);
+				for(int j = 0; j < nCol; j++) {
+					final double v = a[off + j];
+					final double q = quantize(v, steps[j]);
+					if(q != v && !Double.isNaN(v))
+						err = Math.max(err, Math.abs(v - q));
+					c[offR + j] = q;
+				}
+			}
+		}
+		ret.recomputeNonZeros();
+		return new ImmutablePair<>(ret, err);
+	}
+
+	private static double quantize(double v, double step) {
+		return step == 0 ? v : Math.rint(v / step) * step;
+	}
+
+	/**
+	 * Replace the dictionaries of the column groups with 8 or 16 bit quantized dictionaries where the values are on
+	 * the grid of the columns and the quantized dictionary is smaller.
+	 * 
+	 * @param groups The compressed column groups of quantized input
+	 * @param steps  The step per column used to quantize the input
+	 * @return The column groups with quantized dictionaries
+	 */
+	public static List<AColGroup> quantizeDictionaries(List<AColGroup> groups, double[] steps) {
+		final List<AColGroup> ret = new ArrayList<>(groups.size());
+		for(AColGroup g : groups)
+			ret.add(quantizeDictionary(g, steps));
+		return ret;
+	}
+
+	private static AColGroup quantizeDictionary(AColGroup g, double[] steps) {
+		if(!(g instanceof ColGroupValue))
+			return g;
+		final ColGroupValue gv = (ColGroupValue) g;
+		final ADictionary d = gv.getDictionary();
+		if(d == null || d.isLossy())
+			return g;
+
+		double step = Double.POSITIVE_INFINITY;
+		for(int c : g.getColIndices()) {
+			if(steps[c] == 0)
+				return g;
+			step = Math.min(step, steps[c]);
+		}
+
+		final int len = gv.getNumValues() * g.getNumCols();
+		final double[] values = new double[len];
+		for(int i = 0; i < len; i++)
+			values[i] = d.getValue(i);
+
+		final QDictionary q = QDictionary.create(values, step);
+		if(q == null || q.getInMemorySize() >= d.getInMemorySize())
+			return g;
+		return gv.copyAndSet(q);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupLinear;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Compressed removeEmpty of rows, that produces a compressed output by selecting the rows of each column group, i.e.,
+ * remapping the index structures to the selected rows while reusing the dictionaries.
+ */
+public class CLALibRemoveEmpty {
+	private static final Log LOG = LogFactory.getLog(CLALibRemoveEmpty.class.getName());
+
+	public static MatrixBlock rmempty(CompressedMatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn,
+		MatrixBlock select) {
+		// removal of columns and overlapping groups are not supported column group wise
+		if(!rows || in.isOverlapping()) {
+			LOG.warn("Decompressing for removeEmpty " + (rows ? "rows of overlapping matrix" : "columns"));
+			return in.decompress().removeEmptyOperations(ret, rows, emptyReturn, select);
+		}
+
+		final int nRow = in.getNumRows();
+		final int nCol = in.getNumColumns();
+		final boolean[] flags = select == null ? getNonEmptyRows(in) : getSelectedRows(select, nRow);
+		int nSelected = 0;
+		for(boolean f : flags)
+			nSelected += f ? 1 : 0;
+
+		if(nSelected == nRow) {
+			// shallow copy of the column groups, since no row is removed
+			final CompressedMatrixBlock out = new CompressedMatrixBlock(nRow, nCol);
+			out.allocateColGroupList(new ArrayList<>(in.getColGroups()));
+			out.setNonZeros(in.getNonZeros());
+			return out;
+		}
+		else if(nSelected == 0) {
+			// empty output of 1-by-n or 0-by-n
+			final MatrixBlock tmp = ret != null ? ret : new MatrixBlock();
+			tmp.reset(emptyReturn ? 1 : 0, nCol, true);
+			return tmp;
+		}
+
+		final int[] selected = new int[nSelected];
+		for(int i = 0, j = 0; i < nRow; i++)
+			if(flags[i])
+				selected[j++] = i;
+
+		final List<AColGroup> groups = new ArrayList<>(in.getColGroups().size());
+		long nnz = 0;
+		for(AColGroup g : in.getColGroups()) {
+			final AColGroup tmp = g.selectRows(selected);
+			groups.add(tmp);
+			nnz += tmp.getNumberNonZeros();
+		}
+
+		final CompressedMatrixBlock out = new CompressedMatrixBlock(nSelected, nCol);
+		out.allocateColGroupList(groups);
+		out.setNonZeros(nnz);
+		return out;
+	}
+
+	private static boolean[] getNonEmptyRows(CompressedMatrixBlock in) {
+		final boolean[] flags = new boolean[in.getNumRows()];
+		for(AColGroup g : in.getColGroups()) {
+			if(g instanceof ColGroupValue)
+				markNonEmptyRows((ColGroupValue) g, flags);
+			else if(g instanceof ColGroupUncompressed)
+				markNonEmptyRows(((ColGroupUncompressed) g).getData(), flags);
+			else if(g instanceof ColGroupLinear)
+				markNonEmptyRows((ColGroupLinear) g, flags);
+			// empty groups do not contain non zero rows
+		}
+		return flags;
+	}
+
+	private static void markNonEmptyRows(ColGroupLinear g, boolean[] flags) {
+		final int[] rnnz = new int[flags.length];
+		g.countNonZerosPerRow(rnnz, 0, flags.length);
+		for(int i = 0; i < flags.length; i++)
+			flags[i] |= rnnz[i] > 0;
+	}
+
+	private static void markNonEmptyRows(ColGroupValue g, boolean[] flags) {
+		final int nCol = g.getNumCols();
+		final int nVals = g.getNumValues();
+		final ADictionary dict = g.getDictionary();
+		final boolean[] nonZeroTuple = new boolean[nVals + 1];
+		for(int c = 0; c < nVals; c++) {
+			// the dictionaries return null for the all-zero tuple
+			final double[] tuple = dict.getTuple(c, nCol);
+			for(int j = 0; tuple != null && j < nCol; j++)
+				nonZeroTuple[c] |= tuple[j] != 0;
+		}
+
+		final AMapToData codes = g.getRowCodes();
+		for(int i = 0; i < flags.length; i++)
+			flags[i] |= nonZeroTuple[codes.getIndex(i)];
+	}
+
+	private static void markNonEmptyRows(MatrixBlock data, boolean[] flags) {
+		if(data.isEmptyBlock(false))
+			return;
+		if(data.isInSparseFormat()) {
+			for(int i = 0; i < flags.length; i++)
+				flags[i] |= !data.getSparseBlock().isEmpty(i);
+		}
+		else {
+			final DenseBlock a = data.getDenseBlock();
+			final int n = data.getNumColumns();
+			for(int i = 0; i < flags.length; i++) {
+				final double[] avals = a.values(i);
+				final int aix = a.pos(i);
+				for(int j = 0; j < n && !flags[i]; j++)
+					flags[i] = avals[aix + j] != 0;
+			}
+		}
+	}
+
+	private static boolean[] getSelectedRows(MatrixBlock select, int nRow) {
+		final MatrixBlock s = CompressedMatrixBlock.getUncompressed(select);
+		final boolean[] flags = new boolean[nRow];
+		for(int i = 0; i < nRow; i++)
+			flags[i] = s.quickGetValue(i, 0) != 0;
+		return flags;
+	}
+}
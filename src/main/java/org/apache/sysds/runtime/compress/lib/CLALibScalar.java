@@ -37,7 +37,6 @@ import org.apache.sysds.runtime.compress.colgroup.ColGroupCompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupOLE;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
 import org.apache.sysds.runtime.functionobjects.Divide;
 import org.apache.sysds.runtime.functionobjects.Minus;
@@ -130,7 +129,7 @@ public class CLALibScalar {
 		CompressedMatrixBlock ret) {
 		List<AColGroup> newColGroups = new ArrayList<>();
 		for(AColGroup grp : m1.getColGroups())
-			newColGroups.add(((ColGroupValue) grp).copy());
+			newColGroups.add(grp.copy());
 		return newColGroups;
 
 	}
@@ -139,8 +138,7 @@ public class CLALibScalar {
 		CompressedMatrixBlock ret) {
 		List<AColGroup> newColGroups = new ArrayList<>();
 		for(AColGroup grp : m1.getColGroups())
-			newColGroups.add(
-				((ColGroupValue) grp).scalarOperation(new RightScalarOperator(Multiply.getMultiplyFnObject(), -1)));
+			newColGroups.add(grp.scalarOperation(new RightScalarOperator(Multiply.getMultiplyFnObject(), -1)));
 		return newColGroups;
 	}
 
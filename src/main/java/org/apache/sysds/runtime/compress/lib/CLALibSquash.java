@@ -33,7 +33,9 @@ import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupCompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupLinear;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.compress.readers.ReaderColumnSelection;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
@@ -62,11 +64,11 @@ public class CLALibSquash {
 	private static double[] extractMinMaxes(CompressedMatrixBlock m) {
 		double[] ret = new double[m.getNumColumns() * 2];
 		for(AColGroup g : m.getColGroups())
-			if(g instanceof ColGroupValue)
-				((ColGroupValue) g).addMinMax(ret);
+			if(g instanceof ColGroupValue || g instanceof ColGroupLinear)
+				((ColGroupCompressed) g).addMinMax(ret);
 			else
 				throw new DMLCompressionException(
-					"Not valid to squash if not all colGroups are of ColGroupValue type.");
+					"Not valid to squash if not all colGroups are of ColGroupValue or ColGroupLinear type.");
 
 		return ret;
 	}
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.functionobjects.SortIndex;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.COVOperator;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+
+/**
+ * Compressed sort (the weighted input of quantiles, median and inter quartile mean), central moments and covariance
+ * of column vectors.
+ * 
+ * Instead of processing every row, the column is reduced to its distinct values and their counts (or summed weights),
+ * taken from the dictionaries of the column groups. Vectors consisting of multiple (overlapping) column groups are
+ * reduced to the distinct combinations of the row codes of all groups, such that only the row codes are scanned.
+ */
+public class CLALibStatistics {
+	private static final Log LOG = LogFactory.getLog(CLALibStatistics.class.getName());
+
+	/** Maximum number of joint codes of multiple column groups, to bound the size of the count array */
+	private static final int MAX_JOINT_CODES = 1 << 22;
+
+	/**
+	 * Sort a compressed column vector into the (value, weight) format expected by the quantile operations. The output
+	 * contains one row per distinct value with the number of occurrences (or the summed weights) as weight, and a
+	 * first row of zero containing the weight of all zeros.
+	 * 
+	 * @param m1      The compressed column vector
+	 * @param weights The weights, or null
+	 * @param result  The result block to reuse, or null
+	 * @return The sorted values with weights
+	 */
+	public static MatrixBlock sort(CompressedMatrixBlock m1, MatrixBlock weights, MatrixBlock result) {
+		final Distinct d = isSupported(m1, weights) ? distinct(m1, null, weights) : null;
+		if(d == null) {
+			LOG.warn("Decompressing for sortOperations");
+			return m1.decompress().sortOperations(weights, result);
+		}
+
+		int nnzVals = 0;
+		double zeroWeight = 0;
+		for(int i = 0; i < d.n; i++)
+			if(d.left[i] == 0)
+				zeroWeight += d.weights[i];
+			else
+				nnzVals++;
+
+		final MatrixBlock tdw = new MatrixBlock(nnzVals + 1, 2, false);
+		tdw.allocateDenseBlock();
+		final double[] tv = tdw.getDenseBlockValues();
+		tv[1] = zeroWeight;
+		for(int i = 0, off = 2; i < d.n; i++) {
+			if(d.left[i] != 0) {
+				tv[off++] = d.left[i];
+				tv[off++] = d.weights[i];
+			}
+		}
+		tdw.recomputeNonZeros();
+
+		if(result == null)
+			result = new MatrixBlock(nnzVals + 1, 2, false);
+		else
+			result.reset(nnzVals + 1, 2, false);
+		return LibMatrixReorg.reorg(tdw, result, new ReorgOperator(new SortIndex(1, false, false)));
+	}
+
+	/**
+	 * Central moment of a compressed column vector.
+	 * 
+	 * @param m1      The compressed column vector
+	 * @param op      The central moment operator
+	 * @param weights The weights, or null
+	 * @return The central moment object
+	 */
+	public static CM_COV_Object centralMoment(CompressedMatrixBlock m1, CMOperator op, MatrixBlock weights) {
+		final Distinct d = isSupported(m1, weights) ? distinct(m1, null, weights) : null;
+		if(d == null) {
+			LOG.warn("Decompressing for cmOperations");
+			final MatrixBlock vals = m1.decompress();
+			return weights == null ? vals.cmOperations(op) : vals.cmOperations(op, weights);
+		}
+		return d.getLeft().cmOperations(op, d.getWeights());
+	}
+
+	/**
+	 * Covariance of a compressed column vector with another column vector. If the other vector is compressed as well,
+	 * the covariance is computed on the distinct pairs of values.
+	 * 
+	 * @param m1      The compressed column vector
+	 * @param op      The covariance operator
+	 * @param that    The other column vector
+	 * @param weights The weights, or null
+	 * @return The covariance object
+	 */
+	public static CM_COV_Object covariance(CompressedMatrixBlock m1, COVOperator op, MatrixBlock that,
+		MatrixBlock weights) {
+		final Distinct d = that instanceof CompressedMatrixBlock && isSupported(m1, weights) &&
+			isSupported((CompressedMatrixBlock) that, weights) ? distinct(m1, (CompressedMatrixBlock) that,
+				weights) : null;
+		if(d == null) {
+			LOG.warn("Decompressing for covOperations");
+			final MatrixBlock left = m1.decompress();
+			final MatrixBlock right = CompressedMatrixBlock.getUncompressed(that);
+			return weights == null ? left.covOperations(op, right) : left.covOperations(op, right, weights);
+		}
+		return d.getLeft().covOperations(op, d.getRight(), d.getWeights());
+	}
+
+	private static boolean isSupported(CompressedMatrixBlock m, MatrixBlock weights) {
+		if(m.getNumColumns() != 1 || (weights != null && weights.getNumRows() != m.getNumRows()))
+			return false;
+		for(AColGroup g : m.getColGroups())
+			if(!(g instanceof ColGroupEmpty) && !(g instanceof ColGroupValue && ((ColGroupValue) g).getCounts() != null))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Reduce one or two compressed column vectors to their distinct (pairs of) values with counts or summed weights.
+	 * 
+	 * @param left    The first vector
+	 * @param right   The second vector, or null
+	 * @param weights The row weights, or null
+	 * @return The distinct values, or null if the number of joint codes is too large
+	 */
+	private static Distinct distinct(CompressedMatrixBlock left, CompressedMatrixBlock right, MatrixBlock weights) {
+		final List<ColGroupValue> groups = new ArrayList<>();
+		final int nLeft = addGroups(left, groups);
+		if(right != null)
+			addGroups(right, groups);
+
+		if(groups.isEmpty()) // all empty
+			return new Distinct(new double[] {0}, right != null ? new double[] {0} : null,
+				new double[] {weights == null ? left.getNumRows() : weights.sum()});
+		else if(groups.size() == 1 && weights == null)
+			return distinctSingle(groups.get(0), right != null);
+		else
+			return distinctJoint(groups, nLeft, right != null, left.getNumRows(), weights);
+	}
+
+	private static int addGroups(CompressedMatrixBlock m, List<ColGroupValue> groups) {
+		int n = 0;
+		for(AColGroup g : m.getColGroups())
+			if(g instanceof ColGroupValue) {
+				groups.add((ColGroupValue) g);
+				n++;
+			}
+		return n;
+	}
+
+	private static Distinct distinctSingle(ColGroupValue g, boolean hasRight) {
+		// a single group without weights is directly described by its dictionary and counts
+		final int[] counts = g.getCounts();
+		final ADictionary dict = g.getDictionary();
+		final int nVals = g.getNumValues();
+		int n = 0;
+		for(int c : counts)
+			n += c != 0 ? 1 : 0;
+		final double[] vals = new double[n];
+		final double[] w = new double[n];
+		for(int i = 0, o = 0; i < counts.length; i++) {
+			if(counts[i] == 0)
+				continue;
+			vals[o] = i < nVals ? dict.getValue(i) : 0; // trailing zero tuple count
+			w[o++] = counts[i];
+		}
+		return new Distinct(vals, hasRight ? new double[n] : null, w);
+	}
+
+	private static Distinct distinctJoint(List<ColGroupValue> groups, int nLeft, boolean hasRight, int nRow,
+		MatrixBlock weights) {
+		final int nGroups = groups.size();
+		final AMapToData[] codes = new AMapToData[nGroups];
+		final int[] nCodes = new int[nGroups];
+		final int[] strides = new int[nGroups];
+		long nJoint = 1;
+		for(int g = 0; g < nGroups; g++) {
+			nCodes[g] = groups.get(g).getCounts().length;
+			strides[g] = (int) nJoint;
+			nJoint *= nCodes[g];
+			if(nJoint > MAX_JOINT_CODES)
+				return null;
+		}
+		for(int g = 0; g < nGroups; g++)
+			codes[g] = groups.get(g).getRowCodes();
+
+		// single pass over the row codes, summing the weight of each joint code
+		final double[] jw = new double[(int) nJoint];
+		for(int r = 0; r < nRow; r++) {
+			int key = 0;
+			for(int g = 0; g < nGroups; g++)
+				key += codes[g].getIndex(r) * strides[g];
+			jw[key] += weights == null ? 1 : weights.quickGetValue(r, 0);
+		}
+
+		int n = 0;
+		for(int i = 0; i < jw.length; i++)
+			n += jw[i] != 0 ? 1 : 0;
+
+		final double[] left = new double[n];
+		final double[] right = hasRight ? new double[n] : null;
+		final double[] w = new double[n];
+		for(int i = 0, o = 0; i < jw.length; i++) {
+			if(jw[i] == 0)
+				continue;
+			for(int g = 0; g < nGroups; g++) {
+				final int c = (i / strides[g]) % nCodes[g];
+				final ColGroupValue cg = groups.get(g);
+				final double v = c < cg.getNumValues() ? cg.getDictionary().getValue(c) : 0;
+				if(g < nLeft)
+					left[o] += v;
+				else
+					right[o] += v;
+			}
+			w[o++] = jw[i];
+		}
+		return new Distinct(left, right, w);
+	}
+
+	/** Distinct values (and paired values of a second vector) with their summed weights */
+	private static class Distinct {
+		private final double[] left;
+		private final double[] right;
+		private final double[] weights;
+		private final int n;
+
+		private Distinct(double[] left, double[] right, double[] weights) {
+			this.left = left;
+			this.right = right;
+			this.weights = weights;
+			this.n = weights.length;
+		}
+
+		private MatrixBlock getLeft() {
+			return toColumn(left);
+		}
+
+		private MatrixBlock getRight() {
+			return toColumn(right);
+		}
+
+		private MatrixBlock getWeights() {
+			return toColumn(weights);
+		}
+
+		private static MatrixBlock toColumn(double[] v) {
+			final MatrixBlock ret = new MatrixBlock(v.length, 1, false);
+			ret.init(v, v.length, 1);
+			return ret;
+		}
+	}
+}
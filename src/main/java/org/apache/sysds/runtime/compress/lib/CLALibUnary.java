@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Compressed unary, ternary, and replace operations that are value-wise functions of the compressed input. These
+ * operations are executed on the dictionaries of the column groups only, via the scalar operations of the column
+ * groups, that also handle functions that are not zero preserving (e.g., materializing the zero default of SDCZeros
+ * groups). The cost is therefore linear in the number of distinct values instead of the number of cells.
+ */
+public class CLALibUnary {
+
+	/**
+	 * Indicate if the unary operation can be executed as a value-wise function of the compressed matrix.
+	 * 
+	 * @param op The unary operator
+	 * @param m1 The compressed matrix
+	 * @return true if supported on the dictionaries
+	 */
+	public static boolean isValueWise(UnaryOperator op, CompressedMatrixBlock m1) {
+		// cumulative aggregates are not value-wise, and overlapping groups are summed before applying f
+		return !m1.isOverlapping() && !LibMatrixAgg.isSupportedUnaryOperator(op);
+	}
+
+	/**
+	 * Indicate if the ternary operation can be executed as a value-wise function of the compressed first input, which
+	 * is the case if the other inputs are scalars.
+	 * 
+	 * @param m1 The compressed matrix
+	 * @param m2 The second input
+	 * @param m3 The third input
+	 * @return true if supported on the dictionaries
+	 */
+	public static boolean isValueWise(CompressedMatrixBlock m1, MatrixBlock m2, MatrixBlock m3) {
+		return !m1.isOverlapping() && isScalar(m2) && isScalar(m3) && !isScalar(m1);
+	}
+
+	public static MatrixBlock unaryOperations(UnaryOperator op, CompressedMatrixBlock m1, MatrixValue result) {
+		final ValueFunction fn = op.fn;
+		return apply(m1, new ValueFunctionOperator(fn, x -> fn.execute(x), op.getNumThreads()), result);
+	}
+
+	public static MatrixBlock ternaryOperations(TernaryOperator op, CompressedMatrixBlock m1, MatrixBlock m2,
+		MatrixBlock m3) {
+		final double d2 = m2.quickGetValue(0, 0);
+		final double d3 = m3.quickGetValue(0, 0);
+		return apply(m1, new ValueFunctionOperator(null, x -> op.fn.execute(x, d2, d3), op.getNumThreads()), null);
+	}
+
+	public static MatrixBlock replaceOperations(CompressedMatrixBlock m1, MatrixValue result, double pattern,
+		double replacement) {
+		final boolean nan = Double.isNaN(pattern);
+		return apply(m1, new ValueFunctionOperator(null,
+			x -> (x == pattern || (nan && Double.isNaN(x))) ? replacement : x, 1), result);
+	}
+
+	private static MatrixBlock apply(CompressedMatrixBlock m1, ScalarOperator sop, MatrixValue result) {
+		// column group scalar operations apply the function to the dictionaries
+		return CLALibScalar.scalarOperations(sop, m1, result);
+	}
+
+	private static boolean isScalar(MatrixBlock mb) {
+		return mb.getNumRows() == 1 && mb.getNumColumns() == 1;
+	}
+
+	/**
+	 * Scalar operator that applies an arbitrary value-wise function, and is sparse safe iff f(0) == 0. These operators
+	 * are only created and applied within this class. The constant is bound into the function on construction, and
+	 * hence cannot be replaced afterwards.
+	 */
+	private static class ValueFunctionOperator extends ScalarOperator {
+		private static final long serialVersionUID = -3146725376385826781L;
+
+		private final DoubleUnaryOperator _f;
+
+		protected ValueFunctionOperator(ValueFunction fn, DoubleUnaryOperator f, int k) {
+			super(fn, 0, f.applyAsDouble(0) == 0, k);
+			_f = f;
+		}
+
+		@Override
+		public double executeScalar(double in) {
+			return _f.applyAsDouble(in);
+		}
+
+		@Override
+		public ScalarOperator setConstant(double cst) {
+			return setConstant(cst, getNumThreads());
+		}
+
+		@Override
+		public ScalarOperator setConstant(double cst, int numThreads) {
+			throw new DMLCompressionException("Invalid setConstant(" + cst + ") on a compressed value-wise function "
+				+ "operator, whose operands are bound into the function on construction");
+		}
+	}
+}
@@ -57,6 +57,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalMemory;
 import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.Task;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerAdaptive;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoring;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCmax;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCmin;
@@ -68,6 +69,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizationWrapper;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.ProgramRecompiler;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -133,6 +135,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		ADAPTIVE,       //adaptive factoring task partitioner, uses observed iteration runtimes
 		UNSPECIFIED
 	}
 	
@@ -290,6 +293,8 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean ALLOW_NESTED_PARALLELISM    = true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
+	public static final boolean USE_PARALLEL_RESULT_MERGE_LOCAL_MEM = true; // if local in-memory result merge is run in parallel over row partitions
+	public static final boolean PIN_SHARED_READ_INPUTS_LOCAL = true; // if read-only inputs are pinned in memory and shared by all local workers
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
 	public static       boolean ALLOW_REUSE_PARTITION_VARS  = true; //reuse partition input matrices, applied only if read-only in surrounding loops
@@ -724,18 +729,27 @@ public class ParForProgramBlock extends ForProgramBlock
 		int numExecutedTasks = 0;
 		int numExecutedIterations = 0;
 		
-		//restrict recompilation to thread local memory
-		setMemoryBudget();
+		//pin read-only inputs shared by reference across workers
+		//(before restricting the memory budget to thread-local memory)
+		List<CacheableData<?>> sharedInputs = pinSharedReadInputs(ec);
+		
+		//restrict recompilation to thread local memory (w/o pinned inputs)
+		setMemoryBudget(getPinnedSize(sharedInputs));
 		
 		try
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			//(for adaptive task partitioning, the queue is bounded by the number of workers
+			//to create tasks on demand w/ the most recently observed iteration runtimes)
+			boolean adaptive = (_taskPartitioner == PTaskPartitioner.ADAPTIVE);
+			LocalTaskQueue<Task> queue = adaptive ?
+				new LocalTaskQueue<>(_numThreads) : new LocalTaskQueue<>();
+			IterationStatistics stats = adaptive ? new IterationStatistics() : null;
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
-				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
+				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i, stats);
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY);
 			});
@@ -752,7 +766,7 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, tinit);
 			
 			// Step 2) create tasks 
-			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr, stats);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
 			if( USE_STREAMING_TASK_CREATION )
@@ -826,6 +840,9 @@ public class ParForProgramBlock extends ForProgramBlock
 			//remove thread-local memory budget (reset to original budget)
 			//(in finally to prevent error side effects for multiple scripts in one jvm)
 			resetMemoryBudget();
+			
+			//unpin shared read-only inputs (after result merge)
+			unpinSharedReadInputs(sharedInputs);
 		
 			if( _monitor ) {
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_RESULTS_T, time.stop());
@@ -858,7 +875,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
 		
 		// Step 2) create tasks 
-		TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+		TaskPartitioner partitioner = createTaskPartitioner(from, to, incr, null);
 		long numIterations = partitioner.getNumIterations();
 		
 		//sequentially create tasks as input to parfor job
@@ -924,7 +941,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, time.stop());
 		
 		// Step 3) create tasks 
-		TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+		TaskPartitioner partitioner = createTaskPartitioner(from, to, incr, null);
 		String resultFile = constructResultFileName();
 		long numIterations = partitioner.getNumIterations();
 		long numCreatedTasks = numIterations;//partitioner.createTasks().size();
@@ -962,6 +979,59 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 
+	/**
+	 * Pins all read-only matrix and frame inputs of the parfor body that are already cached
+	 * in memory (as long as they fit into half the local memory budget), which avoids forced
+	 * reads of inputs that are not accessed by the workers. Local workers share these inputs by
+	 * reference (via shallow copies of the symbol table, w/o deep copies or exports), and
+	 * the additional read lock acts as reference count that prevents eviction while in use
+	 * by any worker. Note that read-only inputs are never modified by the workers because
+	 * updates in the parfor body create new objects, and loop-carried update-in-place
+	 * variables are copied on first use (see prepareUpdateInPlaceVariables).
+	 * 
+	 * @param ec execution context
+	 * @return list of pinned inputs
+	 */
+	private List<CacheableData<?>> pinSharedReadInputs(ExecutionContext ec) {
+		List<CacheableData<?>> ret = new ArrayList<>();
+		ParForStatementBlock sb = (ParForStatementBlock)getStatementBlock();
+		if( !PIN_SHARED_READ_INPUTS_LOCAL || sb == null || _numThreads <= 1 )
+			return ret;
+		
+		double mem = 0;
+		double memBudget = OptimizerUtils.getLocalMemBudget() / 2;
+		for( String var : sb.getReadOnlyParentMatrixOrFrameVars() ) {
+			Data dat = ec.getVariable(var);
+			if( !(dat instanceof CacheableData) || ret.contains(dat) )
+				continue;
+			CacheableData<?> cd = (CacheableData<?>) dat;
+			//skip partitioned, federated, and evicted or not yet read inputs
+			if( (cd instanceof MatrixObject && ((MatrixObject)cd).isPartitioned())
+				|| cd.isFederated() || !cd.isInMemory() )
+				continue;
+			double size = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
+			if( mem + size > memBudget )
+				continue;
+			cd.acquireRead();
+			mem += size;
+			ret.add(cd);
+		}
+		
+		if( LOG.isTraceEnabled() && !ret.isEmpty() )
+			LOG.trace("PARFOR ID = "+_ID+", pinned "+ret.size()+" shared read-only inputs ("+mem+" bytes).");
+		return ret;
+	}
+	
+	private static double getPinnedSize(List<CacheableData<?>> inputs) {
+		return inputs.stream().mapToDouble(cd ->
+			OptimizerUtils.estimateSize(cd.getDataCharacteristics())).sum();
+	}
+	
+	private static void unpinSharedReadInputs(List<CacheableData<?>> inputs) {
+		for( CacheableData<?> cd : inputs )
+			cd.release();
+	}
+	
 	private void handleDataPartitioning( ExecutionContext ec ) 
 	{
 		PDataPartitioner dataPartitioner = _dataPartitioner;
@@ -1176,9 +1246,10 @@ public class ParForProgramBlock extends ForProgramBlock
 	 * @param queue task queue
 	 * @param ec execution context
 	 * @param index the index of the worker
+	 * @param stats iteration statistics for adaptive task partitioning, or null
 	 * @return local parworker
 	 */
-	private LocalParWorker createParallelWorker(long pwID, LocalTaskQueue<Task> queue, ExecutionContext ec, int index)
+	private LocalParWorker createParallelWorker(long pwID, LocalTaskQueue<Task> queue, ExecutionContext ec, int index, IterationStatistics stats)
 	{
 		LocalParWorker pw = null; 
 		
@@ -1221,6 +1292,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
 			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
+			pw.setIterationStatistics(stats);
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
@@ -1235,9 +1307,10 @@ public class ParForProgramBlock extends ForProgramBlock
 	 * @param from ?
 	 * @param to ?
 	 * @param incr ?
+	 * @param stats iteration statistics for adaptive task partitioning, or null
 	 * @return task partitioner
 	 */
-	private TaskPartitioner createTaskPartitioner( IntObject from, IntObject to, IntObject incr ) 
+	private TaskPartitioner createTaskPartitioner( IntObject from, IntObject to, IntObject incr, IterationStatistics stats ) 
 	{
 		TaskPartitioner tp = null;
 		
@@ -1269,6 +1342,12 @@ public class ParForProgramBlock extends ForProgramBlock
 				tp = new TaskPartitionerFactoringCmax(_taskSize,_numThreads, 
 					_taskSize, _iterPredVar, from, to, incr);
 				break;	
+			case ADAPTIVE:
+				//adaptive factoring w/ fallback to factoring if no statistics available
+				tp = (stats != null) ?
+					new TaskPartitionerAdaptive(_taskSize, _numThreads, stats, _iterPredVar, from, to, incr) :
+					new TaskPartitionerFactoring(_taskSize, _numThreads, _iterPredVar, from, to, incr);
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -1444,9 +1523,7 @@ public class ParForProgramBlock extends ForProgramBlock
 						vars.get(var._name)).toArray(MatrixObject[]::new);
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, ec);
-					MatrixObject outNew = USE_PARALLEL_RESULT_MERGE ?
-						rm.executeParallelMerge(_numThreads) :
-						rm.executeSerialMerge();
+					MatrixObject outNew = executeResultMerge(rm);
 					
 					//cleanup existing var
 					Data exdata = ec.removeVariable(var._name);
@@ -1492,8 +1569,19 @@ public class ParForProgramBlock extends ForProgramBlock
 		if( numTasks != expTasks || numIters !=expIters ) //consistency check
 			throw new DMLRuntimeException("PARFOR: Number of executed tasks does not match the number of created tasks: tasks "+numTasks+"/"+expTasks+", iters "+numIters+"/"+expIters+".");
 	
+		double tmerge = time.stop();
 		if( DMLScript.STATISTICS )
-			Statistics.incrementParForMergeTime((long) time.stop());
+			Statistics.incrementParForMergeTime((long) tmerge);
+		if( _monitor )
+			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_RESULTMERGE_T, tmerge);
+	}
+	
+	private MatrixObject executeResultMerge(ResultMerge rm) {
+		//parallel merge if configured, or for local in-memory result merge
+		//(which gracefully falls back to serial merge under memory pressure)
+		boolean par = USE_PARALLEL_RESULT_MERGE || (USE_PARALLEL_RESULT_MERGE_LOCAL_MEM
+			&& rm instanceof ResultMergeLocalMemory && _numThreads > 1);
+		return par ? rm.executeParallelMerge(_numThreads) : rm.executeSerialMerge();
 	}
 	
 	/**
@@ -1591,20 +1679,28 @@ public class ParForProgramBlock extends ForProgramBlock
 		return sb.toString();
 	}
 
-	private void setMemoryBudget() {
-		if( _recompileMemoryBudget > 0 ) {
+	private void setMemoryBudget(double pinnedSize) {
+		if( _recompileMemoryBudget > 0 || pinnedSize > 0 ) {
 			// store old budget for reset after exec
 			_oldMemoryBudget = InfrastructureAnalyzer.getLocalMaxMemory();
 			
+			// exclude the pinned inputs, which are shared by all workers
+			// (the recompile memory budget is already the budget per worker)
+			double budget = (_recompileMemoryBudget > 0) ?
+				_recompileMemoryBudget - pinnedSize / _numThreads :
+				OptimizerUtils.getLocalMemBudget() - pinnedSize;
+			
 			// scale budget with applied mem util factor (inverted during getMemBudget() )
-			long newMaxMem = (long) (_recompileMemoryBudget / OptimizerUtils.MEM_UTIL_FACTOR);
+			long newMaxMem = (long) (budget / OptimizerUtils.MEM_UTIL_FACTOR);
 			InfrastructureAnalyzer.setLocalMaxMemory( newMaxMem );
 		}
 	}
 	
 	private void resetMemoryBudget() {
-		if( _recompileMemoryBudget > 0 )
+		if( _oldMemoryBudget > 0 ) {
 			InfrastructureAnalyzer.setLocalMaxMemory((long)_oldMemoryBudget);
+			_oldMemoryBudget = -1;
+		}
 	}
 	
 	private void resetOptimizerFlags() {
@@ -1664,11 +1760,7 @@ public class ParForProgramBlock extends ForProgramBlock
 					String fname = constructResultMergeFileName();
 				
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, _ec);
-					MatrixObject outNew = null;
-					if( USE_PARALLEL_RESULT_MERGE )
-						outNew = rm.executeParallelMerge( _numThreads );
-					else
-						outNew = rm.executeSerialMerge();
+					MatrixObject outNew = executeResultMerge(rm);
 					
 					synchronized( _ec.getVariables() ){
 						_ec.getVariables().put( var._name, outNew);
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Asynchronous write-behind of persistent writes in the control program. A write
+ * captures the (immutable) in-memory cache block and writes it on a background
+ * thread with the regular (parallel) writers, which allows overlapping IO with the
+ * subsequent instructions. Pending writes are only awaited on a subsequent read or
+ * write of the same file and at the end of the program.
+ * 
+ * Pending writes do not pin their cache objects in the buffer pool (which would
+ * prevent subsequent updates or cleanup of the written variables), but hold a
+ * reference to the in-memory block until the write completed. Hence, the referenced
+ * blocks are accounted in the pinned size of the buffer pool, and both the number
+ * and total size of pending writes are bounded, where new writes wait for the oldest
+ * pending write (back pressure).
+ */
+public class AsyncWriteManager 
+{
+	//number of background writer threads (each write is itself multi-threaded)
+	private static final int NUM_WRITE_THREADS = 2;
+	
+	//max number of pending writes, i.e., referenced cache blocks
+	private static final int MAX_PENDING_WRITES = 8;
+	
+	//pending writes in submission order, keyed by output file name
+	private static final LinkedHashMap<String, Future<Object>> _pending = new LinkedHashMap<>();
+	private static final AtomicLong _pendingSize = new AtomicLong(0);
+	private static ExecutorService _pool = null;
+	
+	public static boolean isEnabled() {
+		return ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CP_ASYNC_WRITE);
+	}
+	
+	/**
+	 * Submits an asynchronous write to the given file, after waiting for a pending
+	 * write to the same file (to preserve the write order) and for the oldest
+	 * pending writes if the maximum number or size of pending writes is reached.
+	 * 
+	 * @param fname output file name
+	 * @param size in-memory size of the block referenced by the write
+	 * @param task write task
+	 */
+	public static void submit(String fname, long size, Callable<Object> task) {
+		waitForWrite(fname);
+		long maxSize = (long)(CacheableData.CACHING_BUFFER_SIZE * InfrastructureAnalyzer.getLocalMaxMemory());
+		while( getNumPending() >= MAX_PENDING_WRITES 
+			|| (getNumPending() > 0 && getPendingSize() + size > maxSize) )
+			waitForOldestWrite();
+		
+		synchronized( _pending ) {
+			if( _pool == null ) {
+				_pool = Executors.newFixedThreadPool(NUM_WRITE_THREADS, new BasicThreadFactory.Builder()
+					.namingPattern("async-write-thread-%d").daemon(true).build());
+			}
+			_pendingSize.addAndGet(size);
+			_pending.put(fname, _pool.submit(() -> {
+				try {
+					return task.call();
+				}
+				finally {
+					_pendingSize.addAndGet(-size);
+				}
+			}));
+		}
+	}
+	
+	/**
+	 * Waits for a pending write to the given file, if any.
+	 * 
+	 * @param fname file name
+	 */
+	public static void waitForWrite(String fname) {
+		Future<Object> write = null;
+		synchronized( _pending ) {
+			if( _pending.isEmpty() || fname == null )
+				return;
+			write = _pending.get(fname);
+		}
+		if( write != null )
+			awaitAndRemove(fname, write);
+	}
+	
+	/**
+	 * Waits for all pending writes, e.g., at the end of the program.
+	 * The first write failure is rethrown after all writes completed.
+	 */
+	public static void waitForAllWrites() {
+		DMLRuntimeException failure = null;
+		while( getNumPending() > 0 ) {
+			try {
+				waitForOldestWrite();
+			}
+			catch(DMLRuntimeException ex) {
+				failure = (failure == null) ? ex : failure;
+			}
+		}
+		if( failure != null )
+			throw failure;
+	}
+	
+	public static int getNumPending() {
+		synchronized( _pending ) {
+			return _pending.size();
+		}
+	}
+	
+	/**
+	 * Gets the total in-memory size of the blocks referenced by running
+	 * or queued writes, which are not yet completed.
+	 * 
+	 * @return size in bytes
+	 */
+	public static long getPendingSize() {
+		return _pendingSize.get();
+	}
+	
+	/**
+	 * Shuts down the background writer threads at program cleanup, after
+	 * pending writes have been awaited (otherwise they are cancelled).
+	 */
+	public static void cleanup() {
+		synchronized( _pending ) {
+			if( _pool != null )
+				_pool.shutdownNow();
+			_pool = null;
+			_pending.clear();
+		}
+	}
+	
+	private static void waitForOldestWrite() {
+		Entry<String, Future<Object>> oldest = null;
+		synchronized( _pending ) {
+			Iterator<Entry<String, Future<Object>>> iter = _pending.entrySet().iterator();
+			if( !iter.hasNext() )
+				return;
+			oldest = iter.next();
+		}
+		awaitAndRemove(oldest.getKey(), oldest.getValue());
+	}
+	
+	private static void awaitAndRemove(String fname, Future<Object> write) {
+		try {
+			write.get();
+		}
+		catch(InterruptedException | ExecutionException ex) {
+			throw new DMLRuntimeException("Asynchronous write to "+fname+" failed.", ex);
+		}
+		finally {
+			synchronized( _pending ) {
+				_pending.remove(fname, write);
+			}
+		}
+	}
+}
@@ -27,7 +27,6 @@ import java.io.IOException;
 
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
-import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
@@ -107,11 +106,11 @@ public class ByteBuffer
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			LazyWriteBuffer.writeLocal(fname, _bdata);
 		}
 		else {
 			//serialize cache block to output stream
-			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			LazyWriteBuffer.writeLocal(fname, _cdata);
 		}
 	}
 	
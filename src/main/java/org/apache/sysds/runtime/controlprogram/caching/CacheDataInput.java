@@ -26,6 +26,7 @@ import java.io.IOException;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class CacheDataInput implements DataInput, MatrixBlockDataInput
 {
@@ -138,22 +139,12 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 	public long readDoubleArray(int len, double[] varr) 
 		throws IOException 
 	{
-		//counter for non-zero elements
-		long nnz = 0;
-		
-		int off = _count;
-		for( int i=0; i<len; i++ ) 
-		{
-			//core deserialization
-			long tmp = baToLong(_buff, off+i*8);
-			varr[i] = Double.longBitsToDouble( tmp );
-			
-			//nnz maintenance
-			nnz += (varr[i]!=0) ? 1 : 0; 
-		}
-		_count = off + len*8;
+		//core deserialization (bulk copy)
+		IOUtilFunctions.baToDoubleArray(_buff, _count, varr, 0, len);
+		_count += len*8;
 		
-		return nnz;
+		//nnz maintenance
+		return UtilFunctions.computeNnz(varr, 0, len);
 	}
 
 	@Override
@@ -154,17 +154,11 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 	public void writeDoubleArray(int len, double[] varr) 
 		throws IOException
 	{
-		//original buffer offset
-		int off = _count;
-		
-		//serialize entire array into buffer
-		for( int i=0; i<len; i++ ) {
-			long tmp = Double.doubleToRawLongBits(varr[i]);
-			longToBa(tmp, _buff, off+i*8);
-		}
+		//serialize entire array into buffer (bulk copy)
+		IOUtilFunctions.doubleArrayToBa(varr, 0, _buff, _count, len);
 		
 		//update buffer offset
-		_count = off + len*8;
+		_count += len*8;
 	}
 	
 	@Override
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
@@ -50,6 +51,7 @@ import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
 import org.apache.sysds.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.io.ReaderWriterFederated;
 import org.apache.sysds.runtime.lineage.LineageItem;
@@ -760,6 +762,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * @param replication ?
 	 */
 	public synchronized void exportData( int replication ) {
+		//dirty data is rewritten w/o format properties (no longer compressed binary blocks)
+		if( isDirty() && FileFormatPropertiesBinary.isCompressed(_formatProps) )
+			_formatProps = null;
 		exportData(_hdfsFileName, null, replication, null);
 		_hdfsFileExists = true;
 	}
@@ -822,6 +827,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if( !pWrite )
 			setHDFSFileExists(true);
 		
+		//wait for pending asynchronous writes of the same file
+		AsyncWriteManager.waitForWrite(fName);
+		
 		//check for common file scheme (otherwise no copy/rename)
 		boolean eqScheme = IOUtilFunctions.isSameFileScheme(
 			new Path(_hdfsFileName), new Path(fName));
@@ -831,7 +839,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//actual export (note: no direct transfer of local copy in order to ensure blocking (and hence, parallelism))
 		if( isDirty() || !eqScheme || isFederated() ||
-			(pWrite && (!eqFormat | !eqBlksize)) )
+			(pWrite && (!eqFormat | !eqBlksize | FileFormatPropertiesBinary.isCompressed(formatProperties)
+				| FileFormatPropertiesBinary.isCompressed(_formatProps))) )
 		{
 			// CASE 1: dirty in-mem matrix or pWrite w/ different format (write matrix to fname; load into memory if evicted)
 			// a) get the matrix
@@ -862,10 +871,16 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				acquire( false, _data==null ); //incl. read matrix if evicted
 			}
 
-			// b) write the matrix 
+			// b) write the matrix (asynchronous write-behind of in-memory snapshots, if enabled)
 			try {
 				writeMetaData( fName, outputFormat, formatProperties );
-				writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
+				Callable<Object> asyncWrite = (pWrite && !federatedWrite && !isFederated()
+					&& AsyncWriteManager.isEnabled()) ?
+					createAsyncBlobWriter( fName, outputFormat, replication, formatProperties ) : null;
+				if( asyncWrite != null )
+					AsyncWriteManager.submit( fName, _data.getInMemorySize(), asyncWrite );
+				else
+					writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
 				if ( !pWrite )
 					setDirty(false);
 			}
@@ -938,6 +953,16 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected boolean isBlobPresent() {
 		return (_data != null);
 	}
+	
+	/**
+	 * Indicates if the data blob is in memory (pinned or softly cached), i.e., 
+	 * if a read is served without restore from the buffer pool or a file read.
+	 * 
+	 * @return true if the data blob is in memory
+	 */
+	public synchronized boolean isInMemory() {
+		return _data != null || (_cache != null && _cache.get() != null);
+	}
 
 	/**
 	 * Low-level cache I/O method that physically restores the data blob to
@@ -1019,6 +1044,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 
 	//HDFS read
 	protected T readBlobFromHDFS(String fname) throws IOException {
+		AsyncWriteManager.waitForWrite(fname);
 		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 		DataCharacteristics dc = iimd.getDataCharacteristics();
 		return readBlobFromHDFS(fname, dc.getDims());
@@ -1046,6 +1072,21 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract void writeBlobToHDFS(String fname, String ofmt, int rep, FileFormatProperties fprop)
 		throws IOException;
 
+	/**
+	 * Creates a write task of a snapshot of the pinned in-memory data for
+	 * asynchronous write-behind (see AsyncWriteManager), or null if not
+	 * supported, in which case the data is written synchronously.
+	 * 
+	 * @param fname file name
+	 * @param ofmt output format
+	 * @param rep replication factor
+	 * @param fprop file format properties
+	 * @return write task, or null if asynchronous write not applicable
+	 */
+	protected Callable<Object> createAsyncBlobWriter(String fname, String ofmt, int rep, FileFormatProperties fprop) {
+		return null;
+	}
+
 	protected abstract void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String ofmt)
 		throws IOException;
 
@@ -1296,7 +1337,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 
 	protected static long getPinnedSize() {
-		return sizePinned.get();
+		//incl blocks referenced by pending asynchronous writes
+		return sizePinned.get() + AsyncWriteManager.getPendingSize();
 	}
 	
 	public static void addBroadcastSize(long size) {
@@ -1316,6 +1358,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
 		
+		//shutdown asynchronous write-behind threads
+		AsyncWriteManager.cleanup();
+		
 		//delete cache dir and files
 		cleanupCacheDir(true);
 	}
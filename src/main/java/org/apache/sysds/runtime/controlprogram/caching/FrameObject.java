@@ -23,9 +23,12 @@ package org.apache.sysds.runtime.controlprogram.caching;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
@@ -34,9 +37,11 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
+import org.apache.sysds.runtime.io.FrameColumnarFile;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
 import org.apache.sysds.runtime.io.FrameWriter;
 import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageRecomputeUtils;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
@@ -48,6 +53,7 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 
@@ -55,8 +61,14 @@ public class FrameObject extends CacheableData<FrameBlock>
 {
 	private static final long serialVersionUID = 1755082174281927785L;
 
+	//read of right indexing column ranges from columnar frame files
+	public static boolean ALLOW_COLUMN_PROJECTION = true;
+
 	private ValueType[] _schema = null;
 	
+	//cached file name of a probed columnar input file
+	private String _columnarFname = null;
+	
 	protected FrameObject() {
 		super(DataType.FRAME, ValueType.STRING);
 	}
@@ -162,6 +174,74 @@ public class FrameObject extends CacheableData<FrameBlock>
 		return dc.getCols();
 	}
 	
+	/**
+	 * Indicates if a right indexing column range can be directly read from the
+	 * columnar input file instead of reading the entire frame into memory. This
+	 * is only applied for frames that have not been read yet, and if the column
+	 * range is a strict subset of all columns.
+	 * 
+	 * @param cl column lower bound (0-based, inclusive)
+	 * @param cu column upper bound (0-based, inclusive)
+	 * @return true if column read is applicable
+	 */
+	public synchronized boolean isColumnReadApplicable(int cl, int cu) {
+		if( !ALLOW_COLUMN_PROJECTION || !(_metaData instanceof MetaDataFormat) )
+			return false;
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		if( iimd.getFileFormat() != FileFormat.BINARY
+			|| _data != null || !isEmpty(false) || isDirty()
+			|| isFederated() || getRDDHandle() != null || hasValidLineage()
+			|| _hdfsFileName == null || cu - cl + 1 >= getNumColumns() )
+			return false;
+		
+		//probe the file header once per input file
+		if( !_hdfsFileName.equals(_columnarFname) ) {
+			AsyncWriteManager.waitForWrite(_hdfsFileName);
+			try {
+				Path path = new Path(_hdfsFileName);
+				if( !FrameColumnarFile.isColumnarFile(IOUtilFunctions.getFileSystem(path), path) )
+					return false;
+				_columnarFname = _hdfsFileName;
+			}
+			catch(IOException ex) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the given column range from the columnar input file, without
+	 * reading the entire frame or changing the cache status of this object.
+	 * 
+	 * @param cl column lower bound (0-based, inclusive)
+	 * @param cu column upper bound (0-based, inclusive)
+	 * @return frame block of all rows of the column range
+	 */
+	public synchronized FrameBlock readFrameColumns(int cl, int cu) {
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Read column range "+hashCode()+" ["+cl+":"+cu+"]");
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		FrameBlock fb = null;
+		try {
+			Path path = new Path(_hdfsFileName);
+			fb = FrameColumnarFile.readColumns(IOUtilFunctions.getFileSystem(path), path,
+				cl, cu, (_schema != null) ? getSchema(cl, cu) : null,
+				OptimizerUtils.getParallelBinaryReadParallelism());
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Reading of column range ["+(cl+1)+":"+(cu+1)+"] of "+_hdfsFileName+" failed.", ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			CacheStatistics.incrementHDFSHits();
+			CacheStatistics.incrementAcquireRTime(System.nanoTime()-t0);
+		}
+		
+		return fb;
+	}
+	
 	@Override
 	protected FrameBlock readBlobFromCache(String fname) throws IOException {
 		return (FrameBlock)LazyWriteBuffer.readBlock(fname, false);
@@ -279,6 +359,23 @@ public class FrameObject extends CacheableData<FrameBlock>
 		writer.writeFrameToHDFS(_data, fname, getNumRows(), getNumColumns());
 	}
 
+	@Override
+	protected Callable<Object> createAsyncBlobWriter(String fname, String ofmt, int rep, FileFormatProperties fprop) {
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
+		if( _data == null || fmt == FileFormat.FEDERATED )
+			return null;
+		
+		//capture the pinned block and meta data at the time of the write
+		final FrameBlock data = _data;
+		final long rlen = getNumRows(), clen = getNumColumns();
+		return () -> {
+			FrameWriter writer = FrameWriterFactory.createFrameWriter(fmt, fprop);
+			writer.writeFrameToHDFS(data, fname, rlen, clen);
+			return null;
+		};
+	}
+
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String ofmt)
 		throws IOException, DMLRuntimeException 
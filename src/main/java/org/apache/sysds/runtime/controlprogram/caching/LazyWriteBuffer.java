@@ -27,6 +27,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.util.LocalFileUtils;
@@ -51,6 +53,9 @@ public class LazyWriteBuffer
 	//maintenance service for synchronous or asynchronous delete of evicted files
 	private static MaintenanceService _fClean;
 	
+	//optional log-structured spill store for evicted blocks (instead of one file per block)
+	private static LocalSpillStore _spill;
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -111,7 +116,7 @@ public class LazyWriteBuffer
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			writeLocal(fname, cb);
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -136,8 +141,8 @@ public class LazyWriteBuffer
 			}
 		}
 		
-		//delete from FS if required
-		if( requiresDelete )
+		//delete from spill store or FS if required
+		if( requiresDelete && !(_spill != null && _spill.deleteBlock(fname)) )
 			_fClean.deleteFile(fname);
 	}
 	
@@ -171,7 +176,9 @@ public class LazyWriteBuffer
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			cb = (_spill != null) ? _spill.readBlock(fname, matrix) : null;
+			if( cb == null )
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -185,6 +192,17 @@ public class LazyWriteBuffer
 		_size = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
+		//release the channels and compaction thread of a previous spill store
+		if( _spill != null )
+			_spill.close();
+		_spill = null;
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf.getBooleanValue(DMLConfig.CP_SPILL_STORE) ) {
+			long maxSize = conf.getIntValue(DMLConfig.CP_SPILL_MAXSIZE);
+			_spill = new LocalSpillStore(CacheableData.cacheEvictionLocalFilePath,
+				CacheableData.cacheEvictionLocalFilePrefix + "_seg",
+				maxSize > 0 ? maxSize * 1024 * 1024 : -1);
+		}
 	}
 
 	public static void cleanup() {
@@ -194,6 +212,23 @@ public class LazyWriteBuffer
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
+		if( _spill != null )
+			_spill.close();
+		_spill = null;
+	}
+	
+	static void writeLocal(String fname, byte[] data) throws IOException {
+		if( _spill != null )
+			_spill.writeBlock(fname, data);
+		else
+			LocalFileUtils.writeByteArrayToLocal(fname, data);
+	}
+	
+	static void writeLocal(String fname, CacheBlock cb) throws IOException {
+		if( _spill != null )
+			_spill.writeBlock(fname, cb);
+		else
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
 	}
 
 	public static long getWriteBufferLimit() {
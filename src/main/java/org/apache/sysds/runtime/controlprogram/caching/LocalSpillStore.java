@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Log-structured local spill store for evicted cache blocks. Instead of one file
+ * per evicted block, blocks are appended to a few large segment files, and an 
+ * in-memory index maps the eviction file names to (segment, offset, length). 
+ * Deleted blocks only become dead bytes of their segment. Segments without live
+ * blocks are deleted directly, while segments with a live fraction below the
+ * compaction threshold are compacted in the background by copying their live
+ * blocks to the active segment. If a maximum size is given, appends that would
+ * exceed this size first compact all segments, and fail if still too large.
+ * 
+ * Appends, deletes, and compactions are serialized via a write lock (evictions are 
+ * already serialized by the write buffer), while reads may proceed concurrently.
+ */
+public class LocalSpillStore 
+{
+	private static final Log LOG = LogFactory.getLog(LocalSpillStore.class.getName());
+	
+	//segment files are rolled over once they exceed this size
+	public static long SEGMENT_SIZE = 64L * 1024 * 1024;
+	
+	//non-active segments with a smaller live fraction are compacted
+	public static double COMPACTION_THRESHOLD = 0.5;
+	
+	private final String _dir;
+	private final String _prefix;
+	private final long _maxSize;
+	
+	//index of file names to spilled blocks, and all segments by ID
+	private final HashMap<String, SpillEntry> _index = new HashMap<>();
+	private final TreeMap<Integer, Segment> _segments = new TreeMap<>();
+	private final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+	private final ExecutorService _pool;
+	
+	private Segment _active = null;
+	private int _nextID = 0;
+	private long _diskSize = 0;
+	private boolean _closed = false;
+	
+	/**
+	 * Creates a new spill store with segment files in the given directory.
+	 * 
+	 * @param dir local directory of segment files
+	 * @param prefix file name prefix of segment files
+	 * @param maxSize maximum total size of segment files in bytes, or -1 if unbounded
+	 */
+	public LocalSpillStore(String dir, String prefix, long maxSize) {
+		_dir = dir;
+		_prefix = prefix;
+		_maxSize = maxSize;
+		_pool = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+			.namingPattern("spill-compaction-thread-%d").daemon(true).build());
+	}
+	
+	public void writeBlock(String fname, CacheBlock cb) throws IOException {
+		append(fname, cb.getExactSerializedSize(), ch -> {
+			//stream block to the segment (no close, which would close the channel)
+			FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+				Channels.newOutputStream(ch), LocalFileUtils.BUFFER_SIZE);
+			cb.write(out);
+			out.flush();
+		});
+	}
+	
+	public void writeBlock(String fname, byte[] data) throws IOException {
+		append(fname, data.length, ch -> {
+			java.nio.ByteBuffer buff = java.nio.ByteBuffer.wrap(data);
+			while( buff.hasRemaining() )
+				ch.write(buff);
+		});
+	}
+	
+	/**
+	 * Reads a spilled block if it exists in the spill store.
+	 * 
+	 * @param fname eviction file name
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @return cache block, or null if not spilled to this store
+	 * @throws IOException if IOException occurs
+	 */
+	public CacheBlock readBlock(String fname, boolean matrix) throws IOException {
+		_lock.readLock().lock();
+		try {
+			SpillEntry e = _index.get(fname);
+			if( e == null )
+				return null;
+			InputStream is = new SegmentInputStream(e.seg.ch, e.off, e.len);
+			return (CacheBlock) LocalFileUtils.readWritableFromStream(is,
+				matrix ? new MatrixBlock() : new FrameBlock());
+		}
+		finally {
+			_lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Deletes a spilled block, which turns its bytes into dead bytes of
+	 * its segment, and triggers the deletion or compaction of this segment.
+	 * 
+	 * @param fname eviction file name
+	 * @return true if the block existed in the spill store
+	 */
+	public boolean deleteBlock(String fname) {
+		_lock.writeLock().lock();
+		try {
+			return !_closed && removeEntry(fname);
+		}
+		finally {
+			_lock.writeLock().unlock();
+		}
+	}
+	
+	public boolean containsBlock(String fname) {
+		_lock.readLock().lock();
+		try {
+			return _index.containsKey(fname);
+		}
+		finally {
+			_lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Synchronously compacts all segments with dead bytes, including the active segment.
+	 * 
+	 * @throws IOException if IOException occurs
+	 */
+	public void compact() throws IOException {
+		_lock.writeLock().lock();
+		try {
+			if( !_closed )
+				compactAll();
+		}
+		finally {
+			_lock.writeLock().unlock();
+		}
+	}
+	
+	public int getNumBlocks() {
+		_lock.readLock().lock();
+		try {
+			return _index.size();
+		}
+		finally {
+			_lock.readLock().unlock();
+		}
+	}
+	
+	public int getNumSegments() {
+		_lock.readLock().lock();
+		try {
+			return _segments.size();
+		}
+		finally {
+			_lock.readLock().unlock();
+		}
+	}
+	
+	public long getDiskSize() {
+		_lock.readLock().lock();
+		try {
+			return _diskSize;
+		}
+		finally {
+			_lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Closes the spill store and deletes all segment files.
+	 */
+	public void close() {
+		_pool.shutdownNow();
+		_lock.writeLock().lock();
+		try {
+			for( Segment seg : _segments.values() ) {
+				IOUtilFunctions.closeSilently(seg.ch);
+				seg.file.delete();
+			}
+			_segments.clear();
+			_index.clear();
+			_active = null;
+			_diskSize = 0;
+			_closed = true;
+		}
+		finally {
+			_lock.writeLock().unlock();
+		}
+	}
+	
+	private void append(String fname, long len, SegmentWriter writer) throws IOException {
+		_lock.writeLock().lock();
+		try {
+			if( _closed )
+				throw new IOException("Local spill store already closed.");
+			
+			//remove previous version and ensure bounded disk size
+			removeEntry(fname);
+			if( _maxSize > 0 && _diskSize + len > _maxSize ) {
+				compactAll();
+				if( _diskSize + len > _maxSize )
+					throw new IOException("Local spill store of size "+_diskSize+" cannot fit block "
+						+fname+" of size "+len+" (max size "+_maxSize+").");
+			}
+			
+			//append block to active segment (partially written bytes remain dead)
+			Segment seg = getActiveSegment();
+			long off = seg.size;
+			seg.ch.position(off);
+			try {
+				writer.write(seg.ch);
+			}
+			finally {
+				long wlen = seg.ch.position() - off;
+				seg.size += wlen;
+				_diskSize += wlen;
+			}
+			addEntry(fname, seg, off, seg.size - off);
+		}
+		finally {
+			_lock.writeLock().unlock();
+		}
+	}
+	
+	private Segment getActiveSegment() throws IOException {
+		if( _active != null && _active.size >= SEGMENT_SIZE )
+			_active = null; //roll over
+		if( _active == null ) {
+			int id = _nextID++;
+			File file = new File(_dir, _prefix + String.format("%06d", id) + ".seg");
+			FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			_active = new Segment(id, file, ch);
+			_segments.put(id, _active);
+		}
+		return _active;
+	}
+	
+	private void addEntry(String fname, Segment seg, long off, long len) {
+		_index.put(fname, new SpillEntry(seg, off, len));
+		seg.entries.add(fname);
+		seg.live += len;
+	}
+	
+	private boolean removeEntry(String fname) {
+		SpillEntry e = _index.remove(fname);
+		if( e == null )
+			return false;
+		Segment seg = e.seg;
+		seg.entries.remove(fname);
+		seg.live -= e.len;
+		
+		//delete empty segments, compact sparsely used segments
+		if( seg != _active ) {
+			if( seg.live == 0 )
+				dropSegment(seg);
+			else if( seg.live < COMPACTION_THRESHOLD * seg.size && !seg.scheduled ) {
+				seg.scheduled = true;
+				_pool.submit(() -> compactSegmentAsync(seg));
+			}
+		}
+		return true;
+	}
+	
+	private void compactSegmentAsync(Segment seg) {
+		_lock.writeLock().lock();
+		try {
+			if( !_closed && _segments.get(seg.id) == seg && seg != _active )
+				compactSegment(seg);
+		}
+		catch(IOException ex) {
+			LOG.error("Failed to compact spill segment "+seg.file+".", ex);
+		}
+		finally {
+			//allow retries of failed or skipped compactions
+			seg.scheduled = false;
+			_lock.writeLock().unlock();
+		}
+	}
+	
+	private void compactAll() throws IOException {
+		_active = null; //roll over to compact the active segment too
+		for( Segment seg : new ArrayList<>(_segments.values()) )
+			if( seg.live < seg.size )
+				compactSegment(seg);
+	}
+	
+	private void compactSegment(Segment seg) throws IOException {
+		//copy live blocks to the active segment
+		for( String fname : new ArrayList<>(seg.entries) ) {
+			SpillEntry e = _index.get(fname);
+			Segment target = getActiveSegment();
+			long off = target.size;
+			target.ch.position(off);
+			for( long pos = 0; pos < e.len; )
+				pos += seg.ch.transferTo(e.off + pos, e.len - pos, target.ch);
+			target.size += e.len;
+			_diskSize += e.len;
+			seg.entries.remove(fname);
+			addEntry(fname, target, off, e.len);
+		}
+		dropSegment(seg);
+	}
+	
+	private void dropSegment(Segment seg) {
+		_segments.remove(seg.id);
+		_diskSize -= seg.size;
+		if( _active == seg )
+			_active = null;
+		IOUtilFunctions.closeSilently(seg.ch);
+		if( !seg.file.delete() )
+			LOG.warn("Failed to delete spill segment "+seg.file+".");
+	}
+	
+	private interface SegmentWriter {
+		public void write(FileChannel ch) throws IOException;
+	}
+	
+	private static class Segment {
+		private final int id;
+		private final File file;
+		private final FileChannel ch;
+		private final LinkedHashSet<String> entries = new LinkedHashSet<>();
+		private long size = 0; //total bytes
+		private long live = 0; //live bytes
+		private boolean scheduled = false;
+		
+		public Segment(int id, File file, FileChannel ch) {
+			this.id = id;
+			this.file = file;
+			this.ch = ch;
+		}
+	}
+	
+	private static class SpillEntry {
+		private final Segment seg;
+		private final long off;
+		private final long len;
+		
+		public SpillEntry(Segment seg, long off, long len) {
+			this.seg = seg;
+			this.off = off;
+			this.len = len;
+		}
+	}
+	
+	/**
+	 * Input stream over a region of a segment file via positional reads,
+	 * which allows concurrent reads of different blocks from the same channel.
+	 */
+	private static class SegmentInputStream extends InputStream {
+		private final FileChannel _ch;
+		private final long _end;
+		private long _pos;
+		
+		public SegmentInputStream(FileChannel ch, long off, long len) {
+			_ch = ch;
+			_pos = off;
+			_end = off + len;
+		}
+		
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xFF);
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if( _pos >= _end )
+				return -1;
+			int n = _ch.read(java.nio.ByteBuffer.wrap(b, off, (int)Math.min(len, _end-_pos)), _pos);
+			if( n > 0 )
+				_pos += n;
+			return n;
+		}
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.controlprogram.caching;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
@@ -44,6 +45,9 @@ import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
 import org.apache.sysds.runtime.instructions.fed.InitFEDInstruction;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
 import org.apache.sysds.runtime.io.ReaderWriterFederated;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageRecomputeUtils;
@@ -69,6 +73,9 @@ import org.apache.sysds.runtime.util.IndexRange;
 public class MatrixObject extends CacheableData<MatrixBlock>
 {
 	private static final long serialVersionUID = 6374712373206495637L;
+	
+	//read of right indexing ranges from binary block files of large matrices
+	public static boolean ALLOW_INDEXED_READ = true;
 
 	public enum UpdateType {
 		COPY,
@@ -417,6 +424,64 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return sb.toString();
 	}
 
+	/**
+	 * Indicates if a right indexing range can be directly read from the binary
+	 * block input file instead of reading the entire matrix into memory. This
+	 * is only applied for matrices that have not been read yet and that exceed
+	 * the local memory budget, because repeated range reads of matrices that 
+	 * fit in memory would be slower than a single read and in-memory slicing.
+	 * 
+	 * @return true if indexed read is applicable
+	 */
+	public synchronized boolean isIndexedReadApplicable() {
+		if( !ALLOW_INDEXED_READ || !(_metaData instanceof MetaDataFormat) )
+			return false;
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		DataCharacteristics mc = iimd.getDataCharacteristics();
+		return iimd.getFileFormat() == FileFormat.BINARY
+			&& _data == null && isEmpty(false) && !isDirty() && !_partitioned
+			&& !isFederated() && getRDDHandle() == null && !hasValidLineage()
+			&& (_gpuObjects == null || _gpuObjects.isEmpty())
+			&& _hdfsFileName != null && mc.dimsKnown()
+			&& OptimizerUtils.estimateSize(mc) > OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * Reads the given index range from the binary block input file, without
+	 * reading the entire matrix or changing the cache status of this object.
+	 * 
+	 * @param ixrange index range (0-based, inclusive)
+	 * @return matrix block of the index range
+	 */
+	public synchronized MatrixBlock readMatrixRange( IndexRange ixrange ) {
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Read index range "+hashCode()+" "+ixrange);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		DataCharacteristics mc = iimd.getDataCharacteristics();
+		int blen = mc.getBlocksize() <= 0 ? ConfigurationManager.getBlocksize() : mc.getBlocksize();
+		MatrixBlock mb = null;
+		AsyncWriteManager.waitForWrite(_hdfsFileName);
+		try {
+			ReaderBinaryBlock reader = (ReaderBinaryBlock) 
+				MatrixReaderFactory.createMatrixReader(FileFormat.BINARY);
+			reader.setCompressed(FileFormatPropertiesBinary.isCompressed(getFileFormatProperties()));
+			mb = reader.readMatrixRangeFromHDFS(_hdfsFileName,
+				mc.getRows(), mc.getCols(), blen, mc.getNonZeros(), ixrange);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Reading of index range "+ixrange+" of "+_hdfsFileName+" failed.", ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			CacheStatistics.incrementHDFSHits();
+			CacheStatistics.incrementAcquireRTime(System.nanoTime()-t0);
+		}
+		
+		return mb;
+	}
+
 	// *********************************************
 	// ***                                       ***
 	// ***      LOW-LEVEL PROTECTED METHODS      ***
@@ -581,17 +646,12 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		}
 		else if (_data != null)
 		{
-			if(_data instanceof CompressedMatrixBlock)
+			// Write the matrix to HDFS in requested format
+			FileFormat fmt = getOutputFormat(ofmt);
+			if(_data instanceof CompressedMatrixBlock && !isCompressedWrite(fmt, fprop))
 				_data = CompressedMatrixBlock.getUncompressed(_data);
 			
-			MetaDataFormat iimd = (MetaDataFormat) _metaData;
-			// Get the dimension information from the metadata stored within MatrixObject
-			DataCharacteristics mc = iimd.getDataCharacteristics();
-			// Write the matrix to HDFS in requested format
-			FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
-			mc = (fmt == FileFormat.BINARY && mc.getBlocksize() > 0) ? mc :
-				new MatrixCharacteristics(mc).setBlocksize(ConfigurationManager.getBlocksize());
-			DataConverter.writeMatrixToHDFS(_data, fname, fmt, mc, rep, fprop, _diag);
+			DataConverter.writeMatrixToHDFS(_data, fname, fmt, getOutputCharacteristics(fmt), rep, fprop, _diag);
 			
 			if( LOG.isTraceEnabled() )
 				LOG.trace("Writing matrix to HDFS ("+fname+") - COMPLETED... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -604,6 +664,44 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			CacheStatistics.incrementHDFSWrites();
 	}
 	
+	@Override
+	protected Callable<Object> createAsyncBlobWriter(String fname, String ofmt, int rep, FileFormatProperties fprop) {
+		//in-place updates would modify the snapshot during the write
+		FileFormat fmt = getOutputFormat(ofmt);
+		if( _data == null || getUpdateType().isInPlace() || fmt == FileFormat.FEDERATED )
+			return null;
+		
+		//capture the pinned block and meta data at the time of the write
+		final MatrixBlock data = _data;
+		final DataCharacteristics mc = new MatrixCharacteristics(getOutputCharacteristics(fmt));
+		final boolean diag = _diag;
+		return () -> {
+			MatrixBlock mb = (data instanceof CompressedMatrixBlock && !isCompressedWrite(fmt, fprop)) ?
+				CompressedMatrixBlock.getUncompressed(data) : data;
+			DataConverter.writeMatrixToHDFS(mb, fname, fmt, mc, rep, fprop, diag);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementHDFSWrites();
+			return null;
+		};
+	}
+	
+	private static boolean isCompressedWrite(FileFormat fmt, FileFormatProperties fprop) {
+		//compressed binary blocks are directly written from the column groups
+		return fmt == FileFormat.BINARY && FileFormatPropertiesBinary.isCompressed(fprop);
+	}
+	
+	private FileFormat getOutputFormat(String ofmt) {
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		return (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
+	}
+	
+	private DataCharacteristics getOutputCharacteristics(FileFormat fmt) {
+		// Get the dimension information from the metadata stored within MatrixObject
+		DataCharacteristics mc = ((MetaDataFormat) _metaData).getDataCharacteristics();
+		return (fmt == FileFormat.BINARY && mc.getBlocksize() > 0) ? mc :
+			new MatrixCharacteristics(mc).setBlocksize(ConfigurationManager.getBlocksize());
+	}
+	
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat) 
 		throws IOException, DMLRuntimeException
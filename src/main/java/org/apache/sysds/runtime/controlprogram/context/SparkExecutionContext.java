@@ -78,6 +78,7 @@ import org.apache.sysds.runtime.instructions.spark.functions.CreateSparseBlockFu
 import org.apache.sysds.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.io.InputOutputInfo;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
@@ -86,6 +87,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixCell;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.meta.TensorCharacteristics;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.UtilFunctions;
@@ -387,7 +389,8 @@ public class SparkExecutionContext extends ExecutionContext
 			rdd = mo.getRDDHandle().getRDD();
 		}
 		//CASE 2: dirty in memory data or cached result of rdd operations
-		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() )
+		//(compressed binary block files are only readable in CP, and hence read and parallelized)
+		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() || isCompressedBinaryBlockFile(mo) )
 		{
 			//get in-memory matrix block and parallelize it
 			//w/ guarded parallelize (fallback to export, rdd from file if too large)
@@ -395,6 +398,9 @@ public class SparkExecutionContext extends ExecutionContext
 			boolean fromFile = false;
 			if( !mo.isFederated() && (!OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0)
 				|| !_parRDDs.reserve(OptimizerUtils.estimatePartitionedSizeExactSparsity(dc)))) {
+				if( !mo.isDirty() && isCompressedBinaryBlockFile(mo) )
+					throw new DMLRuntimeException("Compressed binary block file "+mo.getFileName()
+						+" exceeds the parallelize memory budget, but is only readable in CP.");
 				if( mo.isDirty() || !mo.isHDFSFileExists() ) //write if necessary
 					mo.exportData();
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.keyClass, inputInfo.valueClass);
@@ -442,6 +448,11 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 
+	private static boolean isCompressedBinaryBlockFile(MatrixObject mo) {
+		return ((MetaDataFormat) mo.getMetaData()).getFileFormat() == FileFormat.BINARY
+			&& FileFormatPropertiesBinary.isCompressed(mo.getFileFormatProperties());
+	}
+
 	@SuppressWarnings("resource")
 	public JavaPairRDD<?, ?> getRDDHandleForTensorObject(TensorObject to, FileFormat fmt, int numParts, boolean inclEmpty) {
 		//NOTE: MB this logic should be integrated into MatrixObject
@@ -44,12 +44,25 @@ public class LocalTaskQueue<T>
 	
 	private LinkedList<T>  _data        = null;
 	private boolean 	   _closedInput = false; 
+	private final int      _maxSize;
 	private static final Log LOG = LogFactory.getLog(LocalTaskQueue.class.getName());
 	
 	public LocalTaskQueue()
+	{
+		this(MAX_SIZE);
+	}
+	
+	/**
+	 * Creates a task queue with a custom bound on the number of queued tasks,
+	 * which allows writers to create tasks on demand (e.g., adaptive task sizes).
+	 * 
+	 * @param maxSize maximum number of queued tasks
+	 */
+	public LocalTaskQueue(int maxSize)
 	{
 		_data        = new LinkedList<>();
 		_closedInput = false;
+		_maxSize     = Math.min(Math.max(maxSize, 1), MAX_SIZE);
 	}
 	
 	/**
@@ -61,9 +74,10 @@ public class LocalTaskQueue<T>
 	public synchronized void enqueueTask( T t ) 
 		throws InterruptedException
 	{
-		while( _data.size() + 1 > MAX_SIZE )
+		while( _data.size() + 1 > _maxSize )
 		{
-			LOG.warn("MAX_SIZE of task queue reached.");
+			if( _maxSize == MAX_SIZE )
+				LOG.warn("MAX_SIZE of task queue reached.");
 			wait(); //max constraint reached, wait for read
 		}
 		
@@ -30,6 +30,7 @@ import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.ProgramBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Stat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.StatisticMonitor;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -62,6 +63,9 @@ public abstract class ParWorker
 	protected long                      _numTasks    = -1;
 	protected long                      _numIters    = -1;
 	
+	//runtime feedback for adaptive task partitioning (optional)
+	protected IterationStatistics       _iterStats   = null;
+	
 	public ParWorker() {
 		//implicit constructor (required if parameters not known on object creation, 
 		//e.g., RemoteParWorkerMapper)
@@ -84,6 +88,10 @@ public abstract class ParWorker
 		return _ec.getVariables();
 	}
 	
+	public void setIterationStatistics(IterationStatistics stats) {
+		_iterStats = stats;
+	}
+	
 	/**
 	 * Returns a summary statistic of executed tasks and hence should only be called 
 	 * after execution.
@@ -138,9 +146,10 @@ public abstract class ParWorker
 
 		//foreach iteration in task, execute iteration body
 		String lVarName = task.getVarName();
+		double[] rtstats = (_iterStats != null) ? new double[2] : null;
 		for( IntObject indexVal : task.getIterations() )
 		{
-			//System.out.println(" EXECUTE ITERATION: "+indexVal.getName()+"="+indexVal.getIntValue());
+			long t0 = (rtstats != null) ? System.nanoTime() : 0;
 			
 			//set index values
 			_ec.setVariable(lVarName, indexVal);
@@ -152,7 +161,9 @@ public abstract class ParWorker
 			// for each program block
 			for (ProgramBlock pb : _childBlocks)
 				pb.execute(_ec);
-					
+			
+			if( rtstats != null )
+				addIterationTime(rtstats, t0);
 			_numIters++;
 			
 			if( _monitor )
@@ -160,6 +171,8 @@ public abstract class ParWorker
 		}
 
 		_numTasks++;
+		if( rtstats != null )
+			_iterStats.addTask(task.size(), rtstats[0], rtstats[1]);
 		
 		//monitoring end
 		if( _monitor ) {
@@ -183,8 +196,11 @@ public abstract class ParWorker
 		long lTo        = tmp.get(1).getLongValue();
 		long lIncr      = tmp.get(2).getLongValue();
 		
+		double[] rtstats = (_iterStats != null) ? new double[2] : null;
 		for( long i=lFrom; i<=lTo; i+=lIncr )
 		{
+			long t0 = (rtstats != null) ? System.nanoTime() : 0;
+			
 			//set index values
 			IntObject indexVal = new IntObject(i);
 			_ec.setVariable(lVarName, indexVal);
@@ -197,6 +213,8 @@ public abstract class ParWorker
 			for (ProgramBlock pb : _childBlocks)
 				pb.execute(_ec);
 			
+			if( rtstats != null )
+				addIterationTime(rtstats, t0);
 			_numIters++;
 			
 			if( _monitor )
@@ -204,6 +222,8 @@ public abstract class ParWorker
 		}
 
 		_numTasks++;
+		if( rtstats != null )
+			_iterStats.addTask((lTo-lFrom)/lIncr+1, rtstats[0], rtstats[1]);
 		
 		//monitoring end
 		if( _monitor ) {
@@ -211,4 +231,11 @@ public abstract class ParWorker
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_TASK_T, time2.stop());
 		}
 	}
+	
+	private static void addIterationTime(double[] rtstats, long t0) {
+		//maintain sum and sum of squares of iteration times (in ms)
+		double t = (System.nanoTime() - t0) / 1000000d;
+		rtstats[0] += t;
+		rtstats[1] += t * t;
+	}
 }
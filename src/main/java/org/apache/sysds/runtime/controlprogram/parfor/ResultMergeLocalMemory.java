@@ -20,22 +20,34 @@
 package org.apache.sysds.runtime.controlprogram.parfor;
 
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * into row blocks and merges all inputs per row block, which allows to avoid the
+ * full copies of the old output (merge target and compare matrix), and for outputs
+ * with update in-place to merge directly into the existing output.
  * 
  * 
  */
@@ -147,11 +159,19 @@ public class ResultMergeLocalMemory extends ResultMerge
 			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
 				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
+		//graceful degradation to serial merge (if inputs cannot be pinned at once)
+		if( !isParallelMergeInMemory() )
+			return executeSerialMerge();
+		
+		ArrayList<MatrixObject> inMO = new ArrayList<>();
+		int numPinned = 0; //number of pinned inputs
+		boolean outPinned = false;
+		ExecutorService pool = null;
 		try
 		{
 			//get matrix blocks through caching 
 			MatrixBlock outMB = _output.acquireRead();
-			ArrayList<MatrixObject> inMO = new ArrayList<>();
+			outPinned = true;
 			for( MatrixObject in : _inputs ) {
 				//check for empty inputs (no iterations executed)
 				if( in !=null && in != _output ) 
@@ -160,58 +180,75 @@ public class ResultMergeLocalMemory extends ResultMerge
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
+				//read/pin all inputs (incl. implicit read from HDFS)
+				MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+				for( int i=0; i<inMB.length; i++ ) {
+					MatrixBlock tmp = inMO.get(i).acquireRead();
+					numPinned++;
+					inMB[i] = CompressedMatrixBlock.getUncompressed(tmp);
+				}
 				
-				//create compare matrix if required (existing data in result)
-				_compare = getCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
+				//determine merge target: update in-place of the existing output (if
+				//exclusively owned), otherwise a new output that is populated per row,
+				//w/o upfront copy and w/o dense compare matrix of the old output
+				boolean inplace = isInPlaceMergeApplicable(outMB);
+				MatrixBlock old = !outMB.isEmptyBlock(false) ? outMB : null;
+				MatrixBlock outMBNew = inplace ? outMB : createMergeTarget(outMB);
+				if( !outMBNew.isAllocated() )
+					outMBNew.allocateBlock();
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
-				}
+				//parallel merge of all inputs over disjoint row partitions
+				//(each task merges all inputs for its rows, w/o synchronization)
+				int k = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+				int rlen = outMB.getNumRows();
+				int blklen = Math.max((int)Math.ceil((double)rlen/(4*k)), 1);
+				pool = CommonThreadPool.get(k);
+				ArrayList<ResultMergeTask> tasks = new ArrayList<>();
+				for( int rl=0; rl<rlen; rl+=blklen )
+					tasks.add(new ResultMergeTask(outMBNew, old, inMB, rl, Math.min(rl+blklen, rlen)));
+				long nnz = 0;
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					nnz += task.get();
+				outMBNew.setNonZeros(nnz);
 				
-				//create new output matrix 
-				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
-				// local-remote nested parfor))
-				moNew = createNewMatrixObject( outMBNew );
+				//unpin and clear in-memory inputs (before pinning the new output)
+				releaseInputs(inMO, numPinned);
+				numPinned = 0;
+				
+				if( inplace ) {
+					//swap read for modify lock (released below)
+					_output.release();
+					outPinned = false;
+					moNew = _output;
+					moNew.acquireModify(outMBNew);
+					outPinned = true;
+				}
+				else {
+					//create new output matrix 
+					//(e.g., to prevent potential export<->read file access conflict in specific cases of 
+					// local-remote nested parfor))
+					moNew = createNewMatrixObject( outMBNew );
+				}
 			}
 			else {
 				moNew = _output; //return old matrix, to prevent copy
 			}
-			
-			//release old output, and all inputs
-			_output.release();
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
 		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+			
+			//unpin and clear remaining inputs (on failures)
+			releaseInputs(inMO, numPinned);
+			
+			//release old output (read or modify lock)
+			if( outPinned )
+				_output.release();
+		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
@@ -222,6 +259,13 @@ public class ResultMergeLocalMemory extends ResultMerge
 		return null;
 	}
 
+	private static void releaseInputs( ArrayList<MatrixObject> inMO, int numPinned ) {
+		for( int i=0; i<numPinned; i++ ) {
+			inMO.get(i).release();
+			inMO.get(i).clearData();
+		}
+	}
+
 	private MatrixObject createNewMatrixObject( MatrixBlock data ) {
 		ValueType vt = _output.getValueType();
 		MetaDataFormat metadata = (MetaDataFormat) _output.getMetaData();
@@ -282,37 +326,177 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Checks if all inputs and the output(s) of a parallel merge fit
+	 * into the local memory budget, because all inputs are pinned at once.
+	 * 
+	 * @return true if parallel merge is applicable
 	 */
-	private class ResultMergeWorker implements Runnable
+	private boolean isParallelMergeInMemory() {
+		long rlen = _output.getNumRows();
+		long clen = _output.getNumColumns();
+		double mem = 2 * OptimizerUtils.estimateSizeExactSparsity(rlen, clen, getOutputNnzEstimate());
+		for( MatrixObject input : _inputs )
+			if( input != null && input != _output )
+				mem += OptimizerUtils.estimateSizeExactSparsity(input.getDataCharacteristics());
+		return mem < OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * Checks if the result can be merged in-place into the existing output,
+	 * which requires exclusive ownership of the output (guaranteed by compiled
+	 * update in-place) and a representation that allows concurrent updates of
+	 * disjoint rows.
+	 * 
+	 * @param outMB output matrix block
+	 * @return true if in-place merge is applicable
+	 */
+	private boolean isInPlaceMergeApplicable( MatrixBlock outMB ) {
+		return _output.getUpdateType().isInPlace()
+			&& !(outMB instanceof CompressedMatrixBlock)
+			&& outMB.isThreadSafe();
+	}
+	
+	private MatrixBlock createMergeTarget( MatrixBlock outMB ) {
+		//create output in dense or thread-safe sparse format according
+		//to the estimated number of non-zeros (w/o forced densification)
+		int rlen = outMB.getNumRows();
+		int clen = outMB.getNumColumns();
+		long estnnz = getOutputNnzEstimate();
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz)
+			&& MatrixBlock.isThreadSafe(true);
+		return new MatrixBlock(rlen, clen, sparse, estnnz);
+	}
+	
+	/**
+	 * Merges all inputs into a row partition [rl, ru) of the output. The original
+	 * output rows are obtained before the rows are written, which allows the output
+	 * to be both compare matrix and target (update in-place) for disjoint rows.
+	 */
+	private class ResultMergeTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _out;
+		private final MatrixBlock _old;
+		private final MatrixBlock[] _in;
+		private final int _rl;
+		private final int _ru;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
-			_outMB = outMB;
+		protected ResultMergeTask(MatrixBlock out, MatrixBlock old, MatrixBlock[] in, int rl, int ru) {
+			_out = out;
+			_old = old;
+			_in = in;
+			_rl = rl;
+			_ru = ru;
 		}
-
+		
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
+		public Long call() {
+			int n = _out.getNumColumns();
+			double[] tgt = new double[n];
+			double[] cmp = (_old != null) ? new double[n] : null;
+			double[] tmp = (_old != null) ? new double[n] : null;
+			long lnnz = 0;
+			for( int i=_rl; i<_ru; i++ ) {
+				//obtain original row state (before potential in-place update)
+				if( _old != null ) {
+					getRow(_old, i, cmp);
+					System.arraycopy(cmp, 0, tgt, 0, n);
+				}
+				else
+					Arrays.fill(tgt, 0);
+				
+				//merge row i of all inputs 
+				for( MatrixBlock in : _in ) {
+					if( _old == null )
+						mergeRowWithoutComp(in, i, tgt);
+					else {
+						getRow(in, i, tmp);
+						mergeRowWithComp(tmp, cmp, tgt);
+					}
+				}
 				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+				//write merged row into output
+				lnnz += setRow(_out, i, tgt);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			return lnnz;
+		}
+		
+		private void mergeRowWithoutComp(MatrixBlock in, int i, double[] tgt) {
+			if( in.isEmptyBlock(false) )
+				return;
+			if( in.isInSparseFormat() ) {
+				SparseBlock a = in.getSparseBlock();
+				if( a.isEmpty(i) ) return;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					tgt[aix[j]] = _isAccum ? tgt[aix[j]] + avals[j] : avals[j];
+			}
+			else {
+				DenseBlock a = in.getDenseBlock();
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<tgt.length; j++ ) {
+					double val = avals[aix+j];
+					if( val != 0 )
+						tgt[j] = _isAccum ? tgt[j] + val : val;
+				}
+			}
+		}
+		
+		private void mergeRowWithComp(double[] in, double[] compare, double[] tgt) {
+			//see ResultMerge.mergeWithComp for NaN awareness and accumulation
+			for( int j=0; j<tgt.length; j++ ) {
+				double valOld = compare[j];
+				double valNew = in[j];
+				if( (valNew != valOld && !Double.isNaN(valNew) )
+					|| Double.isNaN(valNew) != Double.isNaN(valOld) )
+				{
+					tgt[j] = !_isAccum ? valNew : (tgt[j] + (valNew - valOld));
+				}
+			}
+		}
+		
+		private void getRow(MatrixBlock mb, int i, double[] row) {
+			if( mb.isEmptyBlock(false) )
+				Arrays.fill(row, 0);
+			else if( mb.isInSparseFormat() ) {
+				Arrays.fill(row, 0);
+				SparseBlock a = mb.getSparseBlock();
+				if( a.isEmpty(i) ) return;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					row[aix[j]] = avals[j];
+			}
+			else {
+				DenseBlock a = mb.getDenseBlock();
+				System.arraycopy(a.values(i), a.pos(i), row, 0, row.length);
 			}
 		}
 		
+		private int setRow(MatrixBlock mb, int i, double[] row) {
+			int n = row.length;
+			int lnnz = UtilFunctions.computeNnz(row, 0, n);
+			if( mb.isInSparseFormat() ) {
+				//reset and append in column order (no sort required)
+				SparseBlock c = mb.getSparseBlock();
+				if( c.isAllocated(i) )
+					c.reset(i, lnnz, n);
+				else if( lnnz > 0 )
+					c.allocate(i, lnnz, n);
+				for( int j=0; j<n && lnnz>0; j++ )
+					if( row[j] != 0 )
+						c.append(i, j, row[j]);
+			}
+			else {
+				DenseBlock c = mb.getDenseBlock();
+				System.arraycopy(row, 0, c.values(i), c.pos(i), n);
+			}
+			return lnnz;
+		}
 	}
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * This adaptive factoring task partitioner creates tasks on demand (via a task queue
+ * bounded by the number of workers) and determines the size of each task according
+ * to the mean and variance of iteration runtimes observed so far. For homogeneous 
+ * iterations, the task sizes converge to the task sizes of factoring, while for highly
+ * skewed iterations, the task sizes are reduced for better load balance. Without 
+ * streaming task creation, this partitioner falls back to factoring.
+ * 
+ * See the original paper for details:
+ * [Ioana Banicescu, Zhijun Liu: Adaptive Factoring: A Dynamic Scheduling Method
+ * Tuned to the Rate of Weight Changes. HPC 2000: 122-129]
+ * 
+ */
+public class TaskPartitionerAdaptive extends TaskPartitionerFactoring
+{
+	private final int _numThreads;
+	private final IterationStatistics _stats;
+	
+	public TaskPartitionerAdaptive( long taskSize, int numThreads, IterationStatistics stats, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal ) 
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+		_numThreads = numThreads;
+		_stats = stats;
+	}
+	
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue) 
+	{
+		long numCreatedTasks = 0;
+		
+		long lFrom  = _fromVal.getLongValue();
+		long lTo    = _toVal.getLongValue();
+		long lIncr  = _incrVal.getLongValue();
+		
+		int P = _numThreads;   // number of parallel workers
+		long R = _numIter;     // remaining number of iterations
+		
+		try
+		{
+			for( long i = lFrom; i<=lTo;  )
+			{
+				//determine next task size according to current statistics
+				//(the bounded task queue blocks until workers dequeued tasks,
+				//which ensures that task sizes are based on recent statistics)
+				long K = Math.min(determineNextTaskSize(R, P), R);
+				R -= K;
+				
+				TaskType type = (ParForProgramBlock.USE_RANGE_TASKS_IF_USEFUL && K>3 ) ? 
+					TaskType.RANGE : TaskType.SET;
+				
+				//create new task and add iterations
+				Task lTask = new Task(_iterVarName, type);
+				if( type == TaskType.SET ) {
+					//value based tasks
+					for( long k=0; k<K && i<=lTo; k++, i+=lIncr )
+						lTask.addIteration(new IntObject(i));
+				}
+				else {
+					//range based tasks
+					long to = Math.min( i+(K-1)*lIncr, lTo );
+					lTask.addIteration(new IntObject(i));     //from
+					lTask.addIteration(new IntObject(to));    //to
+					lTask.addIteration(new IntObject(lIncr)); //increment
+					i = to + lIncr;
+				}
+				
+				//add task to queue (after all iteration added for preventing raise conditions)
+				queue.enqueueTask( lTask );
+				numCreatedTasks++;
+			}
+			
+			// mark end of task input stream
+			queue.closeInput();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return numCreatedTasks;
+	}
+	
+	/**
+	 * Computes the size of the next task given the number of remaining iterations R,
+	 * the number of workers P, and the mean mu and variance sigma^2 of observed iteration
+	 * times. Before the first P iterations finished, we create single-iteration tasks
+	 * in order to obtain initial statistics. Afterwards, the task size is computed via
+	 * adaptive factoring (for homogeneous workers) as follows
+	 * K = (D + 2TR - sqrt(D^2 + 4DTR)) / (2 mu), with D = P sigma^2/mu and T = mu/P,
+	 * and upper-bounded by the batch size of factoring.
+	 * 
+	 * @param R number of remaining iterations
+	 * @param P number of parallel workers
+	 * @return next task size
+	 */
+	protected long determineNextTaskSize(long R, int P) {
+		if( _stats.getNumIterations() < P )
+			return 1;
+		double mu = Math.max(_stats.getMean(), Double.MIN_NORMAL);
+		double D = P * _stats.getVariance() / mu;
+		double T = mu / P;
+		double K = (D + 2*T*R - Math.sqrt(D*D + 4*D*T*R)) / (2*mu);
+		if( Double.isNaN(K) ) //numerical issues w/ iterations below timer resolution
+			K = Double.MAX_VALUE;
+		return Math.max(Math.min((long)Math.ceil(K), determineNextBatchSize(R, P)), 1);
+	}
+}
@@ -1352,6 +1352,13 @@ public class OptimizerRuleBased extends Optimizer {
 			//preaggregate results (less write / less read by result merge)
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 		}
+		else if( pn.getExecType()==ExecType.CP && !pn.hasOnlySimpleChilds() && _N/4 >= pn.getK() )
+		{
+			//for local body programs with loops, branches, or function calls, we expect
+			//potentially skewed iteration runtimes and hence use adaptive factoring, which
+			//adjusts the task sizes according to the observed iteration runtimes
+			setTaskPartitioner( pn, PTaskPartitioner.ADAPTIVE );
+		}
 		else if( _N/4 >= pn.getK() ) //to prevent imbalance due to ceiling
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING );
@@ -2202,11 +2209,30 @@ public class OptimizerRuleBased extends Optimizer {
 			case FACTORING:
 			case FACTORING_CMIN:
 			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case ADAPTIVE:         W = estimateNumTasksAdaptive(N, k); break;
 			default:               W = N; break; //N as worst case estimate
 		}
 		
 		return W;
 	}
+	
+	/**
+	 * Estimates the number of tasks of the adaptive factoring task partitioner, which
+	 * creates k single-iteration tasks for initial statistics, and afterwards tasks of at
+	 * most the factoring batch size ceil(R/(2k)) for R remaining iterations. This estimate
+	 * assumes homogeneous iterations, where the adaptive task sizes reach this bound.
+	 * 
+	 * @param N number of iterations
+	 * @param k degree of parallelism
+	 * @return estimated number of tasks
+	 */
+	private static long estimateNumTasksAdaptive( long N, int k )
+	{
+		long W = Math.min(N, k);
+		for( long R = N - W; R > 0; W++ )
+			R -= Math.max((long)Math.ceil((double)R / (2 * k)), 1);
+		return W;
+	}
 
 	protected boolean hasOnlyInMemoryResults( OptNode n, ArrayList<ResultVar> resultVars, LocalVariableMap vars ) 
 	{
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor.stat;
+
+/**
+ * Thread-safe runtime statistics of executed parfor iterations, which are
+ * reported by the parallel workers after each task and fed back into task
+ * partitioning (see TaskPartitionerAdaptive). We maintain the number of
+ * iterations as well as the sum and sum of squares of the iteration times,
+ * which allows to compute the mean and variance of iteration runtimes.
+ * 
+ */
+public class IterationStatistics 
+{
+	private long _numIters = 0;
+	private double _sum = 0;   //in milli sec
+	private double _sumSq = 0; //in milli sec^2
+	
+	/**
+	 * Adds the runtime statistics of an executed task.
+	 * 
+	 * @param numIters number of executed iterations
+	 * @param sum sum of iteration times in milli sec
+	 * @param sumSq sum of squared iteration times
+	 */
+	public synchronized void addTask(long numIters, double sum, double sumSq) {
+		_numIters += numIters;
+		_sum += sum;
+		_sumSq += sumSq;
+	}
+	
+	public synchronized long getNumIterations() {
+		return _numIters;
+	}
+	
+	public synchronized double getMean() {
+		return (_numIters > 0) ? _sum / _numIters : 0;
+	}
+	
+	public synchronized double getVariance() {
+		if( _numIters < 2 )
+			return 0;
+		double mean = _sum / _numIters;
+		//robustness for numerical errors of the textbook variance
+		return Math.max(_sumSq / _numIters - mean * mean, 0);
+	}
+	
+	/**
+	 * Returns the coefficient of variation (stddev/mean) of the
+	 * iteration times, as a normalized measure of skew.
+	 * 
+	 * @return coefficient of variation
+	 */
+	public synchronized double getCoefficientOfVariation() {
+		double mean = getMean();
+		return (mean > 0) ? Math.sqrt(getVariance()) / mean : 0;
+	}
+	
+	@Override
+	public synchronized String toString() {
+		return "iters="+_numIters+", mean="+getMean()+"ms, cv="+getCoefficientOfVariation();
+	}
+}
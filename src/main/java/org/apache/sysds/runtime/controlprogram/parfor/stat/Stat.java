@@ -47,6 +47,7 @@ public enum Stat
 	PARFOR_INIT_TASKS_T,
 	PARFOR_WAIT_EXEC_T,
 	PARFOR_WAIT_RESULTS_T,
+	PARFOR_RESULTMERGE_T,
 	
 	//parallel worker statistics
 	PARWRK_NUMTASKS,
@@ -179,6 +179,8 @@ public class StatisticMonitor
 				sb.append("  Time INIT TASKS   = "+stats.get(Stat.PARFOR_INIT_TASKS_T).get(i)+"ms\n");
 				sb.append("  Time WAIT EXEC    = "+stats.get(Stat.PARFOR_WAIT_EXEC_T).get(i)+"ms\n");
 				sb.append("  Time WAIT RESULT  = "+stats.get(Stat.PARFOR_WAIT_RESULTS_T).get(i)+"ms\n");
+				if( stats.containsKey(Stat.PARFOR_RESULTMERGE_T) )
+					sb.append("  Time RESULT MERGE = "+stats.get(Stat.PARFOR_RESULTMERGE_T).get(i)+"ms\n");
 				
 				//foreach parworker of this parfor
 				
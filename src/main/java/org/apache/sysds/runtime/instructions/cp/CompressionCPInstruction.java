@@ -23,9 +23,13 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.SingletonLookupHashMap;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
+import org.apache.sysds.runtime.compress.cost.InstructionTypeCounter;
+import org.apache.sysds.runtime.compress.cost.WorkloadFeedback;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
@@ -37,6 +41,8 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 
 	private final int _singletonLookupID;
 
+	// operations observed on the previous output of this instruction
+	private final WorkloadFeedback _feedback = new WorkloadFeedback();
 
 	private CompressionCPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String istr,
 		int singletonLookupID) {
@@ -66,13 +72,36 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 		SingletonLookupHashMap m = SingletonLookupHashMap.getMap();
 
 		WTreeRoot root = (_singletonLookupID != 0) ? (WTreeRoot) m.get(_singletonLookupID) : null;
-		// Compress the matrix block
-		Pair<MatrixBlock, CompressionStatistics> compResult = CompressedMatrixBlockFactory.compress(in, OptimizerUtils.getConstrainedNumThreads(-1), root);
+		// operations observed on the previous output of this instruction overrule the static workload
+		InstructionTypeCounter observed = (_singletonLookupID != 0) ? _feedback.getObserved() : null;
+		final int k = OptimizerUtils.getConstrainedNumThreads(-1);
+
+		MatrixBlock out;
+		if(observed != null) {
+			CostEstimatorBuilder b = new CostEstimatorBuilder(observed);
+			if(b.shouldTryToCompress()) {
+				Pair<MatrixBlock, CompressionStatistics> compResult = CompressedMatrixBlockFactory.compress(in, k,
+					b.create(in.getNumRows(), in.getNumColumns()));
+				if(LOG.isTraceEnabled())
+					LOG.trace(compResult.getRight());
+				out = compResult.getLeft();
+			}
+			else {
+				LOG.debug("Skipping compression based on observed workload:" + observed);
+				out = in;
+			}
+		}
+		else {
+			// Compress the matrix block
+			Pair<MatrixBlock, CompressionStatistics> compResult = CompressedMatrixBlockFactory.compress(in, k, root);
+			if(LOG.isTraceEnabled())
+				LOG.trace(compResult.getRight());
+			out = compResult.getLeft();
+		}
+
+		if(_singletonLookupID != 0 && out instanceof CompressedMatrixBlock)
+			((CompressedMatrixBlock) out).setWorkloadCounter(_feedback.observe());
 
-		if(LOG.isTraceEnabled())
-			LOG.trace(compResult.getRight());
-		MatrixBlock out = compResult.getLeft();
-		
 		m.removeKey(_singletonLookupID);
 		// Set output and release input
 		ec.releaseMatrixInput(input1.getName());
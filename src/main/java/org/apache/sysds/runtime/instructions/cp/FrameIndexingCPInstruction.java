@@ -24,6 +24,7 @@ import org.apache.sysds.lops.RightIndex;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
@@ -49,12 +50,24 @@ public final class FrameIndexingCPInstruction extends IndexingCPInstruction {
 		
 		//right indexing
 		if( opcode.equalsIgnoreCase(RightIndex.OPCODE) ) {
-			//execute right indexing operation
-			FrameBlock in = ec.getFrameInput(input1.getName());
-			FrameBlock out = in.slice(ixrange, new FrameBlock());
+			FrameObject fo = ec.getFrameObject(input1.getName());
+			FrameBlock out = null;
 			
-			//unpin rhs input
-			ec.releaseFrameInput(input1.getName());
+			if( fo.isColumnReadApplicable((int)ixrange.colStart, (int)ixrange.colEnd) ) {
+				//via column projection from columnar input files
+				out = fo.readFrameColumns((int)ixrange.colStart, (int)ixrange.colEnd);
+				if( ixrange.rowStart > 0 || ixrange.rowEnd < out.getNumRows()-1 )
+					out = out.slice((int)ixrange.rowStart, (int)ixrange.rowEnd,
+						0, out.getNumColumns()-1, new FrameBlock());
+			}
+			else {
+				//execute right indexing operation
+				FrameBlock in = ec.getFrameInput(input1.getName());
+				out = in.slice(ixrange, new FrameBlock());
+				
+				//unpin rhs input
+				ec.releaseFrameInput(input1.getName());
+			}
 			
 			//unpin output
 			ec.setFrameOutput(output.getName(), out);
@@ -49,6 +49,7 @@ import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.io.FileFormatProperties;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
 import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
@@ -374,6 +375,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				if(parts.length < 11 + extSchema)
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
 			}
+			else if(fmt.equalsIgnoreCase("binary") && dt == DataType.MATRIX) {
+				// 12 inputs: createvar corresponding to READ/WRITE of compressed binary blocks
+				if ( parts.length != 6 && parts.length != 11 && parts.length != 12 )
+					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
+			}
 			else {
 				if ( parts.length != 6 && parts.length != 11+extSchema )
 					throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -475,6 +481,14 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if(fmt.equalsIgnoreCase("binary") && dt == DataType.MATRIX && parts.length == 12) {
+				// compressed binary blocks, recorded in the metadata
+				boolean compressed = Boolean.parseBoolean(parts[11]);
+				FileFormatProperties fmtProperties = new FileFormatPropertiesBinary(compressed);
+
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
@@ -546,6 +560,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				String datasetName = parts[4];
 				fprops = new FileFormatPropertiesHDF5(datasetName);
 			}
+			else if( in3.getName().equalsIgnoreCase("binary") && parts.length == 7 ) {
+				boolean compressed = Boolean.parseBoolean(parts[4]);
+				fprops = new FileFormatPropertiesBinary(compressed);
+				in4 = new CPOperand(parts[6]); // blocksize in empty description
+			}
 			else {
 				fprops = new FileFormatProperties();
 				in4 = new CPOperand(parts[5]); // blocksize in empty description
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Optional block index of multi-part binary block files, which maps the 
+ * matrix indexes of all blocks to their byte positions within the individual
+ * part files. The index is written as an internal file (prefixed with '_'),
+ * which is ignored by the sequence file readers and spark input formats, 
+ * and enables reads of index ranges without scanning the entire input.
+ */
+public class BinaryBlockIndex
+{
+	public static final String FILE_NAME = "_blockindex";
+	
+	//part file name -> [rix, cix, pos]* per block
+	private final HashMap<String, long[]> _parts;
+	
+	public BinaryBlockIndex() {
+		_parts = new HashMap<>();
+	}
+	
+	public void addPart(String partName, long[] entries) {
+		_parts.put(partName, entries);
+	}
+	
+	public long[] getPart(String partName) {
+		return _parts.get(partName);
+	}
+	
+	public int getNumParts() {
+		return _parts.size();
+	}
+	
+	/**
+	 * Indicates if the given block (with 1-based block indexes) overlaps
+	 * with the given (1-based) range of block indexes.
+	 * 
+	 * @param rix block row index
+	 * @param cix block column index
+	 * @param bixrange range of block indexes
+	 * @return true if the block overlaps with the range
+	 */
+	public static boolean isInRange(long rix, long cix, IndexRange bixrange) {
+		return rix >= bixrange.rowStart && rix <= bixrange.rowEnd
+			&& cix >= bixrange.colStart && cix <= bixrange.colEnd;
+	}
+	
+	/**
+	 * Converts a 0-based cell index range into a 1-based block index range.
+	 * 
+	 * @param ixrange cell index range (0-based, inclusive)
+	 * @param blen block size
+	 * @return block index range (1-based, inclusive)
+	 */
+	public static IndexRange getBlockIndexRange(IndexRange ixrange, int blen) {
+		return new IndexRange(ixrange.rowStart/blen+1, ixrange.rowEnd/blen+1,
+			ixrange.colStart/blen+1, ixrange.colEnd/blen+1);
+	}
+	
+	public void write(FileSystem fs, Path dir) throws IOException {
+		DataOutputStream out = fs.create(new Path(dir, FILE_NAME), true);
+		try {
+			out.writeInt(_parts.size());
+			for( Entry<String, long[]> e : _parts.entrySet() ) {
+				out.writeUTF(e.getKey());
+				out.writeInt(e.getValue().length);
+				for( long v : e.getValue() )
+					out.writeLong(v);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, new Path(dir, FILE_NAME));
+	}
+	
+	/**
+	 * Reads the block index of the given binary block file, if available.
+	 * 
+	 * @param fs file system
+	 * @param path path of binary block file or directory
+	 * @return block index, or null if no block index exists
+	 * @throws IOException if IOException occurs
+	 */
+	public static BinaryBlockIndex read(FileSystem fs, Path path) throws IOException {
+		Path ipath = new Path(path, FILE_NAME);
+		if( !fs.isDirectory(path) || !fs.exists(ipath) )
+			return null;
+		BinaryBlockIndex ret = new BinaryBlockIndex();
+		DataInputStream in = fs.open(ipath);
+		try {
+			int numParts = in.readInt();
+			for( int i=0; i<numParts; i++ ) {
+				String name = in.readUTF();
+				long[] entries = new long[in.readInt()];
+				for( int j=0; j<entries.length; j++ )
+					entries[j] = in.readLong();
+				ret.addPart(name, entries);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.hadoop.io.Writable;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Value class of compressed binary block files, which wraps either a 
+ * compressed matrix block (serialized column groups, see ColGroupIO) or
+ * an uncompressed matrix block. Since compressed blocks carry no block
+ * type header, the serialized form is prefixed by a compressed flag.
+ */
+public class CompressedWriteBlock implements Writable
+{
+	private MatrixBlock _block;
+	
+	public CompressedWriteBlock() {
+		//default constructor for deserialization
+	}
+	
+	public CompressedWriteBlock(MatrixBlock block) {
+		_block = block;
+	}
+	
+	public MatrixBlock get() {
+		return _block;
+	}
+	
+	public void set(MatrixBlock block) {
+		_block = block;
+	}
+	
+	public boolean isCompressed() {
+		return _block instanceof CompressedMatrixBlock;
+	}
+	
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeBoolean(isCompressed());
+		_block.write(out);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_block = in.readBoolean() ? new CompressedMatrixBlock() : new MatrixBlock();
+		_block.readFields(in);
+	}
+}
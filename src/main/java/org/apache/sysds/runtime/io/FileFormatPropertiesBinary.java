@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+
+public class FileFormatPropertiesBinary extends FileFormatProperties implements Serializable {
+	private static final long serialVersionUID = -2870393360885401604L;
+
+	//write compressed column groups instead of uncompressed blocks
+	private boolean compressed;
+
+	public FileFormatPropertiesBinary() {
+		this(false);
+	}
+
+	public FileFormatPropertiesBinary(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	public boolean isCompressed() {
+		return compressed;
+	}
+
+	public static boolean isCompressed(FileFormatProperties props) {
+		return props instanceof FileFormatPropertiesBinary
+			&& ((FileFormatPropertiesBinary) props).isCompressed();
+	}
+
+	@Override
+	public String toString() {
+		return " compressed " + compressed;
+	}
+}
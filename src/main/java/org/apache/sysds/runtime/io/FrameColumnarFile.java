@@ -0,0 +1,887 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntToLongFunction;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock.ColumnMetadata;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Columnar binary file format for frames, which stores a frame column by column
+ * with per-column encodings and a footer of column offsets and statistics. Since
+ * columns are independently addressable, reads of column ranges only fetch and
+ * decode the requested columns (projection pushdown).
+ * 
+ * File layout: header (magic), encoded columns, footer (number of rows and columns,
+ * and per column: value type, name, column metadata, encoding, offset, length, and
+ * statistics), and trailer (footer offset, magic).
+ */
+public class FrameColumnarFile 
+{
+	public static final byte[] MAGIC = "SDSFCOL2".getBytes(StandardCharsets.US_ASCII);
+	public static final int TRAILER_SIZE = 8 + MAGIC.length;
+	public static final int BUFFER_SIZE = 4 * 1024 * 1024;
+	
+	//max size of contiguous column ranges fetched by a single read
+	private static final int READ_CHUNK_SIZE = 64 * 1024 * 1024;
+	
+	//max number of distinct items of dictionary encodings
+	public static int DICT_MAX_DISTINCT = 1 << 16;
+	
+	//max magnitude of integers exactly representable in the double statistics
+	private static final double MAX_EXACT_LONG = 1L << 53;
+	
+	public enum ColumnEncoding {
+		EMPTY,   //unallocated or all-default column (nulls, zeros, false)
+		PLAIN,   //values in binary representation (booleans as bitset)
+		DICT,    //dictionary of distinct values and bit-packed codes
+		RLE,     //dictionary of distinct values and run-length encoded codes
+		BITPACK, //bit-packed integers relative to the column minimum
+	}
+	
+	/**
+	 * Footer entry of a single column, including its location, encoding, and statistics.
+	 */
+	public static class ColumnInfo {
+		private ValueType _type;
+		private String _name;
+		private ColumnMetadata _meta;
+		private ColumnEncoding _encoding;
+		private long _offset;
+		private long _length;
+		private long _numNonDefault;
+		private long _numDistinct = -1;
+		private double _min = Double.NaN;
+		private double _max = Double.NaN;
+		
+		public ValueType getValueType() {
+			return _type;
+		}
+		
+		public String getName() {
+			return _name;
+		}
+		
+		public ColumnMetadata getColumnMetadata() {
+			return _meta;
+		}
+		
+		public ColumnEncoding getEncoding() {
+			return _encoding;
+		}
+		
+		public long getOffset() {
+			return _offset;
+		}
+		
+		public long getLength() {
+			return _length;
+		}
+		
+		/**
+		 * @return number of non-null strings, non-zero numbers, or true booleans
+		 */
+		public long getNumNonDefault() {
+			return _numNonDefault;
+		}
+		
+		/**
+		 * @return exact number of distinct values (incl null) or -1 if unknown
+		 */
+		public long getNumDistinct() {
+			return _numDistinct;
+		}
+		
+		/**
+		 * @return minimum of numeric columns, NaN otherwise
+		 */
+		public double getMin() {
+			return _min;
+		}
+		
+		/**
+		 * @return maximum of numeric columns, NaN otherwise
+		 */
+		public double getMax() {
+			return _max;
+		}
+		
+		private void write(DataOutput out) throws IOException {
+			out.writeByte(_type.ordinal());
+			out.writeUTF(_name);
+			out.writeLong(_meta.getNumDistinct());
+			out.writeUTF(_meta.getMvValue() != null ? _meta.getMvValue() : "");
+			out.writeByte(_encoding.ordinal());
+			out.writeLong(_offset);
+			out.writeLong(_length);
+			out.writeLong(_numNonDefault);
+			out.writeLong(_numDistinct);
+			out.writeDouble(_min);
+			out.writeDouble(_max);
+		}
+		
+		private void read(DataInput in) throws IOException {
+			_type = ValueType.values()[in.readByte()];
+			_name = in.readUTF();
+			long ndistinct = in.readLong();
+			String mvvalue = in.readUTF();
+			_meta = new ColumnMetadata(ndistinct, mvvalue.isEmpty() ? null : mvvalue);
+			_encoding = ColumnEncoding.values()[in.readByte()];
+			_offset = in.readLong();
+			_length = in.readLong();
+			_numNonDefault = in.readLong();
+			_numDistinct = in.readLong();
+			_min = in.readDouble();
+			_max = in.readDouble();
+		}
+	}
+	
+	/**
+	 * Footer of a columnar frame file.
+	 */
+	public static class Footer {
+		private final int _numRows;
+		private final ColumnInfo[] _columns;
+		
+		private Footer(int numRows, ColumnInfo[] columns) {
+			_numRows = numRows;
+			_columns = columns;
+		}
+		
+		public int getNumRows() {
+			return _numRows;
+		}
+		
+		public int getNumColumns() {
+			return _columns.length;
+		}
+		
+		public ColumnInfo getColumn(int c) {
+			return _columns[c];
+		}
+		
+		public ValueType[] getSchema(int cl, int cu) {
+			ValueType[] ret = new ValueType[cu - cl + 1];
+			for( int j=cl; j<=cu; j++ )
+				ret[j-cl] = _columns[j]._type;
+			return ret;
+		}
+		
+		public String[] getColumnNames(int cl, int cu) {
+			String[] ret = new String[cu - cl + 1];
+			for( int j=cl; j<=cu; j++ )
+				ret[j-cl] = _columns[j]._name;
+			return ret;
+		}
+	}
+	
+	/**
+	 * Checks if the given path is a columnar frame file by probing the magic
+	 * number in the file header.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return true if the file is a columnar frame file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isColumnarFile(FileSystem fs, Path path) throws IOException {
+		if( !fs.isFile(path) || fs.getFileStatus(path).getLen() < MAGIC.length + TRAILER_SIZE )
+			return false;
+		byte[] header = new byte[MAGIC.length];
+		FSDataInputStream in = fs.open(path);
+		try {
+			in.readFully(0, header);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+		return Arrays.equals(MAGIC, header);
+	}
+	
+	/**
+	 * Writes the given frame as a columnar frame file, where columns are
+	 * encoded in parallel and then written sequentially.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param src frame block
+	 * @param k degree of parallelism
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeFrame(FileSystem fs, Path path, FrameBlock src, int k) throws IOException {
+		final int clen = src.getNumColumns();
+		final ColumnInfo[] cols = new ColumnInfo[clen];
+		final byte[][] data = new byte[clen][];
+		
+		//encode columns into individual byte arrays
+		if( k > 1 && clen > 1 ) {
+			try {
+				ExecutorService pool = CommonThreadPool.get(Math.min(k, clen));
+				ArrayList<Callable<Object>> tasks = new ArrayList<>();
+				for( int j=0; j<clen; j++ ) {
+					final int cix = j;
+					tasks.add(() -> {
+						cols[cix] = new ColumnInfo();
+						data[cix] = encodeColumn(src, cix, cols[cix]);
+						return null;
+					});
+				}
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new IOException("Failed parallel encoding of frame columns.", ex);
+			}
+		}
+		else {
+			for( int j=0; j<clen; j++ ) {
+				cols[j] = new ColumnInfo();
+				data[j] = encodeColumn(src, j, cols[j]);
+			}
+		}
+		
+		//write header, columns, footer, and trailer
+		DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(fs.create(path, true), BUFFER_SIZE));
+		try {
+			out.write(MAGIC);
+			long offset = MAGIC.length;
+			for( int j=0; j<clen; j++ ) {
+				cols[j]._offset = offset;
+				out.write(data[j]);
+				offset += data[j].length;
+			}
+			out.writeInt(src.getNumRows());
+			out.writeInt(clen);
+			for( int j=0; j<clen; j++ )
+				cols[j].write(out);
+			out.writeLong(offset);
+			out.write(MAGIC);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	/**
+	 * Reads the footer of a columnar frame file.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return footer
+	 * @throws IOException if IOException occurs
+	 */
+	public static Footer readFooter(FileSystem fs, Path path) throws IOException {
+		FSDataInputStream in = fs.open(path);
+		try {
+			return readFooter(in, fs.getFileStatus(path).getLen());
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	/**
+	 * Reads all columns of a columnar frame file into the given, allocated frame block.
+	 * Columns whose value types differ from the target schema are converted.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param dest allocated output frame block
+	 * @param k degree of parallelism
+	 * @throws IOException if IOException occurs
+	 */
+	public static void readFrame(FileSystem fs, Path path, FrameBlock dest, int k) throws IOException {
+		FSDataInputStream in = fs.open(path);
+		try {
+			Footer footer = readFooter(in, fs.getFileStatus(path).getLen());
+			if( footer.getNumRows() > dest.getNumRows() || footer.getNumColumns() != dest.getNumColumns() )
+				throw new IOException("Columnar frame file ["+footer.getNumRows()+"x"+footer.getNumColumns()+"] "
+					+ "does not match the frame dimensions ["+dest.getNumRows()+"x"+dest.getNumColumns()+"].");
+			readColumns(in, footer, dest, 0, footer.getNumColumns()-1, k);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	/**
+	 * Reads the column range [cl, cu] (0-based, inclusive) of a columnar frame
+	 * file, without reading or decoding any other columns.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param cl column lower bound (0-based, inclusive)
+	 * @param cu column upper bound (0-based, inclusive)
+	 * @param k degree of parallelism
+	 * @return frame block of all rows of the given columns
+	 * @throws IOException if IOException occurs
+	 */
+	public static FrameBlock readColumns(FileSystem fs, Path path, int cl, int cu, int k) throws IOException {
+		return readColumns(fs, path, cl, cu, null, k);
+	}
+	
+	/**
+	 * Reads the column range [cl, cu] (0-based, inclusive) of a columnar frame
+	 * file into a frame block of the given schema, where columns whose value
+	 * types differ from the file schema are converted.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param cl column lower bound (0-based, inclusive)
+	 * @param cu column upper bound (0-based, inclusive)
+	 * @param schema output schema of the column range, or null for the file schema
+	 * @param k degree of parallelism
+	 * @return frame block of all rows of the given columns
+	 * @throws IOException if IOException occurs
+	 */
+	public static FrameBlock readColumns(FileSystem fs, Path path, int cl, int cu, ValueType[] schema, int k)
+		throws IOException
+	{
+		FSDataInputStream in = fs.open(path);
+		try {
+			Footer footer = readFooter(in, fs.getFileStatus(path).getLen());
+			if( cl < 0 || cu >= footer.getNumColumns() || cl > cu )
+				throw new IOException("Invalid column range ["+(cl+1)+":"+(cu+1)+"] "
+					+ "of columnar frame file with "+footer.getNumColumns()+" columns.");
+			FrameBlock ret = new FrameBlock((schema != null) ? schema :
+				footer.getSchema(cl, cu), footer.getColumnNames(cl, cu));
+			ret.ensureAllocatedColumns(footer.getNumRows());
+			readColumns(in, footer, ret, cl, cu, k);
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	private static Footer readFooter(FSDataInputStream in, long len) throws IOException {
+		byte[] trailer = new byte[TRAILER_SIZE];
+		in.readFully(len - TRAILER_SIZE, trailer);
+		ByteBuffer bb = ByteBuffer.wrap(trailer);
+		long footerOffset = bb.getLong();
+		if( !Arrays.equals(MAGIC, Arrays.copyOfRange(trailer, 8, TRAILER_SIZE)) )
+			throw new IOException("Invalid columnar frame file: missing trailer.");
+		
+		in.seek(footerOffset);
+		DataInputStream din = new DataInputStream(in);
+		int nrow = din.readInt();
+		ColumnInfo[] cols = new ColumnInfo[din.readInt()];
+		for( int j=0; j<cols.length; j++ ) {
+			cols[j] = new ColumnInfo();
+			cols[j].read(din);
+		}
+		return new Footer(nrow, cols);
+	}
+	
+	private static void readColumns(FSDataInputStream in, Footer footer, FrameBlock dest, int cl, int cu, int k)
+		throws IOException
+	{
+		//read contiguous chunks of columns (bounded by the read chunk size
+		//except for single large columns), and decode them chunk by chunk
+		for( int j=cl; j<=cu; ) {
+			final int lcl = j;
+			final long start = footer.getColumn(lcl)._offset;
+			long end = start + getColumnLength(footer, lcl);
+			for( j=j+1; j<=cu && end + footer.getColumn(j)._length - start <= READ_CHUNK_SIZE; j++ )
+				end += getColumnLength(footer, j);
+			byte[] buff = new byte[(int)(end - start)];
+			in.readFully(start, buff);
+			decodeColumns(buff, start, footer, dest, lcl, j-1, cl, k);
+		}
+	}
+	
+	private static long getColumnLength(Footer footer, int c) throws IOException {
+		long len = footer.getColumn(c)._length;
+		if( len > Integer.MAX_VALUE - 8 )
+			throw new IOException("Encoded frame column "+c+" of size "+len+" exceeds the max array size.");
+		return len;
+	}
+	
+	private static void decodeColumns(byte[] buff, long start, Footer footer, FrameBlock dest, int lcl, int lcu, int cl, int k)
+		throws IOException
+	{
+		if( k > 1 && lcu > lcl ) {
+			try {
+				ExecutorService pool = CommonThreadPool.get(Math.min(k, lcu-lcl+1));
+				ArrayList<Callable<Object>> tasks = new ArrayList<>();
+				for( int j=lcl; j<=lcu; j++ ) {
+					final int cix = j;
+					tasks.add(() -> {
+						decodeColumn(buff, start, footer, cix, dest, cix-cl);
+						return null;
+					});
+				}
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new IOException("Failed parallel decoding of frame columns.", ex);
+			}
+		}
+		else {
+			for( int j=lcl; j<=lcu; j++ )
+				decodeColumn(buff, start, footer, j, dest, j-cl);
+		}
+	}
+	
+	////////////////////////////
+	// column encoding
+	
+	private static byte[] encodeColumn(FrameBlock src, int c, ColumnInfo info) throws IOException {
+		final int n = src.getNumRows();
+		final ValueType vt = src.getSchema()[c];
+		final Object data = (n > 0 && src.getColumn(c) != null) ? src.getColumnData(c) : null;
+		info._type = vt;
+		info._name = src.getColumnName(c);
+		info._meta = new ColumnMetadata(src.getColumnMetadata(c));
+		
+		//compute column statistics
+		computeStatistics(data, vt, n, info);
+		if( data == null || info._numNonDefault == 0 ) {
+			info._encoding = ColumnEncoding.EMPTY;
+			info._numDistinct = (n > 0) ? 1 : 0;
+			return new byte[0];
+		}
+		
+		//size estimates of plain, dictionary, run-length, and bit-packed encodings
+		long plainSize = getPlainSize(data, vt, 0, n);
+		long dictSize = Long.MAX_VALUE, rleSize = Long.MAX_VALUE, bitpackSize = Long.MAX_VALUE;
+		Dictionary dict = (vt != ValueType.BOOLEAN) ? 
+			createDictionary(data, vt, n, Math.min(DICT_MAX_DISTINCT, n)) : null;
+		if( dict != null ) {
+			info._numDistinct = dict.getSize();
+			long dictValSize = 4 + getPlainSize(dict.values, vt, 0, dict.getSize());
+			dictSize = dictValSize + 5 + 8L * getNumWords(n, dict.getBits());
+			rleSize = dictValSize + 4 + 8L * countRuns(dict.codes, n);
+		}
+		if( (vt == ValueType.INT32 || vt == ValueType.INT64) && getBitWidth(info) > 0 )
+			bitpackSize = 13 + 8L * getNumWords(n, getBitWidth(info));
+		long minSize = Math.min(Math.min(plainSize, dictSize), Math.min(rleSize, bitpackSize));
+		
+		//encode column with the smallest encoding
+		ByteArrayOutputStream bos = new ByteArrayOutputStream((int)Math.min(minSize, Integer.MAX_VALUE - 8));
+		DataOutputStream out = new DataOutputStream(bos);
+		if( minSize == plainSize ) {
+			info._encoding = ColumnEncoding.PLAIN;
+			writePlain(out, data, vt, n);
+		}
+		else if( minSize == dictSize ) {
+			info._encoding = ColumnEncoding.DICT;
+			out.writeInt(dict.getSize());
+			writePlain(out, dict.values, vt, dict.getSize());
+			writeBitPacked(out, i -> dict.codes[i], n, dict.getBits());
+		}
+		else if( minSize == rleSize ) {
+			info._encoding = ColumnEncoding.RLE;
+			out.writeInt(dict.getSize());
+			writePlain(out, dict.values, vt, dict.getSize());
+			out.writeInt(countRuns(dict.codes, n));
+			for( int i=0; i<n; ) {
+				int code = dict.codes[i], j = i + 1;
+				while( j < n && dict.codes[j] == code ) j++;
+				out.writeInt(code);
+				out.writeInt(j - i);
+				i = j;
+			}
+		}
+		else {
+			info._encoding = ColumnEncoding.BITPACK;
+			final long min = (long) info._min;
+			out.writeLong(min);
+			if( vt == ValueType.INT32 ) {
+				int[] a = (int[]) data;
+				writeBitPacked(out, i -> a[i] - min, n, getBitWidth(info));
+			}
+			else {
+				long[] a = (long[]) data;
+				writeBitPacked(out, i -> a[i] - min, n, getBitWidth(info));
+			}
+		}
+		out.flush();
+		byte[] ret = bos.toByteArray();
+		info._length = ret.length;
+		return ret;
+	}
+	
+	private static void computeStatistics(Object data, ValueType vt, int n, ColumnInfo info) {
+		if( data == null )
+			return;
+		long nnz = 0;
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		switch( vt ) {
+			case STRING: {
+				String[] a = (String[]) data;
+				for( int i=0; i<n; i++ )
+					nnz += (a[i] != null) ? 1 : 0;
+				min = max = Double.NaN;
+				break;
+			}
+			case BOOLEAN: {
+				boolean[] a = (boolean[]) data;
+				for( int i=0; i<n; i++ )
+					nnz += a[i] ? 1 : 0;
+				min = max = Double.NaN;
+				break;
+			}
+			default:
+				for( int i=0; i<n; i++ ) {
+					double v = getDouble(data, vt, i);
+					nnz += (v != 0) ? 1 : 0;
+					min = Math.min(min, v);
+					max = Math.max(max, v);
+				}
+		}
+		info._numNonDefault = nnz;
+		info._min = (n > 0) ? min : Double.NaN;
+		info._max = (n > 0) ? max : Double.NaN;
+	}
+	
+	private static int getBitWidth(ColumnInfo info) {
+		//bit width of value range relative to the minimum (0 if not exactly representable)
+		if( Math.abs(info._min) > MAX_EXACT_LONG || Math.abs(info._max) > MAX_EXACT_LONG )
+			return 0;
+		long range = (long) info._max - (long) info._min;
+		return (range < 0) ? 0 : Math.max(64 - Long.numberOfLeadingZeros(range), 1);
+	}
+	
+	private static long getPlainSize(Object data, ValueType vt, int off, int len) {
+		switch( vt ) {
+			case FP64:
+			case INT64: return 8L * len;
+			case FP32:
+			case INT32: return 4L * len;
+			case BOOLEAN: return 8L * getNumWords(len, 1);
+			default:
+				String[] a = (String[]) data;
+				long size = 0;
+				for( int i=off; i<off+len; i++ )
+					size += 4 + ((a[i] != null) ? a[i].length() : 0);
+				return size;
+		}
+	}
+	
+	private static void writePlain(DataOutput out, Object data, ValueType vt, int len) throws IOException {
+		switch( vt ) {
+			case FP64: {
+				double[] a = (double[]) data;
+				for( int i=0; i<len; i++ )
+					out.writeDouble(a[i]);
+				break;
+			}
+			case FP32: {
+				float[] a = (float[]) data;
+				for( int i=0; i<len; i++ )
+					out.writeFloat(a[i]);
+				break;
+			}
+			case INT64: {
+				long[] a = (long[]) data;
+				for( int i=0; i<len; i++ )
+					out.writeLong(a[i]);
+				break;
+			}
+			case INT32: {
+				int[] a = (int[]) data;
+				for( int i=0; i<len; i++ )
+					out.writeInt(a[i]);
+				break;
+			}
+			case BOOLEAN: {
+				boolean[] a = (boolean[]) data;
+				writeBitPacked(out, i -> a[i] ? 1 : 0, len, 1);
+				break;
+			}
+			default: {
+				String[] a = (String[]) data;
+				for( int i=0; i<len; i++ ) {
+					if( a[i] == null )
+						out.writeInt(-1);
+					else {
+						byte[] b = a[i].getBytes(StandardCharsets.UTF_8);
+						out.writeInt(b.length);
+						out.write(b);
+					}
+				}
+			}
+		}
+	}
+	
+	private static void writeBitPacked(DataOutput out, IntToLongFunction fn, int n, int bits) throws IOException {
+		long[] words = new long[getNumWords(n, bits)];
+		for( int i=0; i<n; i++ ) {
+			long v = fn.applyAsLong(i);
+			long pos = (long) i * bits;
+			int w = (int) (pos >>> 6), off = (int) (pos & 63);
+			words[w] |= v << off;
+			if( off + bits > 64 )
+				words[w+1] |= v >>> (64 - off);
+		}
+		out.writeByte(bits);
+		out.writeInt(words.length);
+		for( long w : words )
+			out.writeLong(w);
+	}
+	
+	private static int getNumWords(int n, int bits) {
+		return (int) (((long) n * bits + 63) / 64);
+	}
+	
+	private static int countRuns(int[] codes, int n) {
+		int runs = (n > 0) ? 1 : 0;
+		for( int i=1; i<n; i++ )
+			runs += (codes[i] != codes[i-1]) ? 1 : 0;
+		return runs;
+	}
+	
+	private static double getDouble(Object data, ValueType vt, int i) {
+		switch( vt ) {
+			case FP64: return ((double[]) data)[i];
+			case FP32: return ((float[]) data)[i];
+			case INT64: return ((long[]) data)[i];
+			case INT32: return ((int[]) data)[i];
+			default: throw new IllegalArgumentException("Non-numeric value type: " + vt);
+		}
+	}
+	
+	private static Object getValue(Object data, ValueType vt, int i) {
+		switch( vt ) {
+			case STRING: return ((String[]) data)[i];
+			case BOOLEAN: return ((boolean[]) data)[i];
+			case FP64: return ((double[]) data)[i];
+			case FP32: return ((float[]) data)[i];
+			case INT64: return ((long[]) data)[i];
+			case INT32: return ((int[]) data)[i];
+			default: throw new IllegalArgumentException("Unsupported value type: " + vt);
+		}
+	}
+	
+	private static Dictionary createDictionary(Object data, ValueType vt, int n, int maxDistinct) {
+		HashMap<Object, Integer> map = new HashMap<>();
+		List<Object> values = new ArrayList<>();
+		int[] codes = new int[n];
+		for( int i=0; i<n; i++ ) {
+			Object v = getValue(data, vt, i);
+			Integer code = map.get(v);
+			if( code == null ) {
+				if( values.size() >= maxDistinct )
+					return null;
+				code = values.size();
+				map.put(v, code);
+				values.add(v);
+			}
+			codes[i] = code;
+		}
+		return new Dictionary(toArray(values, vt), values.size(), codes);
+	}
+	
+	private static Object toArray(List<Object> values, ValueType vt) {
+		int len = values.size();
+		switch( vt ) {
+			case STRING: return values.toArray(new String[len]);
+			case FP64: { double[] a = new double[len]; for(int i=0; i<len; i++) a[i] = (Double) values.get(i); return a; }
+			case FP32: { float[] a = new float[len]; for(int i=0; i<len; i++) a[i] = (Float) values.get(i); return a; }
+			case INT64: { long[] a = new long[len]; for(int i=0; i<len; i++) a[i] = (Long) values.get(i); return a; }
+			case INT32: { int[] a = new int[len]; for(int i=0; i<len; i++) a[i] = (Integer) values.get(i); return a; }
+			default: throw new IllegalArgumentException("Unsupported dictionary value type: " + vt);
+		}
+	}
+	
+	private static class Dictionary {
+		private final Object values;
+		private final int size;
+		private final int[] codes;
+		
+		private Dictionary(Object values, int size, int[] codes) {
+			this.values = values;
+			this.size = size;
+			this.codes = codes;
+		}
+		
+		private int getSize() {
+			return size;
+		}
+		
+		private int getBits() {
+			return Math.max(32 - Integer.numberOfLeadingZeros(size - 1), 1);
+		}
+	}
+	
+	////////////////////////////
+	// column decoding
+	
+	private static void decodeColumn(byte[] buff, long start, Footer footer, int c, FrameBlock dest, int cix) {
+		final ColumnInfo info = footer.getColumn(c);
+		final int n = footer.getNumRows();
+		dest.setColumnMetadata(cix, new ColumnMetadata(info._meta));
+		if( info._encoding == ColumnEncoding.EMPTY )
+			return; //default values of allocated column
+		
+		//decode into the output column or a temporary array if types mismatch
+		final ValueType vt = info._type;
+		final boolean direct = (dest.getSchema()[cix] == vt);
+		final Object data = direct ? dest.getColumnData(cix) : allocateArray(vt, n);
+		ByteBuffer in = ByteBuffer.wrap(buff, (int)(info._offset - start), (int)info._length);
+		
+		switch( info._encoding ) {
+			case PLAIN:
+				readPlain(in, data, vt, n);
+				break;
+			case DICT:
+			case RLE: {
+				int size = in.getInt();
+				Object dict = allocateArray(vt, size);
+				readPlain(in, dict, vt, size);
+				int[] codes = new int[n];
+				if( info._encoding == ColumnEncoding.DICT ) {
+					int bits = in.get();
+					long[] words = readWords(in);
+					for( int i=0; i<n; i++ )
+						codes[i] = (int) unpack(words, bits, i);
+				}
+				else {
+					int runs = in.getInt();
+					for( int r=0, i=0; r<runs; r++ ) {
+						int code = in.getInt(), len = in.getInt();
+						Arrays.fill(codes, i, i + len, code);
+						i += len;
+					}
+				}
+				gather(dict, codes, data, vt, n);
+				break;
+			}
+			case BITPACK: {
+				long min = in.getLong();
+				int bits = in.get();
+				long[] words = readWords(in);
+				if( vt == ValueType.INT32 ) {
+					int[] a = (int[]) data;
+					for( int i=0; i<n; i++ )
+						a[i] = (int) (min + unpack(words, bits, i));
+				}
+				else {
+					long[] a = (long[]) data;
+					for( int i=0; i<n; i++ )
+						a[i] = min + unpack(words, bits, i);
+				}
+				break;
+			}
+			default:
+				throw new IllegalStateException("Unsupported column encoding: " + info._encoding);
+		}
+		
+		//convert values on schema mismatch
+		if( !direct ) {
+			for( int i=0; i<n; i++ )
+				dest.set(i, cix, getValue(data, vt, i));
+		}
+	}
+	
+	private static Object allocateArray(ValueType vt, int len) {
+		switch( vt ) {
+			case STRING: return new String[len];
+			case BOOLEAN: return new boolean[len];
+			case FP64: return new double[len];
+			case FP32: return new float[len];
+			case INT64: return new long[len];
+			case INT32: return new int[len];
+			default: throw new IllegalArgumentException("Unsupported value type: " + vt);
+		}
+	}
+	
+	private static void readPlain(ByteBuffer in, Object data, ValueType vt, int len) {
+		switch( vt ) {
+			case FP64: in.asDoubleBuffer().get((double[]) data, 0, len); in.position(in.position() + 8 * len); break;
+			case FP32: in.asFloatBuffer().get((float[]) data, 0, len); in.position(in.position() + 4 * len); break;
+			case INT64: in.asLongBuffer().get((long[]) data, 0, len); in.position(in.position() + 8 * len); break;
+			case INT32: in.asIntBuffer().get((int[]) data, 0, len); in.position(in.position() + 4 * len); break;
+			case BOOLEAN: {
+				boolean[] a = (boolean[]) data;
+				in.get(); //bit width 1
+				long[] words = readWords(in);
+				for( int i=0; i<len; i++ )
+					a[i] = unpack(words, 1, i) != 0;
+				break;
+			}
+			default: {
+				String[] a = (String[]) data;
+				for( int i=0; i<len; i++ ) {
+					int blen = in.getInt();
+					if( blen >= 0 ) {
+						a[i] = new String(in.array(), in.arrayOffset() + in.position(), blen, StandardCharsets.UTF_8);
+						in.position(in.position() + blen);
+					}
+				}
+			}
+		}
+	}
+	
+	private static long[] readWords(ByteBuffer in) {
+		long[] words = new long[in.getInt()];
+		in.asLongBuffer().get(words);
+		in.position(in.position() + 8 * words.length);
+		return words;
+	}
+	
+	private static long unpack(long[] words, int bits, int i) {
+		long pos = (long) i * bits;
+		int w = (int) (pos >>> 6), off = (int) (pos & 63);
+		long v = words[w] >>> off;
+		if( off + bits > 64 )
+			v |= words[w+1] << (64 - off);
+		return (bits == 64) ? v : v & ((1L << bits) - 1);
+	}
+	
+	private static void gather(Object dict, int[] codes, Object data, ValueType vt, int n) {
+		switch( vt ) {
+			case STRING: { String[] d = (String[]) dict, a = (String[]) data; for(int i=0; i<n; i++) a[i] = d[codes[i]]; break; }
+			case FP64: { double[] d = (double[]) dict, a = (double[]) data; for(int i=0; i<n; i++) a[i] = d[codes[i]]; break; }
+			case FP32: { float[] d = (float[]) dict, a = (float[]) data; for(int i=0; i<n; i++) a[i] = d[codes[i]]; break; }
+			case INT64: { long[] d = (long[]) dict, a = (long[]) data; for(int i=0; i<n; i++) a[i] = d[codes[i]]; break; }
+			case INT32: { int[] d = (int[]) dict, a = (int[]) data; for(int i=0; i<n; i++) a[i] = d[codes[i]]; break; }
+			default: throw new IllegalArgumentException("Unsupported dictionary value type: " + vt);
+		}
+	}
+}
@@ -57,7 +57,10 @@ public class FrameReaderBinaryBlock extends FrameReader
 		checkValidInputFile(fs, path); 
 	
 		//core read (sequential/parallel)
-		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
+		if( FrameColumnarFile.isColumnarFile(fs, path) )
+			FrameColumnarFile.readFrame(fs, path, ret, getColumnarReadParallelism());
+		else
+			readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
 		
 		return ret;
 	}
@@ -69,6 +72,10 @@ public class FrameReaderBinaryBlock extends FrameReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	protected int getColumnarReadParallelism() {
+		return 1;
+	}
+
 	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
 		throws IOException, DMLRuntimeException
 	{
@@ -41,6 +41,11 @@ import org.apache.sysds.runtime.util.CommonThreadPool;
  */
 public class FrameReaderBinaryBlockParallel extends FrameReaderBinaryBlock
 {
+	@Override
+	protected int getColumnarReadParallelism() {
+		return OptimizerUtils.getParallelBinaryReadParallelism();
+	}
+	
 	@Override
 	protected void readBinaryBlockFrameFromHDFS( Path path, JobConf job, FileSystem fs, FrameBlock dest, long rlen, long clen )
 		throws IOException, DMLRuntimeException
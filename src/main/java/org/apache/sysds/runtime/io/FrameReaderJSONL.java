@@ -24,14 +24,11 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.*;
-import org.apache.wink.json4j.JSONArray;
 import org.apache.wink.json4j.JSONException;
-import org.apache.wink.json4j.JSONObject;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
-import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.io.IOException;
 import java.util.Map;
@@ -84,16 +81,13 @@ public class FrameReaderJSONL
 		RecordReader<LongWritable, Text> reader = inputFormat.getRecordReader(split, jobConf, Reporter.NULL);
 		LongWritable key = new LongWritable();
 		Text value = new Text();
-
+		
+		//streaming extraction of requested paths from line bytes (no JSON object trees)
+		JSONLineParser parser = new JSONLineParser(schemaMap, dest);
 		int row = currentRow;
 		try {
 			while (reader.next(key, value)) {
-				// Potential Problem if JSON/L Object is very large
-				JSONObject jsonObject = new JSONObject(value.toString());
-				for (Map.Entry<String, Integer> entry : schemaMap.entrySet()) {
-					String strCellValue = getStringFromJSONPath(jsonObject, entry.getKey());
-					dest.set(row, entry.getValue(), UtilFunctions.stringToObject(schema[entry.getValue()], strCellValue));
-				}
+				parser.parseLine(value.getBytes(), 0, value.getLength(), row);
 				row++;
 			}
 		}
@@ -102,36 +96,6 @@ public class FrameReaderJSONL
 		}
 		return row;
 	}
-	// TODO Needs Optimisation! "split" is inefficient
-	private static String getStringFromJSONPath(JSONObject jsonObject, String path) 
-		throws IOException 
-	{
-		String[] splitPath = path.split("/");
-		Object temp = null;
-		for (String split : splitPath) {
-			if(split.equals("")) continue;
-			try{
-				if (temp == null) {
-					temp = jsonObject.get(split);
-				} else if (temp instanceof JSONObject) {
-					temp = ((JSONObject) temp).get(split);
-				} else if (temp instanceof JSONArray) {
-					throw new IOException("Cannot traverse JSON Array in a meaningful manner");
-				} else {
-					return null;
-				}
-			}
-			catch (JSONException e){
-				// Value not in JsonObject
-				return null;
-			}
-
-		}
-		if(temp == null){
-			throw new IOException("Could not traverse the JSON path: '" + path + "'!");
-		}
-		return temp.toString();
-	}
 
 
 	private static String[] createOutputNamesFromSchemaMap(Map<String, Integer> schemaMap) {
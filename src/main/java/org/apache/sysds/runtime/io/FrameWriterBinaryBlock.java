@@ -27,6 +27,7 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
@@ -38,7 +39,6 @@ import org.apache.sysds.runtime.util.HDFSTool;
  */
 public class FrameWriterBinaryBlock extends FrameWriter
 {
-
 	@Override
 	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
 		throws IOException, DMLRuntimeException 
@@ -56,10 +56,30 @@ public class FrameWriterBinaryBlock extends FrameWriter
 					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
 		}
 		
+		//write columnar frame file w/ per-column encodings
+		//note: columnar frame files are only readable by the CP binary block readers
+		//(not by spark), and hence only used if explicitly enabled (see FrameColumnarFile)
+		if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CP_FRAME_COLUMNAR) ) {
+			writeColumnarFrameToHDFS( path, src, getColumnarWriteParallelism() );
+			return;
+		}
+		
 		//write binary block to hdfs (sequential/parallel)
 		writeBinaryBlockFrameToHDFS( path, job, src, rlen, clen );
 	}
 
+	protected int getColumnarWriteParallelism() {
+		return 1;
+	}
+	
+	private static void writeColumnarFrameToHDFS( Path path, FrameBlock src, int k )
+		throws IOException
+	{
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		FrameColumnarFile.writeFrame(fs, path, src, k);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
 	protected void writeBinaryBlockFrameToHDFS( Path path, JobConf job, FrameBlock src, long rlen, long clen )
 			throws IOException, DMLRuntimeException
 	{
@@ -46,6 +46,11 @@ import org.apache.sysds.runtime.util.HDFSTool;
  */
 public class FrameWriterBinaryBlockParallel extends FrameWriterBinaryBlock
 {	
+	@Override
+	protected int getColumnarWriteParallelism() {
+		return OptimizerUtils.getParallelBinaryWriteParallelism();
+	}
+	
 	@Override
 	protected void writeBinaryBlockFrameToHDFS( Path path, JobConf job, FrameBlock src, long rlen, long clen )
 		throws IOException, DMLRuntimeException
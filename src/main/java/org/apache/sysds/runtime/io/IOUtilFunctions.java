@@ -64,6 +64,10 @@ public class IOUtilFunctions
 {
 	private static final Log LOG = LogFactory.getLog(UtilFunctions.class.getName());
 
+	//bulk (de)serialization of double arrays via big-endian double buffer views
+	//(same byte layout as the value-by-value shift and mask of longToBa/baToLong)
+	public static boolean BULK_BUFFER_SERIALIZATION = true;
+
 	public static final PathFilter hiddenFileFilter = new PathFilter(){
 		@Override
 		public boolean accept(Path p){
@@ -649,6 +653,77 @@ public class IOUtilFunctions
 		ba[ off+7 ] = (byte)((val >>>  0) & 0xFF);
 	}
 	
+	/**
+	 * Serializes len values of the given double array in big-endian byte order
+	 * into the byte array, i.e., equivalent to longToBa of the raw long bits of
+	 * all values but as a single bulk copy through a double buffer view.
+	 * 
+	 * @param src source double array
+	 * @param srcPos offset in the source array
+	 * @param ba target byte array
+	 * @param off offset in the target byte array
+	 * @param len number of values
+	 */
+	public static void doubleArrayToBa( double[] src, final int srcPos, byte[] ba, final int off, final int len ) {
+		doubleArrayToBa(src, srcPos, ba, off, len, BULK_BUFFER_SERIALIZATION);
+	}
+	
+	/**
+	 * Serializes len values of the given double array in big-endian byte order
+	 * into the byte array, either as bulk copy or value by value.
+	 * 
+	 * @param src source double array
+	 * @param srcPos offset in the source array
+	 * @param ba target byte array
+	 * @param off offset in the target byte array
+	 * @param len number of values
+	 * @param bulk if true, copy through a double buffer view, otherwise value by value
+	 */
+	public static void doubleArrayToBa( double[] src, final int srcPos, byte[] ba, final int off, final int len, boolean bulk ) {
+		if( bulk ) {
+			ByteBuffer.wrap(ba, off, len*8).asDoubleBuffer().put(src, srcPos, len);
+		}
+		else {
+			for( int i=0; i<len; i++ )
+				longToBa(Double.doubleToRawLongBits(src[srcPos+i]), ba, off+i*8);
+		}
+	}
+	
+	/**
+	 * Deserializes len big-endian double values from the byte array into the 
+	 * given double array as a single bulk copy through a double buffer view.
+	 * 
+	 * @param ba source byte array
+	 * @param off offset in the source byte array
+	 * @param dst target double array
+	 * @param dstPos offset in the target array
+	 * @param len number of values
+	 */
+	public static void baToDoubleArray( byte[] ba, final int off, double[] dst, final int dstPos, final int len ) {
+		baToDoubleArray(ba, off, dst, dstPos, len, BULK_BUFFER_SERIALIZATION);
+	}
+	
+	/**
+	 * Deserializes len big-endian double values from the byte array into the 
+	 * given double array, either as bulk copy or value by value.
+	 * 
+	 * @param ba source byte array
+	 * @param off offset in the source byte array
+	 * @param dst target double array
+	 * @param dstPos offset in the target array
+	 * @param len number of values
+	 * @param bulk if true, copy through a double buffer view, otherwise value by value
+	 */
+	public static void baToDoubleArray( byte[] ba, final int off, double[] dst, final int dstPos, final int len, boolean bulk ) {
+		if( bulk ) {
+			ByteBuffer.wrap(ba, off, len*8).asDoubleBuffer().get(dst, dstPos, len);
+		}
+		else {
+			for( int i=0; i<len; i++ )
+				dst[dstPos+i] = Double.longBitsToDouble(baToLong(ba, off+i*8));
+		}
+	}
+	
 	public static byte[] getBytes(ByteBuffer buff) {
 		int len = buff.limit();
 		if( buff.hasArray() )
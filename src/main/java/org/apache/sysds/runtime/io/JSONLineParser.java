@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.FastByteParser;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Streaming, byte-level parser of JSONL lines, which extracts only the values of
+ * the given JSON paths (e.g., "/a/b") directly into the typed columns of a frame
+ * block. In contrast to parsing each line into a generic JSON object tree, this
+ * parser performs a single scan over the UTF-8 bytes of a line, skips all subtrees
+ * without requested paths, and only creates objects for string values.
+ * 
+ * A parser instance is bound to an output frame block and maintains the scan
+ * position, and hence must not be shared across threads.
+ */
+public class JSONLineParser 
+{
+	private final PathNode _root;
+	private final ValueType[] _schema;
+	private final FrameBlock _dest;
+	
+	//current line and scan position
+	private byte[] _b;
+	private int _pos;
+	private int _end;
+	
+	public JSONLineParser(Map<String, Integer> schemaMap, FrameBlock dest) {
+		_root = new PathNode();
+		for( Map.Entry<String, Integer> e : schemaMap.entrySet() ) {
+			PathNode node = _root;
+			for( String key : e.getKey().split("/") )
+				if( !key.isEmpty() )
+					node = node.getOrCreateChild(key);
+			node._col = e.getValue();
+		}
+		_schema = dest.getSchema();
+		_dest = dest;
+	}
+	
+	/**
+	 * Parses a single JSONL line and sets the values of all requested paths
+	 * into the given row of the output frame block. Missing paths or JSON nulls
+	 * retain the default values of the allocated output.
+	 * 
+	 * @param b byte array of the line (UTF-8)
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @param row row index in the output frame block
+	 * @throws IOException if the line is not a valid JSON object
+	 */
+	public void parseLine(byte[] b, int start, int end, int row) throws IOException {
+		_b = b;
+		_pos = start;
+		_end = end;
+		skipWhitespace();
+		if( _pos >= _end )
+			return; //empty line
+		parseObject(_root, row);
+	}
+	
+	private void parseObject(PathNode node, int row) throws IOException {
+		expect('{');
+		skipWhitespace();
+		if( cur() == '}' ) {
+			_pos++;
+			return;
+		}
+		while( true ) {
+			//parse key and find the matching path node
+			skipWhitespace();
+			expect('"');
+			int kstart = _pos;
+			boolean escaped = skipString();
+			PathNode child = escaped ? 
+				node.getChild(decodeString(kstart, _pos-1)) : node.getChild(_b, kstart, _pos-1);
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			
+			//parse or skip the value
+			if( child == null )
+				skipValue();
+			else
+				parseValue(child, row);
+			
+			skipWhitespace();
+			if( cur() == ',' )
+				_pos++;
+			else {
+				expect('}');
+				return;
+			}
+		}
+	}
+	
+	private void parseValue(PathNode node, int row) throws IOException {
+		int vstart = _pos;
+		byte c = cur();
+		if( c == '{' && node.hasChildren() )
+			parseObject(node, row);
+		else if( c == '[' && node.hasChildren() )
+			throw new IOException("Cannot traverse JSON Array in a meaningful manner");
+		else
+			skipValue();
+		if( node._col >= 0 )
+			setValue(node._col, row, vstart, _pos);
+	}
+	
+	private void setValue(int col, int row, int start, int end) {
+		ValueType vt = _schema[col];
+		byte c = _b[start];
+		if( c == 'n' ) //null
+			return;
+		if( c == '"' ) { //string, potentially w/ non-string target type
+			String str = decodeString(start+1, end-1);
+			if( vt == ValueType.STRING )
+				((String[]) _dest.getColumnData(col))[row] = str;
+			else
+				_dest.set(row, col, UtilFunctions.stringToObject(vt, str));
+			return;
+		}
+		//numbers, booleans, and nested objects/arrays
+		switch( vt ) {
+			case FP64: ((double[]) _dest.getColumnData(col))[row] = FastByteParser.parseDouble(_b, start, end); break;
+			case INT64: ((long[]) _dest.getColumnData(col))[row] = FastByteParser.parseLong(_b, start, end); break;
+			case INT32: ((int[]) _dest.getColumnData(col))[row] = FastByteParser.parseInt(_b, start, end); break;
+			case BOOLEAN: ((boolean[]) _dest.getColumnData(col))[row] = (c == 't'); break;
+			default: _dest.set(row, col, UtilFunctions.stringToObject(vt, FastByteParser.toString(_b, start, end)));
+		}
+	}
+	
+	private void skipValue() throws IOException {
+		byte c = cur();
+		if( c == '"' ) {
+			_pos++;
+			skipString();
+		}
+		else if( c == '{' || c == '[' ) {
+			//skip nested objects and arrays by tracking the nesting depth
+			int depth = 0;
+			do {
+				c = cur();
+				_pos++;
+				if( c == '"' )
+					skipString();
+				else if( c == '{' || c == '[' )
+					depth++;
+				else if( c == '}' || c == ']' )
+					depth--;
+			}
+			while( depth > 0 );
+		}
+		else {
+			//numbers and literals (true, false, null)
+			int start = _pos;
+			while( _pos < _end && !isValueDelimiter(_b[_pos]) )
+				_pos++;
+			if( _pos == start )
+				throw new IOException("Invalid JSON line: missing value at position "+start+".");
+		}
+	}
+	
+	/**
+	 * Skips a string whose opening quote is already consumed.
+	 * 
+	 * @return true if the string contains escape sequences
+	 * @throws IOException if the string is not terminated
+	 */
+	private boolean skipString() throws IOException {
+		boolean escaped = false;
+		while( cur() != '"' ) {
+			if( _b[_pos] == '\\' ) {
+				escaped = true;
+				_pos++;
+			}
+			_pos++;
+		}
+		_pos++;
+		return escaped;
+	}
+	
+	private String decodeString(int start, int end) {
+		//fast path for strings without escape sequences
+		int i = start;
+		while( i < end && _b[i] != '\\' )
+			i++;
+		if( i == end )
+			return FastByteParser.toString(_b, start, end);
+		
+		StringBuilder sb = new StringBuilder(end - start);
+		sb.append(FastByteParser.toString(_b, start, i));
+		while( i < end ) {
+			int j = i;
+			while( j < end && _b[j] != '\\' )
+				j++;
+			sb.append(FastByteParser.toString(_b, i, j));
+			if( j >= end )
+				break;
+			byte c = _b[j+1];
+			switch( c ) {
+				case 'b': sb.append('\b'); break;
+				case 'f': sb.append('\f'); break;
+				case 'n': sb.append('\n'); break;
+				case 'r': sb.append('\r'); break;
+				case 't': sb.append('\t'); break;
+				case 'u':
+					sb.append((char) Integer.parseInt(FastByteParser.toString(_b, j+2, j+6), 16));
+					j += 4;
+					break;
+				default: sb.append((char) c); //quote, backslash, slash
+			}
+			i = j + 2;
+		}
+		return sb.toString();
+	}
+	
+	private byte cur() throws IOException {
+		if( _pos >= _end )
+			throw new IOException("Invalid JSON line: unexpected end of line.");
+		return _b[_pos];
+	}
+	
+	private void skipWhitespace() {
+		while( _pos < _end && FastByteParser.isWhitespace(_b[_pos]) )
+			_pos++;
+	}
+	
+	private void expect(char c) throws IOException {
+		if( _pos >= _end || _b[_pos] != c )
+			throw new IOException("Invalid JSON line: expected '"+c+"' at position "+_pos+".");
+		_pos++;
+	}
+	
+	private static boolean isValueDelimiter(byte c) {
+		return c == ',' || c == '}' || c == ']' || FastByteParser.isWhitespace(c);
+	}
+	
+	/**
+	 * Node of the trie of requested JSON paths, where child keys are
+	 * compared as UTF-8 bytes to avoid string creation per key.
+	 */
+	private static class PathNode {
+		private final ArrayList<byte[]> _keys = new ArrayList<>();
+		private final ArrayList<PathNode> _children = new ArrayList<>();
+		private int _col = -1;
+		
+		private boolean hasChildren() {
+			return !_children.isEmpty();
+		}
+		
+		private PathNode getOrCreateChild(String key) {
+			PathNode child = getChild(key);
+			if( child == null ) {
+				child = new PathNode();
+				_keys.add(key.getBytes(StandardCharsets.UTF_8));
+				_children.add(child);
+			}
+			return child;
+		}
+		
+		private PathNode getChild(String key) {
+			byte[] b = key.getBytes(StandardCharsets.UTF_8);
+			return getChild(b, 0, b.length);
+		}
+		
+		private PathNode getChild(byte[] b, int start, int end) {
+			for( int i=0; i<_keys.size(); i++ ) {
+				byte[] key = _keys.get(i);
+				if( key.length != end - start )
+					continue;
+				int j = 0;
+				while( j < key.length && key[j] == b[start+j] )
+					j++;
+				if( j == key.length )
+					return _children.get(i);
+			}
+			return null;
+		}
+	}
+}
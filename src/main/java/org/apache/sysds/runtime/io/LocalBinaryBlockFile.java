@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Native binary block file format for matrices on the local file system,
+ * which avoids the overheads of hadoop sequence files (writable wrappers,
+ * sync markers, checksums, and per-block copies into the value buffer).
+ * 
+ * The file layout is as follows (all numbers in big-endian):
+ * <ul>
+ * <li>Header: magic (8 bytes), version (int), blen (int), rlen (long), clen (long)</li>
+ * <li>Body: serialized matrix blocks in row-major block order</li>
+ * <li>Footer: per block the row index, column index, and byte offset (3 longs),
+ *   followed by the number of blocks (long), the footer offset (long), and the magic</li>
+ * </ul>
+ * 
+ * Writes are issued as large, page-aligned buffer flushes to a file channel, 
+ * while reads memory-map the file (if smaller than 2GB) and deserialize the 
+ * blocks directly from the mapped buffer. The footer enables random access
+ * to individual blocks without scanning the entire file.
+ * 
+ * Multi-part outputs use the same directory layout and part file names as
+ * sequence files, and the binary block readers detect the format per part
+ * file, which allows mixing native and sequence files in a single directory.
+ * Both writing and detecting native files is only enabled via the config
+ * option sysds.cp.native.localfiles, which avoids probing sequence files.
+ */
+public class LocalBinaryBlockFile
+{
+	public static final byte[] MAGIC = new byte[]{'S','D','S','B','L','K','0','1'};
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 8 + 4 + 4 + 8 + 8;
+	public static final int TRAILER_SIZE = 8 + 8 + 8;
+	
+	//write buffer size (multiple of the common 4KB page size)
+	public static final int BUFFER_SIZE = 4 * 1024 * 1024;
+	
+	/**
+	 * Indicates if native binary block files are enabled for writes and reads
+	 * in the current (thread-local) configuration.
+	 * 
+	 * @return true if native local files are enabled
+	 */
+	public static boolean isEnabled() {
+		return ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CP_NATIVE_LOCAL_FILES);
+	}
+	
+	/**
+	 * Indicates if the given file system supports the native binary block 
+	 * format, which is only the case for the local file system.
+	 * 
+	 * @param fs file system
+	 * @return true if the native format can be used
+	 */
+	public static boolean isSupportedFileSystem(FileSystem fs) {
+		return fs instanceof LocalFileSystem;
+	}
+	
+	/**
+	 * Obtains the local file for a given hadoop path.
+	 * 
+	 * @param fs local file system
+	 * @param path hadoop path
+	 * @return local file
+	 */
+	public static File getLocalFile(FileSystem fs, Path path) {
+		return ((LocalFileSystem) fs).pathToFile(path);
+	}
+	
+	/**
+	 * Opens a reader over the given file if it is a native binary block file,
+	 * where the magic number is probed on the opened channel that is then
+	 * reused by the reader. Non-local files are never native.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return reader, or null if the file is not a native binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static Reader openReaderIfNative(FileSystem fs, Path path) 
+		throws IOException
+	{
+		if( !isSupportedFileSystem(fs) )
+			return null;
+		File file = getLocalFile(fs, path);
+		if( !file.isFile() || file.length() < HEADER_SIZE + TRAILER_SIZE )
+			return null;
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			ByteBuffer buff = ByteBuffer.wrap(magic);
+			while( buff.hasRemaining() && channel.read(buff, buff.position()) >= 0 );
+			if( !Arrays.equals(magic, MAGIC) ) {
+				IOUtilFunctions.closeSilently(channel);
+				return null;
+			}
+			return new Reader(file, channel);
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(channel);
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Writes the row range [rl, ru) of the given matrix block in blocks of
+	 * size blen x blen into a native binary block file.
+	 * 
+	 * @param file local output file
+	 * @param src matrix block
+	 * @param blen block size
+	 * @param rl row lower bound (inclusive, multiple of blen)
+	 * @param ru row upper bound (exclusive)
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlocks(File file, MatrixBlock src, int blen, int rl, int ru) 
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		int numBlockRows = (int)Math.ceil((double)(ru-rl)/blen);
+		int numBlockCols = Math.max((int)Math.ceil((double)clen/blen), 1);
+		int numBlocks = numBlockRows * numBlockCols;
+		long[] index = new long[3*numBlocks];
+		
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+			Channels.newOutputStream(channel), BUFFER_SIZE);
+		
+		try
+		{
+			//write header
+			out.write(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(blen);
+			out.writeLong(rlen);
+			out.writeLong(clen);
+			long offset = HEADER_SIZE;
+			
+			//write body of blocks (avoid slicing for single block)
+			boolean single = (rlen <= blen && clen <= blen && rl == 0);
+			MatrixBlock[] blocks = single ? null :
+				MatrixWriter.createMatrixBlocksForReuse(rlen, clen, blen, src.isInSparseFormat(), src.getNonZeros());
+			int pos = 0;
+			for( int bi = rl/blen; bi < (int)Math.ceil((double)ru/blen); bi++ )
+				for( int bj = 0; bj < numBlockCols; bj++ ) {
+					int row_offset = bi*blen;
+					int col_offset = bj*blen;
+					int maxRow = Math.min(blen, rlen - row_offset);
+					int maxCol = Math.min(blen, clen - col_offset);
+					MatrixBlock block = src;
+					if( !single ) {
+						block = MatrixWriter.getMatrixBlockForReuse(blocks, maxRow, maxCol, blen);
+						src.slice(row_offset, row_offset+maxRow-1, col_offset, col_offset+maxCol-1, block);
+					}
+					index[pos++] = bi+1;
+					index[pos++] = bj+1;
+					index[pos++] = offset;
+					offset += block.getExactSizeOnDisk();
+					block.write(out);
+					if( !single )
+						block.reset();
+				}
+			
+			//write footer w/ block index
+			for( int i=0; i<index.length; i++ )
+				out.writeLong(index[i]);
+			out.writeLong(numBlocks);
+			out.writeLong(offset);
+			out.write(MAGIC);
+			out.flush();
+			
+			//sanity check for consistent size estimates
+			long expected = offset + 8L*index.length + TRAILER_SIZE;
+			if( channel.size() != expected )
+				throw new IOException("Inconsistent size of native binary block file "
+					+ file + ": " + channel.size() + " vs " + expected + ".");
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Opens a reader over a native binary block file.
+	 * 
+	 * @param file local input file
+	 * @return reader
+	 * @throws IOException if IOException occurs
+	 */
+	public static Reader openReader(File file) throws IOException {
+		return new Reader(file, FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	}
+	
+	/**
+	 * Reader over a native binary block file, which supports both sequential 
+	 * iteration (similar to SequenceFile.Reader) and random block access via
+	 * the footer index (hashed by block indexes on open).
+	 */
+	public static class Reader implements AutoCloseable
+	{
+		private final File _file;
+		private final FileChannel _channel;
+		private final int _blen;
+		private final long _rlen, _clen;
+		private final long[] _index;
+		private final long _footer;
+		private final HashMap<MatrixIndexes, Integer> _blocks;
+		private ByteBuffer _buff = null;
+		private int _next = 0;
+		
+		private Reader(File file, FileChannel channel) throws IOException {
+			_file = file;
+			_channel = channel;
+			try {
+				//read and validate header
+				ByteBuffer header = readFully(0, HEADER_SIZE);
+				checkMagic(header);
+				int version = header.getInt();
+				if( version != VERSION )
+					throw new IOException("Unsupported version of native binary block file "+file+": "+version);
+				_blen = header.getInt();
+				_rlen = header.getLong();
+				_clen = header.getLong();
+				
+				//read trailer and footer index
+				ByteBuffer trailer = readFully(_channel.size()-TRAILER_SIZE, TRAILER_SIZE);
+				int numBlocks = (int) trailer.getLong();
+				_footer = trailer.getLong();
+				checkMagic(trailer);
+				_index = new long[3*numBlocks];
+				readFully(_footer, 8*_index.length).asLongBuffer().get(_index);
+				
+				//build hash index for random block access
+				_blocks = new HashMap<>();
+				for( int i=0; i<numBlocks; i++ )
+					_blocks.put(new MatrixIndexes(_index[3*i], _index[3*i+1]), i);
+			}
+			catch(IOException ex) {
+				IOUtilFunctions.closeSilently(_channel);
+				throw ex;
+			}
+		}
+		
+		public int getBlocksize() {
+			return _blen;
+		}
+		
+		public long getNumRows() {
+			return _rlen;
+		}
+		
+		public long getNumColumns() {
+			return _clen;
+		}
+		
+		public int getNumBlocks() {
+			return _index.length / 3;
+		}
+		
+		/**
+		 * Reads the next block in file order into the given key and value.
+		 * 
+		 * @param key matrix indexes
+		 * @param value matrix block
+		 * @return true if a block was read, false if the end of file is reached
+		 * @throws IOException if IOException occurs
+		 */
+		public boolean next(MatrixIndexes key, MatrixBlock value) throws IOException {
+			if( _next >= getNumBlocks() )
+				return false;
+			readBlock(_next++, key, value);
+			return true;
+		}
+		
+		/**
+		 * Reads the next block in file order that overlaps with the given range
+		 * of block indexes, while skipping all other blocks without deserialization.
+		 * 
+		 * @param key matrix indexes
+		 * @param value matrix block
+		 * @param bixrange range of block indexes (1-based, inclusive)
+		 * @return true if a block was read, false if the end of file is reached
+		 * @throws IOException if IOException occurs
+		 */
+		public boolean next(MatrixIndexes key, MatrixBlock value, IndexRange bixrange) throws IOException {
+			while( _next < getNumBlocks() && !BinaryBlockIndex
+				.isInRange(_index[3*_next], _index[3*_next+1], bixrange) )
+				_next++;
+			return next(key, value);
+		}
+		
+		/**
+		 * Reads the block with the given (1-based) block indexes, if it exists.
+		 * 
+		 * @param rix block row index
+		 * @param cix block column index
+		 * @param value matrix block
+		 * @return true if the block exists in this file
+		 * @throws IOException if IOException occurs
+		 */
+		public boolean readBlock(long rix, long cix, MatrixBlock value) throws IOException {
+			Integer pos = _blocks.get(new MatrixIndexes(rix, cix));
+			if( pos == null )
+				return false;
+			readBlock(pos, null, value);
+			return true;
+		}
+		
+		private void readBlock(int pos, MatrixIndexes key, MatrixBlock value) throws IOException {
+			long start = _index[3*pos+2];
+			long end = (pos+1 < getNumBlocks()) ? _index[3*(pos+1)+2] : _footer;
+			if( key != null )
+				key.setIndexes(_index[3*pos], _index[3*pos+1]);
+			ByteBuffer buff = null;
+			if( _footer <= Integer.MAX_VALUE ) {
+				//memory-map entire body once, shared across blocks
+				if( _buff == null )
+					_buff = _channel.map(MapMode.READ_ONLY, 0, _footer);
+				buff = _buff.duplicate();
+				buff.limit((int)end).position((int)start);
+			}
+			else {
+				buff = readFully(start, (int)(end-start));
+			}
+			value.readFields(new ByteBufferDataInput(buff));
+		}
+		
+		private ByteBuffer readFully(long pos, int len) throws IOException {
+			ByteBuffer ret = ByteBuffer.allocate(len);
+			while( ret.hasRemaining() ) {
+				int n = _channel.read(ret, pos + ret.position());
+				if( n < 0 )
+					throw new IOException("Unexpected end of native binary block file "+_file+".");
+			}
+			ret.flip();
+			return ret;
+		}
+		
+		private void checkMagic(ByteBuffer buff) throws IOException {
+			byte[] magic = new byte[MAGIC.length];
+			buff.get(magic);
+			if( !Arrays.equals(magic, MAGIC) )
+				throw new IOException("Invalid native binary block file: "+_file);
+		}
+		
+		@Override
+		public void close() {
+			_buff = null; //unmapped on gc
+			IOUtilFunctions.closeSilently(_channel);
+		}
+	}
+}
@@ -108,8 +108,9 @@ public class MatrixReaderFactory {
 				break;
 
 			case BINARY:
-				reader = (par & mcsr) ?
-					new ReaderBinaryBlockParallel(props.localFS) : new ReaderBinaryBlock(props.localFS);
+				boolean compressed = FileFormatPropertiesBinary.isCompressed(props.formatProperties);
+				reader = (par & mcsr) ? new ReaderBinaryBlockParallel(props.localFS, compressed) :
+					new ReaderBinaryBlock(props.localFS, compressed);
 				break;
 
 			case HDF5:
@@ -72,9 +72,9 @@ public class MatrixWriterFactory
 
 			case BINARY:
 				if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) )
-					writer = new WriterBinaryBlockParallel(replication);
+					writer = new WriterBinaryBlockParallel(replication, FileFormatPropertiesBinary.isCompressed(props));
 				else
-					writer = new WriterBinaryBlock(replication);
+					writer = new WriterBinaryBlock(replication, FileFormatPropertiesBinary.isCompressed(props));
 				break;
 
 			case HDF5:
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,25 +32,41 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 public class ReaderBinaryBlock extends MatrixReader
 {
+	//number of row blocks of compressed files that are decompressed and appended at once
+	private static final int COMPRESSED_APPEND_BATCH = 16;
+	
 	protected boolean _localFS = false;
+	protected boolean _compressed = false;
 	
 	public ReaderBinaryBlock( boolean localFS )
+	{
+		this(localFS, false);
+	}
+	
+	public ReaderBinaryBlock( boolean localFS, boolean compressed )
 	{
 		_localFS = localFS;
+		_compressed = compressed;
 	}
 	
 	public void setLocalFS(boolean flag) {
 		_localFS = flag;
 	}
 	
+	public void setCompressed(boolean flag) {
+		_compressed = flag;
+	}
+	
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException 
@@ -57,9 +75,6 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -67,6 +82,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//read of compressed binary block files (as marked in the meta data)
+		if( _compressed )
+			return readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, blen, estnnz);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -79,6 +101,147 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	/**
+	 * Reads only the given index range of a binary block matrix, where blocks 
+	 * that do not overlap with the range are skipped. If the input has a block
+	 * index (see {@link BinaryBlockIndex}) or is a native local binary block file, 
+	 * the overlapping blocks are directly accessed by their positions; otherwise
+	 * the keys of all blocks are scanned but only overlapping values are deserialized.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows of the entire matrix
+	 * @param clen number of columns of the entire matrix
+	 * @param blen block size
+	 * @param estnnz estimated number of non-zeros of the entire matrix
+	 * @param ixrange index range (0-based, inclusive)
+	 * @return matrix block of the index range
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readMatrixRangeFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange) 
+		throws IOException
+	{
+		//check valid index range
+		if( ixrange.rowStart < 0 || ixrange.rowEnd >= rlen || ixrange.rowStart > ixrange.rowEnd
+			|| ixrange.colStart < 0 || ixrange.colEnd >= clen || ixrange.colStart > ixrange.colEnd )
+			throw new IOException("Invalid index range "+ixrange+" for matrix of size "+rlen+"x"+clen+".");
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		
+		//allocate output matrix block (w/ nnz estimate scaled to index range)
+		long rows = ixrange.rowEnd - ixrange.rowStart + 1;
+		long cols = ixrange.colEnd - ixrange.colStart + 1;
+		long lestnnz = (estnnz < 0) ? -1 : (long)Math.ceil(
+			(double)estnnz / rlen / clen * rows * cols);
+		MatrixBlock ret = createOutputMatrixBlock(rows, cols, blen, lestnnz, true, false);
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		//compressed binary block files (row blocks, deserialize overlapping blocks only)
+		if( _compressed ) {
+			MatrixIndexes key = new MatrixIndexes();
+			CompressedWriteBlock value = new CompressedWriteBlock();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+				SequenceFile.Reader reader = openCompressedBinaryBlockReader(job, lpath);
+				try {
+					while( reader.next(key) ) {
+						//row blocks of blen rows, or a single block of all rows
+						long row_offset = (key.getRowIndex()-1)*blen;
+						long maxRows = (key.getRowIndex() == 1) ? rlen : blen;
+						if( row_offset > ixrange.rowEnd || row_offset+maxRows-1 < ixrange.rowStart )
+							continue;
+						reader.getCurrentValue(value);
+						copyRangeToResult(ret, key, value.get(), ixrange, blen);
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+			}
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+		
+		//core read of overlapping blocks
+		IndexRange bixrange = BinaryBlockIndex.getBlockIndexRange(ixrange, blen);
+		BinaryBlockIndex index = BinaryBlockIndex.read(fs, path);
+		MatrixIndexes key = new MatrixIndexes();
+		MatrixBlock value = new MatrixBlock();
+		boolean nativeLocal = LocalBinaryBlockFile.isEnabled();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) 
+		{
+			//native local binary block files (w/ footer index)
+			LocalBinaryBlockFile.Reader nreader = nativeLocal ?
+				LocalBinaryBlockFile.openReaderIfNative(fs, lpath) : null;
+			if( nreader != null ) {
+				try( LocalBinaryBlockFile.Reader reader = nreader ) {
+					while( reader.next(key, value, bixrange) )
+						copyRangeToResult(ret, key, value, ixrange, blen);
+				}
+				continue;
+			}
+			
+			//sequence files w/ or w/o block index
+			long[] entries = (index != null) ? index.getPart(lpath.getName()) : null;
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath));
+			try {
+				if( entries != null ) { //seek to overlapping blocks
+					for( int i=0; i<entries.length; i+=3 ) {
+						if( !BinaryBlockIndex.isInRange(entries[i], entries[i+1], bixrange) )
+							continue;
+						reader.seek(entries[i+2]);
+						if( !reader.next(key, value) )
+							throw new IOException("Invalid block index entry at position "+entries[i+2]+" in "+lpath+".");
+						copyRangeToResult(ret, key, value, ixrange, blen);
+					}
+				}
+				else { //scan keys, read overlapping values
+					while( reader.next(key) ) {
+						if( !BinaryBlockIndex.isInRange(key.getRowIndex(), key.getColumnIndex(), bixrange) )
+							continue;
+						reader.getCurrentValue(value);
+						copyRangeToResult(ret, key, value, ixrange, blen);
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		//post-processing
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	private static void copyRangeToResult(MatrixBlock dest, MatrixIndexes key, MatrixBlock value, IndexRange ixrange, int blen) {
+		if( value.isEmptyBlock(false) )
+			return;
+		
+		//determine overlap of block and index range (global 0-based indexes)
+		long row_offset = (key.getRowIndex()-1)*blen;
+		long col_offset = (key.getColumnIndex()-1)*blen;
+		long rl = Math.max(row_offset, ixrange.rowStart);
+		long ru = Math.min(row_offset+value.getNumRows()-1, ixrange.rowEnd);
+		long cl = Math.max(col_offset, ixrange.colStart);
+		long cu = Math.min(col_offset+value.getNumColumns()-1, ixrange.colEnd);
+		if( rl > ru || cl > cu )
+			return;
+		
+		//slice overlapping part and copy into output
+		MatrixBlock tmp = value.slice((int)(rl-row_offset), (int)(ru-row_offset),
+			(int)(cl-col_offset), (int)(cu-col_offset), new MatrixBlock());
+		dest.copy((int)(rl-ixrange.rowStart), (int)(ru-ixrange.rowStart),
+			(int)(cl-ixrange.colStart), (int)(cu-ixrange.colStart), tmp, false);
+	}
+	
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException 
@@ -99,6 +262,32 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
+		
+		//compressed blocks are decompressed and split into blen x blen blocks
+		if( _compressed ) {
+			MatrixIndexes key = new MatrixIndexes();
+			CompressedWriteBlock value = new CompressedWriteBlock();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+				SequenceFile.Reader reader = openCompressedBinaryBlockReader(job, lpath);
+				try {
+					while( reader.next(key, value) ) {
+						validateCompressedBlock(key, value.get(), rlen, clen, blen);
+						MatrixBlock mb = CompressedMatrixBlock.getUncompressed(value.get());
+						for( int i=0; i<mb.getNumRows(); i+=blen )
+							for( int j=0; j<mb.getNumColumns(); j+=blen ) {
+								MatrixBlock block = mb.slice(i, Math.min(i+blen, mb.getNumRows())-1,
+									j, Math.min(j+blen, mb.getNumColumns())-1, new MatrixBlock());
+								ret.add(new IndexedMatrixValue(new MatrixIndexes(
+									key.getRowIndex()+i/blen, j/blen+1), block));
+							}
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+			}
+			return ret;
+		}
 	
 		//core read 
 		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -106,6 +295,102 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	/**
+	 * Reads a compressed binary block file, which consists of a single block of all rows
+	 * or row blocks of blen rows, and all columns (see {@link WriterBinaryBlock}). A single 
+	 * block is returned as is (i.e., with its column groups), while multiple row blocks are
+	 * combined via compressed append-rbind in row order.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @param estnnz estimated number of non-zeros
+	 * @return compressed matrix block, or uncompressed if the first block is not compressed
+	 * @throws IOException if IOException occurs
+	 */
+	protected MatrixBlock readCompressedBinaryBlockMatrixFromHDFS(Path path, JobConf job, FileSystem fs, long rlen, long clen, int blen, long estnnz)
+		throws IOException
+	{
+		//collect all blocks in row order (independent of the order of files)
+		TreeMap<Long, MatrixBlock> blocks = new TreeMap<>();
+		long rows = 0;
+		MatrixIndexes key = new MatrixIndexes();
+		CompressedWriteBlock value = new CompressedWriteBlock();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+			SequenceFile.Reader reader = openCompressedBinaryBlockReader(job, lpath);
+			try {
+				while( reader.next(key, value) ) { //new block per value
+					validateCompressedBlock(key, value.get(), rlen, clen, blen);
+					blocks.put(key.getRowIndex(), value.get());
+					rows += value.get().getNumRows();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		if( blocks.isEmpty() )
+			return new MatrixBlock((int)rlen, (int)clen, true);
+		if( rows != rlen )
+			throw new IOException("Compressed binary block file "+path+" has "+rows+" rows but expected "+rlen+".");
+		
+		//combine row blocks via append-rbind, which encodes batches of decompressed 
+		//row blocks into the column groups of the compressed preceding blocks
+		MatrixBlock ret = null;
+		List<MatrixBlock> batch = new ArrayList<>();
+		for( MatrixBlock block : blocks.values() ) {
+			if( ret == null ) {
+				ret = block;
+				continue;
+			}
+			batch.add(CompressedMatrixBlock.getUncompressed(block));
+			if( batch.size() >= COMPRESSED_APPEND_BATCH ) {
+				ret = appendRows(ret, batch);
+				batch.clear();
+			}
+		}
+		if( !batch.isEmpty() )
+			ret = appendRows(ret, batch);
+		return ret;
+	}
+	
+	private static MatrixBlock appendRows(MatrixBlock top, List<MatrixBlock> batch) {
+		MatrixBlock bottom = (batch.size() == 1) ? batch.get(0) : batch.get(0).append(
+			batch.subList(1, batch.size()).toArray(new MatrixBlock[0]), new MatrixBlock(), false);
+		return top.append(bottom, new MatrixBlock(), false);
+	}
+	
+	private static void validateCompressedBlock(MatrixIndexes key, MatrixBlock block, long rlen, long clen, int blen)
+		throws IOException
+	{
+		//row blocks of blen rows, or a single block of all rows (compressed matrix as is)
+		long row_offset = (key.getRowIndex()-1)*blen;
+		boolean valid = key.getColumnIndex() == 1 && block.getNumColumns() == clen
+			&& (block.getNumRows() == Math.min(blen, rlen-row_offset)
+			|| (key.getRowIndex() == 1 && block.getNumRows() == rlen));
+		if( !valid ) {
+			throw new IOException("Compressed matrix block "+key+" ["+block.getNumRows()+"x"+block.getNumColumns()+"] " +
+				"does not match the overall matrix range [1:"+rlen+",1:"+clen+"] with blocksize "+blen+".");
+		}
+	}
+	
+	private static SequenceFile.Reader openCompressedBinaryBlockReader(JobConf job, Path path)
+		throws IOException
+	{
+		SequenceFile.Reader reader = new SequenceFile
+			.Reader(job, SequenceFile.Reader.file(path));
+		if( !CompressedWriteBlock.class.getName().equals(reader.getValueClassName()) ) {
+			IOUtilFunctions.closeSilently(reader);
+			throw new IOException("Binary block file "+path+" is marked as compressed but has value class "
+				+reader.getValueClassName()+".");
+		}
+		return reader;
+	}
+	
 	protected static MatrixBlock getReuseBlock(int blen, boolean sparse) {
 		//note: we allocate the reuse block in CSR because this avoids unnecessary
 		//reallocations in the presence of a mix of sparse and ultra-sparse blocks,
@@ -151,8 +436,20 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
 		
+		boolean nativeLocal = LocalBinaryBlockFile.isEnabled();
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
+			//directly read from native local binary block files (if applicable)
+			LocalBinaryBlockFile.Reader nreader = nativeLocal ?
+				LocalBinaryBlockFile.openReaderIfNative(fs, lpath) : null;
+			if( nreader != null ) {
+				try( LocalBinaryBlockFile.Reader reader = nreader ) {
+					while( reader.next(key, value) )
+						lnnz += copyBlockToResult(dest, key, value, sparse, rlen, clen, blen);
+				}
+				continue;
+			}
+			
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(job, SequenceFile.Reader.file(lpath));
@@ -161,40 +458,7 @@ public class ReaderBinaryBlock extends MatrixReader
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
 				while( reader.next(key, value) )
-				{	
-					//empty block filter (skip entire block)
-					if( value.isEmptyBlock(false) )
-						continue;
-					
-					int row_offset = (int)(key.getRowIndex()-1)*blen;
-					int col_offset = (int)(key.getColumnIndex()-1)*blen;
-					
-					int rows = value.getNumRows();
-					int cols = value.getNumColumns();
-					
-					//bound check per block
-					if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
-					{
-						throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-								              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
-					}
-			
-					//copy block to result
-					if( sparse )
-					{
-						//note: append requires final sort (but prevents repeated shifting)
-						dest.appendToSparse(value, row_offset, col_offset);
-					} 
-					else
-					{
-						dest.copy( row_offset, row_offset+rows-1, 
-								   col_offset, col_offset+cols-1,
-								   value, false );
-					}
-					
-					//maintain nnz as aggregate of block nnz
-					lnnz += value.getNonZeros();
-				}
+					lnnz += copyBlockToResult(dest, key, value, sparse, rlen, clen, blen);
 			}
 			finally
 			{
@@ -210,6 +474,43 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
+	private static long copyBlockToResult( MatrixBlock dest, MatrixIndexes key, MatrixBlock value, boolean sparse, long rlen, long clen, int blen )
+		throws IOException
+	{
+		//empty block filter (skip entire block)
+		if( value.isEmptyBlock(false) )
+			return 0;
+		
+		int row_offset = (int)(key.getRowIndex()-1)*blen;
+		int col_offset = (int)(key.getColumnIndex()-1)*blen;
+		
+		int rows = value.getNumRows();
+		int cols = value.getNumColumns();
+		
+		//bound check per block
+		if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
+		{
+			throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		//copy block to result
+		if( sparse )
+		{
+			//note: append requires final sort (but prevents repeated shifting)
+			dest.appendToSparse(value, row_offset, col_offset);
+		} 
+		else
+		{
+			dest.copy( row_offset, row_offset+rows-1, 
+					   col_offset, col_offset+cols-1,
+					   value, false );
+		}
+		
+		//maintain nnz as aggregate of block nnz
+		return value.getNonZeros();
+	}
+	
 	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int blen )
 		throws IOException
 	{
@@ -220,8 +521,20 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
 		
+		boolean nativeLocal = LocalBinaryBlockFile.isEnabled();
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
+			//directly read from native local binary block files (if applicable)
+			LocalBinaryBlockFile.Reader nreader = nativeLocal ?
+				LocalBinaryBlockFile.openReaderIfNative(fs, lpath) : null;
+			if( nreader != null ) {
+				try( LocalBinaryBlockFile.Reader reader = nreader ) {
+					while( reader.next(key, value) )
+						dest.add(new IndexedMatrixValue(new MatrixIndexes(key), new MatrixBlock(value)));
+				}
+				continue;
+			}
+			
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(job, SequenceFile.Reader.file(lpath));
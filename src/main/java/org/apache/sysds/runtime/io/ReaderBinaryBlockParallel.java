@@ -47,7 +47,12 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	
 	public ReaderBinaryBlockParallel( boolean localFS )
 	{
-		super(localFS);
+		this(localFS, false);
+	}
+	
+	public ReaderBinaryBlockParallel( boolean localFS, boolean compressed )
+	{
+		super(localFS, compressed);
 		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 	}
 	
@@ -59,9 +64,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -70,6 +72,13 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//read of compressed binary block files (as marked in the meta data)
+		if( _compressed )
+			return readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, blen, estnnz);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -95,10 +104,12 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		try 
 		{
 			//create read tasks for all files
+			//note: config resolved once, as pool threads might not inherit local configs
+			boolean nativeLocal = LocalBinaryBlockFile.isEnabled();
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
 			ArrayList<ReadFileTask> tasks = new ArrayList<>();
 			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ){
-				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock);
+				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock, nativeLocal);
 				tasks.add(t);
 			}
 
@@ -130,8 +141,9 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		private final long _rlen, _clen;
 		private final int _blen;
 		private final boolean _syncBlocks;
+		private final boolean _nativeLocal;
 		
-		public ReadFileTask(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks) {
+		public ReadFileTask(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks, boolean nativeLocal) {
 			_path = path;
 			_job = job;
 			_dest = dest;
@@ -139,6 +151,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			_clen = clen;
 			_blen = blen;
 			_syncBlocks = syncBlocks;
+			_nativeLocal = nativeLocal;
 		}
 
 		@Override
@@ -149,6 +162,18 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			MatrixBlock value = getReuseBlock(_blen, sparse);
 			long lnnz = 0; //aggregate block nnz
 			
+			//directly read from native local binary block files (if applicable)
+			FileSystem fs = IOUtilFunctions.getFileSystem(_path, _job);
+			LocalBinaryBlockFile.Reader nreader = _nativeLocal ?
+				LocalBinaryBlockFile.openReaderIfNative(fs, _path) : null;
+			if( nreader != null ) {
+				try( LocalBinaryBlockFile.Reader reader = nreader ) {
+					while( reader.next(key, value) )
+						lnnz += copyBlockToResult(key, value, sparse);
+				}
+				return lnnz;
+			}
+			
 			//directly read from sequence files (individual partfiles)
 			SequenceFile.Reader reader = new SequenceFile
 				.Reader(_job, SequenceFile.Reader.file(_path));
@@ -157,70 +182,74 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
 				while( reader.next(key, value) )
-				{	
-					//empty block filter (skip entire block)
-					if( value.isEmptyBlock(false) )
-						continue;
-					
-					int row_offset = (int)(key.getRowIndex()-1)*_blen;
-					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
-					int rows = value.getNumRows();
-					int cols = value.getNumColumns();
-					
-					//bound check per block
-					if( row_offset + rows < 0 || row_offset + rows > _rlen 
-						|| col_offset + cols<0 || col_offset + cols > _clen ) {
-						throw new IOException("Matrix block ["+(row_offset+1)+":"
-							+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
-							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
-					}
+					lnnz += copyBlockToResult(key, value, sparse);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
 			
-					//copy block to result
-					if( sparse )
-					{
-						//note: append requires final sort
-						if (cols < _clen ) {
-							//sparse requires lock, when matrix is wider than one block
-							//(fine-grained locking of block rows instead of the entire matrix)
-							//NOTE: fine-grained locking depends on MCSR SparseRow objects 
-							SparseBlock sblock = _dest.getSparseBlock();
-							if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
-								if( _syncBlocks ) {
-									synchronized( sblock.get(row_offset) ){ 
-										_dest.appendToSparse(value, row_offset, col_offset);
-									}
-								}
-								else {
-									for( int i=0; i<rows; i++ ) 
-										synchronized( sblock.get(row_offset+i) ) {
-											_dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
-										}
-								}
+			return lnnz;
+		}
+		
+		private long copyBlockToResult(MatrixIndexes key, MatrixBlock value, boolean sparse) 
+			throws IOException
+		{
+			//empty block filter (skip entire block)
+			if( value.isEmptyBlock(false) )
+				return 0;
+			
+			int row_offset = (int)(key.getRowIndex()-1)*_blen;
+			int col_offset = (int)(key.getColumnIndex()-1)*_blen;
+			int rows = value.getNumRows();
+			int cols = value.getNumColumns();
+			
+			//bound check per block
+			if( row_offset + rows < 0 || row_offset + rows > _rlen 
+				|| col_offset + cols<0 || col_offset + cols > _clen ) {
+				throw new IOException("Matrix block ["+(row_offset+1)+":"
+					+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+			}
+	
+			//copy block to result
+			if( sparse )
+			{
+				//note: append requires final sort
+				if (cols < _clen ) {
+					//sparse requires lock, when matrix is wider than one block
+					//(fine-grained locking of block rows instead of the entire matrix)
+					//NOTE: fine-grained locking depends on MCSR SparseRow objects 
+					SparseBlock sblock = _dest.getSparseBlock();
+					if( sblock instanceof SparseBlockMCSR && sblock.get(row_offset) != null ) {
+						if( _syncBlocks ) {
+							synchronized( sblock.get(row_offset) ){ 
+								_dest.appendToSparse(value, row_offset, col_offset);
 							}
-							else {
-								synchronized( _dest ){ 
-									_dest.appendToSparse(value, row_offset, col_offset);
+						}
+						else {
+							for( int i=0; i<rows; i++ ) 
+								synchronized( sblock.get(row_offset+i) ) {
+									_dest.appendRowToSparse(sblock, value, i, row_offset, col_offset, true);
 								}
-							}
 						}
-						else { //quickpath (no synchronization)
+					}
+					else {
+						synchronized( _dest ){ 
 							_dest.appendToSparse(value, row_offset, col_offset);
 						}
-					} 
-					else {
-						_dest.copy( row_offset, row_offset+rows-1, 
-							col_offset, col_offset+cols-1, value, false );
 					}
-					
-					//aggregate nnz
-					lnnz += value.getNonZeros();
 				}
-			}
-			finally {
-				IOUtilFunctions.closeSilently(reader);
+				else { //quickpath (no synchronization)
+					_dest.appendToSparse(value, row_offset, col_offset);
+				}
+			} 
+			else {
+				_dest.copy( row_offset, row_offset+rows-1, 
+					col_offset, col_offset+cols-1, value, false );
 			}
 			
-			return lnnz;
+			//aggregate nnz
+			return value.getNonZeros();
 		}
 	}
 }
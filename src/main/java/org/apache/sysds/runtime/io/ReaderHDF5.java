@@ -19,22 +19,25 @@
 
 package org.apache.sysds.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
-import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -114,9 +117,13 @@ public class ReaderHDF5 extends MatrixReader {
 		//actual read of individual files
 		long lnnz = 0;
 		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
-			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
+			H5RootObject rootObject = openHDF5(fs, files.get(fileNo));
+			try {
+				lnnz += readMatrixFromHDF5(rootObject, datasetName, dest, 0, rlen);
+			}
+			finally {
+				closeHDF5(rootObject);
+			}
 		}
 		//post processing
 		dest.setNonZeros(lnnz);
@@ -127,27 +134,57 @@ public class ReaderHDF5 extends MatrixReader {
 	public static long readMatrixFromHDF5(BufferedInputStream bis, String datasetName, MatrixBlock dest,
 		int row, long rlen, long clen, int blen) {
 		bis.mark(0);
-		long lnnz = 0;
 		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
-		DenseBlock denseBlock = dest.getDenseBlock();
-		double[] data = new double[ncol];
-		for(int i = row; i < rlen; i++) {
-			H5.H5Dread(contiguousDataset, i, data);
-			for(int j = 0; j < ncol; j++) {
-				if(data[j] != 0) {
-					denseBlock.set(i, j, data[j]);
-					lnnz++;
-				}
-			}
-			row++;
+		try {
+			return readMatrixFromHDF5(rootObject, datasetName, dest, row, rlen);
 		}
-		IOUtilFunctions.closeSilently(bis);
-		return lnnz;
+		finally {
+			IOUtilFunctions.closeSilently(bis);
+		}
+	}
+
+	/**
+	 * Reads the rows [rl, ru) of the given dataset directly into the dense block of the
+	 * given output matrix, independent of the dataset's layout (contiguous or chunked) and
+	 * data type (floating point or integer).
+	 *
+	 * @param rootObject  opened HDF5 file
+	 * @param datasetName name of the dataset
+	 * @param dest        output matrix block with allocated dense block
+	 * @param rl          row lower bound (inclusive)
+	 * @param ru          row upper bound (exclusive)
+	 * @return number of non-zeros read
+	 */
+	public static long readMatrixFromHDF5(H5RootObject rootObject, String datasetName, MatrixBlock dest,
+		int rl, long ru) {
+		H5Dataset dataset = H5.H5Dopen(rootObject, datasetName);
+		return dataset.readRows(dest.getDenseBlock(), rl, (int) Math.min(ru, dataset.getNumRows()));
+	}
+
+	/**
+	 * Opens the given HDF5 file. Local files are accessed via a file channel, which allows
+	 * concurrent memory-mapped reads of independent row ranges or chunks, while all other
+	 * files are read through a buffered input stream of the file size.
+	 *
+	 * @param fs   file system
+	 * @param path file path
+	 * @return root object of the opened file
+	 * @throws IOException if the file cannot be opened
+	 */
+	protected static H5RootObject openHDF5(FileSystem fs, Path path) throws IOException {
+		if(fs instanceof LocalFileSystem) {
+			File file = ((LocalFileSystem) fs).pathToFile(path);
+			return H5.H5Fopen(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+		}
+		long len = fs.getFileStatus(path).getLen();
+		BufferedInputStream bis = new BufferedInputStream(fs.open(path),
+			(int) Math.max(Math.min(len, Integer.MAX_VALUE - 8), 1));
+		return H5.H5Fopen(bis);
+	}
+
+	protected static void closeHDF5(H5RootObject rootObject) {
+		IOUtilFunctions.closeSilently(rootObject.getFileChannel());
+		IOUtilFunctions.closeSilently(rootObject.getBufferedInputStream());
 	}
 
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
@@ -156,15 +193,17 @@ public class ReaderHDF5 extends MatrixReader {
 		int ncol = 0;
 		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
 
-			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)));
-			H5RootObject rootObject = H5.H5Fopen(bis);
-			H5.H5Dopen(rootObject, datasetName);
+			H5RootObject rootObject = openHDF5(fs, files.get(fileNo));
+			try {
+				H5.H5Dopen(rootObject, datasetName);
 
-			int[] dims = rootObject.getDimensions();
-			nrow += dims[0];
-			ncol += dims[1];
-
-			IOUtilFunctions.closeSilently(bis);
+				int[] dims = rootObject.getDimensions();
+				nrow += dims[0];
+				ncol += dims[1];
+			}
+			finally {
+				closeHDF5(rootObject);
+			}
 		}
 		// allocate target matrix block based on given size;
 		return createOutputMatrixBlock(nrow, ncol, nrow, (long) nrow * ncol, true, false);
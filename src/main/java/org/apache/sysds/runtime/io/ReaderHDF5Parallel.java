@@ -21,20 +21,18 @@ package org.apache.sysds.runtime.io;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -59,46 +57,44 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		Path path = new Path(fname);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
 
-		FileInputFormat.addInputPath(_job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(_job);
-
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		ArrayList<Path> files = new ArrayList<>();
-		files.add(path);
-		MatrixBlock src = computeHDF5Size(files, fs, _props.getDatasetName());
-
-		//create and execute tasks
+		// open file once, shared by all tasks (memory-mapped for local files)
+		H5RootObject rootObject = openHDF5(fs, path);
 		try {
+			// allocate output matrix block
+			H5Dataset dataset = H5.H5Dopen(rootObject, _props.getDatasetName());
+			int nrow = dataset.getNumRows();
+			int ncol = dataset.getNumColumns();
+			MatrixBlock src = createOutputMatrixBlock(nrow, ncol, nrow, (long) nrow * ncol, true, false);
+
+			// create and execute tasks over row ranges aligned to chunks
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
+			int align = dataset.getRowAlignment();
+			long blklen = (long) Math.ceil((double) nrow / _numThreads);
+			blklen = Math.max((blklen + align - 1) / align * align, 1);
 			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
-			rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / _numThreads);
-			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
-				int rl = i * blklen;
-				int ru = (int) Math.min((i + 1) * blklen, rlen);
-				BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
-
-				//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
-				tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru));
-			}
+			for(long rl = 0; rl < nrow; rl += blklen)
+				tasks.add(new ReadHDF5Task(dataset, src, (int) rl, (int) Math.min(rl + blklen, nrow)));
 
 			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);
+			long lnnz = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				lnnz += task.get();
 			pool.shutdown();
 
-			//check for exceptions
-			for(Future<Object> task : rt)
-				task.get();
+			//post processing
+			src.setNonZeros(lnnz);
+			src.examSparsity();
+			return src;
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel read of HDF5 input.", e);
 		}
-		return src;
+		finally {
+			closeHDF5(rootObject);
+		}
 	}
 
 	@Override
@@ -108,26 +104,23 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
 	}
 
-	private static class ReadHDF5Task implements Callable<Object> {
+	private static class ReadHDF5Task implements Callable<Long> {
 
-		private final BufferedInputStream _bis;
-		private final String _datasetName;
+		private final H5Dataset _dataset;
 		private final MatrixBlock _src;
 		private final int _rl;
 		private final int _ru;
 
-		public ReadHDF5Task(BufferedInputStream bis, String datasetName, MatrixBlock src, int rl, int ru) {
-			_bis = bis;
-			_datasetName = datasetName;
+		public ReadHDF5Task(H5Dataset dataset, MatrixBlock src, int rl, int ru) {
+			_dataset = dataset;
 			_src = src;
 			_rl = rl;
 			_ru = ru;
 		}
 
 		@Override
-		public Object call() throws IOException {
-			readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, 0, 0);
-			return null;
+		public Long call() {
+			return _dataset.readRows(_src.getDenseBlock(), _rl, _ru);
 		}
 	}
 }
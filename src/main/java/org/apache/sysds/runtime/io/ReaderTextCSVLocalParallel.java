@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.data.SparseRowVector;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.FastByteParser;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Single-pass, byte-level parallel reader for CSV matrices on the local file 
+ * system. In contrast to ReaderTextCSVParallel (which counts rows per split in
+ * a first pass and parses strings via hadoop record readers in a second pass),
+ * this reader splits the file into byte ranges, scans each range with large
+ * direct channel reads, parses doubles directly from the byte buffers, and
+ * appends the rows into split-local row buffers. Once all splits are parsed,
+ * the row offsets are known and the buffers are stitched into the output in
+ * parallel (by copying dense row chunks and moving sparse rows).
+ * 
+ * Lines are assigned to the split that contains their first byte, which
+ * preserves the row order of the input file.
+ */
+public class ReaderTextCSVLocalParallel extends MatrixReader
+{
+	private static final int BUFFER_SIZE = 8 * 1024 * 1024;
+	private static final long MIN_SPLIT_SIZE = 4L * 1024 * 1024;
+	private static final int DENSE_CHUNK_SIZE = 1024 * 1024; //values
+	
+	private final FileFormatPropertiesCSV _props;
+	private final int _numThreads;
+	
+	public ReaderTextCSVLocalParallel(FileFormatPropertiesCSV props) {
+		_props = props;
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+	
+	/**
+	 * Indicates if the given input can be read with this reader, which
+	 * requires a single file on the local file system and a single-byte delimiter.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @param props csv file format properties
+	 * @return true if applicable
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isApplicable(FileSystem fs, Path path, FileFormatPropertiesCSV props) 
+		throws IOException
+	{
+		return fs instanceof LocalFileSystem && fs.isFile(path)
+			&& props.getDelim().length() == 1 && props.getDelim().charAt(0) < 128;
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		File file = ((LocalFileSystem)fs).pathToFile(path);
+		
+		//determine number of columns from first line (incl header)
+		int ncol = countColumns(file);
+		int cLen = ncol;
+		if( clen > ncol ) {
+			LOG.warn("Read matrix dimensions differ from meta data: [?x"+ncol+"] vs. ["+rlen+"x"+clen+"].");
+			cLen = (int) clen;
+		}
+		else if( clen >= 0 && clen < ncol ) {
+			throw new DMLRuntimeException("Read matrix dimensions differ from meta data: "
+				+ "[?x"+ncol+"] vs. ["+rlen+"x"+clen+"].");
+		}
+		
+		//decide on output representation (sparse only if known to be sparse)
+		boolean sparse = rlen > 0 && estnnz >= 0 
+			&& MatrixBlock.evalSparseFormatInMemory(rlen, cLen, estnnz);
+		
+		//single pass: parse all splits into split-local row buffers
+		long size = file.length();
+		int k = (int)Math.max(Math.min(_numThreads, size / MIN_SPLIT_SIZE), 1);
+		List<SplitBuffer> splits = new ArrayList<>();
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<ParseTask> tasks = new ArrayList<>();
+			for( int i=0; i<k; i++ )
+				tasks.add(new ParseTask(file, size*i/k, size*(i+1)/k, ncol, sparse));
+			for( Future<SplitBuffer> f : pool.invokeAll(tasks) )
+				splits.add(f.get());
+			
+			//compute row offsets and check dimensions
+			int rLen = 0;
+			long nnz = 0;
+			for( SplitBuffer sb : splits ) {
+				sb.offset = rLen;
+				rLen += sb.nrow;
+				nnz += sb.nnz;
+			}
+			if( rlen >= 0 && rLen != rlen ) {
+				String msg = "Read matrix dimensions differ from meta data: [" + rLen + "x" + ncol + "] vs. [" 
+					+ rlen + "x" + clen + "].";
+				if( rlen < rLen )
+					throw new DMLRuntimeException(msg);
+				LOG.warn(msg);
+				rLen = (int) rlen;
+			}
+			
+			//stitch split buffers into output
+			MatrixBlock ret = new MatrixBlock(rLen, cLen, sparse);
+			if( sparse )
+				ret.allocateAndResetSparseBlock(true, SparseBlock.Type.MCSR);
+			else
+				ret.allocateDenseBlock();
+			ArrayList<Callable<Object>> tasks2 = new ArrayList<>();
+			for( SplitBuffer sb : splits )
+				tasks2.add(() -> { sb.copyTo(ret); return null; });
+			for( Future<Object> f : pool.invokeAll(tasks2) )
+				f.get();
+			pool.shutdown();
+			
+			ret.setNonZeros(nnz);
+			ret.examSparsity();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel single-pass read of csv input "+fname+".", ex);
+		}
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		return new ReaderTextCSV(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
+	}
+	
+	private int countColumns(File file) throws IOException {
+		//read first line (incl header) and count delimiters of the trimmed line
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		try( InputStream in = new BufferedInputStream(new FileInputStream(file)) ) {
+			for( int c = in.read(); c >= 0 && c != '\n'; c = in.read() )
+				line.write(c);
+		}
+		byte[] b = line.toByteArray();
+		int start = 0, end = b.length;
+		while( start < end && FastByteParser.isWhitespace(b[start]) ) start++;
+		while( end > start && FastByteParser.isWhitespace(b[end-1]) ) end--;
+		if( start == end )
+			return 0;
+		byte delim = (byte) _props.getDelim().charAt(0);
+		int ncol = 1;
+		for( int i=start; i<end; i++ )
+			ncol += (b[i] == delim) ? 1 : 0;
+		return ncol;
+	}
+	
+	/**
+	 * Split-local buffer of parsed rows, either as chunks of dense rows or
+	 * as a list of sparse rows, which are stitched into the output once the
+	 * row offsets of all splits are known.
+	 */
+	private static class SplitBuffer {
+		private final int _ncol;
+		private final List<double[]> _dense;
+		private final List<SparseRow> _sparse;
+		private final int _rowsPerChunk;
+		private double[] _chunk = null;
+		private int nrow = 0;
+		private int offset = 0;
+		private long nnz = 0;
+		
+		public SplitBuffer(int ncol, boolean sparse) {
+			_ncol = ncol;
+			_rowsPerChunk = Math.max(DENSE_CHUNK_SIZE / Math.max(ncol, 1), 1);
+			_dense = sparse ? null : new ArrayList<>();
+			_sparse = sparse ? new ArrayList<>() : null;
+		}
+		
+		public double[] nextDenseRow() {
+			int pos = nrow % _rowsPerChunk;
+			if( pos == 0 ) {
+				_chunk = new double[_rowsPerChunk * _ncol];
+				_dense.add(_chunk);
+			}
+			nrow++;
+			return _chunk;
+		}
+		
+		public int nextDenseRowPos() {
+			return ((nrow-1) % _rowsPerChunk) * _ncol;
+		}
+		
+		public void appendSparseRow(SparseRow row) {
+			_sparse.add(row);
+			nrow++;
+		}
+		
+		public void copyTo(MatrixBlock ret) {
+			if( _sparse != null ) {
+				//move sparse rows w/o copy (disjoint rows of MCSR block)
+				SparseBlock sblock = ret.getSparseBlock();
+				for( int i=0; i<_sparse.size() && offset+i < ret.getNumRows(); i++ )
+					if( _sparse.get(i) != null )
+						sblock.set(offset+i, _sparse.get(i), false);
+				_sparse.clear();
+			}
+			else {
+				//copy dense row chunks (w/ release of copied chunks)
+				DenseBlock dblock = ret.getDenseBlock();
+				for( int c=0; c<_dense.size(); c++ ) {
+					double[] chunk = _dense.get(c);
+					int rl = offset + c*_rowsPerChunk;
+					int ru = Math.min(Math.min(rl + _rowsPerChunk, offset + nrow), ret.getNumRows());
+					for( int r=rl; r<ru; r++ )
+						System.arraycopy(chunk, (r-rl)*_ncol, dblock.values(r), dblock.pos(r), _ncol);
+					_dense.set(c, null);
+				}
+			}
+		}
+	}
+	
+	private class ParseTask implements Callable<SplitBuffer> {
+		private final File _file;
+		private final long _flen;
+		private final long _start, _end;
+		private final int _ncol;
+		private final boolean _sparse;
+		private final byte _delim;
+		private final HashSet<String> _naStrings;
+		private final boolean _stringParse;
+		
+		public ParseTask(File file, long start, long end, int ncol, boolean sparse) {
+			_file = file;
+			_flen = file.length();
+			_start = start;
+			_end = end;
+			_ncol = ncol;
+			_sparse = sparse;
+			_delim = (byte) _props.getDelim().charAt(0);
+			_naStrings = _props.getNAStrings();
+			//string-based parsing only if na strings could be mistaken as numbers
+			_stringParse = _naStrings != null && _naStrings.stream().anyMatch(s -> isNumber(s));
+		}
+		
+		@Override
+		public SplitBuffer call() throws IOException {
+			SplitBuffer ret = new SplitBuffer(_ncol, _sparse);
+			byte[] buff = new byte[BUFFER_SIZE];
+			
+			try( FileChannel channel = FileChannel.open(_file.toPath(), StandardOpenOption.READ) ) {
+				//lines belong to the split that contains their first byte, hence
+				//start scanning at the previous byte and skip the partial line
+				long fpos = (_start == 0) ? 0 : _start - 1;
+				int len = read(channel, buff, 0, fpos);
+				fpos += len;
+				int pos = 0;
+				long lineStart = (_start == 0) ? 0 : _start - 1;
+				boolean skip = (_start > 0) || _props.hasHeader();
+				
+				while( len > 0 ) {
+					//find end of current line
+					int lend = pos;
+					while( lend < len && buff[lend] != '\n' )
+						lend++;
+					boolean eof = (fpos >= _flen);
+					if( lend == len && !eof ) {
+						//incomplete line: compact and read more (grow for long lines)
+						if( pos == 0 ) {
+							byte[] tmp = new byte[buff.length * 2];
+							System.arraycopy(buff, 0, tmp, 0, len);
+							buff = tmp;
+						}
+						else {
+							System.arraycopy(buff, pos, buff, 0, len - pos);
+							len -= pos;
+							pos = 0;
+						}
+						int n = read(channel, buff, len, fpos);
+						fpos += n;
+						len += n;
+						continue;
+					}
+					
+					//process line (w/o partial or header lines)
+					if( !skip )
+						parseLine(buff, pos, lend, ret);
+					skip = false;
+					
+					//advance to next line, end of split if next line starts after split
+					lineStart += lend - pos + 1;
+					pos = lend + 1;
+					if( lineStart >= _end || (pos >= len && eof) )
+						break;
+				}
+			}
+			return ret;
+		}
+		
+		private void parseLine(byte[] b, int start, int end, SplitBuffer ret) throws IOException {
+			//trim line (incl carriage return)
+			while( start < end && FastByteParser.isWhitespace(b[start]) ) start++;
+			while( end > start && FastByteParser.isWhitespace(b[end-1]) ) end--;
+			
+			double[] a = null;
+			int apos = 0;
+			SparseRowVector srow = null;
+			if( _sparse )
+				srow = new SparseRowVector(4, _ncol);
+			else {
+				a = ret.nextDenseRow();
+				apos = ret.nextDenseRowPos();
+			}
+			
+			int col = 0;
+			int tstart = start;
+			while( tstart <= end ) {
+				//find end of token and trim token
+				int tend = tstart;
+				while( tend < end && b[tend] != _delim )
+					tend++;
+				int next = tend + 1;
+				while( tstart < tend && FastByteParser.isWhitespace(b[tstart]) ) tstart++;
+				while( tend > tstart && FastByteParser.isWhitespace(b[tend-1]) ) tend--;
+				if( col >= _ncol )
+					throwNumColumnsError(b, start, end);
+				
+				//parse cell value
+				double v;
+				if( tstart == tend ) {
+					if( !_props.isFill() )
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(
+							FastByteParser.toString(b, start, end), false, true);
+					v = _props.getFillValue();
+				}
+				else if( _stringParse )
+					v = UtilFunctions.parseToDouble(FastByteParser.toString(b, tstart, tend), _naStrings);
+				else {
+					try {
+						v = FastByteParser.parseDouble(b, tstart, tend);
+					}
+					catch(NumberFormatException ex) {
+						if( _naStrings == null )
+							throw ex;
+						v = UtilFunctions.parseToDouble(FastByteParser.toString(b, tstart, tend), _naStrings);
+					}
+				}
+				
+				//append non-zero value
+				if( v != 0 ) {
+					if( _sparse )
+						srow.append(col, v);
+					else
+						a[apos+col] = v;
+					ret.nnz++;
+				}
+				col++;
+				tstart = next;
+			}
+			
+			if( col != _ncol )
+				throwNumColumnsError(b, start, end);
+			if( _sparse )
+				ret.appendSparseRow(srow.isEmpty() ? null : srow);
+		}
+		
+		private void throwNumColumnsError(byte[] b, int start, int end) throws IOException {
+			String line = FastByteParser.toString(b, start, end);
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_file.toString(),
+				line, IOUtilFunctions.split(line, _props.getDelim()), _ncol);
+			throw new IOException("Invalid number of columns found in delimited file ("+_file+") for line: "+line);
+		}
+		
+		private int read(FileChannel channel, byte[] buff, int off, long fpos) throws IOException {
+			ByteBuffer bb = ByteBuffer.wrap(buff, off, buff.length - off);
+			int ret = 0, n = 0;
+			while( bb.hasRemaining() && (n = channel.read(bb, fpos + ret)) > 0 )
+				ret += n;
+			return ret;
+		}
+	}
+	
+	private static boolean isNumber(String s) {
+		try {
+			Double.parseDouble(s);
+			return true;
+		}
+		catch(NumberFormatException ex) {
+			return false;
+		}
+	}
+}
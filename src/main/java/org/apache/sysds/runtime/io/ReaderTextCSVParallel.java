@@ -56,6 +56,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader {
+	//single-pass byte-level read of local files (see ReaderTextCSVLocalParallel)
+	public static boolean LOCAL_SINGLE_PASS_READ = true;
+	
 	final private int _numThreads;
 
 	protected final FileFormatPropertiesCSV _props;
@@ -81,6 +84,10 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		Path path = new Path(fname);
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
 
+		// fast path for single files on local file system
+		if(LOCAL_SINGLE_PASS_READ && ReaderTextCSVLocalParallel.isApplicable(fs, path, _props))
+			return new ReaderTextCSVLocalParallel(_props).readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+
 		FileInputFormat.addInputPath(_job, path);
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(_job);
@@ -22,8 +22,10 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -38,11 +40,17 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.FastByteParser;
+import org.apache.sysds.runtime.util.SortUtils;
 
 public class ReaderTextLIBSVMParallel extends MatrixReader {
+	//byte-level parsing into a preallocated CSR block with exact row pointers
+	public static boolean DIRECT_CSR_READ = true;
+
 	private static FileFormatPropertiesLIBSVM _props;
 	private int _numThreads = 1;
 	private SplitOffsetInfos _offsets = null;
@@ -72,14 +80,24 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeLIBSVMSizeAndCreateOutputMatrixBlock(splits, path, job, rlen, clen, estnnz);
+		// First Read Pass (count rows and, for direct CSR reads, nnz per row; determine offsets)
+		boolean direct = DIRECT_CSR_READ && clen > 0 && isDirectCSRApplicable(_props);
+		int[] dims = computeLIBSVMSize(splits, path, job, rlen, clen, direct);
+		int nrow = dims[0], ncol = dims[1];
+
+		// Second Read Pass (read, parse bytes, write into preallocated CSR arrays)
+		MatrixBlock ret = direct ? readLIBSVMMatrixCSRFromHDFS(splits, path, job, nrow, ncol) : null;
+
+		// Second Read Pass (read, parse strings, append to matrix block), if not applicable
+		if( ret == null ) {
+			// allocate target matrix block based on given size;
+			// need to allocate sparse as well since lock-free insert into target
+			long estnnz2 = (estnnz < 0) ? (long)nrow * ncol : estnnz;
+			ret = createOutputMatrixBlock(nrow, ncol, nrow, estnnz2, true, true);
+			readLIBSVMMatrixFromHDFS(splits, path, job, ret, nrow, ncol, blen);
+		}
 		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readLIBSVMMatrixFromHDFS(splits, path, job, ret, rlen, clen, blen);
+		_offsets = null;
 
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - nnz explicitly maintained in parallel for the individual splits
@@ -138,8 +156,8 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 		}
 	}
 
-	private MatrixBlock computeLIBSVMSizeAndCreateOutputMatrixBlock(InputSplit[] splits, Path path,
-			JobConf job, long rlen, long clen, long estnnz)
+	private int[] computeLIBSVMSize(InputSplit[] splits, Path path,
+			JobConf job, long rlen, long clen, boolean countNnz)
 		throws IOException, DMLRuntimeException
 	{
 		int nrow = 0;
@@ -155,7 +173,9 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
 			ArrayList<CountRowsTask> tasks = new ArrayList<>();
 			for (InputSplit split : splits) {
-				tasks.add(new CountRowsTask(split, informat, job));
+				tasks.add(countNnz ? new CountRowsTask(split, informat, job,
+					(int)clen, _props.getDelim().charAt(0), _props.getIndexDelim().charAt(0)) :
+					new CountRowsTask(split, informat, job));
 			}
 			pool.invokeAll(tasks);
 			pool.shutdown();
@@ -163,11 +183,13 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			// collect row counts for offset computation
 			// early error notify in case not all tasks successful
 			_offsets = new SplitOffsetInfos(tasks.size());
-			for (CountRowsTask rt : tasks) {
+			for (int i = 0; i < tasks.size(); i++) {
+				CountRowsTask rt = tasks.get(i);
 				if (!rt.getReturnCode())
 					throw new IOException("Count task for libsvm input failed: "+ rt.getErrMsg());
-				_offsets.setOffsetPerSplit(tasks.indexOf(rt), nrow);
-				_offsets.setLenghtPerSplit(tasks.indexOf(rt), rt.getRowCount());
+				_offsets.setOffsetPerSplit(i, nrow);
+				_offsets.setLenghtPerSplit(i, rt.getRowCount());
+				_offsets.setRowNnzPerSplit(i, rt.getRowNnz());
 				nrow = nrow + rt.getRowCount();
 			}
 		}
@@ -190,20 +212,189 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			}
 		}
 
-		// allocate target matrix block based on given size;
-		// need to allocate sparse as well since lock-free insert into target
-		long estnnz2 = (estnnz < 0) ? (long)nrow * ncol : estnnz;
-		return createOutputMatrixBlock(nrow, ncol, nrow, estnnz2, true, true);
+		return new int[] {nrow, ncol};
+	}
+
+	private MatrixBlock readLIBSVMMatrixCSRFromHDFS(InputSplit[] splits, Path path, JobConf job, int nrow, int ncol)
+		throws IOException
+	{
+		// compute exact row pointers from the per-row nnz of all splits
+		// (rows beyond the read rows are empty padding rows)
+		int[] rowPtr = new int[nrow + 1];
+		long nnz = 0;
+		for (int i = 0; i < splits.length; i++) {
+			int[] rowNnz = _offsets.getRowNnzPerSplit(i);
+			int off = _offsets.getOffsetPerSplit(i);
+			for (int j = 0; j < _offsets.getLenghtPerSplit(i); j++) {
+				nnz += rowNnz[j];
+				if( nnz > Integer.MAX_VALUE )
+					return null; //fallback to MCSR for CSR-incompatible nnz
+				rowPtr[off + j + 1] = (int) nnz;
+			}
+			_offsets.setRowNnzPerSplit(i, null);
+		}
+		for (int r = _offsets.getTotalRows(); r < nrow; r++)
+			rowPtr[r + 1] = (int) nnz;
+
+		// allocate column index and value arrays once, and fill them in parallel
+		int[] colInd = new int[(int) nnz];
+		double[] values = new double[(int) nnz];
+
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<LIBSVMReadCSRTask> tasks = new ArrayList<>();
+			for (int i = 0; i < splits.length; i++) {
+				tasks.add(new LIBSVMReadCSRTask(splits[i], informat, job,
+					_offsets.getOffsetPerSplit(i), _offsets.getLenghtPerSplit(i), ncol,
+					_props.getDelim().charAt(0), _props.getIndexDelim().charAt(0), rowPtr, colInd, values));
+			}
+			for (Future<Object> task : pool.invokeAll(tasks))
+				task.get();
+		}
+		catch (Exception e) {
+			throw new IOException("Read task for libsvm input failed: " + e.getMessage(), e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		return new MatrixBlock(nrow, ncol, nnz, new SparseBlockCSR(rowPtr, colInd, values, (int) nnz));
+	}
+
+	/**
+	 * Indicates if the libsvm file can be parsed at byte level into a
+	 * preallocated CSR block, which requires single-byte ASCII delimiters.
+	 * 
+	 * @param props libsvm file format properties
+	 * @return true if applicable
+	 */
+	public static boolean isDirectCSRApplicable(FileFormatPropertiesLIBSVM props) {
+		return props.getDelim().length() == 1 && props.getDelim().charAt(0) < 128
+			&& props.getIndexDelim().length() == 1 && props.getIndexDelim().charAt(0) < 128
+			&& props.getDelim().charAt(0) != props.getIndexDelim().charAt(0);
+	}
+
+	/**
+	 * Parses a libsvm row &lt;label&gt; &lt;index&gt;:&lt;value&gt; ... from the given bytes, where
+	 * the label is stored in the last column and 1-based indexes are converted to
+	 * 0-based column indexes. Zero values are not stored. If colInd is null, the row
+	 * is only tokenized to count its non-zeros, which avoids parsing the values.
+	 * Otherwise, the non-zeros are written (sorted by column) into the given
+	 * arrays starting at pos.
+	 * 
+	 * @param b byte array of the line
+	 * @param len length of the line
+	 * @param clen number of columns (incl label)
+	 * @param delim entry delimiter
+	 * @param idelim index delimiter
+	 * @param colInd output column indexes, or null to only count non-zeros
+	 * @param values output values
+	 * @param pos start position in the output arrays
+	 * @return number of non-zeros of the row
+	 * @throws IOException if the row is invalid
+	 */
+	protected static int parseLibsvmRow(byte[] b, int len, int clen, byte delim, byte idelim,
+		int[] colInd, double[] values, int pos) throws IOException
+	{
+		//trim leading/trailing whitespace
+		int i = 0, end = len;
+		while( i < end && FastByteParser.isWhitespace(b[i]) )
+			i++;
+		while( end > i && FastByteParser.isWhitespace(b[end-1]) )
+			end--;
+
+		//label range (first entry)
+		int ls = i;
+		while( i < end && b[i] != delim )
+			i++;
+		int le = i;
+		if( ls == le )
+			throw new IOException("Invalid libsvm row without label: '"+FastByteParser.toString(b, 0, len)+"'");
+
+		//parse non-zeros: <index#>:<value#>
+		int cnt = 0, prev = -1;
+		boolean sorted = true;
+		while( i < end ) {
+			int s = ++i; //skip delimiter
+			while( i < end && b[i] != delim )
+				i++;
+			if( s == i ) //consecutive delimiters
+				continue;
+			int p = s;
+			while( p < i && b[p] != idelim )
+				p++;
+			if( p == i )
+				throw new IOException("Invalid libsvm entry: '"+FastByteParser.toString(b, s, i)+"'");
+			if( isZero(b, p+1, i) )
+				continue;
+			if( colInd != null ) {
+				int col = FastByteParser.parseInt(b, s, p) - 1;
+				if( col < 0 || col >= clen - 1 )
+					throw new IOException("Invalid libsvm index "+(col+1)+" for "+clen+" columns (incl label).");
+				colInd[pos+cnt] = col;
+				values[pos+cnt] = FastByteParser.parseDouble(b, p+1, i);
+				sorted &= (col > prev);
+				prev = col;
+			}
+			cnt++;
+		}
+
+		//append label as last column
+		if( !isZero(b, ls, le) ) {
+			if( colInd != null ) {
+				colInd[pos+cnt] = clen - 1;
+				values[pos+cnt] = FastByteParser.parseDouble(b, ls, le);
+			}
+			cnt++;
+		}
+
+		if( colInd != null && !sorted )
+			SortUtils.sortByIndex(pos, pos+cnt, colInd, values);
+		return cnt;
+	}
+
+	private static boolean isZero(byte[] b, int start, int end) {
+		//zero literals such as 0, -0, 0.0, or 0e5 (without parsing)
+		boolean zero = false;
+		for( int i = start; i < end; i++ ) {
+			byte c = b[i];
+			if( c == '0' )
+				zero = true;
+			else if( c == 'e' || c == 'E' )
+				return zero;
+			else if( c != '.' && c != '-' && c != '+' )
+				return false;
+		}
+		return zero;
 	}
 
 	private static class SplitOffsetInfos {
 		// offset & length info per split
 		private int[] offsetPerSplit = null;
 		private int[] lenghtPerSplit = null;
+		private int[][] rowNnzPerSplit = null;
 
 		public SplitOffsetInfos(int numSplits) {
 			lenghtPerSplit = new int[numSplits];
 			offsetPerSplit = new int[numSplits];
+			rowNnzPerSplit = new int[numSplits][];
+		}
+
+		public int getTotalRows() {
+			int len = lenghtPerSplit.length;
+			return (len == 0) ? 0 : offsetPerSplit[len-1] + lenghtPerSplit[len-1];
+		}
+
+		public int[] getRowNnzPerSplit(int split) {
+			return rowNnzPerSplit[split];
+		}
+
+		public void setRowNnzPerSplit(int split, int[] rowNnz) {
+			rowNnzPerSplit[split] = rowNnz;
 		}
 
 		public int getLenghtPerSplit(int split) {
@@ -231,6 +422,12 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 		private boolean _rc = true;
 		private String _errMsg = null;
 		private int _nrows = -1;
+		//optional nnz per row (for direct CSR reads)
+		private boolean _countNnz = false;
+		private int _clen = -1;
+		private byte _delim;
+		private byte _idelim;
+		private int[] _rowNnz = null;
 
 		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job) {
 			_split = split;
@@ -239,6 +436,17 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			_nrows = 0;
 		}
 
+		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job,
+			int clen, char delim, char idelim)
+		{
+			this(split, informat, job);
+			_countNnz = true;
+			_clen = clen;
+			_delim = (byte) delim;
+			_idelim = (byte) idelim;
+			_rowNnz = new int[1024];
+		}
+
 		public boolean getReturnCode() {
 			return _rc;
 		}
@@ -251,6 +459,10 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			return _errMsg;
 		}
 
+		public int[] getRowNnz() {
+			return _rowNnz;
+		}
+
 		@Override
 		public Object call()
 			throws Exception
@@ -262,6 +474,12 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			try {
 				// count rows from the first row
 				while (reader.next(key, oneLine)) {
+					if( _countNnz ) {
+						if( _nrows == _rowNnz.length )
+							_rowNnz = Arrays.copyOf(_rowNnz, 2 * _rowNnz.length);
+						_rowNnz[_nrows] = parseLibsvmRow(oneLine.getBytes(),
+							oneLine.getLength(), _clen, _delim, _idelim, null, null, 0);
+					}
 					_nrows++;
 				}
 			}
@@ -365,4 +583,63 @@ public class ReaderTextLIBSVMParallel extends MatrixReader {
 			return null;
 		}
 	}
+
+	private static class LIBSVMReadCSRTask implements Callable<Object>
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final int _rl;
+		private final int _len;
+		private final int _clen;
+		private final byte _delim;
+		private final byte _idelim;
+		private final int[] _rowPtr;
+		private final int[] _colInd;
+		private final double[] _values;
+
+		public LIBSVMReadCSRTask(InputSplit split, TextInputFormat informat, JobConf job, int rl, int len,
+			int clen, char delim, char idelim, int[] rowPtr, int[] colInd, double[] values)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_rl = rl;
+			_len = len;
+			_clen = clen;
+			_delim = (byte) delim;
+			_idelim = (byte) idelim;
+			_rowPtr = rowPtr;
+			_colInd = colInd;
+			_values = values;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			int row = _rl;
+			try {
+				while( reader.next(key, value) ) { // foreach line
+					if( row >= _rl + _len )
+						throw new IOException("Incorrect number of rows in split: "+_split.toString());
+					int pos = _rowPtr[row];
+					int nnz = parseLibsvmRow(value.getBytes(), value.getLength(),
+						_clen, _delim, _idelim, _colInd, _values, pos);
+					// sanity check (nnz consistent with first pass)
+					if( pos + nnz != _rowPtr[row+1] )
+						throw new IOException("Inconsistent number of non-zeros in row "+row+".");
+					row++;
+				}
+				if( row != _rl + _len )
+					throw new IOException("Incorrect number of rows (" + row + ") found in "
+						+ "libsvm file (" + (_rl + _len) + ").");
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
 }
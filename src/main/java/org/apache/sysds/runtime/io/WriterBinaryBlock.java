@@ -26,7 +26,10 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.HDFSTool;
@@ -34,9 +37,15 @@ import org.apache.sysds.runtime.util.HDFSTool;
 public class WriterBinaryBlock extends MatrixWriter
 {
 	protected int _replication = -1;
+	protected boolean _compressed = false;
 	
 	public WriterBinaryBlock( int replication ) {
+		this(replication, false);
+	}
+	
+	public WriterBinaryBlock( int replication, boolean compressed ) {
 		_replication  = replication;
+		_compressed = compressed;
 	}
 
 	@Override
@@ -55,8 +64,10 @@ public class WriterBinaryBlock extends MatrixWriter
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
 		
-		//core write sequential/parallel
-		if( diag )
+		//core write compressed/sequential/parallel
+		if( _compressed && !diag )
+			writeCompressedBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
+		else if( diag )
 			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
 		else
 			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, blen);
@@ -89,6 +100,70 @@ public class WriterBinaryBlock extends MatrixWriter
 		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
 	}
 
+	/**
+	 * Writes a matrix as compressed blocks wrapped into {@link CompressedWriteBlock}s. A
+	 * compressed matrix is written as a single block (of all rows and columns) with its 
+	 * column groups as is. An uncompressed matrix is written as row blocks of blen rows and
+	 * all columns, where each row block is compressed separately, and row blocks that are
+	 * not compressible are stored uncompressed in the same value class. Such files are 
+	 * marked as compressed in the meta data (see {@link FileFormatPropertiesBinary}).
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param src compressed or uncompressed matrix block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	protected final void writeCompressedBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
+		throws IOException
+	{
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		SequenceFile.Writer writer = null;
+		if( _replication > 0 ) //if replication specified (otherwise default)
+		{
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, CompressedWriteBlock.class,
+				job.getInt(HDFSTool.IO_FILE_BUFFER_SIZE, 4096),
+				(short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());
+		}
+		else
+		{
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, CompressedWriteBlock.class);
+		}
+		
+		try {
+			int k = OptimizerUtils.getConstrainedNumThreads(-1);
+			int nrow = src.getNumRows();
+			int ncol = src.getNumColumns();
+			MatrixIndexes indexes = new MatrixIndexes();
+			if( src instanceof CompressedMatrixBlock ) {
+				//persist the existing column groups as is (w/o slice and recompression)
+				indexes.setIndexes(1, 1);
+				writer.append(indexes, new CompressedWriteBlock(src));
+				return;
+			}
+			for( int blockRow = 0; blockRow < (int)Math.ceil(nrow/(double)blen); blockRow++ ) {
+				int rl = blockRow*blen;
+				int ru = Math.min(rl+blen, nrow) - 1;
+				MatrixBlock block = (rl == 0 && ru == nrow-1) ? src :
+					src.slice(rl, ru, 0, ncol-1, new MatrixBlock());
+				indexes.setIndexes(blockRow+1, 1);
+				writer.append(indexes, new CompressedWriteBlock(
+					CompressedMatrixBlockFactory.compress(block, k).getLeft()));
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+	
 	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
 		throws IOException, DMLRuntimeException
 	{
@@ -96,8 +171,22 @@ public class WriterBinaryBlock extends MatrixWriter
 		writeBinaryBlockMatrixToSequenceFile(path, job, fs, src, blen, 0, (int)rlen);
 	}
 
+	/**
+	 * Writes the row range [rl, ru) of the given matrix block into a sequence file.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param src matrix block
+	 * @param blen block size
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @return block index entries [rix, cix, pos]* of the written blocks, 
+	 *   or null if the file is compressed and hence not seekable per block
+	 * @throws IOException if IOException occurs
+	 */
 	@SuppressWarnings("deprecation")
-	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int blen, int rl, int ru ) 
+	protected final long[] writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int blen, int rl, int ru ) 
 		throws IOException
 	{
 		boolean sparse = src.isInSparseFormat();
@@ -119,6 +208,11 @@ public class WriterBinaryBlock extends MatrixWriter
 			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
 		}
 		
+		//collect block positions for optional block index (uncompressed only)
+		long[] index = (writer.getCompressionCodec() == null) ? new long[3 *
+			(int)Math.ceil((double)(ru-rl)/blen) * Math.max((int)Math.ceil((double)clen/blen), 1)] : null;
+		int pos = 0;
+		
 		try
 		{
 			// 2) bound check for src block
@@ -135,6 +229,8 @@ public class WriterBinaryBlock extends MatrixWriter
 			{
 				//directly write single block
 				indexes.setIndexes(1, 1);
+				if( index != null )
+					pos = addIndexEntry(index, pos, 1, 1, writer.getLength());
 				writer.append(indexes, src);
 			}
 			else //general case
@@ -161,6 +257,8 @@ public class WriterBinaryBlock extends MatrixWriter
 						
 						//append block to sequence file
 						indexes.setIndexes(blockRow+1, blockCol+1);
+						if( index != null )
+							pos = addIndexEntry(index, pos, blockRow+1, blockCol+1, writer.getLength());
 						writer.append(indexes, block);
 							
 						//reset block for later reuse
@@ -171,6 +269,15 @@ public class WriterBinaryBlock extends MatrixWriter
 		finally {
 			IOUtilFunctions.closeSilently(writer);
 		}
+		
+		return (index != null && pos == index.length) ? index : null;
+	}
+	
+	private static int addIndexEntry(long[] index, int pos, long rix, long cix, long offset) {
+		index[pos] = rix;
+		index[pos+1] = cix;
+		index[pos+2] = offset;
+		return pos + 3;
 	}
 
 	@SuppressWarnings("deprecation")
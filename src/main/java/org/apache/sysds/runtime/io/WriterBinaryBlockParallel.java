@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,14 +41,32 @@ import org.apache.sysds.runtime.util.HDFSTool;
 
 public class WriterBinaryBlockParallel extends WriterBinaryBlock
 {
+	//block index of multi-part outputs for reading index ranges (see BinaryBlockIndex)
+	public static boolean WRITE_BLOCK_INDEX = true;
+	
+	//minimum size of native local part files to avoid tiny writes per thread
+	private static final long NATIVE_LOCAL_MIN_PART_SIZE = 32L * 1024 * 1024;
+	
 	public WriterBinaryBlockParallel( int replication ) {
 		super(replication);
 	}
 	
+	public WriterBinaryBlockParallel( int replication, boolean compressed ) {
+		super(replication, compressed);
+	}
+	
 	@Override
 	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
 		throws IOException, DMLRuntimeException
 	{
+		//fast path for native binary block files on local file system
+		//note: native local files are only readable by the CP binary block readers
+		//(not by spark), and hence only used if explicitly enabled for local intermediates
+		if( LocalBinaryBlockFile.isEnabled() && LocalBinaryBlockFile.isSupportedFileSystem(fs) ) {
+			writeNativeBinaryBlockMatrixToLocal(path, fs, src, rlen, clen, blen);
+			return;
+		}
+		
 		//estimate output size and number of output blocks (min 1)
 		int numPartFiles = (int)(OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, 
 				blen, src.getNonZeros()) / InfrastructureAnalyzer.getHDFSBlockSize());
@@ -78,12 +97,20 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 			}
 
 			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);	
+			List<Future<long[]>> rt = pool.invokeAll(tasks);	
 			pool.shutdown();
 			
-			//check for exceptions 
-			for( Future<Object> task : rt )
-				task.get();
+			//check for exceptions and collect block positions
+			BinaryBlockIndex index = new BinaryBlockIndex();
+			for( int i=0; i<rt.size(); i++ ) {
+				long[] entries = rt.get(i).get();
+				if( entries != null )
+					index.addPart(IOUtilFunctions.getPartFileName(i), entries);
+			}
+			
+			//write optional block index for random block access
+			if( WRITE_BLOCK_INDEX && index.getNumParts() == rt.size() )
+				index.write(fs, path);
 			
 			// delete crc files if written to local file system
 			if (fs instanceof LocalFileSystem) {
@@ -97,7 +124,49 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		}
 	}
 
-	private class WriteFileTask implements Callable<Object> 
+	private static void writeNativeBinaryBlockMatrixToLocal( Path path, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
+		throws IOException
+	{
+		//determine number of part files and degree of parallelism
+		long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(rlen, clen, blen, src.getNonZeros());
+		int numBlockRows = (int)Math.max(Math.ceil((double)rlen / blen), 1);
+		int numThreads = (int)Math.min(OptimizerUtils.getParallelBinaryWriteParallelism(),
+			Math.min(numBlockRows, Math.max(size / NATIVE_LOCAL_MIN_PART_SIZE, 1)));
+		
+		//single file write w/o directory
+		if( numThreads <= 1 ) {
+			LocalBinaryBlockFile.writeMatrixBlocks(
+				LocalBinaryBlockFile.getLocalFile(fs, path), src, blen, 0, (int)rlen);
+			return;
+		}
+		
+		//create directory and write part files in parallel (aligned to block rows)
+		HDFSTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		try {
+			ExecutorService pool = CommonThreadPool.get(numThreads);
+			ArrayList<Callable<Object>> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)numBlockRows / numThreads) * blen;
+			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
+				File file = LocalBinaryBlockFile.getLocalFile(fs,
+					new Path(path, IOUtilFunctions.getPartFileName(i)));
+				int rl = i*blklen, ru = (int)Math.min((i+1)*blklen, rlen);
+				tasks.add(() -> {
+					LocalBinaryBlockFile.writeMatrixBlocks(file, src, blen, rl, ru);
+					return null;
+				});
+			}
+			
+			//wait until all tasks have been executed
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of native binary block input.", e);
+		}
+	}
+
+	private class WriteFileTask implements Callable<long[]> 
 	{
 		private Path _path = null;
 		private JobConf _job = null;
@@ -119,11 +188,10 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		}
 	
 		@Override
-		public Object call() 
+		public long[] call() 
 			throws Exception 
 		{
-			writeBinaryBlockMatrixToSequenceFile(_path, _job, _fs, _src, _blen, (int)_rl, (int)_ru);
-			return null;
+			return writeBinaryBlockMatrixToSequenceFile(_path, _job, _fs, _src, _blen, (int)_rl, (int)_ru);
 		}
 	}
 }
@@ -19,10 +19,12 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.List;
 
 public class H5 {
@@ -37,13 +39,25 @@ public class H5 {
 	public static H5RootObject H5Fopen(BufferedInputStream bis) {
 		H5RootObject rootObject = new H5RootObject();
 		bis.mark(0);
+		rootObject.setBufferedInputStream(bis);
+		return H5Fopen(rootObject);
+	}
+
+	// Open a File via a (local) file channel, which allows concurrent memory-mapped reads
+	public static H5RootObject H5Fopen(FileChannel channel) {
+		H5RootObject rootObject = new H5RootObject();
+		rootObject.setFileChannel(channel);
+		return H5Fopen(rootObject);
+	}
+
+	private static H5RootObject H5Fopen(H5RootObject rootObject) {
 		try {
 			// Find out if the file is a HDF5 file
 			int maxSignatureLength = 2048;
 			boolean validSignature = false;
 			long offset;
 			for(offset = 0; offset < maxSignatureLength; offset = nextOffset(offset)) {
-				validSignature = H5Superblock.verifySignature(bis, offset);
+				validSignature = H5Superblock.verifySignature(rootObject, offset);
 				if(validSignature) {
 					break;
 				}
@@ -51,9 +65,8 @@ public class H5 {
 			if(!validSignature) {
 				throw new H5RuntimeException("No valid HDF5 signature found");
 			}
-			rootObject.setBufferedInputStream(bis);
 
-			final H5Superblock superblock = new H5Superblock(bis, offset);
+			final H5Superblock superblock = new H5Superblock(rootObject, offset);
 			rootObject.setSuperblock(superblock);
 		}
 		catch(Exception exception) {
@@ -110,7 +123,7 @@ public class H5 {
 	}
 
 	// Open a Data Space
-	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+	public static H5Dataset H5Dopen(H5RootObject rootObject, String datasetName) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
@@ -137,8 +150,9 @@ public class H5 {
 			}
 
 			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
+			if(header.getMessageOfType(H5DataLayoutMessage.class).isChunked())
+				return new H5ChunkedDataset(rootObject, header);
+			return new H5ContiguousDataset(rootObject, header);
 
 		}
 		catch(Exception exception) {
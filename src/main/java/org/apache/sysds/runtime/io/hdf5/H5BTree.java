@@ -30,6 +30,8 @@ public class H5BTree {
 
 	private static final byte[] BTREE_NODE_SIGNATURE = "TREE".getBytes(StandardCharsets.US_ASCII);
 	private static final int HEADER_BYTES = 6;
+	private static final int NODE_TYPE_GROUP = 0;
+	private static final int NODE_TYPE_RAW_DATA_CHUNK = 1;
 	@SuppressWarnings("unused")
 	private final long address;
 	protected final int entriesUsed;
@@ -38,6 +40,7 @@ public class H5BTree {
 	private byte nodeType;
 	private byte nodeLevel;
 	private final List<Long> childAddresses;
+	private final List<H5Chunk> chunks;
 	private final H5RootObject rootObject;
 
 	public H5BTree(H5RootObject rootObject, byte nodeType, byte nodeLevel, int entriesUsed, long leftSiblingAddress,
@@ -50,6 +53,7 @@ public class H5BTree {
 		this.leftSiblingAddress = leftSiblingAddress;
 		this.rightSiblingAddress = rightSiblingAddress;
 		this.childAddresses = childAddresses;
+		this.chunks = null;
 	}
 
 	public H5BTree(H5RootObject rootObject, long address) {
@@ -57,7 +61,10 @@ public class H5BTree {
 		this.address = address;
 		this.rootObject = rootObject;
 
-		readHeaderAndValidateSignature(rootObject, address);
+		ByteBuffer typeAndLevel = readHeaderAndValidateSignature(rootObject, address);
+		this.nodeType = typeAndLevel.get();
+		this.nodeLevel = typeAndLevel.get();
+		this.chunks = null;
 
 		int headerSize = 8 * rootObject.getSuperblock().sizeOfOffsets;
 		ByteBuffer header = rootObject.readBufferFromAddress(address + 6, headerSize);
@@ -85,6 +92,55 @@ public class H5BTree {
 
 	}
 
+	/**
+	 * Reads a B-tree of raw data chunks (node type 1) and collects the chunks of all leaf
+	 * nodes. Each key holds the chunk size, filter mask, and the chunk offsets per dimension.
+	 *
+	 * @param rootObject     root object
+	 * @param address        address of the B-tree node
+	 * @param dimensionality dimensionality of the chunked layout (dataset rank plus one)
+	 */
+	public H5BTree(H5RootObject rootObject, long address, int dimensionality) {
+		this.address = address;
+		this.rootObject = rootObject;
+
+		ByteBuffer typeAndLevel = readHeaderAndValidateSignature(rootObject, address);
+		this.nodeType = typeAndLevel.get();
+		this.nodeLevel = typeAndLevel.get();
+		if(nodeType != NODE_TYPE_RAW_DATA_CHUNK) {
+			throw new H5RuntimeException("B tree type is not raw data chunk. Type is: " + nodeType);
+		}
+
+		final int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		ByteBuffer header = rootObject.readBufferFromAddress(address + 6, 2 + 2 * sizeOfOffsets);
+		this.entriesUsed = Utils.readBytesAsUnsignedInt(header, 2);
+		this.leftSiblingAddress = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
+		this.rightSiblingAddress = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
+
+		// Keys (chunk size, filter mask, offsets) and child pointers are interleaved
+		final int keyBytes = 4 + 4 + 8 * dimensionality;
+		final int keysAndPointersBytes = (entriesUsed + 1) * keyBytes + entriesUsed * sizeOfOffsets;
+		final long keysAddress = address + 8L + 2L * sizeOfOffsets;
+		final ByteBuffer bb = rootObject.readBufferFromAddress(keysAddress, keysAndPointersBytes);
+
+		childAddresses = new ArrayList<>(entriesUsed);
+		chunks = new ArrayList<>();
+		for(int i = 0; i < entriesUsed; i++) {
+			int chunkSize = Utils.readBytesAsUnsignedInt(bb, 4);
+			int filterMask = bb.getInt();
+			long[] offsets = new long[dimensionality];
+			for(int j = 0; j < dimensionality; j++)
+				offsets[j] = Utils.readBytesAsUnsignedLong(bb, 8);
+			long childAddress = Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets);
+			childAddresses.add(childAddress);
+
+			if(nodeLevel > 0)
+				chunks.addAll(new H5BTree(rootObject, childAddress, dimensionality).getChunks());
+			else
+				chunks.add(new H5Chunk(childAddress, chunkSize, filterMask, offsets));
+		}
+	}
+
 	public H5BufferBuilder toBuffer() {
 		H5BufferBuilder header = new H5BufferBuilder();
 		toBuffer(header);
@@ -95,7 +151,7 @@ public class H5BTree {
 
 		bb.writeBytes(BTREE_NODE_SIGNATURE);
 
-		if(nodeType != 0) {
+		if(nodeType != NODE_TYPE_GROUP) {
 			throw new H5RuntimeException("B tree type is not group. Type is: " + nodeType);
 		}
 
@@ -127,4 +183,8 @@ public class H5BTree {
 	public List<Long> getChildAddresses() {
 		return childAddresses;
 	}
+
+	public List<H5Chunk> getChunks() {
+		return chunks;
+	}
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5;
+
+/**
+ * Raw data chunk of a chunked dataset, as referenced by the leaf nodes of the chunk B-tree.
+ */
+public class H5Chunk {
+
+	private final long address;
+	private final int size;
+	private final int filterMask;
+	private final long[] offsets;
+
+	public H5Chunk(long address, int size, int filterMask, long[] offsets) {
+		this.address = address;
+		this.size = size;
+		this.filterMask = filterMask;
+		this.offsets = offsets;
+	}
+
+	public long getAddress() {
+		return address;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getFilterMask() {
+		return filterMask;
+	}
+
+	/**
+	 * @return element offsets of the chunk's first element per dimension
+	 */
+	public long[] getOffsets() {
+		return offsets;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dataset with chunked layout, whose chunks are indexed by a B-tree. Every chunk is stored
+ * at its full chunk size (including padding of edge chunks), and unallocated chunks hold
+ * fill values (zero).
+ */
+public class H5ChunkedDataset extends H5Dataset {
+
+	private final List<H5Chunk> chunks;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		super(rootObject, objectHeader);
+
+		if(objectHeader.hasMessageOfType(H5FilterPipelineMessage.class)
+			&& objectHeader.getMessageOfType(H5FilterPipelineMessage.class).getFilterIds().length > 0) {
+			throw new H5RuntimeException("Filtered (e.g., compressed) chunked datasets are not supported");
+		}
+		if(dataLayoutMessage.getChunkDimensions().length != 2) {
+			throw new H5RuntimeException("Just support Matrix! Chunk rank is: "
+				+ dataLayoutMessage.getChunkDimensions().length);
+		}
+
+		final long address = dataLayoutMessage.getAddress();
+		chunks = (address == H5Constants.UNDEFINED_ADDRESS) ? Collections.emptyList() :
+			new H5BTree(rootObject, address, dataLayoutMessage.getChunkDimensions().length + 1).getChunks();
+	}
+
+	public List<H5Chunk> getChunks() {
+		return chunks;
+	}
+
+	@Override
+	public int getRowAlignment() {
+		return dataLayoutMessage.getChunkDimensions()[0];
+	}
+
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru) {
+		final int nrow = getNumRows();
+		final int ncol = getNumColumns();
+		final int crow = dataLayoutMessage.getChunkDimensions()[0];
+		final int ccol = dataLayoutMessage.getChunkDimensions()[1];
+		final int size = dataTypeMessage.getDoubleDataType().getSize();
+
+		long lnnz = 0;
+		for(H5Chunk chunk : chunks) {
+			// determine overlap of chunk and row range (chunks are padded at the edges)
+			int ro = (int) chunk.getOffsets()[0];
+			int co = (int) chunk.getOffsets()[1];
+			int cl = Math.max(rl, ro);
+			int cu = Math.min(Math.min(ru, ro + crow), nrow);
+			if(cl >= cu || co >= ncol)
+				continue;
+
+			// map chunk and decode the overlapping rows into the target
+			int len = Math.min(ccol, ncol - co);
+			ByteBuffer buffer = rootObject.mapBufferFromAddress(chunk.getAddress(), (long) crow * ccol * size);
+			for(int i = cl; i < cu; i++) {
+				buffer.position((i - ro) * ccol * size);
+				lnnz += fillRow(buffer, dest, i, co, len);
+			}
+		}
+		return lnnz;
+	}
+}
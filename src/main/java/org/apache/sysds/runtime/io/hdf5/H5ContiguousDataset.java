@@ -20,28 +20,19 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
-import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.data.DenseBlock;
 
 import java.nio.ByteBuffer;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
-public class H5ContiguousDataset {
+public class H5ContiguousDataset extends H5Dataset {
 
-	private final H5RootObject rootObject;
-	private final H5DataLayoutMessage dataLayoutMessage;
-	private final H5DataTypeMessage dataTypeMessage;
-	@SuppressWarnings("unused")
-	private final H5DataSpaceMessage dataSpaceMessage;
+	// max size of file ranges mapped at once
+	private static final long MAX_MAP_SIZE = 64L * 1024 * 1024;
 
 	public H5ContiguousDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
-
-		this.rootObject = rootObject;
-		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
-		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
-		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
+		super(rootObject, objectHeader);
 	}
 
 	public ByteBuffer getDataBuffer(int row) {
@@ -57,7 +48,25 @@ public class H5ContiguousDataset {
 			throw new H5RuntimeException("Failed to map data buffer for dataset", e);
 		}
 	}
-	public H5DataTypeMessage getDataType() {
-		return dataTypeMessage;
+
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru) {
+		// unallocated storage (never written) holds only fill values
+		final long address = dataLayoutMessage.getAddress();
+		if(address == H5Constants.UNDEFINED_ADDRESS)
+			return 0;
+
+		// map batches of rows and decode them into the target rows
+		final int ncol = getNumColumns();
+		final long rowSize = (long) ncol * dataTypeMessage.getDoubleDataType().getSize();
+		final int batch = (int) Math.max(1, Math.min(ru - rl, MAX_MAP_SIZE / Math.max(rowSize, 1)));
+		long lnnz = 0;
+		for(int bl = rl; bl < ru; bl += batch) {
+			int bu = Math.min(ru, bl + batch);
+			ByteBuffer buffer = rootObject.mapBufferFromAddress(address + bl * rowSize, (bu - bl) * rowSize);
+			for(int i = bl; i < bu; i++)
+				lnnz += fillRow(buffer, dest, i, 0, ncol);
+		}
+		return lnnz;
 	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base class of 2-dimensional datasets, which read row ranges [rl, ru) directly into the
+ * corresponding rows of a dense block. Reads of disjoint row ranges are independent and can
+ * be issued concurrently if the root object is backed by a file channel.
+ */
+public abstract class H5Dataset {
+
+	protected final H5RootObject rootObject;
+	protected final H5DataLayoutMessage dataLayoutMessage;
+	protected final H5DataTypeMessage dataTypeMessage;
+	protected final H5DataSpaceMessage dataSpaceMessage;
+
+	protected H5Dataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
+	}
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	public int getNumRows() {
+		return (int) rootObject.getRow();
+	}
+
+	public int getNumColumns() {
+		return (int) rootObject.getCol();
+	}
+
+	/**
+	 * Gets the row granularity of independent reads, i.e., partitions of rows aligned to this
+	 * granularity touch disjoint parts of the file.
+	 *
+	 * @return number of rows per independent unit
+	 */
+	public int getRowAlignment() {
+		return 1;
+	}
+
+	/**
+	 * Reads the rows [rl, ru) of the dataset into the same rows of the given dense block.
+	 *
+	 * @param dest dense target block of at least the dimensions of the dataset
+	 * @param rl   row lower bound (inclusive)
+	 * @param ru   row upper bound (exclusive)
+	 * @return number of non-zeros read
+	 */
+	public abstract long readRows(DenseBlock dest, int rl, int ru);
+
+	protected long fillRow(ByteBuffer buffer, DenseBlock dest, int row, int cl, int len) {
+		double[] values = dest.values(row);
+		int pos = dest.pos(row, cl);
+		dataTypeMessage.getDoubleDataType().fillData(buffer, values, pos, len);
+		return UtilFunctions.computeNnz(values, pos, len);
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io.hdf5;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.BitSet;
 
 public class H5DoubleDataType {
@@ -37,6 +38,7 @@ public class H5DoubleDataType {
 	private boolean internalPadding;
 	private int mantissaNormalization;
 	private int signLocation;
+	private boolean signed;
 
 	// Properties
 	private short bitOffset;
@@ -74,23 +76,42 @@ public class H5DoubleDataType {
 			order = ByteOrder.LITTLE_ENDIAN;
 		}
 
-		lowPadding = classBits.get(1);
-		highPadding = classBits.get(2);
-		internalPadding = classBits.get(3);
-
-		// Mask the 4+5 bits and shift to the end
-		mantissaNormalization = Utils.bitsToInt(classBits, 4, 2);
-
-		signLocation = Utils.bitsToInt(classBits, 8, 8);
+		if(dataClass == H5Constants.DATA_CLASS_FIXED_POINT) {
+			// Fixed-point (integer) types: padding and signedness flags, offset and precision
+			lowPadding = classBits.get(1);
+			highPadding = classBits.get(2);
+			signed = classBits.get(3);
+			bitOffset = bb.getShort();
+			bitPrecision = bb.getShort();
+		}
+		else if(dataClass == H5Constants.DATA_CLASS_FLOATING_POINT) {
+			lowPadding = classBits.get(1);
+			highPadding = classBits.get(2);
+			internalPadding = classBits.get(3);
+
+			// Mask the 4+5 bits and shift to the end
+			mantissaNormalization = Utils.bitsToInt(classBits, 4, 2);
+
+			signLocation = Utils.bitsToInt(classBits, 8, 8);
+			signed = true;
+
+			// Properties
+			bitOffset = bb.getShort();
+			bitPrecision = bb.getShort();
+			exponentLocation = bb.get();
+			exponentSize = bb.get();
+			mantissaLocation = bb.get();
+			mantissaSize = bb.get();
+			exponentBias = bb.getInt();
+		}
+		else {
+			throw new H5RuntimeException("Unsupported data type class: " + dataClass);
+		}
 
-		// Properties
-		bitOffset = bb.getShort();
-		bitPrecision = bb.getShort();
-		exponentLocation = bb.get();
-		exponentSize = bb.get();
-		mantissaLocation = bb.get();
-		mantissaSize = bb.get();
-		exponentBias = bb.getInt();
+		if(!isFloatingPoint() && size != 1 && size != 2 && size != 4 && size != 8
+			|| isFloatingPoint() && size != 4 && size != 8) {
+			throw new H5RuntimeException("Unsupported data type size: " + size + " (class " + dataClass + ")");
+		}
 	}
 
 	public void toBuffer(H5BufferBuilder bb) {
@@ -128,8 +149,61 @@ public class H5DoubleDataType {
 	}
 
 	public void fillData(ByteBuffer buffer, double[] data) {
-		DoubleBuffer db = buffer.asDoubleBuffer();
-		db.get(data);
+		fillData(buffer, data, 0, data.length);
+	}
+
+	/**
+	 * Reads len values of this data type from the current position of the given buffer,
+	 * converts them to doubles and writes them into data[pos, pos+len). The position of
+	 * the buffer is advanced accordingly.
+	 *
+	 * @param buffer source buffer, positioned at the first value
+	 * @param data   target array
+	 * @param pos    target position
+	 * @param len    number of values
+	 */
+	public void fillData(ByteBuffer buffer, double[] data, int pos, int len) {
+		buffer.order(order != null ? order : ByteOrder.LITTLE_ENDIAN);
+		if(isFloatingPoint() && size == 8) {
+			DoubleBuffer db = buffer.asDoubleBuffer();
+			db.get(data, pos, len);
+			buffer.position(buffer.position() + len * 8);
+		}
+		else if(isFloatingPoint()) {
+			FloatBuffer fb = buffer.asFloatBuffer();
+			for(int j = pos; j < pos + len; j++)
+				data[j] = fb.get();
+			buffer.position(buffer.position() + len * 4);
+		}
+		else {
+			switch(size) {
+				case 1:
+					for(int j = pos; j < pos + len; j++)
+						data[j] = signed ? buffer.get() : Byte.toUnsignedInt(buffer.get());
+					break;
+				case 2:
+					for(int j = pos; j < pos + len; j++)
+						data[j] = signed ? buffer.getShort() : Short.toUnsignedInt(buffer.getShort());
+					break;
+				case 4:
+					for(int j = pos; j < pos + len; j++)
+						data[j] = signed ? buffer.getInt() : Integer.toUnsignedLong(buffer.getInt());
+					break;
+				default:
+					for(int j = pos; j < pos + len; j++) {
+						long v = buffer.getLong();
+						data[j] = (signed || v >= 0) ? v : (double) (v >>> 1) * 2 + (v & 1);
+					}
+			}
+		}
+	}
+
+	public boolean isFloatingPoint() {
+		return dataClass == H5Constants.DATA_CLASS_FLOATING_POINT;
+	}
+
+	public boolean isSigned() {
+		return signed;
 	}
 
 	public int getVersion() {
@@ -23,12 +23,14 @@ import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 public class H5RootObject {
 
 	protected BufferedInputStream bufferedInputStream;
+	protected FileChannel fileChannel;
 	protected BufferedOutputStream bufferedOutputStream;
 	protected H5Superblock superblock;
 	protected int rank;
@@ -52,36 +54,59 @@ public class H5RootObject {
 	protected byte dataLayoutClass = 1;
 
 	public ByteBuffer readBufferFromAddress(long address, int length) {
+		ByteBuffer bb = readBufferFromAddressNoOrder(address, length);
+		bb.order(LITTLE_ENDIAN);
+		return bb;
+	}
+
+	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
 		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			if(fileChannel != null) {
+				// positional reads are thread-safe and leave the channel position untouched
+				while(bb.hasRemaining())
+					if(fileChannel.read(bb, address + bb.position()) < 0)
+						throw new IOException("Unexpected end of file at " + (address + bb.position())
+							+ ", expected " + length + " bytes from address " + address);
+			}
+			else {
+				// stream-based reads reposition the shared stream and are thus serialized
+				byte[] b = new byte[length];
+				synchronized(bufferedInputStream) {
+					bufferedInputStream.reset();
+					bufferedInputStream.skip(address);
+					bufferedInputStream.read(b);
+				}
+				bb.put(b);
+			}
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
 		}
-		bb.order(LITTLE_ENDIAN);
 		bb.rewind();
 		return bb;
 	}
 
-	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
+	/**
+	 * Obtains a read-only view of the given file range. For file channels, the range is
+	 * memory-mapped (and thus neither copied nor buffered as a whole), otherwise the range is
+	 * read from the buffered input stream.
+	 *
+	 * @param address start address of the range
+	 * @param length  length of the range in bytes (at most Integer.MAX_VALUE)
+	 * @return byte buffer of the given range, in big endian byte order
+	 */
+	public ByteBuffer mapBufferFromAddress(long address, long length) {
+		if(length > Integer.MAX_VALUE)
+			throw new H5RuntimeException("Cannot map ranges larger than 2GB: " + length);
+		if(fileChannel == null)
+			return readBufferFromAddressNoOrder(address, (int) length);
 		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			return fileChannel.map(FileChannel.MapMode.READ_ONLY, address, length);
 		}
 		catch(IOException e) {
-			throw new H5RuntimeException(e);
+			throw new H5RuntimeException("Failed to map file range [" + address + ", " + (address + length) + ")", e);
 		}
-		bb.rewind();
-		return bb;
 	}
 
 	public BufferedInputStream getBufferedInputStream() {
@@ -92,6 +117,14 @@ public class H5RootObject {
 		this.bufferedInputStream = bufferedInputStream;
 	}
 
+	public FileChannel getFileChannel() {
+		return fileChannel;
+	}
+
+	public void setFileChannel(FileChannel fileChannel) {
+		this.fileChannel = fileChannel;
+	}
+
 	public BufferedOutputStream getBufferedOutputStream() {
 		return bufferedOutputStream;
 	}
@@ -19,14 +19,9 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
-
-import java.io.BufferedInputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import static java.nio.ByteOrder.LITTLE_ENDIAN;
-
 public class H5Superblock {
 
 	protected static final byte[] HDF5_FILE_SIGNATURE = new byte[] {(byte) 137, 72, 68, 70, 13, 10, 26, 10};
@@ -48,23 +43,16 @@ public class H5Superblock {
 	public H5Superblock() {
 	}
 
-	static boolean verifySignature(BufferedInputStream bis, long offset) {
+	static boolean verifySignature(H5RootObject rootObject, long offset) {
 		// Format Signature
 		byte[] signature = new byte[HDF5_FILE_SIGNATURE_LENGTH];
+		rootObject.readBufferFromAddressNoOrder(offset, HDF5_FILE_SIGNATURE_LENGTH).get(signature);
 
-		try {
-			bis.reset();
-			bis.skip(offset);
-			bis.read(signature);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException("Failed to read from address: " + offset, e);
-		}
 		// Verify signature
 		return Arrays.equals(HDF5_FILE_SIGNATURE, signature);
 	}
 
-	public H5Superblock(BufferedInputStream bis, long address) {
+	public H5Superblock(H5RootObject rootObject, long address) {
 
 		// Calculated bytes for the super block header is = 56
 		int superBlockHeaderSize = 12;
@@ -72,21 +60,7 @@ public class H5Superblock {
 		long fileLocation = address + HDF5_FILE_SIGNATURE_LENGTH;
 		address += 12 + HDF5_FILE_SIGNATURE_LENGTH;
 
-		ByteBuffer header = ByteBuffer.allocate(superBlockHeaderSize);
-
-		try {
-			byte[] b = new byte[superBlockHeaderSize];
-			bis.reset();
-			bis.skip((int) fileLocation);
-			bis.read(b);
-			header.put(b);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException(e);
-		}
-
-		header.order(LITTLE_ENDIAN);
-		header.rewind();
+		ByteBuffer header = rootObject.readBufferFromAddress(fileLocation, superBlockHeaderSize);
 
 		try {
 
@@ -128,16 +102,8 @@ public class H5Superblock {
 			address += 4;
 
 			int nextSectionSize = 4 * sizeOfOffsets;
-			header = ByteBuffer.allocate(nextSectionSize);
-
-			byte[] hb = new byte[nextSectionSize];
-			bis.reset();
-			bis.skip(address);
-			bis.read(hb);
-			header.put(hb);
+			header = rootObject.readBufferFromAddress(address, nextSectionSize);
 			address += nextSectionSize;
-			header.order(LITTLE_ENDIAN);
-			header.rewind();
 
 			// Base Address
 			baseAddressByte = Utils.readBytesAsUnsignedLong(header, sizeOfOffsets);
@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -30,21 +31,50 @@ import java.util.BitSet;
 
 public class H5DataLayoutMessage extends H5Message {
 
+	private final int layoutClass;
 	private final long address;
 	private final long size;
+	private final int[] chunkDimensions;
+	private final int chunkElementSize;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
 		rootObject.setDataLayoutVersion(bb.get());
+		if(rootObject.getDataLayoutVersion() != 3) {
+			throw new H5RuntimeException("Unsupported data layout version: " + rootObject.getDataLayoutVersion());
+		}
 		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		this.layoutClass = rootObject.getDataLayoutClass();
+
+		switch(layoutClass) {
+			case H5Constants.LAYOUT_CLASS_CONTIGUOUS:
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+				this.chunkDimensions = null;
+				this.chunkElementSize = -1;
+				break;
+			case H5Constants.LAYOUT_CLASS_CHUNKED:
+				// Dimensionality is the rank of the dataset plus one (for the element size)
+				int dimensionality = Byte.toUnsignedInt(bb.get());
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.chunkDimensions = new int[dimensionality - 1];
+				for(int i = 0; i < chunkDimensions.length; i++)
+					chunkDimensions[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+				this.chunkElementSize = Utils.readBytesAsUnsignedInt(bb, 4);
+				this.size = -1;
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class: " + layoutClass);
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
 		super(rootObject, flags);
+		this.layoutClass = H5Constants.LAYOUT_CLASS_CONTIGUOUS;
 		this.address = address;
 		this.size = size;
+		this.chunkDimensions = null;
+		this.chunkElementSize = -1;
 	}
 
 	@Override
@@ -75,4 +105,20 @@ public class H5DataLayoutMessage extends H5Message {
 		return size;
 	}
 
+	public int getLayoutClass() {
+		return layoutClass;
+	}
+
+	public boolean isChunked() {
+		return layoutClass == H5Constants.LAYOUT_CLASS_CHUNKED;
+	}
+
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
+	public int getChunkElementSize() {
+		return chunkElementSize;
+	}
+
 }
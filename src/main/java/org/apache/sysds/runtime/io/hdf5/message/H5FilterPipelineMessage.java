@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+public class H5FilterPipelineMessage extends H5Message {
+
+	private final int[] filterIds;
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+		final int version = Byte.toUnsignedInt(bb.get());
+		if(version != 1 && version != 2) {
+			throw new H5RuntimeException("Unsupported filter pipeline version: " + version);
+		}
+		final int numberOfFilters = Byte.toUnsignedInt(bb.get());
+		filterIds = new int[numberOfFilters];
+
+		// Skip 6 reserved bytes (version 1 only)
+		if(version == 1)
+			bb.position(bb.position() + 6);
+
+		for(int i = 0; i < numberOfFilters; i++) {
+			filterIds[i] = Utils.readBytesAsUnsignedInt(bb, 2);
+			int nameLength = (version == 1 || filterIds[i] >= 256) ? Utils.readBytesAsUnsignedInt(bb, 2) : 0;
+			// Skip the flags
+			bb.position(bb.position() + 2);
+			int numberOfClientValues = Utils.readBytesAsUnsignedInt(bb, 2);
+			// Skip the name (padded to multiple of eight in version 1) and client values
+			if(version == 1 && nameLength % 8 != 0)
+				nameLength += 8 - (nameLength % 8);
+			bb.position(bb.position() + nameLength + 4 * numberOfClientValues);
+			if(version == 1 && numberOfClientValues % 2 != 0)
+				bb.position(bb.position() + 4);
+		}
+	}
+
+	public int[] getFilterIds() {
+		return filterIds;
+	}
+}
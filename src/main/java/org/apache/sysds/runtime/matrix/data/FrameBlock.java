@@ -49,6 +49,8 @@ import org.apache.sysds.api.DMLException;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.functionobjects.ValueComparisonFunction;
@@ -77,6 +79,10 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
+	//offset of the serialized value type of dictionary encoded columns
+	private static final byte COMPRESSED_COLUMN = 64;
+	//max fraction of distinct values per row for dictionary encoding columns
+	private static final double COMPRESSED_MAX_DISTINCT = 0.5;
 
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
@@ -309,20 +315,23 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		}
 		//allocate columns if necessary
 		_coldata = new Array[_schema.length];
-		for( int j=0; j<_schema.length; j++ ) {
-			switch( _schema[j] ) {
-				case STRING:  _coldata[j] = new StringArray(new String[numRows]); break;
-				case BOOLEAN: _coldata[j] = new BooleanArray(new boolean[numRows]); break;
-				case INT32:   _coldata[j] = new IntegerArray(new int[numRows]); break;
-				case INT64:   _coldata[j] = new LongArray(new long[numRows]); break;
-				case FP32:   _coldata[j] = new FloatArray(new float[numRows]); break;
-				case FP64:   _coldata[j] = new DoubleArray(new double[numRows]); break;
-				default: throw new RuntimeException("Unsupported value type: "+_schema[j]);
-			}
-		}
+		for( int j=0; j<_schema.length; j++ )
+			_coldata[j] = allocateArray(_schema[j], numRows);
 		_numRows = numRows;
 	}
 
+	private static Array allocateArray(ValueType vt, int numRows) {
+		switch( vt ) {
+			case STRING:  return new StringArray(new String[numRows]);
+			case BOOLEAN: return new BooleanArray(new boolean[numRows]);
+			case INT32:   return new IntegerArray(new int[numRows]);
+			case INT64:   return new LongArray(new long[numRows]);
+			case FP32:    return new FloatArray(new float[numRows]);
+			case FP64:    return new DoubleArray(new double[numRows]);
+			default: throw new RuntimeException("Unsupported value type: "+vt);
+		}
+	}
+
 	/**
 	 * Checks for matching column sizes in case of existing columns.
 	 *
@@ -573,10 +582,17 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 	}
 
 	public Object getColumnData(int c) {
+		//expose the native array of compressed columns by decompressing them
+		if( _coldata[c] instanceof DDCArray ) {
+			_coldata[c] = ((DDCArray)_coldata[c]).decompress();
+			_msize = -1;
+		}
 		switch(_schema[c]) {
 			case STRING:  return ((StringArray)_coldata[c])._data;
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
+			case INT32:   return ((IntegerArray)_coldata[c])._data;
 			case INT64:     return ((LongArray)_coldata[c])._data;
+			case FP32:    return ((FloatArray)_coldata[c])._data;
 			case FP64:  return ((DoubleArray)_coldata[c])._data;
 			default:      return null;
 	 	}
@@ -593,6 +609,66 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		_msize = -1;
 	}
 
+	/**
+	 * Compress all columns with few distinct values into dictionary encoded columns, that store each distinct value
+	 * once and the rows as codes in the same mappings used by the DDC column groups of compressed matrices. Columns
+	 * that would not get smaller are left uncompressed.
+	 */
+	public void compress() {
+		for( int j=0; _coldata!=null && j<_coldata.length; j++ ) {
+			if( _coldata[j] == null || _coldata[j] instanceof DDCArray )
+				continue;
+			DDCArray tmp = DDCArray.compress(_coldata[j], _schema[j]);
+			if( tmp != null )
+				_coldata[j] = tmp;
+		}
+		_msize = -1;
+	}
+
+	/**
+	 * Decompress all dictionary encoded columns.
+	 */
+	public void decompress() {
+		for( int j=0; _coldata!=null && j<_coldata.length; j++ )
+			_coldata[j] = uncompressed(_coldata[j]);
+		_msize = -1;
+	}
+
+	public boolean isCompressed() {
+		for( int j=0; _coldata!=null && j<_coldata.length; j++ )
+			if( isColumnCompressed(j) )
+				return true;
+		return false;
+	}
+
+	public boolean isColumnCompressed(int c) {
+		return _coldata != null && _coldata[c] instanceof DDCArray;
+	}
+
+	/**
+	 * Get the mapping from rows to dictionary codes of a compressed column.
+	 *
+	 * @param c column index, 0-based
+	 * @return the mapping, or null if the column is not compressed
+	 */
+	public AMapToData getColumnMapping(int c) {
+		return isColumnCompressed(c) ? ((DDCArray)_coldata[c]).getMapping() : null;
+	}
+
+	/**
+	 * Get the distinct values of a compressed column, indexed by the codes of its mapping.
+	 *
+	 * @param c column index, 0-based
+	 * @return the dictionary, or null if the column is not compressed
+	 */
+	public Object[] getColumnDictionary(int c) {
+		return isColumnCompressed(c) ? ((DDCArray)_coldata[c]).getDictionary() : null;
+	}
+
+	private static Array uncompressed(Array arr) {
+		return (arr instanceof DDCArray) ? ((DDCArray)arr).decompress() : arr;
+	}
+
 	/**
 	 * Get a row iterator over the frame where all fields are encoded
 	 * as strings independent of their value types.
@@ -743,6 +819,8 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 			byte type = (byte)_schema[j].ordinal();
 			if( _coldata == null || _coldata[j] == null )
 				type *= -1; //negative to indicate non-existence
+			else if( _coldata[j] instanceof DDCArray )
+				type += COMPRESSED_COLUMN; //offset to indicate dictionary encoding
 			out.writeByte(type);
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
@@ -773,6 +851,9 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
 			byte type = in.readByte();
+			boolean compressed = type >= COMPRESSED_COLUMN;
+			if( compressed )
+				type -= COMPRESSED_COLUMN;
 			ValueType vt = ValueType.values()[Math.abs(type)];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
@@ -780,12 +861,13 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 			Array arr = null;
 			if( type > 0 ) { //non-empty column
 				switch( vt ) {
-					case STRING:  arr = new StringArray(new String[_numRows]); break;
-					case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
-					case INT64:     arr = new LongArray(new long[_numRows]); break;
-					case FP64:  arr = new DoubleArray(new double[_numRows]); break;
-					case INT32: arr = new IntegerArray(new int[_numRows]); break;
-					case FP32:  arr = new FloatArray(new float[_numRows]); break;
+					case STRING:
+					case BOOLEAN:
+					case INT64:
+					case FP64:
+					case INT32:
+					case FP32:
+						arr = compressed ? new DDCArray(vt) : allocateArray(vt, _numRows); break;
 					default: throw new IOException("Unsupported value type: "+vt);
 				}
 				arr.readFields(in);
@@ -841,23 +923,31 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 
 		//data array (overhead and entries)
 		size += 8 + 32 + clen * (16+4+8+32);
-		for( int j=0; j<clen; j++ ) {
-			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
-				case INT64:
-				case FP64: size += 8*_numRows; break;
-				case STRING:
-					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += getInMemoryStringSize(arr.get(i));
-					break;
-				default: //not applicable
-			}
-		}
+		for( int j=0; j<clen; j++ )
+			size += getInMemoryColumnSize(_coldata[j], _schema[j], _numRows);
 
 		return _msize = size;
 	}
 
+	private static long getInMemoryColumnSize(Array arr, ValueType vt, int len) {
+		if( arr instanceof DDCArray )
+			return ((DDCArray)arr).getInMemorySize();
+		switch( vt ) {
+			case BOOLEAN: return len;
+			case INT32:
+			case FP32: return 4L*len;
+			case INT64:
+			case FP64: return 8L*len;
+			case STRING:
+				long size = 0;
+				for( int i=0; i<len; i++ )
+					size += getInMemoryStringSize((String)arr.get(i));
+				return size;
+			default: //not applicable
+				return 0;
+		}
+	}
+
 	@Override
 	public long getExactSerializedSize() {
 		//header: 2xint, boolean
@@ -873,22 +963,31 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 				size += 8;
 				size += IOUtilFunctions.getUTFSize(_colmeta[j].getMvValue());
 			}
-			switch( _schema[j] ) {
-				case BOOLEAN: size += _numRows; break;
-				case INT64:
-				case FP64: size += 8*_numRows; break;
-				case STRING:
-					StringArray arr = (StringArray)_coldata[j];
-					for( int i=0; i<_numRows; i++ )
-						size += IOUtilFunctions.getUTFSize(arr.get(i));
-					break;
-				default: //not applicable
-			}
+			size += getExactSerializedColumnSize(_coldata[j], _schema[j], _numRows);
 		}
 
 		return size;
 	}
 
+	private static long getExactSerializedColumnSize(Array arr, ValueType vt, int len) {
+		if( arr instanceof DDCArray )
+			return ((DDCArray)arr).getExactSerializedSize();
+		switch( vt ) {
+			case BOOLEAN: return len;
+			case INT32:
+			case FP32: return 4L*len;
+			case INT64:
+			case FP64: return 8L*len;
+			case STRING:
+				long size = 0;
+				for( int i=0; i<len; i++ )
+					size += IOUtilFunctions.getUTFSize((String)arr.get(i));
+				return size;
+			default: //not applicable
+				return 0;
+		}
+	}
+
 	@Override
 	public boolean isShallowSerialize() {
 		return isShallowSerialize(false);
@@ -1040,7 +1139,7 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 			if( j>=cl && j<=cu ) {
 				//fast-path for homogeneous column schemas
 				if( _schema[j]==rhsFrame._schema[j-cl] )
-					tmp.set(rl, ru, rhsFrame._coldata[j-cl]);
+					tmp.set(rl, ru, uncompressed(rhsFrame._coldata[j-cl]));
 				//general-path for heterogeneous column schemas
 				else {
 					for( int i=rl; i<=ru; i++ )
@@ -1117,7 +1216,7 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 				if( ret._coldata[j-cl] == null )
 					ret._coldata[j-cl] = _coldata[j].slice(rl,ru);
 				else
-					ret._coldata[j-cl].set(0, ru-rl, _coldata[j], rl);
+					ret._coldata[j-cl].set(0, ru-rl, uncompressed(_coldata[j]), rl);
 			}
 		}
 		return ret;
@@ -1234,9 +1333,13 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 
 		//copy values
 		for( int j=cl; j<=cu; j++ ) {
+			//special case: full copy of compressed column
+			if( _schema[j].equals(src._schema[j-cl]) && src._coldata[j-cl] instanceof DDCArray
+				&& rl == 0 && ru == _numRows-1 && src._numRows == _numRows )
+				_coldata[j] = src._coldata[j-cl].clone();
 			//special case: column memcopy
-			if( _schema[j].equals(src._schema[j-cl]) )
-				_coldata[j].set(rl, ru, src._coldata[j-cl]);
+			else if( _schema[j].equals(src._schema[j-cl]) )
+				_coldata[j].set(rl, ru, uncompressed(src._coldata[j-cl]));
 			//general case w/ schema transformation
 			else
 				for( int i=rl; i<=ru; i++ ) {
@@ -1310,7 +1413,7 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		for( int j=0; j<getNumColumns(); j++ ) {
 			//special case: copy non-zeros of column
 			if( _schema[j].equals(that._schema[j]) )
-				_coldata[j].setNz(0, _numRows-1, that._coldata[j]);
+				_coldata[j].setNz(0, _numRows-1, uncompressed(that._coldata[j]));
 			//general case w/ schema transformation
 			else {
 				for( int i=0; i<_numRows; i++ ) {
@@ -1750,7 +1853,7 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		@Override
 		public void write(DataOutput out) throws IOException {
 			for( int i=0; i<_size; i++ )
-				out.writeLong(_data[i]);
+				out.writeInt(_data[i]);
 		}
 		@Override
 		public void readFields(DataInput in) throws IOException {
@@ -1907,6 +2010,242 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		}
 	}
 
+	/**
+	 * Dictionary encoded column of any value type. The distinct values are stored once in an uncompressed
+	 * array, and the rows as codes into it, using the same mappings as the DDC column groups of compressed
+	 * matrix blocks. Updates with new values extend the dictionary, and widen the mapping if necessary.
+	 */
+	private static class DDCArray<T> extends Array<T> {
+		private final ValueType _vt;
+		private Array<T> _dict = null;
+		private AMapToData _map = null;
+		//number of distinct values the mapping is allocated for
+		private int _capacity = 0;
+		//lazily created lookup from value to code, for updates
+		private HashMap<T,Integer> _lookup = null;
+		//overwritten rows, whose previous values might no longer be referenced
+		private boolean _overwritten = false;
+
+		public DDCArray(ValueType vt) {
+			_vt = vt;
+		}
+
+		private DDCArray(ValueType vt, Array<T> dict, AMapToData map, int capacity, int size) {
+			_vt = vt;
+			_dict = dict;
+			_map = map;
+			_capacity = capacity;
+			_size = size;
+		}
+
+		/**
+		 * Dictionary encode the given column.
+		 *
+		 * @param col the uncompressed column
+		 * @param vt  the value type of the column
+		 * @return the encoded column, or null if it would not be smaller
+		 */
+		public static DDCArray compress(Array col, ValueType vt) {
+			final int len = col._size;
+			final int maxDistinct = (int) (len * COMPRESSED_MAX_DISTINCT);
+			final HashMap<Object,Integer> lookup = new HashMap<>();
+			final Array dict = allocateArray(vt, 0);
+			final int[] codes = new int[len];
+			for( int i=0; i<len; i++ ) {
+				Object val = col.get(i);
+				Integer code = lookup.get(val);
+				if( code == null ) {
+					if( lookup.size() >= maxDistinct )
+						return null; //too many distinct values
+					code = lookup.size();
+					lookup.put(val, code);
+					dict.append(val);
+				}
+				codes[i] = code;
+			}
+			final int nUnique = Math.max(lookup.size(), 1);
+			final AMapToData map = MapToFactory.create(len, nUnique);
+			for( int i=0; i<len; i++ )
+				map.set(i, codes[i]);
+			//the lookup is not retained (recreated on updates)
+			final DDCArray ret = new DDCArray(vt, dict, map, nUnique, len);
+			return ret.getInMemorySize() < getInMemoryColumnSize(col, vt, len) ? ret : null;
+		}
+
+		public AMapToData getMapping() {
+			compact();
+			return _map;
+		}
+
+		public Object[] getDictionary() {
+			compact();
+			Object[] ret = new Object[_dict._size];
+			for( int i=0; i<ret.length; i++ )
+				ret[i] = _dict.get(i);
+			return ret;
+		}
+
+		public Array<T> decompress() {
+			Array<T> ret = allocateArray(_vt, _size);
+			for( int i=0; i<_size; i++ )
+				ret.set(i, get(i));
+			return ret;
+		}
+
+		@Override
+		public T get(int index) {
+			return _dict.get(_map.getIndex(index));
+		}
+		@Override
+		public void set(int index, T value) {
+			_map.set(index, getCode(value));
+			_overwritten = true;
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			for( int i=rl; i<ru+1; i++ )
+				set(i, (T)value.get(rlSrc+i-rl));
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				Object val = value.get(i);
+				if( val != null && !Boolean.FALSE.equals(val)
+					&& !(val instanceof Number && ((Number)val).doubleValue() == 0) )
+					set(i, (T)val);
+			}
+		}
+		@Override
+		public void append(String value) {
+			append((T)UtilFunctions.stringToObject(_vt, value));
+		}
+		@Override
+		public void append(T value) {
+			if( _map.size() <= _size )
+				_map = copyMapping(_map, 0, _size, newSize(), _capacity);
+			_map.set(_size++, getCode(value));
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			compact();
+			_map.write(out);
+			out.writeInt(_dict._size);
+			_dict.write(out);
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			_map = MapToFactory.readIn(in);
+			_capacity = Math.max(_map.getUnique(), 1);
+			_size = _map.size();
+			_dict = allocateArray(_vt, in.readInt());
+			_dict.readFields(in);
+			_lookup = null;
+		}
+		@Override
+		public Array clone() {
+			compact();
+			return new DDCArray<>(_vt, _dict.clone(), copyMapping(_map, 0, _size, _size, _capacity), _capacity, _size);
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			return new DDCArray<>(_vt, _dict.clone(),
+				copyMapping(_map, rl, ru+1, ru-rl+1, _capacity), _capacity, ru-rl+1);
+		}
+		@Override
+		public void reset(int size) {
+			//single entry dictionary of the default value
+			_dict.reset(1);
+			_dict.set(0, null);
+			_map = MapToFactory.create(size, 1);
+			_capacity = 1;
+			_lookup = null;
+			_overwritten = false;
+			_size = size;
+		}
+
+		public long getInMemorySize() {
+			//object, value type, dict, map, lookup, capacity, flag
+			return 16 + 8 + 8 + 8 + 8 + 4 + 1 + _map.getInMemorySize()
+				+ getInMemoryColumnSize(_dict, _vt, _dict._size) + getLookupSize();
+		}
+
+		private long getLookupSize() {
+			//hash map w/ table, and per entry a node, a table slot, and an integer
+			//(the keys are shared with the dictionary)
+			return (_lookup == null) ? 0 : 48 + 16 + (long)_lookup.size() * (32 + 8 + 16);
+		}
+
+		public long getExactSerializedSize() {
+			compact();
+			return _map.getExactSizeOnDisk() + 4
+				+ getExactSerializedColumnSize(_dict, _vt, _dict._size);
+		}
+
+		private int getCode(T value) {
+			if( _lookup == null ) {
+				_lookup = new HashMap<>();
+				for( int i=0; i<_dict._size; i++ )
+					_lookup.putIfAbsent(_dict.get(i), i);
+			}
+			Integer code = _lookup.get(value);
+			if( code == null ) {
+				code = _dict._size;
+				_dict.append(value);
+				_lookup.put(value, code);
+				//widen the mapping if it cannot hold the new code
+				if( code >= _capacity ) {
+					_capacity = code * 2;
+					_map = copyMapping(_map, 0, _map.size(), _map.size(), _capacity);
+				}
+			}
+			return code;
+		}
+
+		private void compact() {
+			if( _map.size() != _size )
+				_map = copyMapping(_map, 0, _size, _size, _capacity);
+			if( _overwritten )
+				prune();
+		}
+
+		private void prune() {
+			//remove dictionary values that are no longer referenced after overwrites
+			final int nDict = _dict._size;
+			final boolean[] used = new boolean[nDict];
+			for( int i=0; i<_size; i++ )
+				used[_map.getIndex(i)] = true;
+			final int[] codes = new int[nDict];
+			int nUsed = 0;
+			for( int c=0; c<nDict; c++ )
+				codes[c] = used[c] ? nUsed++ : -1;
+			_overwritten = false;
+			if( nUsed == nDict || nUsed == 0 )
+				return;
+			final Array<T> dict = allocateArray(_vt, nUsed);
+			for( int c=0; c<nDict; c++ )
+				if( used[c] )
+					dict.set(codes[c], _dict.get(c));
+			final AMapToData map = MapToFactory.create(_size, nUsed);
+			for( int i=0; i<_size; i++ )
+				map.set(i, codes[_map.getIndex(i)]);
+			_dict = dict;
+			_map = map;
+			_capacity = nUsed;
+			_lookup = null;
+		}
+
+		private static AMapToData copyMapping(AMapToData map, int rl, int ru, int len, int capacity) {
+			AMapToData ret = MapToFactory.create(len, capacity);
+			for( int i=rl; i<ru; i++ )
+				ret.set(i-rl, map.getIndex(i));
+			return ret;
+		}
+	}
+
 	public static class ColumnMetadata implements Serializable {
 		private static final long serialVersionUID = -90094082422100311L;
 
@@ -48,6 +48,7 @@ import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
@@ -5426,6 +5427,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public MatrixBlock ctableSeqOperations(MatrixValue thatMatrix, double thatScalar, MatrixBlock resultBlock, boolean updateClen) {
 		MatrixBlock that = checkType(thatMatrix);
+		if( that instanceof CompressedMatrixBlock && CLALibCTable.isSupportedVector((CompressedMatrixBlock) that) )
+			return CLALibCTable.ctableSeqOperations((CompressedMatrixBlock) that, thatScalar, resultBlock, updateClen);
 		CTable ctable = CTable.getCTableFnObject();
 		double w = thatScalar;
 		
@@ -275,6 +275,7 @@ public class MetaDataAll extends DataIdentifier {
 						if ( key.toString().equalsIgnoreCase(DataExpression.DELIM_HAS_HEADER_ROW)
 							|| key.toString().equalsIgnoreCase(DataExpression.DELIM_FILL)
 							|| key.toString().equalsIgnoreCase(DataExpression.DELIM_SPARSE)
+							|| key.toString().equalsIgnoreCase(DataExpression.COMPRESSED)
 						) {
 							// parse these parameters as boolean values
 							BooleanIdentifier boolId = null;
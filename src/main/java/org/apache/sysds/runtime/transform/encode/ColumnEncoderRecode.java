@@ -39,6 +39,7 @@ import java.util.concurrent.Future;
 
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -116,6 +117,18 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	private static void makeRcdMap(FrameBlock in, HashMap<String, Long> map, int colID, int startRow, int blk) {
+		if(in.isColumnCompressed(colID - 1))
+			makeRcdMapCompressed(in, map, colID, startRow, blk);
+		else
+			makeRcdMapUncompressed(in, map, colID, startRow, blk);
+
+		if(SORT_RECODE_MAP) {
+			sortCPRecodeMaps(map);
+		}
+	}
+
+	private static void makeRcdMapUncompressed(FrameBlock in, HashMap<String, Long> map, int colID, int startRow,
+		int blk) {
 		Iterator<String[]> iter = in.getStringRowIterator(startRow, getEndIndex(in.getNumRows(), startRow, blk), colID);
 		while(iter.hasNext()) {
 			String[] row = iter.next();
@@ -124,9 +137,25 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 			if(key != null && !key.isEmpty() && !map.containsKey(key))
 				putCode(map, key);
 		}
+	}
 
-		if(SORT_RECODE_MAP) {
-			sortCPRecodeMaps(map);
+	private static void makeRcdMapCompressed(FrameBlock in, HashMap<String, Long> map, int colID, int startRow,
+		int blk) {
+		// probe each distinct value once, in order of first occurrence to assign the same codes as uncompressed
+		final Object[] dict = in.getColumnDictionary(colID - 1);
+		final AMapToData data = in.getColumnMapping(colID - 1);
+		final boolean[] seen = new boolean[dict.length];
+		int remaining = dict.length;
+		final int endRow = getEndIndex(in.getNumRows(), startRow, blk);
+		for(int i = startRow; i < endRow && remaining > 0; i++) {
+			final int code = data.getIndex(i);
+			if(seen[code])
+				continue;
+			seen[code] = true;
+			remaining--;
+			String key = (dict[code] != null) ? dict[code].toString() : null;
+			if(key != null && !key.isEmpty() && !map.containsKey(key))
+				putCode(map, key);
 		}
 	}
 
@@ -207,6 +236,8 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
+		if(in.isColumnCompressed(_colID - 1))
+			return applyCompressed(in, out, outputCol, rowStart, blk);
 		// FrameBlock is column Major and MatrixBlock row Major this results in cache inefficiencies :(
 		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++) {
 			Object okey = in.get(i, _colID - 1);
@@ -217,6 +248,20 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return out;
 	}
 
+	private MatrixBlock applyCompressed(FrameBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
+		// lookup the recode map once per distinct value, and encode the rows by their dictionary codes
+		final Object[] dict = in.getColumnDictionary(_colID - 1);
+		final AMapToData data = in.getColumnMapping(_colID - 1);
+		final double[] codes = new double[dict.length];
+		for(int j = 0; j < dict.length; j++) {
+			long code = lookupRCDMap((dict[j] != null) ? dict[j].toString() : null);
+			codes[j] = (code >= 0) ? code : Double.NaN;
+		}
+		for(int i = rowStart; i < getEndIndex(in.getNumRows(), rowStart, blk); i++)
+			out.quickSetValueThreadSafe(i, outputCol, codes[data.getIndex(i)]);
+		return out;
+	}
+
 	@Override
 	public MatrixBlock apply(MatrixBlock in, MatrixBlock out, int outputCol, int rowStart, int blk) {
 		throw new DMLRuntimeException(
@@ -123,10 +123,10 @@ public class ByteBufferDataInput implements DataInput, MatrixBlockDataInput
 	
 	@Override
 	public long readDoubleArray(int len, double[] varr) throws IOException  {
-		long nnz = 0;
-		for( int i=0; i<len; i++ )
-			nnz += (varr[i] = _buff.getDouble()) != 0 ? 1 : 0;
-		return nnz;
+		//bulk copy via double buffer view (w/ byte order of the underlying buffer)
+		_buff.asDoubleBuffer().get(varr, 0, len);
+		_buff.position(_buff.position()+len*8);
+		return UtilFunctions.computeNnz(varr, 0, len);
 	}
 
 	@Override
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsing of numbers directly from ASCII bytes (e.g., read buffers of text
+ * formats), which avoids the creation of intermediate strings per token.
+ * 
+ * For doubles, we use the exact fast path (Clinger's algorithm), where the 
+ * decimal significand is exactly representable (at most 2^53) and the power
+ * of ten is exactly representable (at most 10^22), such that a single IEEE 
+ * multiplication or division yields the correctly rounded result. All other
+ * tokens (e.g., more significant digits, large exponents, NaN, Infinity) fall
+ * back to Double.parseDouble, which guarantees identical results.
+ */
+public class FastByteParser
+{
+	private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+	private static final int MAX_SIGNIFICAND_DIGITS = 18;
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+	
+	/**
+	 * Parses a double from the given byte range, which is expected to be
+	 * trimmed (no leading or trailing whitespace).
+	 * 
+	 * @param b byte array
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed double value
+	 * @throws NumberFormatException if the byte range is not a valid double
+	 */
+	public static double parseDouble(byte[] b, int start, int end) {
+		int i = start;
+		boolean neg = false;
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			neg = (b[i++] == '-');
+		
+		//parse significand (integer and fraction part)
+		long mant = 0;
+		int ndigits = 0, exp10 = 0;
+		boolean any = false;
+		for( ; i < end && isDigit(b[i]); i++ ) {
+			mant = mant * 10 + (b[i] - '0');
+			ndigits += (mant != 0) ? 1 : 0;
+			any = true;
+		}
+		if( i < end && b[i] == '.' ) {
+			for( i++; i < end && isDigit(b[i]); i++ ) {
+				mant = mant * 10 + (b[i] - '0');
+				ndigits += (mant != 0) ? 1 : 0;
+				exp10--;
+				any = true;
+			}
+		}
+		
+		//parse exponent
+		if( any && i < end && (b[i] == 'e' || b[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (b[i] == '-' || b[i] == '+') )
+				eneg = (b[i++] == '-');
+			int exp = 0;
+			boolean eany = false;
+			for( ; i < end && isDigit(b[i]) && exp < 1000; i++ ) {
+				exp = exp * 10 + (b[i] - '0');
+				eany = true;
+			}
+			if( !eany )
+				return parseDoubleFallback(b, start, end);
+			exp10 += eneg ? -exp : exp;
+		}
+		
+		//exact fast path, otherwise fallback to string-based parsing
+		if( !any || i != end || ndigits > MAX_SIGNIFICAND_DIGITS )
+			return parseDoubleFallback(b, start, end);
+		if( mant == 0 )
+			return neg ? -0d : 0d;
+		if( mant > MAX_EXACT_SIGNIFICAND || exp10 < -22 || exp10 > 22 )
+			return parseDoubleFallback(b, start, end);
+		double v = (exp10 >= 0) ? mant * POW10[exp10] : mant / POW10[-exp10];
+		return neg ? -v : v;
+	}
+	
+	/**
+	 * Parses an int from the given (trimmed) byte range.
+	 * 
+	 * @param b byte array
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed int value
+	 * @throws NumberFormatException if the byte range is not a valid int
+	 */
+	public static int parseInt(byte[] b, int start, int end) {
+		int i = start;
+		boolean neg = false;
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			neg = (b[i++] == '-');
+		if( i >= end || end - i > 9 )
+			return Integer.parseInt(toString(b, start, end));
+		int ret = 0;
+		for( ; i < end; i++ ) {
+			if( !isDigit(b[i]) )
+				throw new NumberFormatException("For input string: \""+toString(b, start, end)+"\"");
+			ret = ret * 10 + (b[i] - '0');
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Parses a long from the given (trimmed) byte range.
+	 * 
+	 * @param b byte array
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive)
+	 * @return parsed long value
+	 * @throws NumberFormatException if the byte range is not a valid long
+	 */
+	public static long parseLong(byte[] b, int start, int end) {
+		int i = start;
+		boolean neg = false;
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			neg = (b[i++] == '-');
+		if( i >= end || end - i > 18 )
+			return Long.parseLong(toString(b, start, end));
+		long ret = 0;
+		for( ; i < end; i++ ) {
+			if( !isDigit(b[i]) )
+				throw new NumberFormatException("For input string: \""+toString(b, start, end)+"\"");
+			ret = ret * 10 + (b[i] - '0');
+		}
+		return neg ? -ret : ret;
+	}
+	
+	/**
+	 * Indicates if the given byte is whitespace in the sense of String.trim().
+	 * 
+	 * @param c byte
+	 * @return true if whitespace or control character
+	 */
+	public static boolean isWhitespace(byte c) {
+		return c >= 0 && c <= ' ';
+	}
+	
+	public static String toString(byte[] b, int start, int end) {
+		return new String(b, start, end-start, StandardCharsets.UTF_8);
+	}
+	
+	private static boolean isDigit(byte c) {
+		return c >= '0' && c <= '9';
+	}
+	
+	private static double parseDoubleFallback(byte[] b, int start, int end) {
+		return Double.parseDouble(toString(b, start, end));
+	}
+}
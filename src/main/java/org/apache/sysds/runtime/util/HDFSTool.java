@@ -31,6 +31,7 @@ import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.OrderedJSONObject;
@@ -488,6 +489,10 @@ public class HDFSTool
 			mtd.put(DataExpression.DELIM_HAS_HEADER_ROW, csvProps.hasHeader());
 			mtd.put(DataExpression.DELIM_DELIMITER, csvProps.getDelim());
 		}
+		
+		if (FileFormatPropertiesBinary.isCompressed(formatProperties)) {
+			mtd.put(DataExpression.COMPRESSED, true);
+		}
 
 		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
 		mtd.put(DataExpression.CREATEDPARAM, sdf.format(new Date()));
@@ -19,17 +19,32 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
  * Utils for converting python data to java.
  */
 public class Py4jConverterUtils {
+	//max size of a single memory-mapped region of shared memory files
+	//(multiple of 8 to avoid values spanning regions)
+	private static final int MAX_MAP_SIZE = 1 << 30;
+
 	public static MatrixBlock convertPy4JArrayToMB(byte[] data, int rlen, int clen) {
 		return convertPy4JArrayToMB(data, rlen, clen, false, Types.ValueType.FP64);
 	}
@@ -143,4 +158,323 @@ public class Py4jConverterUtils {
 
 		return ret;
 	}
+
+	/**
+	 * Converts a dense, row-major, little-endian FP64 or FP32 buffer into a MatrixBlock.
+	 * The buffer is passed as a file (e.g., in /dev/shm) that is memory-mapped and
+	 * transferred with bulk copies into the dense block, which avoids both the py4j
+	 * byte array transfer and per-element buffer reads.
+	 * 
+	 * @param fname file name of the shared memory buffer
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param valueType value type of the buffer (FP64 or FP32)
+	 * @return matrix block
+	 */
+	public static MatrixBlock convertSharedMemoryToMB(String fname, int rlen, int clen, Types.ValueType valueType) {
+		if(valueType != Types.ValueType.FP64 && valueType != Types.ValueType.FP32)
+			throw new DMLRuntimeException("Unsupported value type for shared memory exchange: " + valueType.name());
+		int width = (valueType == Types.ValueType.FP64) ? 8 : 4;
+		DenseBlock db = DenseBlockFactory.createDenseBlock(rlen, clen);
+		try(MappedFile in = new MappedFile(fname, (long) rlen * clen * width, false)) {
+			for(int bix = 0; bix < db.numBlocks(); bix++) {
+				if(width == 8)
+					in.getDoubles(db.valuesAt(bix), 0, db.size(bix));
+				else
+					in.getFloats(db.valuesAt(bix), 0, db.size(bix));
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to read shared memory buffer: " + fname, ex);
+		}
+		MatrixBlock mb = new MatrixBlock(rlen, clen, db);
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return mb;
+	}
+
+	/**
+	 * Converts a CSR matrix (e.g., scipy.sparse.csr_matrix) into a MatrixBlock. The buffer
+	 * is passed as a file (e.g., in /dev/shm) with little-endian layout: int32 row pointers
+	 * [rlen+1], int32 column indexes [nnz], padding to 8 bytes, and FP64 values [nnz].
+	 * The column indexes of each row must be sorted and unique (scipy's canonical format).
+	 * 
+	 * @param fname file name of the shared memory buffer
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param nnz number of stored values
+	 * @return matrix block
+	 */
+	public static MatrixBlock convertSharedMemoryCSRToMB(String fname, int rlen, int clen, int nnz) {
+		int[] rowPtr = new int[rlen + 1];
+		int[] colInd = new int[nnz];
+		double[] values = new double[nnz];
+		try(MappedFile in = new MappedFile(fname, getCSRSize(rlen, nnz), false)) {
+			in.getInts(rowPtr, 0, rowPtr.length);
+			in.getInts(colInd, 0, nnz);
+			in.align();
+			in.getDoubles(values, 0, nnz);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to read shared memory buffer: " + fname, ex);
+		}
+		if(rowPtr[0] != 0 || rowPtr[rlen] != nnz)
+			throw new DMLRuntimeException("Invalid CSR row pointers: [" + rowPtr[0] + ", " + rowPtr[rlen] + "] vs. nnz=" + nnz);
+		validateCSR(rowPtr, colInd, rlen, clen);
+		MatrixBlock mb = new MatrixBlock(rlen, clen, nnz, new SparseBlockCSR(rowPtr, colInd, values, nnz));
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return mb;
+	}
+
+	private static void validateCSR(int[] rowPtr, int[] colInd, int rlen, int clen) {
+		//sparse blocks require sorted, unique column indexes per row (e.g., scipy's canonical format)
+		for(int i = 0; i < rlen; i++) {
+			if(rowPtr[i] > rowPtr[i + 1])
+				throw new DMLRuntimeException("Invalid CSR row pointers in row " + i + ": " + rowPtr[i] + " > " + rowPtr[i + 1]);
+			for(int k = rowPtr[i]; k < rowPtr[i + 1]; k++) {
+				if(colInd[k] < 0 || colInd[k] >= clen)
+					throw new DMLRuntimeException("Invalid CSR column index in row " + i + ": " + colInd[k] + " (clen=" + clen + ")");
+				if(k > rowPtr[i] && colInd[k - 1] >= colInd[k])
+					throw new DMLRuntimeException("Unsorted or duplicate CSR column indexes in row " + i + ": " + colInd[k - 1]
+						+ ", " + colInd[k]);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given MatrixBlock as dense, row-major, little-endian FP64 buffer into
+	 * the given file (e.g., in /dev/shm), which the python API maps as numpy array.
+	 * In contrast to convertMBtoPy4JDenseArr, sparse blocks are not converted in place.
+	 * 
+	 * @param mb matrix block
+	 * @param fname file name of the shared memory buffer
+	 */
+	public static void convertMBToSharedMemory(MatrixBlock mb, String fname) {
+		int rlen = mb.getNumRows(), clen = mb.getNumColumns();
+		try(MappedFile out = new MappedFile(fname, (long) rlen * clen * 8, true)) {
+			if(mb.isEmptyBlock(false))
+				return; //zero-initialized file
+			if(!mb.isInSparseFormat()) {
+				DenseBlock db = mb.getDenseBlock();
+				for(int bix = 0; bix < db.numBlocks(); bix++)
+					out.putDoubles(db.valuesAt(bix), 0, db.size(bix));
+			}
+			else {
+				SparseBlock sb = mb.getSparseBlock();
+				double[] row = new double[clen];
+				for(int i = 0; i < rlen; i++) {
+					if(!sb.isEmpty(i)) {
+						int apos = sb.pos(i), alen = sb.size(i);
+						int[] aix = sb.indexes(i);
+						double[] avals = sb.values(i);
+						for(int k = apos; k < apos + alen; k++)
+							row[aix[k]] = avals[k];
+						out.putDoubles(row, 0, clen);
+						for(int k = apos; k < apos + alen; k++)
+							row[aix[k]] = 0;
+					}
+					else
+						out.skip((long) clen * 8);
+				}
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to write shared memory buffer: " + fname, ex);
+		}
+	}
+
+	/**
+	 * Writes the given MatrixBlock in the CSR layout of convertSharedMemoryCSRToMB
+	 * into the given file (e.g., in /dev/shm).
+	 * 
+	 * @param mb matrix block
+	 * @param fname file name of the shared memory buffer
+	 * @return number of non-zeros, i.e., the length of the column index and value arrays
+	 */
+	public static int convertMBToSharedMemoryCSR(MatrixBlock mb, String fname) {
+		int rlen = mb.getNumRows(), clen = mb.getNumColumns();
+		long nnz = mb.recomputeNonZeros();
+		if(nnz > Integer.MAX_VALUE)
+			throw new DMLRuntimeException("MatrixBlock with " + nnz + " non-zeros cannot be converted to CSR");
+		SparseBlock sb = mb.isInSparseFormat() ? mb.getSparseBlock() : null;
+		DenseBlock db = mb.isInSparseFormat() ? null : mb.getDenseBlock();
+		try(MappedFile out = new MappedFile(fname, getCSRSize(rlen, (int) nnz), true)) {
+			//row pointers
+			int[] tmp = new int[Math.max(clen, 1)];
+			int pos = 0;
+			out.putInts(new int[] {0}, 0, 1);
+			for(int i = 0; i < rlen; i++) {
+				pos += (sb != null) ? sb.size(i) : (db != null) ? db.countNonZeros(i) : 0;
+				tmp[0] = pos;
+				out.putInts(tmp, 0, 1);
+			}
+			//column indexes and values
+			if(sb != null) {
+				for(int i = 0; i < rlen; i++)
+					if(!sb.isEmpty(i))
+						out.putInts(sb.indexes(i), sb.pos(i), sb.size(i));
+				out.align();
+				for(int i = 0; i < rlen; i++)
+					if(!sb.isEmpty(i))
+						out.putDoubles(sb.values(i), sb.pos(i), sb.size(i));
+			}
+			else if(db != null) {
+				double[] vtmp = new double[Math.max(clen, 1)];
+				for(int i = 0; i < rlen; i++) {
+					int n = collectRow(db, i, clen, tmp, null);
+					out.putInts(tmp, 0, n);
+				}
+				out.align();
+				for(int i = 0; i < rlen; i++) {
+					int n = collectRow(db, i, clen, tmp, vtmp);
+					out.putDoubles(vtmp, 0, n);
+				}
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to write shared memory buffer: " + fname, ex);
+		}
+		return (int) nnz;
+	}
+
+	private static int collectRow(DenseBlock db, int r, int clen, int[] ix, double[] vals) {
+		double[] avals = db.values(r);
+		int apos = db.pos(r), n = 0;
+		for(int j = 0; j < clen; j++)
+			if(avals[apos + j] != 0) {
+				if(vals != null)
+					vals[n] = avals[apos + j];
+				ix[n++] = j;
+			}
+		return n;
+	}
+
+	private static long getCSRSize(int rlen, int nnz) {
+		long ixSize = 4L * (rlen + 1 + nnz);
+		return ixSize + (8 - ixSize % 8) % 8 + 8L * nnz;
+	}
+
+	/**
+	 * Sequential reader/writer over a memory-mapped file with a fixed size, which maps
+	 * regions of up to MAX_MAP_SIZE bytes and transfers arrays via bulk buffer copies.
+	 */
+	private static class MappedFile implements Closeable {
+		private final FileChannel _channel;
+		private final boolean _write;
+		private final long _len;
+		private long _off = 0; //file offset of current region
+		private MappedByteBuffer _buf = null;
+		private float[] _ftmp = null;
+
+		public MappedFile(String fname, long len, boolean write) throws IOException {
+			_channel = write ?
+				FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) :
+				FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+			_write = write;
+			_len = len;
+			if(!write && _channel.size() < len) {
+				_channel.close();
+				throw new IOException("Shared memory buffer too small: " + _channel.size() + " vs. " + len + " bytes.");
+			}
+			if(write && len > 0) //allocate zero-initialized file
+				_channel.write(ByteBuffer.wrap(new byte[1]), len - 1);
+		}
+
+		public void getDoubles(double[] a, int pos, int len) throws IOException {
+			while(len > 0) {
+				int n = Math.min(len, region(8) / 8);
+				_buf.asDoubleBuffer().get(a, pos, n);
+				advance(n, 8);
+				pos += n;
+				len -= n;
+			}
+		}
+
+		public void getFloats(double[] a, int pos, int len) throws IOException {
+			if(_ftmp == null)
+				_ftmp = new float[Math.min(len, 64 * 1024)];
+			while(len > 0) {
+				int n = Math.min(Math.min(len, _ftmp.length), region(4) / 4);
+				_buf.asFloatBuffer().get(_ftmp, 0, n);
+				for(int i = 0; i < n; i++)
+					a[pos + i] = _ftmp[i];
+				advance(n, 4);
+				pos += n;
+				len -= n;
+			}
+		}
+
+		public void getInts(int[] a, int pos, int len) throws IOException {
+			while(len > 0) {
+				int n = Math.min(len, region(4) / 4);
+				_buf.asIntBuffer().get(a, pos, n);
+				advance(n, 4);
+				pos += n;
+				len -= n;
+			}
+		}
+
+		public void putDoubles(double[] a, int pos, int len) throws IOException {
+			while(len > 0) {
+				int n = Math.min(len, region(8) / 8);
+				_buf.asDoubleBuffer().put(a, pos, n);
+				advance(n, 8);
+				pos += n;
+				len -= n;
+			}
+		}
+
+		public void putInts(int[] a, int pos, int len) throws IOException {
+			while(len > 0) {
+				int n = Math.min(len, region(4) / 4);
+				_buf.asIntBuffer().put(a, pos, n);
+				advance(n, 4);
+				pos += n;
+				len -= n;
+			}
+		}
+
+		public void skip(long bytes) {
+			if(bytes <= 0)
+				return;
+			if(_buf != null && bytes <= _buf.remaining())
+				_buf.position(_buf.position() + (int) bytes);
+			else {
+				_off = offset() + bytes;
+				_buf = null;
+			}
+		}
+
+		public void align() {
+			skip((8 - offset() % 8) % 8);
+		}
+
+		private long offset() {
+			return _off + ((_buf != null) ? _buf.position() : 0);
+		}
+
+		private int region(int width) throws IOException {
+			if(_buf == null || _buf.remaining() < width) {
+				_off = offset();
+				int size = (int) Math.min(MAX_MAP_SIZE, _len - _off);
+				if(size < width)
+					throw new IOException("Read or write beyond the end of the shared memory buffer.");
+				_buf = _channel.map(_write ? MapMode.READ_WRITE : MapMode.READ_ONLY, _off, size);
+				_buf.order(ByteOrder.LITTLE_ENDIAN);
+			}
+			return _buf.remaining();
+		}
+
+		private void advance(int n, int width) {
+			_buf.position(_buf.position() + n * width);
+		}
+
+		@Override
+		public void close() throws IOException {
+			_buf = null;
+			_channel.close();
+		}
+	}
 }
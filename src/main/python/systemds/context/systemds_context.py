@@ -376,7 +376,7 @@ class SystemDSContext(object):
         """Generate DAGNode representing matrix with data given by a numpy array, which will be sent to SystemDS
         on need.
 
-        :param mat: the numpy array
+        :param mat: the numpy array, or a scipy sparse matrix that is passed in CSR format
         :param args: unnamed parameters
         :param kwargs: named parameters
         :return: A Matrix
@@ -28,7 +28,7 @@ import numpy as np
 from py4j.java_gateway import JavaObject, JVMView
 from systemds.operator import OperationNode, Scalar
 from systemds.utils.consts import VALID_INPUT_TYPES
-from systemds.utils.converters import numpy_to_matrix_block, matrix_block_to_numpy
+from systemds.utils.converters import numpy_to_matrix_block, matrix_block_to_numpy, matrix_block_to_scipy
 from systemds.script_building.dag import OutputType
 
 from systemds.utils.consts import VALID_INPUT_TYPES, BINARY_OPERATIONS, VALID_ARITHMETIC_TYPES
@@ -49,6 +49,7 @@ class Matrix(OperationNode):
             is_python_local_data = True
         else:
             self._np_array = None
+        self._sparse_output = False
 
         super().__init__(sds_context, operation, unnamed_input_nodes,
                          named_input_nodes, OutputType.MATRIX, is_python_local_data)
@@ -66,17 +67,26 @@ class Matrix(OperationNode):
             code_line = code_line.format(file_name=var_name)
         return code_line
 
-    def compute(self, verbose: bool = False, lineage: bool = False) -> Union[np.array]:
+    def compute(self, verbose: bool = False, lineage: bool = False, sparse: bool = False) -> Union[np.array]:
+        """Compute the matrix.
+
+        :param verbose: print the generated script and execution information
+        :param lineage: also return the lineage trace of the result
+        :param sparse: return the result as scipy.sparse.csr_matrix instead of a numpy array
+        """
         if self._is_numpy():
             if verbose:
                 print('[Numpy Array - No Compilation necessary]')
             return self._np_array
         else:
+            self._sparse_output = sparse
             return super().compute(verbose, lineage)
 
     def _parse_output_result_variables(self, result_variables):
-        return matrix_block_to_numpy(self.sds_context.java_gateway.jvm,
-                                     result_variables.getMatrixBlock(self._script.out_var_name[0]))
+        mb = result_variables.getMatrixBlock(self._script.out_var_name[0])
+        if self._sparse_output:
+            return matrix_block_to_scipy(self.sds_context.java_gateway.jvm, mb)
+        return matrix_block_to_numpy(self.sds_context.java_gateway.jvm, mb)
 
     def _is_numpy(self) -> bool:
         return self._np_array is not None
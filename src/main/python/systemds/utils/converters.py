@@ -19,16 +19,57 @@
 #
 # -------------------------------------------------------------
 
+import os
+import tempfile
+
 import numpy as np
 import pandas as pd
 from py4j.java_gateway import JavaClass, JavaObject, JVMView, JavaGateway
 
+# Directory and minimum size in bytes of dense arrays that are exchanged
+# through memory-mapped files instead of py4j byte arrays.
+SHARED_MEMORY_DIR = "/dev/shm"
+SHARED_MEMORY_THRESHOLD = 1024 * 1024
+
+
+def _shared_memory_available() -> bool:
+    return os.path.isdir(SHARED_MEMORY_DIR) and os.access(SHARED_MEMORY_DIR, os.W_OK)
+
+
+def _use_shared_memory(num_bytes: int) -> bool:
+    return num_bytes >= SHARED_MEMORY_THRESHOLD and _shared_memory_available()
+
+
+def _is_scipy_sparse(arr) -> bool:
+    # scipy is an optional dependency, only needed for sparse inputs and outputs
+    try:
+        from scipy.sparse import issparse
+    except ImportError:
+        return False
+    return issparse(arr)
+
+
+def _csr_values_offset(rows: int, nnz: int) -> int:
+    # int32 row pointers and column indexes, padded to 8 bytes (see Py4jConverterUtils.getCSRSize)
+    ix_size = 4 * (rows + 1 + nnz)
+    return ix_size + (8 - ix_size % 8) % 8
+
+
+def _create_shared_memory_file() -> str:
+    fd, path = tempfile.mkstemp(
+        prefix="systemds_", suffix=".bin", dir=SHARED_MEMORY_DIR)
+    os.close(fd)
+    return path
+
+
 def numpy_to_matrix_block(sds: 'SystemDSContext', np_arr: np.array):
     """Converts a given numpy array, to internal matrix block representation.
 
     :param sds: The current systemds context.
-    :param np_arr: the numpy array to convert to matrixblock.
+    :param np_arr: the numpy array (or scipy sparse matrix) to convert to matrixblock.
     """
+    if _is_scipy_sparse(np_arr):
+        return scipy_to_matrix_block(sds, np_arr)
     assert (np_arr.ndim <= 2), "np_arr invalid, because it has more than 2 dimensions"
     rows = np_arr.shape[0]
     cols = np_arr.shape[1] if np_arr.ndim == 2 else 1
@@ -51,16 +92,100 @@ def numpy_to_matrix_block(sds: 'SystemDSContext', np_arr: np.array):
     else:
         arr = np_arr.ravel().astype(np.float64)
         value_type = jvm.org.apache.sysds.common.Types.ValueType.FP64
+
+    j_class: JavaClass = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils
+
+    # Large FP32/FP64 arrays are written as little-endian buffer into a
+    # shared memory file, which java maps and bulk-copies.
+    if arr.dtype in (np.float32, np.float64) and _use_shared_memory(arr.nbytes):
+        path = _create_shared_memory_file()
+        try:
+            np.ascontiguousarray(arr, dtype=arr.dtype.newbyteorder("<")).tofile(path)
+            return j_class.convertSharedMemoryToMB(path, rows, cols, value_type)
+        except Exception as e:
+            sds.exception_and_close(e)
+        finally:
+            os.remove(path)
+
     buf = bytearray(arr.tobytes())
 
     # Send data to java.
     try:
-        j_class: JavaClass = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils
         return j_class.convertPy4JArrayToMB(buf, rows, cols, value_type)
     except Exception as e:
         sds.exception_and_close(e)
 
 
+def scipy_to_matrix_block(sds: 'SystemDSContext', sp_arr):
+    """Converts a given scipy sparse matrix, to internal sparse matrix block representation.
+
+    :param sds: The current systemds context.
+    :param sp_arr: the scipy sparse matrix to convert to matrixblock.
+    """
+    csr = sp_arr.tocsr()
+    # java requires sorted column indexes without duplicates per row
+    if not csr.has_canonical_format:
+        csr = csr.copy()
+        csr.sum_duplicates()
+    rows, cols = csr.shape
+    nnz = csr.nnz
+
+    jvm: JVMView = sds.java_gateway.jvm
+    j_class: JavaClass = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils
+
+    # Large matrices are written in CSR layout into a shared memory file,
+    # which java maps and copies into a CSR sparse block.
+    if _use_shared_memory(_csr_values_offset(rows, nnz) + 8 * nnz):
+        path = _create_shared_memory_file()
+        try:
+            with open(path, "wb") as f:
+                f.write(csr.indptr.astype("<i4").tobytes())
+                f.write(csr.indices.astype("<i4").tobytes())
+                f.write(bytes(_csr_values_offset(rows, nnz) - 4 * (rows + 1 + nnz)))
+                f.write(csr.data.astype("<f8").tobytes())
+            return j_class.convertSharedMemoryCSRToMB(path, rows, cols, nnz)
+        except Exception as e:
+            sds.exception_and_close(e)
+        finally:
+            os.remove(path)
+
+    coo = csr.tocoo()
+    try:
+        return j_class.convertSciPyCOOToMB(
+            bytearray(coo.data.astype(np.float64).tobytes()),
+            bytearray(coo.row.astype(np.int32).tobytes()),
+            bytearray(coo.col.astype(np.int32).tobytes()),
+            rows, cols, nnz)
+    except Exception as e:
+        sds.exception_and_close(e)
+
+
+def matrix_block_to_scipy(jvm: JVMView, mb: JavaObject):
+    """Converts a MatrixBlock object in the JVM to a scipy.sparse.csr_matrix.
+
+    :param jvm: The current JVM instance running systemds.
+    :param mb: A pointer to the JVM's MatrixBlock object.
+    """
+    from scipy.sparse import csr_matrix
+    num_rows = mb.getNumRows()
+    num_cols = mb.getNumColumns()
+    if not _shared_memory_available():
+        return csr_matrix(matrix_block_to_numpy(jvm, mb))
+    path = _create_shared_memory_file()
+    try:
+        nnz = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertMBToSharedMemoryCSR(
+            mb, path)
+        buf = np.fromfile(path, dtype=np.uint8)
+    finally:
+        os.remove(path)
+    indptr = np.frombuffer(buf, dtype="<i4", count=num_rows + 1)
+    indices = np.frombuffer(buf, dtype="<i4", count=nnz, offset=4 * (num_rows + 1))
+    data = np.frombuffer(buf, dtype="<f8", count=nnz,
+                         offset=_csr_values_offset(num_rows, nnz))
+    return csr_matrix((data.astype(np.float64), indices.astype(np.int32),
+                       indptr.astype(np.int32)), shape=(num_rows, num_cols))
+
+
 def matrix_block_to_numpy(jvm: JVMView, mb: JavaObject):
     """Converts a MatrixBlock object in the JVM to a numpy array.
 
@@ -69,6 +194,15 @@ def matrix_block_to_numpy(jvm: JVMView, mb: JavaObject):
     """
     num_ros = mb.getNumRows()
     num_cols = mb.getNumColumns()
+    if _use_shared_memory(num_ros * num_cols * 8):
+        path = _create_shared_memory_file()
+        try:
+            jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertMBToSharedMemory(
+                mb, path)
+            return np.fromfile(path, dtype="<f8", count=num_ros * num_cols).reshape(
+                (num_ros, num_cols)).astype(np.float64, copy=False)
+        finally:
+            os.remove(path)
     buf = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertMBtoPy4JDenseArr(
         mb
     )
@@ -25,8 +25,14 @@ import unittest
 import numpy as np
 from py4j.java_gateway import JVMView
 from systemds.context import SystemDSContext
+from systemds.utils import converters
 from systemds.utils.converters import (
-    matrix_block_to_numpy, numpy_to_matrix_block)
+    matrix_block_to_numpy, matrix_block_to_scipy, numpy_to_matrix_block)
+
+try:
+    import scipy.sparse as sp
+except ImportError:
+    sp = None
 
 
 class Test_MatrixBlockConverter(unittest.TestCase):
@@ -72,6 +78,66 @@ class Test_MatrixBlockConverter(unittest.TestCase):
         array = np.array([rng.standard_normal(n) for x in range(k)])
         self.convert_back_and_forth(array)
 
+    def test_shared_memory_nxk(self):
+        rng = np.random.default_rng(seed=7)
+        array = rng.standard_normal((100, 30))
+        self.convert_shared_memory(array)
+
+    def test_shared_memory_fp32(self):
+        rng = np.random.default_rng(seed=7)
+        array = rng.standard_normal((100, 30)).astype(np.float32)
+        self.convert_shared_memory(array)
+
+    def test_shared_memory_sparse(self):
+        array = np.zeros((100, 30))
+        array[3, 7] = 1.5
+        array[97, 2] = -2.0
+        self.convert_shared_memory(array)
+
+    @unittest.skipIf(sp is None, "scipy not installed")
+    def test_scipy_csr(self):
+        array = sp.random(100, 30, density=0.05, format="csr", random_state=7)
+        self.convert_scipy(array)
+
+    @unittest.skipIf(sp is None, "scipy not installed")
+    def test_scipy_csr_shared_memory(self):
+        array = sp.random(100, 30, density=0.05, format="csr", random_state=7)
+        self.convert_scipy(array, shared_memory=True)
+
+    @unittest.skipIf(sp is None, "scipy not installed")
+    def test_scipy_unsorted_duplicates(self):
+        # non-canonical CSR input with unsorted and duplicate column indexes
+        indptr = np.array([0, 3, 3, 5])
+        indices = np.array([4, 1, 4, 2, 0])
+        data = np.array([1.0, 2.0, 3.0, 4.0, 5.0])
+        array = sp.csr_matrix((data, indices, indptr), shape=(3, 6))
+        self.convert_scipy(array, shared_memory=True)
+
+    @unittest.skipIf(sp is None, "scipy not installed")
+    def test_scipy_coo_empty(self):
+        self.convert_scipy(sp.coo_matrix((50, 20)), shared_memory=True)
+
+    def convert_scipy(self, array, shared_memory=False):
+        threshold = converters.SHARED_MEMORY_THRESHOLD
+        if shared_memory:
+            converters.SHARED_MEMORY_THRESHOLD = 0
+        try:
+            matrix_block = numpy_to_matrix_block(self.sds, array)
+            returned = matrix_block_to_scipy(self.sds.java_gateway.jvm, matrix_block)
+        finally:
+            converters.SHARED_MEMORY_THRESHOLD = threshold
+        self.assertTrue(sp.issparse(returned))
+        self.assertEqual(array.shape, returned.shape)
+        self.assertTrue(np.allclose(array.toarray(), returned.toarray()))
+
+    def convert_shared_memory(self, array):
+        threshold = converters.SHARED_MEMORY_THRESHOLD
+        converters.SHARED_MEMORY_THRESHOLD = 0
+        try:
+            self.convert_back_and_forth(array)
+        finally:
+            converters.SHARED_MEMORY_THRESHOLD = threshold
+
     def convert_back_and_forth(self, array):
         matrix_block = numpy_to_matrix_block(self.sds, array)
         # use the ability to call functions on matrix_block.
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedAppendTest {
+
+	private static final int nRows = 5000;
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testRBindInvalidNumberOfColumns() {
+		MatrixBlock cmb = compressed(10);
+		cmb.append(new MatrixBlock(3, cmb.getNumColumns() + 1, 1.0), new MatrixBlock(), false);
+	}
+
+	@Test
+	public void testRBindWithinMappingCapacity() {
+		MatrixBlock mb = generate(nRows, 10, 0);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		MatrixBlock ap = generate(20, 20, 100);
+		MatrixBlock ret = cmb.append(ap, new MatrixBlock(), false);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb.append(ap, new MatrixBlock(), false), ret, 0);
+	}
+
+	@Test
+	public void testRBindExceedingMappingCapacity() {
+		MatrixBlock mb = generate(nRows, 250, 0);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		// the appended distinct values exceed the byte mapping, and the result is recompressed
+		MatrixBlock ap = generate(100, 100, 1000);
+		MatrixBlock ret = cmb.append(ap, new MatrixBlock(), false);
+		TestUtils.compareMatrices(mb.append(ap, new MatrixBlock(), false), ret, 0);
+	}
+
+	@Test
+	public void testRBindDDCWithZeros() {
+		// zero tuples are stored explicitly in the DDC dictionary
+		runRBindWithZeros(CompressionType.DDC, generateWithZeros(nRows, 10, 3, 0));
+	}
+
+	@Test
+	public void testRBindSDCWithZeros() {
+		// frequent default tuple, and a dictionary including the zero tuple
+		runRBindWithZeros(CompressionType.SDC, generateWithZeros(nRows, 10, 3, 7));
+	}
+
+	@Test
+	public void testRBindSDCSingleWithZeros() {
+		// frequent default tuple, and zero as the only other tuple
+		runRBindWithZeros(CompressionType.SDC, generateWithZeros(nRows, 0, 5, 7));
+	}
+
+	@Test
+	public void testRBindSDCZeroDefault() {
+		// zero default tuple, i.e., only every 5th row is non-zero
+		MatrixBlock mb = generateWithZeros(nRows, 10, 3, 0);
+		for(int i = 0; i < nRows; i++)
+			if(i % 5 != 0) {
+				mb.quickSetValue(i, 0, 0);
+				mb.quickSetValue(i, 1, 0);
+			}
+		mb.recomputeNonZeros();
+		runRBindWithZeros(CompressionType.SDC, mb);
+	}
+
+	private static void runRBindWithZeros(CompressionType type, MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setValidCompressions(EnumSet.of(type));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, csb.create()).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		// appended rows with existing tuples (incl. zero rows), new tuples, and new zero rows
+		MatrixBlock ap = mb.slice(0, 9, 0, mb.getNumColumns() - 1)
+			.append(generateWithZeros(10, 4, 2, 100), new MatrixBlock(), false)
+			.append(new MatrixBlock(3, mb.getNumColumns(), false), new MatrixBlock(), false);
+		MatrixBlock expected = mb.append(ap, new MatrixBlock(), false);
+		MatrixBlock ret = cmb.append(ap, new MatrixBlock(), false);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(expected, ret, 0);
+		// rbind of two compressed inputs with zeros
+		MatrixBlock ret2 = ret.append(cmb, new MatrixBlock(), false);
+		assertTrue(ret2 instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(expected.append(mb, new MatrixBlock(), false), ret2, 0);
+	}
+
+	private static MatrixBlock compressed(int distinct) {
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(generate(nRows, distinct, 0)).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		return cmb;
+	}
+
+	private static MatrixBlock generate(int rows, int distinct, int offset) {
+		MatrixBlock mb = new MatrixBlock(rows, 2, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < rows; i++) {
+			mb.quickSetValue(i, 0, offset + 1 + i % distinct);
+			mb.quickSetValue(i, 1, offset + 1 + (i * 7) % distinct);
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+
+	private static MatrixBlock generateWithZeros(int rows, int distinct, int zeroEvery, int def) {
+		// every zeroEvery-th row is a zero row, and most other rows the default value (if not zero),
+		// or all other rows if there are no other distinct values
+		MatrixBlock mb = new MatrixBlock(rows, 2, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < rows; i++) {
+			if(i % zeroEvery == 0)
+				continue;
+			boolean useDef = def != 0 && (distinct == 0 || i % 4 != 1);
+			mb.quickSetValue(i, 0, useDef ? def : 1 + i % distinct);
+			mb.quickSetValue(i, 1, useDef ? def : 1 + (i * 7) % distinct);
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
+import org.apache.sysds.runtime.io.FileFormatPropertiesBinary;
+import org.apache.sysds.runtime.io.MatrixWriter;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedBinaryBlockIOTest {
+	private static final int blen = 1000;
+
+	@Test
+	public void testWriteCompressedInput() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		runRoundtrip(mb, cmb, false);
+	}
+
+	@Test
+	public void testWriteCompressedInputKeepsColumnGroups() throws IOException {
+		//compressed matrices are written as a single block with the column groups as is
+		MatrixBlock mb = getCompressibleInput(2500);
+		CompressedMatrixBlock cmb = (CompressedMatrixBlock) CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		String fname = writeCompressed(cmb);
+		try {
+			MatrixBlock ret = new ReaderBinaryBlock(false, true)
+				.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen, -1);
+			assertTrue(ret instanceof CompressedMatrixBlock);
+			List<AColGroup> expected = cmb.getColGroups();
+			List<AColGroup> actual = ((CompressedMatrixBlock) ret).getColGroups();
+			assertEquals(expected.size(), actual.size());
+			for(int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+				assertArrayEquals(expected.get(i).getColIndices(), actual.get(i).getColIndices());
+			}
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test
+	public void testWriteCompressedInputReadRange() throws IOException {
+		MatrixBlock mb = getCompressibleInput(2500);
+		String fname = writeCompressed(CompressedMatrixBlockFactory.compress(mb, 1).getLeft());
+		try {
+			MatrixBlock ret = new ReaderBinaryBlock(false, true).readMatrixRangeFromHDFS(fname,
+				mb.getNumRows(), mb.getNumColumns(), blen, -1, new IndexRange(1700, 2299, 3, 7));
+			TestUtils.compareMatrices(mb.slice(1700, 2299, 3, 7), ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test
+	public void testWriteCompressedInputReadIndexedBlocks() throws IOException {
+		//the single block of all rows is split into blen x blen blocks
+		MatrixBlock mb = getCompressibleInput(2500);
+		String fname = writeCompressed(CompressedMatrixBlockFactory.compress(mb, 1).getLeft());
+		try {
+			ArrayList<IndexedMatrixValue> blocks = new ReaderBinaryBlock(false, true)
+				.readIndexedMatrixBlocksFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen);
+			assertEquals(3, blocks.size());
+			for(IndexedMatrixValue imv : blocks) {
+				int rl = (int) (imv.getIndexes().getRowIndex() - 1) * blen;
+				MatrixBlock block = (MatrixBlock) imv.getValue();
+				assertEquals(Math.min(blen, mb.getNumRows() - rl), block.getNumRows());
+				TestUtils.compareMatrices(mb.slice(rl, rl + block.getNumRows() - 1), block, 0);
+			}
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test
+	public void testWriteUncompressedInput() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		runRoundtrip(mb, mb, false);
+	}
+
+	@Test
+	public void testWriteUncompressedInputParallelRead() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		runRoundtrip(mb, mb, true);
+	}
+
+	@Test
+	public void testWriteUncompressedInputManyBlocks() throws IOException {
+		//more row blocks than appended at once
+		MatrixBlock mb = getCompressibleInput(40 * blen + 123);
+		runRoundtrip(mb, mb, false);
+	}
+
+	@Test
+	public void testWriteSingleBlock() throws IOException {
+		//a single row block is returned without decompression
+		MatrixBlock mb = getCompressibleInput(blen);
+		runRoundtrip(mb, mb, false);
+	}
+
+	@Test
+	public void testWriteSingleBlockParallelRead() throws IOException {
+		MatrixBlock mb = getCompressibleInput(blen);
+		runRoundtrip(mb, mb, true);
+	}
+
+	@Test
+	public void testWriteIncompressibleInput() throws IOException {
+		//random values are not compressible, stored and read as uncompressed row blocks
+		MatrixBlock mb = MatrixBlock.randOperations(1500, 20, 1.0, -1, 1, "uniform", 7);
+		String fname = writeCompressed(mb);
+		try {
+			MatrixBlock ret = new ReaderBinaryBlock(false, true)
+				.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen, -1);
+			assertFalse(ret instanceof CompressedMatrixBlock);
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadUncompressedFileAsCompressed() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		File file = File.createTempFile("compressedbb", ".bin");
+		try {
+			MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY).writeMatrixToHDFS(mb, file.getAbsolutePath(),
+				mb.getNumRows(), mb.getNumColumns(), blen, mb.getNonZeros());
+			new ReaderBinaryBlock(false, true)
+				.readMatrixFromHDFS(file.getAbsolutePath(), mb.getNumRows(), mb.getNumColumns(), blen, -1);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(file.getAbsolutePath());
+		}
+	}
+
+	@Test
+	public void testReadRange() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		String fname = writeCompressed(mb);
+		try {
+			MatrixBlock ret = new ReaderBinaryBlock(false, true).readMatrixRangeFromHDFS(fname,
+				mb.getNumRows(), mb.getNumColumns(), blen, -1, new IndexRange(700, 1299, 3, 7));
+			TestUtils.compareMatrices(mb.slice(700, 1299, 3, 7), ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	@Test
+	public void testReadIndexedBlocks() throws IOException {
+		MatrixBlock mb = getCompressibleInput(1500);
+		String fname = writeCompressed(mb);
+		try {
+			ArrayList<IndexedMatrixValue> blocks = new ReaderBinaryBlock(false, true)
+				.readIndexedMatrixBlocksFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), blen);
+			assertEquals(2, blocks.size());
+			for(IndexedMatrixValue imv : blocks) {
+				int rl = (int) (imv.getIndexes().getRowIndex() - 1) * blen;
+				MatrixBlock block = (MatrixBlock) imv.getValue();
+				TestUtils.compareMatrices(
+					mb.slice(rl, rl + block.getNumRows() - 1), block, 0);
+			}
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void runRoundtrip(MatrixBlock expected, MatrixBlock src, boolean parallel) throws IOException {
+		String fname = writeCompressed(src);
+		try {
+			ReaderBinaryBlock reader = parallel ? new ReaderBinaryBlockParallel(false, true) :
+				new ReaderBinaryBlock(false, true);
+			MatrixBlock ret = reader.readMatrixFromHDFS(fname, expected.getNumRows(), expected.getNumColumns(), blen, -1);
+			//single blocks are returned as is, and multiple row blocks combined via compressed rbind
+			assertTrue(ret instanceof CompressedMatrixBlock);
+			TestUtils.compareMatrices(expected, ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static String writeCompressed(MatrixBlock mb) throws IOException {
+		File file = File.createTempFile("compressedbb", ".bin");
+		MatrixWriter writer = MatrixWriterFactory
+			.createMatrixWriter(FileFormat.BINARY, -1, new FileFormatPropertiesBinary(true));
+		writer.writeMatrixToHDFS(mb, file.getAbsolutePath(), mb.getNumRows(), mb.getNumColumns(), blen,
+			mb.getNonZeros());
+		return file.getAbsolutePath();
+	}
+
+	private static MatrixBlock getCompressibleInput(int rows) {
+		return CompressibleInputGenerator.getInput(rows, 20, CompressionType.DDC, 5, 1.0, 7);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDelta;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFOR;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedCTableTest {
+
+	private static final int nRows = 1000;
+
+	@Test
+	public void testCTableZeroTupleInDictionary() {
+		MatrixBlock mb = new MatrixBlock(nRows, 2, false);
+		for(int i = 0; i < nRows; i++) {
+			mb.quickSetValue(i, 0, i % 3 + 1);
+			mb.quickSetValue(i, 1, i % 3 + 1);
+		}
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+
+		// X - 1 contains the all zero tuple in the dictionary
+		RightScalarOperator op = new RightScalarOperator(Minus.getMinusFnObject(), 1);
+		MatrixBlock ucm1 = mb.scalarOperations(op, new MatrixBlock());
+		MatrixBlock cm1 = cmb.scalarOperations(op, new MatrixBlock());
+		assertTrue(cm1 instanceof CompressedMatrixBlock);
+
+		// zero is an invalid ctable index, and must fail equally for compressed and uncompressed inputs
+		assertCTableFails(ucm1);
+		assertCTableFails(cm1);
+	}
+
+	@Test
+	public void testCTableFOR() {
+		double[] v = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			v[i] = 1 + (i * 7) % 50;
+		testCTableLinear(ColGroupFOR.create(new int[] {0}, v), v);
+	}
+
+	@Test
+	public void testCTableDelta() {
+		double[] v = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			v[i] = 1 + i / 10;
+		testCTableLinear(ColGroupDelta.create(new int[] {0}, v), v);
+	}
+
+	private static void testCTableLinear(AColGroup g, double[] v) {
+		assertNotNull(g);
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(nRows, 1);
+		cmb.allocateColGroup(g);
+		cmb.recomputeNonZeros();
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(v, true);
+
+		CTableMap m1 = new CTableMap();
+		CTableMap m2 = new CTableMap();
+		mb.ctableOperations(null, 2.0, 1.0, m1, null);
+		cmb.ctableOperations(null, 2.0, 1.0, m2, null);
+		TestUtils.compareMatrices(DataConverter.convertToMatrixBlock(m1), DataConverter.convertToMatrixBlock(m2), 0);
+	}
+
+	private static void assertCTableFails(MatrixBlock mb) {
+		try {
+			mb.ctableOperations(null, 1.0, 1.0, new CTableMap(), null);
+			fail("ctable over zero values should fail");
+		}
+		catch(DMLRuntimeException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedLeftIndexingTest {
+
+	private static final int nRow = 2000;
+	private static final int nCol = 20;
+
+	private final MatrixBlock mb;
+	private final CompressedMatrixBlock cmb;
+
+	public CompressedLeftIndexingTest() {
+		Random r = new Random(42);
+		mb = new MatrixBlock(nRow, nCol, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < nRow; i++)
+			for(int j = 0; j < nCol; j++)
+				mb.quickSetValue(i, j, r.nextInt(3 + j % 4));
+		mb.recomputeNonZeros();
+		MatrixBlock c = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(c instanceof CompressedMatrixBlock);
+		cmb = (CompressedMatrixBlock) c;
+	}
+
+	@Test
+	public void testLeftIndexingBlock() {
+		MatrixBlock rhs = new MatrixBlock(100, 2, false);
+		for(int i = 0; i < 100; i++)
+			for(int j = 0; j < 2; j++)
+				rhs.quickSetValue(i, j, (i * 7 + j) % 11);
+		MatrixBlock exp = mb.leftIndexingOperations(rhs, 50, 149, 4, 5, null, UpdateType.COPY);
+		MatrixBlock ret = cmb.leftIndexingOperations(rhs, 50, 149, 4, 5, null, UpdateType.COPY);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(exp, ((CompressedMatrixBlock) ret).decompress(), 0.0);
+		assertUnaffectedShared(cmb.getColGroups(), (CompressedMatrixBlock) ret, 4, 5);
+	}
+
+	@Test
+	public void testLeftIndexingScalar() {
+		MatrixBlock exp = mb.leftIndexingOperations(new DoubleObject(13.5), 7, 11, null, UpdateType.COPY);
+		MatrixBlock ret = cmb.leftIndexingOperations(new DoubleObject(13.5), 7, 11, null, UpdateType.COPY);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(exp, ((CompressedMatrixBlock) ret).decompress(), 0.0);
+		assertUnaffectedShared(cmb.getColGroups(), (CompressedMatrixBlock) ret, 11, 11);
+	}
+
+	@Test
+	public void testLeftIndexingInPlace() {
+		CompressedMatrixBlock c = new CompressedMatrixBlock(cmb);
+		MatrixBlock rhs = new MatrixBlock(nRow, 1, 0.0);
+		MatrixBlock exp = mb.leftIndexingOperations(rhs, 0, nRow - 1, 3, 3, null, UpdateType.COPY);
+		MatrixBlock ret = c.leftIndexingOperations(rhs, 0, nRow - 1, 3, 3, null, UpdateType.INPLACE);
+		assertSame(c, ret);
+		TestUtils.compareMatrices(exp, c.decompress(), 0.0);
+	}
+
+	@Test
+	public void testZeroOut() {
+		IndexRange range = new IndexRange(10, 500, 2, 7);
+		MatrixBlock exp = mb.zeroOutOperations(null, range, false);
+		MatrixBlock ret = cmb.zeroOutOperations(null, range, false);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(exp, ((CompressedMatrixBlock) ret).decompress(), 0.0);
+	}
+
+	@Test
+	public void testZeroOutComplementary() {
+		IndexRange range = new IndexRange(10, 500, 2, 7);
+		MatrixBlock exp = mb.zeroOutOperations(null, range, true);
+		MatrixBlock ret = cmb.zeroOutOperations(null, range, true);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(exp, ((CompressedMatrixBlock) ret).decompress(), 0.0);
+	}
+
+	@Test
+	public void testBinaryPlusInPlace() {
+		CompressedMatrixBlock c = new CompressedMatrixBlock(cmb);
+		List<AColGroup> before = new ArrayList<>(c.getColGroups());
+		MatrixBlock that = new MatrixBlock(nRow, nCol, true);
+		for(int i = 0; i < nRow; i += 17)
+			that.quickSetValue(i, 9, 1);
+		BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+		MatrixBlock exp = new MatrixBlock(nRow, nCol, false);
+		exp.copy(mb);
+		exp.binaryOperationsInPlace(op, that);
+		c.binaryOperationsInPlace(op, that);
+		TestUtils.compareMatrices(exp, c.decompress(), 0.0);
+		assertUnaffectedShared(before, c, 9, 9);
+	}
+
+	private static void assertUnaffectedShared(List<AColGroup> before, CompressedMatrixBlock ret, int cl, int cu) {
+		List<AColGroup> after = ret.getColGroups();
+		for(AColGroup g : before) {
+			boolean affected = false;
+			for(int c : g.getColIndices())
+				affected |= c >= cl && c <= cu;
+			if(!affected)
+				assertTrue("Unaffected column group should be shared", after.contains(g));
+		}
+	}
+}
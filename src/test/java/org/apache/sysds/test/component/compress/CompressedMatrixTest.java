@@ -36,6 +36,9 @@ import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.IfElse;
 import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.LibMatrixDatagen;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -43,6 +46,8 @@ import org.apache.sysds.runtime.matrix.data.RandomMatrixGenerator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.component.compress.TestConstants.MatrixTypology;
@@ -487,6 +492,111 @@ public class CompressedMatrixTest extends AbstractCompressedUnaryTests {
 		}
 	}
 
+	@Test
+	public void testReplaceZero() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || rows * cols > 10000)
+				return;
+			MatrixBlock ret1 = cmb.replaceOperations(new MatrixBlock(), 0, 1425);
+			MatrixBlock ret2 = mb.replaceOperations(new MatrixBlock(), 0, 1425);
+			compareResultMatrices(ret2, ret1, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testUnaryRound() {
+		testUnary(BuiltinCode.ROUND);
+	}
+
+	@Test
+	public void testUnaryExp() {
+		testUnary(BuiltinCode.EXP);
+	}
+
+	@Test
+	public void testUnarySigmoid() {
+		testUnary(BuiltinCode.SIGMOID);
+	}
+
+	@Test
+	public void testUnaryAbs() {
+		testUnary(BuiltinCode.ABS);
+	}
+
+	private void testUnary(BuiltinCode code) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || rows * cols > 10000)
+				return;
+			UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject(code));
+			MatrixBlock ret1 = cmb.unaryOperations(op, new MatrixBlock());
+			MatrixBlock ret2 = mb.unaryOperations(op, new MatrixBlock());
+			if(!((CompressedMatrixBlock) cmb).isOverlapping())
+				assertTrue(ret1 instanceof CompressedMatrixBlock);
+			compareResultMatrices(ret2, ret1, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testRemoveEmptyRows() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || rows * cols > 10000)
+				return;
+			MatrixBlock ret1 = cmb.removeEmptyOperations(new MatrixBlock(), true, true);
+			MatrixBlock ret2 = mb.removeEmptyOperations(new MatrixBlock(), true, true);
+			compareResultMatrices(ret2, ret1, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelect() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || rows * cols > 10000)
+				return;
+			MatrixBlock select = new MatrixBlock(rows, 1, false);
+			for(int i = 0; i < rows; i += 3)
+				select.quickSetValue(i, 0, 1);
+			MatrixBlock ret1 = cmb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			MatrixBlock ret2 = mb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			if(!((CompressedMatrixBlock) cmb).isOverlapping())
+				assertTrue(ret1 instanceof CompressedMatrixBlock);
+			compareResultMatrices(ret2, ret1, 0);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException(e);
+		}
+	}
+
+	@Test
+	public void testTernaryIfElseScalars() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock) || rows * cols > 10000)
+				return;
+			TernaryOperator op = new TernaryOperator(IfElse.getFnObject(), 1);
+			MatrixBlock s2 = new MatrixBlock(1, 1, 3.0);
+			MatrixBlock s3 = new MatrixBlock(1, 1, -2.0);
+			MatrixBlock ret1 = cmb.ternaryOperations(op, s2, s3, new MatrixBlock());
+			MatrixBlock ret2 = mb.ternaryOperations(op, s2, s3, new MatrixBlock());
+			compareResultMatrices(ret2, ret1, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException(e);
+		}
+	}
+
 	@Test
 	public void testCompressedMatrixConstruction() {
 		try {
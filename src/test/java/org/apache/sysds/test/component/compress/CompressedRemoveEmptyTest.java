@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedRemoveEmptyTest {
+
+	private static final int nRows = 3000;
+
+	@Test
+	public void testDDCWithZeroRows() {
+		// zero tuples are stored explicitly in the DDC dictionary
+		runRemoveEmptyTest(CompressionType.DDC, generate(10, 3, 0));
+	}
+
+	@Test
+	public void testSDCWithZeroRows() {
+		runRemoveEmptyTest(CompressionType.SDC, generate(10, 3, 7));
+	}
+
+	@Test
+	public void testSDCSingleWithZeroRows() {
+		runRemoveEmptyTest(CompressionType.SDC, generate(0, 5, 7));
+	}
+
+	@Test
+	public void testSDCZeroDefault() {
+		runRemoveEmptyTest(CompressionType.SDC, generate(10, 3, 0, 5));
+	}
+
+	@Test
+	public void testOLEWithZeroRows() {
+		// generic row codes of groups w/o a row to tuple mapping
+		runRemoveEmptyTest(CompressionType.OLE, generate(10, 3, 0));
+	}
+
+	@Test
+	public void testRLEWithZeroRows() {
+		runRemoveEmptyTest(CompressionType.RLE, generate(10, 3, 0));
+	}
+
+	private static void runRemoveEmptyTest(CompressionType type, MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setValidCompressions(EnumSet.of(type));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, csb.create()).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+
+		// removeEmpty rows
+		MatrixBlock ret = cmb.removeEmptyOperations(new MatrixBlock(), true, true, null);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb.removeEmptyOperations(new MatrixBlock(), true, true, null), ret, 0);
+
+		// selectRows of zero rows only, of non-zero rows only, and of a mix
+		for(int s = 0; s < 3; s++) {
+			MatrixBlock select = new MatrixBlock(nRows, 1, false);
+			select.allocateDenseBlock();
+			for(int i = 0; i < nRows; i++) {
+				boolean zero = mb.quickGetValue(i, 0) == 0 && mb.quickGetValue(i, 1) == 0;
+				select.quickSetValue(i, 0, (s == 0 && zero || s == 1 && !zero || s == 2 && i % 4 == 0) ? 1 : 0);
+			}
+			select.recomputeNonZeros();
+			MatrixBlock expected = mb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			MatrixBlock ret2 = cmb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			TestUtils.compareMatrices(expected, ret2, 0);
+		}
+	}
+
+	private static MatrixBlock generate(int distinct, int zeroEvery, int def) {
+		return generate(distinct, zeroEvery, def, 1);
+	}
+
+	private static MatrixBlock generate(int distinct, int zeroEvery, int def, int nonZeroEvery) {
+		// every zeroEvery-th row (and all but every nonZeroEvery-th row) is a zero row, and most other rows
+		// the default value (if not zero), or all other rows if there are no other distinct values
+		MatrixBlock mb = new MatrixBlock(nRows, 2, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < nRows; i++) {
+			if(i % zeroEvery == 0 || i % nonZeroEvery != 0)
+				continue;
+			boolean useDef = def != 0 && (distinct == 0 || i % 4 != 1);
+			mb.quickSetValue(i, 0, useDef ? def : 1 + i % distinct);
+			mb.quickSetValue(i, 1, useDef ? def : 1 + (i * 7) % distinct);
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
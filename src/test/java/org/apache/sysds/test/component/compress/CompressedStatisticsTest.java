@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.COV;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.COVOperator;
+import org.junit.Test;
+
+public class CompressedStatisticsTest {
+
+	private static final int nRow = 5000;
+	private static final double[] quantiles = new double[] {0.0, 0.1, 0.25, 0.5, 0.75, 0.9, 1.0};
+	private static final AggregateOperationTypes[] moments = new AggregateOperationTypes[] {
+		AggregateOperationTypes.COUNT, AggregateOperationTypes.MEAN, AggregateOperationTypes.VARIANCE,
+		AggregateOperationTypes.CM2, AggregateOperationTypes.CM3, AggregateOperationTypes.CM4};
+
+	private final MatrixBlock a = column(new double[] {0, 1.5, 3, 7, -2}, 1);
+	private final MatrixBlock b = column(new double[] {0, 0, 0, 4, 9}, 2);
+	private final MatrixBlock w = column(new double[] {1, 2, 3}, 3);
+
+	@Test
+	public void testSortQuantiles() {
+		compareSorted(a.sortOperations(null, null), compress(a).sortOperations(null, null));
+	}
+
+	@Test
+	public void testSortQuantilesWeighted() {
+		compareSorted(a.sortOperations(w, null), compress(a).sortOperations(w, null));
+	}
+
+	@Test
+	public void testSortQuantilesOverlapping() {
+		MatrixBlock sum = a.binaryOperations(new BinaryOperator(Plus.getPlusFnObject()), b, null);
+		compareSorted(sum.sortOperations(null, null), overlapping(a, b).sortOperations(null, null));
+	}
+
+	@Test
+	public void testCentralMoments() {
+		CompressedMatrixBlock ca = compress(a);
+		for(AggregateOperationTypes t : moments) {
+			CMOperator op = new CMOperator(CM.getCMFnObject(t), t);
+			double exp = a.cmOperations(op).getRequiredResult(op);
+			double act = ca.cmOperations(op).getRequiredResult(op);
+			assertEquals(t.toString(), exp, act, Math.max(Math.abs(exp) * 1e-10, 1e-12));
+		}
+	}
+
+	@Test
+	public void testCentralMomentsWeighted() {
+		CompressedMatrixBlock ca = compress(a);
+		for(AggregateOperationTypes t : moments) {
+			CMOperator op = new CMOperator(CM.getCMFnObject(t), t);
+			double exp = a.cmOperations(op, w).getRequiredResult(op);
+			double act = ca.cmOperations(op, w).getRequiredResult(op);
+			assertEquals(t.toString(), exp, act, Math.max(Math.abs(exp) * 1e-10, 1e-12));
+		}
+	}
+
+	@Test
+	public void testCovariance() {
+		COVOperator op = new COVOperator(COV.getCOMFnObject());
+		double exp = a.covOperations(op, b).getRequiredResult(op);
+		double act = compress(a).covOperations(op, compress(b)).getRequiredResult(op);
+		assertEquals(exp, act, Math.max(Math.abs(exp) * 1e-10, 1e-12));
+	}
+
+	@Test
+	public void testCovarianceUncompressedRight() {
+		COVOperator op = new COVOperator(COV.getCOMFnObject());
+		double exp = a.covOperations(op, b, w).getRequiredResult(op);
+		double act = compress(a).covOperations(op, b, w).getRequiredResult(op);
+		assertEquals(exp, act, Math.max(Math.abs(exp) * 1e-10, 1e-12));
+	}
+
+	private static void compareSorted(MatrixBlock exp, MatrixBlock act) {
+		for(double q : quantiles)
+			assertEquals("quantile " + q, exp.pickValue(q), act.pickValue(q), 0.0);
+		assertEquals(exp.median(), act.median(), 0.0);
+		assertEquals(exp.interQuartileMean(), act.interQuartileMean(), 1e-10);
+	}
+
+	private static MatrixBlock column(double[] distinct, int seed) {
+		Random r = new Random(seed);
+		MatrixBlock mb = new MatrixBlock(nRow, 1, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < nRow; i++)
+			mb.quickSetValue(i, 0, distinct[r.nextInt(distinct.length)]);
+		mb.recomputeNonZeros();
+		return mb;
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		MatrixBlock c = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		assertTrue(c instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) c;
+	}
+
+	private static CompressedMatrixBlock overlapping(MatrixBlock l, MatrixBlock r) {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.addAll(compress(l).getColGroups());
+		groups.addAll(compress(r).getColGroups());
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(nRow, 1);
+		ret.allocateColGroupList(groups);
+		ret.setOverlapping(true);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
@@ -20,6 +20,7 @@
 package org.apache.sysds.test.component.compress;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -1228,6 +1229,38 @@ public abstract class CompressedTestBase extends TestBase {
 		compareResultMatrices(ret1, ret2, 1);
 	}
 
+	@Test
+	public void appendRBindExistingAndNewRows() {
+		if(!(cmb instanceof CompressedMatrixBlock))
+			return;
+		// append rows that reuse existing tuples followed by rows with new values
+		MatrixBlock ap = mb.slice(0, Math.min(9, rows - 1), 0, cols - 1)
+			.append(MatrixBlock.randOperations(3, cols, 0.5, -10, 10, "uniform", 7), new MatrixBlock(), false);
+		MatrixBlock ret1 = mb.append(ap, new MatrixBlock(), false);
+		MatrixBlock ret2 = cmb.append(ap, new MatrixBlock(), false);
+		if(!((CompressedMatrixBlock) cmb).isOverlapping())
+			assertTrue(ret2 instanceof CompressedMatrixBlock);
+		compareResultMatrices(ret1, ret2, 1);
+	}
+
+	@Test
+	public void appendRBindAndCBindRepeated() {
+		if(!(cmb instanceof CompressedMatrixBlock) || ((CompressedMatrixBlock) cmb).isOverlapping())
+			return;
+		MatrixBlock ret1 = mb;
+		MatrixBlock ret2 = cmb;
+		for(int i = 0; i < 3; i++) {
+			MatrixBlock r = MatrixBlock.randOperations(5, ret1.getNumColumns(), 0.3, 0, 3, "uniform", i);
+			ret1 = ret1.append(TestUtils.round(r), new MatrixBlock(), false);
+			ret2 = ret2.append(TestUtils.round(r), new MatrixBlock(), false);
+			MatrixBlock c = new MatrixBlock(ret1.getNumRows(), 1, false, i + 1);
+			ret1 = ret1.append(c, new MatrixBlock(), true);
+			ret2 = ret2.append(c, new MatrixBlock(), true);
+		}
+		assertTrue(ret2 instanceof CompressedMatrixBlock);
+		compareResultMatrices(ret1, ret2, 1);
+	}
+
 	protected void compareResultMatrices(double[][] expected, double[][] result, double toleranceMultiplier) {
 		if(_cs != null && _cs.lossy)
 			TestUtils.compareMatricesPercentageDistance(expected, result, 0.25, 0.83, this.toString());
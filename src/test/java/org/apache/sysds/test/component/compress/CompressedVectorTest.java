@@ -27,10 +27,19 @@ import java.util.Collection;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.component.compress.TestConstants.MatrixTypology;
 import org.apache.sysds.test.component.compress.TestConstants.OverLapping;
@@ -117,4 +126,87 @@ public class CompressedVectorTest extends CompressedTestBase {
 			throw new RuntimeException(this.toString() + "\n" + e.getMessage(), e);
 		}
 	}
+
+	@Test
+	public void testCTableHistogram() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		MatrixBlock a1 = toCategories(mb);
+		MatrixBlock a2 = toCategories(cmb);
+		CTableMap m1 = new CTableMap();
+		CTableMap m2 = new CTableMap();
+		a1.ctableOperations(null, 1.0, 1.0, m1, null);
+		a2.ctableOperations(null, 1.0, 1.0, m2, null);
+		compareResultMatrices(DataConverter.convertToMatrixBlock(m1), DataConverter.convertToMatrixBlock(m2), 0);
+	}
+
+	@Test
+	public void testCTableJointCounts() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		MatrixBlock a1 = toCategories(mb);
+		MatrixBlock a2 = toCategories(cmb);
+		MatrixBlock b1 = a1.scalarOperations(new RightScalarOperator(Plus.getPlusFnObject(), 2), new MatrixBlock());
+		MatrixBlock b2 = a2.scalarOperations(new RightScalarOperator(Plus.getPlusFnObject(), 2), new MatrixBlock());
+		CTableMap m1 = new CTableMap();
+		CTableMap m2 = new CTableMap();
+		a1.ctableOperations(null, b1, 1.0, false, m1, null);
+		a2.ctableOperations(null, b2, 1.0, false, m2, null);
+		compareResultMatrices(DataConverter.convertToMatrixBlock(m1), DataConverter.convertToMatrixBlock(m2), 0);
+	}
+
+	@Test
+	public void testCTableSeqOneHot() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		MatrixBlock seq = new MatrixBlock(rows, 1, false);
+		for(int i = 0; i < rows; i++)
+			seq.quickSetValue(i, 0, i + 1);
+		MatrixBlock ret1 = seq.ctableSeqOperations(toCategories(mb), 1.0, new MatrixBlock(rows, Integer.MAX_VALUE, true));
+		MatrixBlock ret2 = seq.ctableSeqOperations(toCategories(cmb), 1.0,
+			new MatrixBlock(rows, Integer.MAX_VALUE, true));
+		compareResultMatrices(ret1, ret2, 0);
+	}
+
+	@Test
+	public void testGroupedAggCount() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.COUNT), AggregateOperationTypes.COUNT);
+		MatrixBlock ret1 = toCategories(mb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		MatrixBlock ret2 = toCategories(cmb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		compareResultMatrices(ret1, ret2, 0);
+	}
+
+	@Test
+	public void testGroupedAggSum() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		AggregateOperator op = new AggregateOperator(0, KahanPlus.getKahanPlusFnObject());
+		MatrixBlock ret1 = toCategories(mb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		MatrixBlock ret2 = toCategories(cmb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		compareResultMatrices(ret1, ret2, 1);
+	}
+
+	@Test
+	public void testGroupedAggMean() {
+		if(!(cmb instanceof CompressedMatrixBlock) || _cs.lossy)
+			return;
+		CMOperator op = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.MEAN), AggregateOperationTypes.MEAN);
+		MatrixBlock ret1 = toCategories(mb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		MatrixBlock ret2 = toCategories(cmb).groupedAggOperations(mb, null, new MatrixBlock(), -1, op);
+		compareResultMatrices(ret1, ret2, 1);
+	}
+
+	/**
+	 * Map the values of a column vector to positive integer categories (ceil(abs(x)) + 1), which keeps a compressed
+	 * vector compressed.
+	 */
+	private static MatrixBlock toCategories(MatrixBlock m) {
+		MatrixBlock abs = m.unaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ABS)),
+			new MatrixBlock());
+		MatrixBlock ceil = abs.unaryOperations(new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.CEIL)),
+			new MatrixBlock());
+		return ceil.scalarOperations(new RightScalarOperator(Plus.getPlusFnObject(), 1), new MatrixBlock());
+	}
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.cocode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.CompressionStatistics;
+import org.apache.sysds.runtime.compress.cocode.CoCoderFactory.PartitionerType;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class CoCodeParallelTest {
+
+	private final PartitionerType type;
+	private final MatrixBlock mb;
+
+	@Parameters
+	public static Iterable<Object[]> data() {
+		List<Object[]> tests = new ArrayList<>();
+		MatrixBlock mb = correlatedInput(3000, 120, 7);
+		tests.add(new Object[] {PartitionerType.GREEDY, mb});
+		tests.add(new Object[] {PartitionerType.BIN_PACKING, mb});
+		tests.add(new Object[] {PartitionerType.PRIORITY_QUE, mb});
+		return tests;
+	}
+
+	public CoCodeParallelTest(PartitionerType type, MatrixBlock mb) {
+		this.type = type;
+		this.mb = mb;
+	}
+
+	@Test
+	public void testParallelEqualsSingleThreaded() {
+		Pair<MatrixBlock, CompressionStatistics> seq = CompressedMatrixBlockFactory.compress(mb, 1, settings());
+		Pair<MatrixBlock, CompressionStatistics> par = CompressedMatrixBlockFactory.compress(mb, 4, settings());
+		assertTrue(seq.getLeft() instanceof CompressedMatrixBlock);
+		assertTrue(par.getLeft() instanceof CompressedMatrixBlock);
+		assertEquals(groups((CompressedMatrixBlock) seq.getLeft()), groups((CompressedMatrixBlock) par.getLeft()));
+		TestUtils.compareMatrices(mb, ((CompressedMatrixBlock) par.getLeft()).decompress(), 0.0);
+	}
+
+	@Test
+	public void testPhaseTimes() {
+		CompressionStatistics stats = CompressedMatrixBlockFactory.compress(mb, 4, settings()).getRight();
+		double sum = 0;
+		for(int i = 0; i < CompressionStatistics.PHASES.length; i++) {
+			assertTrue(stats.getPhaseTime(i) >= 0);
+			sum += stats.getPhaseTime(i);
+		}
+		assertEquals(sum, stats.getTotalTime(), 1e-9);
+		assertTrue(stats.getTotalTime() > 0);
+	}
+
+	private CompressionSettings settings() {
+		return new CompressionSettingsBuilder().setColumnPartitioner(type).setSeed(7).create();
+	}
+
+	private static List<String> groups(CompressedMatrixBlock cmb) {
+		List<String> ret = new ArrayList<>();
+		for(AColGroup g : cmb.getColGroups())
+			ret.add(Arrays.toString(g.getColIndices()));
+		Collections.sort(ret);
+		return ret;
+	}
+
+	/**
+	 * Input where every column is a function of one of a few low cardinality base columns, such that co-coding has many
+	 * profitable joins to choose from.
+	 */
+	private static MatrixBlock correlatedInput(int rows, int cols, int seed) {
+		Random r = new Random(seed);
+		int nBase = 8;
+		int[][] base = new int[nBase][rows];
+		for(int b = 0; b < nBase; b++)
+			for(int i = 0; i < rows; i++)
+				base[b][i] = r.nextInt(4 + b);
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.allocateDenseBlock();
+		for(int j = 0; j < cols; j++) {
+			int b = j % nBase;
+			for(int i = 0; i < rows; i++)
+				mb.quickSetValue(i, j, base[b][i] * (j + 1));
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.colgroup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDelta;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFOR;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupLinear;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimatorExact;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.Power;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.junit.Test;
+
+public class ColGroupLinearTest {
+
+	private static final int nRows = 5000;
+	private static final int[] cols = new int[] {0};
+
+	private static double[] smallRange() {
+		Random r = new Random(7);
+		double[] v = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			v[i] = 100000 + r.nextInt(300);
+		return v;
+	}
+
+	private static double[] timestamps() {
+		Random r = new Random(13);
+		double[] v = new double[nRows];
+		v[0] = 1.6e9;
+		for(int i = 1; i < nRows; i++)
+			v[i] = v[i - 1] + 60 + r.nextInt(5);
+		return v;
+	}
+
+	@Test
+	public void testFORConstruction() {
+		double[] v = smallRange();
+		AColGroup g = ColGroupFOR.create(cols, v);
+		assertEquals(CompressionType.FOR, g.getCompType());
+		compare(v, g);
+	}
+
+	@Test
+	public void testDeltaConstruction() {
+		double[] v = timestamps();
+		AColGroup g = ColGroupDelta.create(cols, v);
+		assertEquals(CompressionType.DELTA, g.getCompType());
+		compare(v, g);
+	}
+
+	@Test
+	public void testNonIntegerNotEncoded() {
+		double[] v = smallRange();
+		v[42] += 0.5;
+		assertNull(ColGroupFOR.create(cols, v));
+		assertNull(ColGroupDelta.create(cols, v));
+	}
+
+	@Test
+	public void testDeltaPartialDecompress() {
+		double[] v = timestamps();
+		AColGroup g = ColGroupDelta.create(cols, v);
+		int rl = 2100, ru = 4500;
+		MatrixBlock ret = new MatrixBlock(ru - rl, 1, false);
+		ret.allocateDenseBlock();
+		g.decompressToBlockUnSafe(ret, rl, ru, 0);
+		for(int i = rl; i < ru; i++)
+			assertEquals(v[i], ret.quickGetValue(i - rl, 0), 0.0);
+		for(int i = nRows - 1; i >= 0; i -= 997)
+			assertEquals(v[i], g.get(i, 0), 0.0);
+	}
+
+	@Test
+	public void testMinMax() {
+		double[] v = smallRange();
+		AColGroup g = ColGroupFOR.create(cols, v);
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for(double d : v) {
+			min = Math.min(min, d);
+			max = Math.max(max, d);
+		}
+		assertEquals(min, g.getMin(), 0.0);
+		assertEquals(max, g.getMax(), 0.0);
+	}
+
+	@Test
+	public void testLinearScalarOperations() {
+		double[] v = timestamps();
+		AColGroup g = ColGroupDelta.create(cols, v);
+		g = g.scalarOperation(new RightScalarOperator(Multiply.getMultiplyFnObject(), 2));
+		g = g.scalarOperation(new RightScalarOperator(Plus.getPlusFnObject(), -1e9));
+		assertTrue(g instanceof ColGroupLinear);
+		double[] exp = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			exp[i] = v[i] * 2 - 1e9;
+		compare(exp, g);
+	}
+
+	@Test
+	public void testNonLinearScalarOperation() {
+		double[] v = smallRange();
+		AColGroup g = ColGroupFOR.create(cols, v);
+		g = g.scalarOperation(new RightScalarOperator(Power.getPowerFnObject(), 2));
+		assertTrue(g instanceof ColGroupUncompressed);
+		double[] exp = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			exp[i] = v[i] * v[i];
+		compare(exp, g);
+	}
+
+	@Test
+	public void testNonFiniteScalarOperations() {
+		double[] v = timestamps();
+		runScalarOperationFallback(v, new RightScalarOperator(Multiply.getMultiplyFnObject(), Double.POSITIVE_INFINITY));
+		runScalarOperationFallback(v, new RightScalarOperator(Multiply.getMultiplyFnObject(), Double.NaN));
+		runScalarOperationFallback(v, new RightScalarOperator(Plus.getPlusFnObject(), Double.NEGATIVE_INFINITY));
+		runScalarOperationFallback(v, new RightScalarOperator(Divide.getDivideFnObject(), 0));
+		runScalarOperationFallback(v, new RightScalarOperator(Multiply.getMultiplyFnObject(), Double.MAX_VALUE));
+	}
+
+	@Test
+	public void testNonAffineLeftDivide() {
+		runScalarOperationFallback(timestamps(), new LeftScalarOperator(Divide.getDivideFnObject(), 3));
+	}
+
+	@Test
+	public void testRightMult() {
+		double[] v = smallRange();
+		AColGroup g = ColGroupFOR.create(cols, v);
+		MatrixBlock right = new MatrixBlock(1, 3, false);
+		right.quickSetValue(0, 0, 2);
+		right.quickSetValue(0, 1, -1);
+		right.quickSetValue(0, 2, 0.5);
+		AColGroup res = g.rightMultByMatrix(right);
+		for(int i = 0; i < nRows; i += 7)
+			for(int j = 0; j < 3; j++)
+				assertEquals(v[i] * right.quickGetValue(0, j), res.get(i, j), 1e-9);
+	}
+
+	@Test
+	public void testLeftMult() {
+		double[] v = timestamps();
+		AColGroup g = ColGroupDelta.create(cols, v);
+		MatrixBlock left = new MatrixBlock(2, nRows, false);
+		left.allocateDenseBlock();
+		Random r = new Random(3);
+		double[] exp = new double[2];
+		for(int i = 0; i < 2; i++)
+			for(int j = 0; j < nRows; j++) {
+				double d = r.nextInt(10);
+				left.quickSetValue(i, j, d);
+				exp[i] += d * v[j];
+			}
+		MatrixBlock ret = new MatrixBlock(2, 1, false);
+		ret.allocateDenseBlock();
+		g.leftMultByMatrix(left, ret);
+		for(int i = 0; i < 2; i++)
+			assertEquals(exp[i], ret.quickGetValue(i, 0), Math.abs(exp[i]) * 1e-12);
+	}
+
+	@Test
+	public void testSelectRows() {
+		double[] v = timestamps();
+		AColGroup g = ColGroupDelta.create(cols, v);
+		int[] rows = new int[] {3, 17, 400, 2048, 2049, 4999};
+		AColGroup s = g.selectRows(rows);
+		for(int i = 0; i < rows.length; i++)
+			assertEquals(v[rows[i]], s.get(i, 0), 0.0);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(ColGroupFOR.create(cols, smallRange()));
+		groups.add(ColGroupDelta.create(new int[] {1}, timestamps()));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream fos = new DataOutputStream(bos);
+		ColGroupIO.writeGroups(fos, groups);
+		assertEquals(ColGroupIO.getExactSizeOnDisk(groups), fos.size());
+
+		DataInputStream fis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		List<AColGroup> read = ColGroupIO.readGroups(fis, nRows);
+		assertEquals(groups.size(), read.size());
+		for(int g = 0; g < groups.size(); g++) {
+			int c = groups.get(g).getColIndices()[0];
+			for(int i = 0; i < nRows; i++)
+				assertEquals(groups.get(g).get(i, c), read.get(g).get(i, c), 0.0);
+		}
+	}
+
+	@Test
+	public void testEstimateDelta() {
+		double[] v = timestamps();
+		MatrixBlock mb = new MatrixBlock(nRows, 1, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < nRows; i++)
+			mb.quickSetValue(i, 0, v[i]);
+		CompressionSettings cs = new CompressionSettingsBuilder().setTransposeInput("false")
+			.setValidCompressions(EnumSet.of(CompressionType.DDC, CompressionType.FOR, CompressionType.DELTA)).create();
+		CompressedSizeInfoColGroup info = new CompressedSizeEstimatorExact(mb, cs)
+			.estimateCompressedColGroupSize(cols);
+		assertEquals(CompressionType.DELTA, info.getBestCompressionType());
+		assertTrue(info.getCompressionSize(CompressionType.DELTA) < info.getCompressionSize(CompressionType.FOR));
+	}
+
+	private static void runScalarOperationFallback(double[] v, ScalarOperator op) {
+		AColGroup g = ColGroupDelta.create(cols, v).scalarOperation(op);
+		assertTrue(g instanceof ColGroupUncompressed);
+		double[] exp = new double[nRows];
+		for(int i = 0; i < nRows; i++)
+			exp[i] = op.executeScalar(v[i]);
+		compare(exp, g);
+	}
+
+	private static void compare(double[] exp, AColGroup g) {
+		MatrixBlock ret = new MatrixBlock(exp.length, 1, false);
+		ret.allocateDenseBlock();
+		g.decompressToBlockUnSafe(ret, 0, exp.length, 0);
+		for(int i = 0; i < exp.length; i++)
+			assertEquals(exp[i], ret.quickGetValue(i, 0), Math.abs(exp[i]) * 1e-15);
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.cost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
+import org.apache.sysds.runtime.compress.cost.CostCalibration;
+import org.apache.sysds.runtime.compress.cost.CostCalibration.Kernel;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
+import org.apache.sysds.runtime.compress.cost.InstructionTypeCounter;
+import org.apache.sysds.runtime.compress.cost.WorkloadFeedback;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CostCalibrationTest {
+
+	private static final CompressionType[] types = new CompressionType[] {CompressionType.DDC, CompressionType.SDC,
+		CompressionType.UNCOMPRESSED, CompressionType.CONST};
+
+	@Test
+	public void testCalibrate() {
+		CostCalibration c = CostCalibration.calibrate();
+		for(CompressionType ct : types)
+			for(Kernel k : Kernel.values()) {
+				double w = c.getWeight(ct, k);
+				assertTrue(ct + " " + k + " " + w, w > 0 && !Double.isInfinite(w));
+			}
+	}
+
+	@Test
+	public void testWriteRead() throws IOException {
+		CostCalibration c = CostCalibration.calibrate();
+		File f = File.createTempFile("costprofile", ".properties");
+		try {
+			c.write(f);
+			CostCalibration r = CostCalibration.read(f);
+			for(CompressionType ct : types)
+				for(Kernel k : Kernel.values())
+					assertEquals(c.getWeight(ct, k), r.getWeight(ct, k), 0.0);
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadInvalid() throws IOException {
+		File f = File.createTempFile("costprofile", ".properties");
+		try {
+			CostCalibration.read(f);
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	@Test
+	public void testObservedWorkload() {
+		WorkloadFeedback f = new WorkloadFeedback();
+		assertNull(f.getObserved());
+		InstructionTypeCounter c = f.observe();
+		assertNull(f.getObserved());
+		for(int i = 0; i < 10; i++)
+			c.incLeftMultiplications();
+		assertSame(c, f.getObserved());
+		assertTrue(new CostEstimatorBuilder(c).shouldTryToCompress());
+		assertNull(new WorkloadFeedback().getObserved());
+		f.clear();
+		assertNull(f.getObserved());
+	}
+
+	@Test
+	public void testObservedDecompressingWorkload() {
+		InstructionTypeCounter c = new WorkloadFeedback().observe();
+		c.incLeftMultiplications();
+		for(int i = 0; i < 10; i++)
+			c.incDecompressions();
+		assertFalse(new CostEstimatorBuilder(c).shouldTryToCompress());
+	}
+
+	@Test
+	public void testCalibratedKeepsCompressedColumns() throws IOException {
+		MatrixBlock mb = getCompressibleInput();
+		MatrixBlock ret = compressCalibrated(mb, 1e-3, 1e3);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		for(AColGroup g : ((CompressedMatrixBlock) ret).getColGroups())
+			assertFalse(g instanceof ColGroupUncompressed);
+		TestUtils.compareMatrices(mb, CompressedMatrixBlock.getUncompressed(ret), 0);
+	}
+
+	@Test
+	public void testCalibratedExtractsUncompressedColumns() throws IOException {
+		MatrixBlock mb = getCompressibleInput();
+		MatrixBlock ret = compressCalibrated(mb, 1e3, 1e-3);
+		// all columns are cheaper uncompressed, either combined into an uncompressed group or aborted
+		if(ret instanceof CompressedMatrixBlock) {
+			int nCols = 0;
+			for(AColGroup g : ((CompressedMatrixBlock) ret).getColGroups()) {
+				assertTrue(g instanceof ColGroupUncompressed);
+				nCols += g.getNumCols();
+			}
+			assertEquals(mb.getNumColumns(), nCols);
+		}
+		TestUtils.compareMatrices(mb, CompressedMatrixBlock.getUncompressed(ret), 0);
+	}
+
+	private static MatrixBlock compressCalibrated(MatrixBlock mb, double compressedWeight, double uncompressedWeight)
+		throws IOException {
+		File f = File.createTempFile("costprofile", ".properties");
+		try {
+			Properties p = new Properties();
+			for(Kernel k : Kernel.values()) {
+				p.setProperty(CompressionType.DDC + "." + k, Double.toString(compressedWeight));
+				p.setProperty(CompressionType.UNCOMPRESSED + "." + k, Double.toString(uncompressedWeight));
+			}
+			try(OutputStream out = new FileOutputStream(f)) {
+				p.store(out, null);
+			}
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.COMPRESSED_COST_PROFILE, f.getAbsolutePath());
+			ConfigurationManager.setLocalConfig(conf);
+
+			InstructionTypeCounter c = new WorkloadFeedback().observe();
+			for(int i = 0; i < 10; i++)
+				c.incLeftMultiplications();
+			ComputationCostEstimator cost = new CostEstimatorBuilder(c).create(mb.getNumRows(), mb.getNumColumns());
+			assertTrue(cost.isCalibrated());
+			return CompressedMatrixBlockFactory.compress(mb, 1, cost).getLeft();
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+			f.delete();
+		}
+	}
+
+	private static MatrixBlock getCompressibleInput() {
+		return DataConverter.convertToMatrixBlock(TestUtils.round(TestUtils.generateTestMatrix(10000, 6, 1, 5, 1.0, 7)));
+	}
+}
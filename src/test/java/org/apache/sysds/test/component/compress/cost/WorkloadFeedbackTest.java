@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress.cost;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CompressionCPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class WorkloadFeedbackTest {
+
+	// lookup id of a workload-planned compression, without a workload tree in the lookup map
+	private static final String INST = InstructionUtils.concatOperands("CP", "compress",
+		"X" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64",
+		"Y" + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64", "-4711");
+
+	@Test
+	public void testObservedDecompressionSkipsCompression() {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(TestUtils.round(TestUtils.generateTestMatrix(10000, 6, 1, 5,
+			1.0, 7)));
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		ec.setAutoCreateVars(true);
+		ec.setVariable("X", ExecutionContext.createMatrixObject(mb));
+		CompressionCPInstruction inst = CompressionCPInstruction.parseInstruction(INST);
+
+		// without observed operations the matrix is compressed
+		MatrixBlock out = execute(ec, inst);
+		assertTrue(out instanceof CompressedMatrixBlock);
+
+		// repeated execution without operations on the output is still compressed
+		out = execute(ec, inst);
+		assertTrue(out instanceof CompressedMatrixBlock);
+
+		// after decompressing the output, the observed workload does not justify compression
+		((CompressedMatrixBlock) out).decompress();
+		out = execute(ec, inst);
+		assertFalse(out instanceof CompressedMatrixBlock);
+		assertSame(mb, out);
+
+		// observations are not shared with other instructions of the same lookup id
+		out = execute(ec, CompressionCPInstruction.parseInstruction(INST));
+		assertTrue(out instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, CompressedMatrixBlock.getUncompressed(out), 0);
+	}
+
+	private static MatrixBlock execute(ExecutionContext ec, CompressionCPInstruction inst) {
+		inst.processInstruction(ec);
+		MatrixBlock ret = ec.getMatrixInput("Y");
+		ec.releaseMatrixInput("Y");
+		return ret;
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.CompressionStatistics;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.DictionaryFactory;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.MatrixBlockDictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.QDictionary;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class QDictionaryTest {
+
+	@Test
+	public void testCreate8Bit() {
+		QDictionary d = QDictionary.create(new double[] {0.5, -1.0, 63.5}, 0.5);
+		assertNotNull(d);
+		assertEquals(QDictionary.getInMemorySize(3, false), d.getInMemorySize());
+		assertEquals(-1.0, d.getValue(1), 0.0);
+		assertEquals(63.5, d.getValue(2), 0.0);
+	}
+
+	@Test
+	public void testCreate16Bit() {
+		QDictionary d = QDictionary.create(new double[] {0.25, -1000.0, 2000.0}, 0.25);
+		assertNotNull(d);
+		assertEquals(QDictionary.getInMemorySize(3, true), d.getInMemorySize());
+		assertEquals(-1000.0, d.getValue(1), 0.0);
+	}
+
+	@Test
+	public void testCreateNotOnGrid() {
+		assertNull(QDictionary.create(new double[] {0.5, 0.3}, 0.5));
+	}
+
+	@Test
+	public void testCreateTooLarge() {
+		assertNull(QDictionary.create(new double[] {1.0, 100000.0}, 1.0));
+	}
+
+	@Test
+	public void testSums() {
+		final double[] v = new double[] {1.5, -2.0, 3.0, 0.5};
+		QDictionary d = QDictionary.create(v, 0.5);
+		final int[] counts = new int[] {3, 2};
+		double sum = 0, sumsq = 0;
+		for(int i = 0; i < v.length; i++) {
+			sum += v[i] * counts[i / 2];
+			sumsq += v[i] * v[i] * counts[i / 2];
+		}
+		assertEquals(sum, d.sum(counts, 2), 0.0);
+		assertEquals(sumsq, d.sumsq(counts, 2), 0.0);
+		double[] colSum = d.colSum(counts, 2);
+		assertEquals(1.5 * 3 + 3.0 * 2, colSum[0], 1e-12);
+		assertEquals(-2.0 * 3 + 0.5 * 2, colSum[1], 1e-12);
+	}
+
+	@Test
+	public void testPreaggValuesFromDense() {
+		final double[] v = new double[] {1.5, -2.0, 0.0, 0.5, 3.0, 1.0};
+		final double[] b = new double[] {1, 2, 3, 4, 5, 6, 7, 8, 9};
+		final int[] colIndexes = new int[] {0, 2};
+		final int[] aggregateColumns = new int[] {0, 2};
+		ADictionary exp = new Dictionary(v).preaggValuesFromDense(3, colIndexes, aggregateColumns, b, 3);
+		ADictionary ret = QDictionary.create(v, 0.5).preaggValuesFromDense(3, colIndexes, aggregateColumns, b, 3);
+		for(int i = 0; i < 6; i++)
+			assertEquals(exp.getValue(i), ret.getValue(i), 1e-12);
+	}
+
+	@Test
+	public void testAggregateCols() {
+		QDictionary d = QDictionary.create(new double[] {1.5, -2.0, 3.0, 0.5}, 0.5);
+		double[] c = new double[] {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+		d.aggregateCols(c, Builtin.getBuiltinFnObject(BuiltinCode.MAX), new int[] {0, 1});
+		assertEquals(3.0, c[0], 0.0);
+		assertEquals(0.5, c[1], 0.0);
+	}
+
+	@Test
+	public void testMatrixBlockDictionaryCached() {
+		QDictionary d = QDictionary.create(new double[] {1.5, -2.0, 3.0, 0.5}, 0.5);
+		MatrixBlockDictionary m = d.getAsMatrixBlockDictionary(2);
+		assertSame(m, d.getAsMatrixBlockDictionary(2));
+		assertEquals(3.0, m.getMatrixBlock().quickGetValue(1, 0), 0.0);
+		// rescaling the dictionary invalidates the decoded values
+		d.apply(new RightScalarOperator(Multiply.getMultiplyFnObject(), 2));
+		assertEquals(6.0, d.getAsMatrixBlockDictionary(2).getMatrixBlock().quickGetValue(1, 0), 0.0);
+	}
+
+	@Test
+	public void testWriteRead8Bit() throws IOException {
+		writeRead(QDictionary.create(new double[] {0.125, -0.5, 15.0}, 0.125));
+	}
+
+	@Test
+	public void testWriteRead16Bit() throws IOException {
+		writeRead(QDictionary.create(new double[] {0.125, -0.5, 1500.0}, 0.125));
+	}
+
+	private static void writeRead(QDictionary d) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		d.write(new DataOutputStream(bos));
+		assertEquals(d.getExactSizeOnDisk(), bos.size());
+		ADictionary r = DictionaryFactory.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertTrue(r instanceof QDictionary);
+		for(int i = 0; i < 3; i++)
+			assertEquals(d.getValue(i), r.getValue(i), 0.0);
+	}
+
+	@Test
+	public void testLossyCompressionAbsoluteBound() {
+		testLossyCompression(new CompressionSettingsBuilder().setLossy(true).setLossyErrorBound(0.5, false).create(),
+			0.5);
+	}
+
+	@Test
+	public void testLossyCompressionSmallBound() {
+		testLossyCompression(new CompressionSettingsBuilder().setLossy(true).setLossyErrorBound(0.01, false).create(),
+			0.01);
+	}
+
+	@Test
+	public void testLossyCompressionExactColumn() {
+		CompressionSettings cs = new CompressionSettingsBuilder().setLossy(true).setLossyErrorBound(0.5, false)
+			.setLossyErrorBound(1, 0.0).create();
+		MatrixBlock mb = generate();
+		MatrixBlock ret = testLossyCompression(cs, 0.5);
+		for(int r = 0; r < mb.getNumRows(); r++)
+			assertEquals(mb.quickGetValue(r, 1), ret.quickGetValue(r, 1), 0.0);
+	}
+
+	private static MatrixBlock testLossyCompression(CompressionSettings cs, double bound) {
+		MatrixBlock mb = generate();
+		Pair<MatrixBlock, CompressionStatistics> p = CompressedMatrixBlockFactory.compress(mb, 1, cs);
+		MatrixBlock ret = p.getKey() instanceof CompressedMatrixBlock ? ((CompressedMatrixBlock) p.getKey())
+			.decompress() : p.getKey();
+		double maxError = 0;
+		for(int r = 0; r < mb.getNumRows(); r++)
+			for(int c = 0; c < mb.getNumColumns(); c++)
+				maxError = Math.max(maxError, Math.abs(mb.quickGetValue(r, c) - ret.quickGetValue(r, c)));
+		assertTrue("max error " + maxError, maxError <= bound);
+		assertTrue(p.getValue().lossy);
+		assertTrue(maxError <= p.getValue().maxError);
+		return ret;
+	}
+
+	private static MatrixBlock generate() {
+		return DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(1000, 3, 0, 10, 1.0, 7));
+	}
+}
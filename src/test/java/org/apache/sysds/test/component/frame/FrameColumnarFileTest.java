@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FrameColumnarFile;
+import org.apache.sysds.runtime.io.FrameColumnarFile.ColumnEncoding;
+import org.apache.sysds.runtime.io.FrameColumnarFile.Footer;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class FrameColumnarFileTest {
+	private static final ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.STRING,
+		ValueType.BOOLEAN, ValueType.INT32, ValueType.INT64, ValueType.FP32, ValueType.FP64, ValueType.FP64};
+	private static final int rows = 2345;
+
+	@Test
+	public void testRoundtripRandom() throws IOException {
+		ValueType[] lschema = new ValueType[] {ValueType.STRING, ValueType.BOOLEAN, ValueType.INT64, ValueType.FP64};
+		runRoundtrip(TestUtils.generateRandomFrameBlock(rows, lschema.length, lschema, 7), 1);
+	}
+
+	@Test
+	public void testRoundtripEncodings() throws IOException {
+		FrameBlock fb = createFrame();
+		runRoundtrip(fb, 1);
+		runRoundtrip(fb, 4);
+	}
+
+	@Test
+	public void testColumnEncodings() throws IOException {
+		File file = File.createTempFile("framecol", ".bin");
+		try {
+			Path path = new Path(file.getAbsolutePath());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			FrameColumnarFile.writeFrame(fs, path, createFrame(), 1);
+			Footer footer = FrameColumnarFile.readFooter(fs, path);
+			assertEquals(rows, footer.getNumRows());
+			assertEquals(schema.length, footer.getNumColumns());
+			assertEquals(ColumnEncoding.DICT, footer.getColumn(0).getEncoding());
+			assertEquals(ColumnEncoding.PLAIN, footer.getColumn(1).getEncoding());
+			assertEquals(ColumnEncoding.BITPACK, footer.getColumn(3).getEncoding());
+			assertEquals(ColumnEncoding.RLE, footer.getColumn(4).getEncoding());
+			assertEquals(ColumnEncoding.EMPTY, footer.getColumn(7).getEncoding());
+			assertEquals(11, footer.getColumn(0).getNumDistinct());
+			assertEquals(-500, footer.getColumn(3).getMin(), 0);
+			assertEquals(499, footer.getColumn(3).getMax(), 0);
+			assertEquals(0, footer.getColumn(7).getNumNonDefault());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testColumnProjection() throws IOException {
+		FrameBlock fb = createFrame();
+		File file = File.createTempFile("framecol", ".bin");
+		try {
+			Path path = new Path(file.getAbsolutePath());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			FrameColumnarFile.writeFrame(fs, path, fb, 1);
+			FrameBlock ret = FrameColumnarFile.readColumns(fs, path, 3, 5, 2);
+			assertEquals(3, ret.getNumColumns());
+			assertEquals("C3", ret.getColumnName(0));
+			compareFrames(fb.slice(0, rows - 1, 3, 5, new FrameBlock()), ret);
+			
+			//projection with value type conversion
+			FrameBlock ret2 = FrameColumnarFile.readColumns(fs, path, 6, 6, new ValueType[] {ValueType.STRING}, 1);
+			for(int i = 0; i < rows; i++)
+				assertEquals(String.valueOf(fb.get(i, 6)), ret2.get(i, 0));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testMagicDetection() throws IOException {
+		File file = File.createTempFile("framecol", ".bin");
+		try {
+			Path path = new Path(file.getAbsolutePath());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			assertFalse(FrameColumnarFile.isColumnarFile(fs, path));
+			FrameColumnarFile.writeFrame(fs, path, createFrame(), 1);
+			assertTrue(FrameColumnarFile.isColumnarFile(fs, path));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static FrameBlock createFrame() {
+		String[] names = new String[schema.length];
+		for(int j = 0; j < schema.length; j++)
+			names[j] = "C" + j;
+		FrameBlock fb = new FrameBlock(schema, names);
+		fb.ensureAllocatedColumns(rows);
+		for(int i = 0; i < rows; i++) {
+			fb.set(i, 0, (i % 13 == 0) ? null : "v" + (i % 10)); //dict
+			fb.set(i, 1, "unique" + i); //plain
+			fb.set(i, 2, i % 3 == 0); //bitset
+			fb.set(i, 3, (i * 7919) % 1000 - 500); //bitpack
+			fb.set(i, 4, (long) (i / 100)); //rle
+			fb.set(i, 5, (float) Math.sin(i)); //plain
+			fb.set(i, 6, (i % 3) * 0.5); //dict
+			//column 7 all zeros (empty)
+		}
+		return fb;
+	}
+
+	private static void runRoundtrip(FrameBlock fb, int k) throws IOException {
+		File file = File.createTempFile("framecol", ".bin");
+		try {
+			Path path = new Path(file.getAbsolutePath());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			FrameColumnarFile.writeFrame(fs, path, fb, k);
+			FrameBlock ret = new FrameBlock(fb.getSchema(), fb.getColumnNames());
+			ret.ensureAllocatedColumns(fb.getNumRows());
+			FrameColumnarFile.readFrame(fs, path, ret, k);
+			compareFrames(fb, ret);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void compareFrames(FrameBlock expected, FrameBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for(int i = 0; i < expected.getNumRows(); i++)
+			for(int j = 0; j < expected.getNumColumns(); j++)
+				assertEquals(expected.get(i, j), actual.get(i, j));
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Test;
+
+public class FrameCompressionTest {
+	private final static int rows = 1523;
+	private final static ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT32,
+		ValueType.INT64, ValueType.BOOLEAN, ValueType.FP32};
+
+	@Test
+	public void testCompressLowCardinality() {
+		FrameBlock frame = generate(7);
+		FrameBlock expected = new FrameBlock(frame);
+		long size = frame.getInMemorySize();
+		frame.compress();
+		for(int j = 0; j < schema.length; j++)
+			// boolean columns are not smaller with byte codes
+			assertEquals("column " + j, schema[j] != ValueType.BOOLEAN, frame.isColumnCompressed(j));
+		assertTrue(frame.getInMemorySize() < size);
+		compare(expected, frame);
+	}
+
+	@Test
+	public void testNoCompressHighCardinality() {
+		FrameBlock frame = generate(rows);
+		frame.compress();
+		assertFalse(frame.isColumnCompressed(0));
+		assertFalse(frame.isColumnCompressed(1));
+	}
+
+	@Test
+	public void testDecompress() {
+		FrameBlock frame = generate(3);
+		FrameBlock expected = new FrameBlock(frame);
+		frame.compress();
+		frame.decompress();
+		assertFalse(frame.isCompressed());
+		compare(expected, frame);
+	}
+
+	@Test
+	public void testSerialize() throws IOException {
+		FrameBlock frame = generate(5);
+		FrameBlock expected = new FrameBlock(frame);
+		frame.compress();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		frame.write(new DataOutputStream(bos));
+		assertEquals(frame.getExactSerializedSize(), bos.size());
+		FrameBlock ret = new FrameBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		for(int j = 0; j < schema.length; j++)
+			assertEquals(frame.isColumnCompressed(j), ret.isColumnCompressed(j));
+		compare(expected, ret);
+	}
+
+	@Test
+	public void testUpdateWithNewValues() {
+		FrameBlock frame = generate(2);
+		FrameBlock expected = new FrameBlock(frame);
+		frame.compress();
+		// exceed the two values the initial mapping holds
+		for(int i = 0; i < 300; i++) {
+			Object val = UtilFunctions.doubleToObject(schema[0], 1000 + i);
+			frame.set(i, 0, val);
+			expected.set(i, 0, val);
+		}
+		Object[] row = new Object[] {"x", 3.0, 4, 5L, true, 6.0f};
+		frame.appendRow(row);
+		expected.appendRow(row);
+		assertTrue(frame.isColumnCompressed(0));
+		compare(expected, frame);
+	}
+
+	@Test
+	public void testOverwritePrunesDictionary() {
+		FrameBlock frame = generate(4);
+		FrameBlock expected = new FrameBlock(frame);
+		frame.compress();
+		// overwrite all rows with two new values, which leaves the old values unreferenced
+		for(int i = 0; i < rows; i++) {
+			Object val = UtilFunctions.doubleToObject(schema[0], 1000 + i % 2);
+			frame.set(i, 0, val);
+			expected.set(i, 0, val);
+		}
+		assertEquals(2, frame.getColumnDictionary(0).length);
+		assertEquals(rows, frame.getColumnMapping(0).size());
+		compare(expected, frame);
+	}
+
+	@Test
+	public void testInMemorySizeAfterUpdates() {
+		FrameBlock frame = generate(7);
+		frame.compress();
+		long size = frame.getInMemorySize();
+		// the lookup of values to codes created by updates is accounted for
+		for(int i = 0; i < 100; i++)
+			frame.set(i, 0, UtilFunctions.doubleToObject(schema[0], i % 7));
+		assertTrue(frame.getInMemorySize() > size);
+	}
+
+	@Test
+	public void testSliceAndCopy() {
+		FrameBlock frame = generate(4);
+		FrameBlock expected = new FrameBlock(frame);
+		frame.compress();
+		compare(expected.slice(10, 99, 0, schema.length - 1, new FrameBlock()),
+			frame.slice(10, 99, 0, schema.length - 1, new FrameBlock()));
+		FrameBlock copy = new FrameBlock(frame);
+		assertTrue(copy.isColumnCompressed(0));
+		compare(expected, copy);
+	}
+
+	@Test
+	public void testRecode() {
+		FrameBlock frame = generate(9);
+		FrameBlock compressed = new FrameBlock(frame);
+		compressed.compress();
+		for(int j = 0; j < schema.length; j++) {
+			MatrixBlock expected = recode(frame, j + 1);
+			MatrixBlock ret = recode(compressed, j + 1);
+			for(int i = 0; i < rows; i++)
+				assertEquals(expected.quickGetValue(i, 0), ret.quickGetValue(i, 0), 0.0);
+		}
+	}
+
+	private static MatrixBlock recode(FrameBlock frame, int colID) {
+		ColumnEncoderRecode enc = new ColumnEncoderRecode(colID);
+		enc.build(frame);
+		MatrixBlock out = new MatrixBlock(frame.getNumRows(), 1, false);
+		out.allocateDenseBlock();
+		return enc.apply(frame, out, 0);
+	}
+
+	private static FrameBlock generate(int distinct) {
+		FrameBlock frame = new FrameBlock(schema);
+		Object[] row = new Object[schema.length];
+		for(int i = 0; i < rows; i++) {
+			for(int j = 0; j < schema.length; j++)
+				row[j] = UtilFunctions.doubleToObject(schema[j], (i * (j + 1)) % distinct);
+			frame.appendRow(row);
+		}
+		return frame;
+	}
+
+	private static void compare(FrameBlock expected, FrameBlock actual) {
+		assertEquals(expected.getNumRows(), actual.getNumRows());
+		for(int i = 0; i < expected.getNumRows(); i++)
+			for(int j = 0; j < expected.getNumColumns(); j++)
+				assertEquals("cell (" + i + "," + j + ")", expected.get(i, j), actual.get(i, j));
+	}
+}
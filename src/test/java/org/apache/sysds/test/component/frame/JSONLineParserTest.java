@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.frame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.JSONLineParser;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.junit.Test;
+
+public class JSONLineParserTest {
+	private static final ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64,
+		ValueType.INT64, ValueType.BOOLEAN, ValueType.INT32, ValueType.STRING};
+
+	@Test
+	public void testNestedPaths() throws IOException {
+		FrameBlock fb = parse("{\"a\":\"x\\\"y\\n\",\"skip\":{\"q\":[1,{\"a\":\"}\"}]},"
+			+ "\"b\":{\"c\":1.5e2,\"d\":-42},\"e\":true,\"f\":7}");
+		assertEquals("x\"y\n", fb.get(0, 0));
+		assertEquals(150.0, (Double) fb.get(0, 1), 0);
+		assertEquals(-42L, fb.get(0, 2));
+		assertEquals(true, fb.get(0, 3));
+		assertEquals(7, fb.get(0, 4));
+		assertEquals("{\"c\":1.5e2,\"d\":-42}", fb.get(0, 5));
+	}
+
+	@Test
+	public void testMissingAndQuotedValues() throws IOException {
+		FrameBlock fb = parse(" { \"b\" : { \"d\" : \"17\", \"c\": null } , \"a\" : null } ");
+		assertNull(fb.get(0, 0));
+		assertEquals(0.0, (Double) fb.get(0, 1), 0);
+		assertEquals(17L, fb.get(0, 2));
+		assertEquals(false, fb.get(0, 3));
+	}
+
+	@Test
+	public void testUnicodeValues() throws IOException {
+		FrameBlock fb = parse("{\"a\":\"ä€\\u00e4\"}");
+		assertEquals("ä€ä", fb.get(0, 0));
+	}
+
+	@Test(expected = IOException.class)
+	public void testArrayTraversal() throws IOException {
+		parse("{\"b\":[1,2]}");
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedLine() throws IOException {
+		parse("{\"a\":\"xyz");
+	}
+
+	private static FrameBlock parse(String line) throws IOException {
+		Map<String, Integer> schemaMap = new HashMap<>();
+		schemaMap.put("/a", 0);
+		schemaMap.put("/b/c", 1);
+		schemaMap.put("/b/d", 2);
+		schemaMap.put("/e", 3);
+		schemaMap.put("/f", 4);
+		schemaMap.put("/b", 5);
+		FrameBlock fb = new FrameBlock(schema);
+		fb.ensureAllocatedColumns(1);
+		byte[] b = ("#" + line + "#").getBytes(StandardCharsets.UTF_8);
+		new JSONLineParser(schemaMap, fb).parseLine(b, 1, b.length - 1, 0);
+		return fb;
+	}
+}
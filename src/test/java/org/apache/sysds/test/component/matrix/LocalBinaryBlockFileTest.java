@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LocalBinaryBlockFileTest {
+	private static final int blen = 100;
+
+	@Test
+	public void testRoundtripDense() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(345, 234, 0.9, -1, 1, "uniform", 7), 0, 345);
+	}
+
+	@Test
+	public void testRoundtripSparse() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(345, 234, 0.05, -1, 1, "uniform", 7), 0, 345);
+	}
+
+	@Test
+	public void testRoundtripUltraSparse() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(345, 234, 0.001, -1, 1, "uniform", 7), 0, 345);
+	}
+
+	@Test
+	public void testRoundtripSingleBlock() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(57, 33, 0.7, -1, 1, "uniform", 7), 0, 57);
+	}
+
+	@Test
+	public void testRoundtripRowRange() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(345, 234, 0.7, -1, 1, "uniform", 7), 100, 300);
+	}
+
+	@Test
+	public void testRandomBlockAccess() throws IOException {
+		MatrixBlock src = MatrixBlock.randOperations(345, 234, 0.3, -1, 1, "uniform", 3);
+		File file = File.createTempFile("localbb", ".bin");
+		try {
+			LocalBinaryBlockFile.writeMatrixBlocks(file, src, blen, 0, 345);
+			try(LocalBinaryBlockFile.Reader reader = LocalBinaryBlockFile.openReader(file)) {
+				assertEquals(12, reader.getNumBlocks());
+				MatrixBlock value = new MatrixBlock();
+				assertTrue(reader.readBlock(3, 2, value));
+				TestUtils.compareMatrices(src.slice(200, 299, 100, 199), value, 0);
+				assertTrue(reader.readBlock(4, 3, value));
+				TestUtils.compareMatrices(src.slice(300, 344, 200, 233), value, 0);
+				assertFalse(reader.readBlock(5, 1, value));
+			}
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void runRoundtrip(MatrixBlock src, int rl, int ru) throws IOException {
+		File file = File.createTempFile("localbb", ".bin");
+		try {
+			LocalBinaryBlockFile.writeMatrixBlocks(file, src, blen, rl, ru);
+			MatrixBlock ret = new MatrixBlock(src.getNumRows(), src.getNumColumns(), false);
+			ret.allocateDenseBlock();
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = new MatrixBlock();
+			try(LocalBinaryBlockFile.Reader reader = LocalBinaryBlockFile.openReader(file)) {
+				assertEquals(src.getNumRows(), reader.getNumRows());
+				assertEquals(src.getNumColumns(), reader.getNumColumns());
+				while(reader.next(key, value)) {
+					int r = (int) (key.getRowIndex() - 1) * blen;
+					int c = (int) (key.getColumnIndex() - 1) * blen;
+					ret.copy(r, r + value.getNumRows() - 1, c, c + value.getNumColumns() - 1, value, false);
+				}
+			}
+			ret.recomputeNonZeros();
+			MatrixBlock expected = src.slice(rl, ru - 1);
+			TestUtils.compareMatrices(expected, ret.slice(rl, ru - 1), 0);
+		}
+		finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Micro benchmark of the bulk versus value-by-value (de)serialization of double arrays
+ * in IOUtilFunctions. This is not a unit test (no surefire pattern) and is run manually
+ * via its main method, optionally with the number of rows and columns as arguments.
+ */
+public class MatrixBlockSerializationBenchmark {
+
+	public static void main(String[] args) {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int cols = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		double[] src = mb.getDenseBlockValues();
+		double[] dst = new double[src.length];
+		byte[] bdata = new byte[src.length * 8];
+
+		for(boolean bulk : new boolean[] {false, true}) {
+			double tputWrite = 0, tputRead = 0;
+			for(int r = 0; r < 10; r++) { //incl warmup
+				long t0 = System.nanoTime();
+				IOUtilFunctions.doubleArrayToBa(src, 0, bdata, 0, src.length, bulk);
+				long t1 = System.nanoTime();
+				IOUtilFunctions.baToDoubleArray(bdata, 0, dst, 0, src.length, bulk);
+				long t2 = System.nanoTime();
+				tputWrite = Math.max(tputWrite, bdata.length / ((t1 - t0) / 1e3));
+				tputRead = Math.max(tputRead, bdata.length / ((t2 - t1) / 1e3));
+			}
+			System.out.printf("Serialization throughput %s (MB/s): write %.0f, read %.0f%n",
+				bulk ? "bulk" : "value-by-value", tputWrite, tputRead);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class MatrixBlockSerializationTest {
+	private static final int rows = 1234;
+	private static final int cols = 567;
+
+	@Test
+	public void testCacheDataDense() throws IOException {
+		runCacheDataRoundtrip(getInput(0.9));
+	}
+
+	@Test
+	public void testCacheDataSparse() throws IOException {
+		runCacheDataRoundtrip(getInput(0.05));
+	}
+
+	@Test
+	public void testFastBufferedDense() throws IOException {
+		runFastBufferedRoundtrip(getInput(0.9));
+	}
+
+	@Test
+	public void testFastBufferedSparse() throws IOException {
+		runFastBufferedRoundtrip(getInput(0.05));
+	}
+
+	@Test
+	public void testByteBufferDenseHeap() throws IOException {
+		runByteBufferRoundtrip(getInput(0.9), false);
+	}
+
+	@Test
+	public void testByteBufferDenseDirect() throws IOException {
+		runByteBufferRoundtrip(getInput(0.9), true);
+	}
+
+	@Test
+	public void testSameBytesAsDefaultDense() throws IOException {
+		runSameBytesAsDefault(getInput(0.9));
+	}
+
+	@Test
+	public void testSameBytesAsDefaultSpecialValues() throws IOException {
+		MatrixBlock mb = getInput(0.9);
+		mb.quickSetValue(0, 0, Double.NaN);
+		mb.quickSetValue(1, 1, Double.POSITIVE_INFINITY);
+		mb.quickSetValue(2, 2, -0.0);
+		mb.quickSetValue(3, 3, Double.MIN_VALUE);
+		runSameBytesAsDefault(mb);
+	}
+
+	@Test
+	public void testBulkSameBytesAsValueByValue() {
+		runBulkVersusValueByValue(getInput(0.9));
+	}
+
+	@Test
+	public void testBulkSameBytesAsValueByValueSpecialValues() {
+		MatrixBlock mb = getInput(0.9);
+		mb.quickSetValue(0, 0, Double.NaN);
+		mb.quickSetValue(0, 1, Double.NEGATIVE_INFINITY);
+		mb.quickSetValue(0, 2, -0.0);
+		mb.quickSetValue(0, 3, Double.MAX_VALUE);
+		runBulkVersusValueByValue(mb);
+	}
+
+	private static void runCacheDataRoundtrip(MatrixBlock mb) throws IOException {
+		byte[] bdata = new byte[(int) mb.getExactSizeOnDisk()];
+		mb.write(new CacheDataOutput(bdata));
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new CacheDataInput(bdata));
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	private static void runFastBufferedRoundtrip(MatrixBlock mb) throws IOException {
+		byte[] bdata = writeFastBuffered(mb);
+		assertEquals(mb.getExactSizeOnDisk(), bdata.length);
+		MatrixBlock ret = new MatrixBlock();
+		try(FastBufferedDataInputStream in = new FastBufferedDataInputStream(new ByteArrayInputStream(bdata))) {
+			ret.readFields(in);
+		}
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	private static void runByteBufferRoundtrip(MatrixBlock mb, boolean direct) throws IOException {
+		byte[] bdata = writeFastBuffered(mb);
+		ByteBuffer buff = direct ? ByteBuffer.allocateDirect(bdata.length) : ByteBuffer.allocate(bdata.length);
+		buff.put(bdata);
+		buff.flip();
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new ByteBufferDataInput(buff));
+		assertEquals(0, buff.remaining());
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	private static void runSameBytesAsDefault(MatrixBlock mb) throws IOException {
+		//default value-by-value serialization through a plain data output
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(DataOutputStream dos = new DataOutputStream(bos)) {
+			mb.write(dos);
+		}
+		byte[] expected = bos.toByteArray();
+
+		//bulk serialization must not change the binary format
+		assertArrayEquals(expected, writeFastBuffered(mb));
+		byte[] bdata = new byte[expected.length];
+		mb.write(new CacheDataOutput(bdata));
+		assertArrayEquals(expected, bdata);
+	}
+
+	private static void runBulkVersusValueByValue(MatrixBlock mb) {
+		//both serialization modes passed explicitly (no global flag), with unaligned offsets
+		double[] src = mb.getDenseBlockValues();
+		int len = src.length - 3;
+		byte[] bulk = new byte[len * 8 + 5];
+		byte[] single = new byte[len * 8 + 5];
+		IOUtilFunctions.doubleArrayToBa(src, 3, bulk, 5, len, true);
+		IOUtilFunctions.doubleArrayToBa(src, 3, single, 5, len, false);
+		assertArrayEquals(single, bulk);
+
+		double[] ret1 = new double[len];
+		double[] ret2 = new double[len];
+		IOUtilFunctions.baToDoubleArray(bulk, 5, ret1, 0, len, true);
+		IOUtilFunctions.baToDoubleArray(bulk, 5, ret2, 0, len, false);
+		for(int i = 0; i < len; i++) {
+			assertEquals(Double.doubleToRawLongBits(src[i + 3]), Double.doubleToRawLongBits(ret1[i]));
+			assertEquals(Double.doubleToRawLongBits(src[i + 3]), Double.doubleToRawLongBits(ret2[i]));
+		}
+	}
+
+	private static byte[] writeFastBuffered(MatrixBlock mb) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(bos)) {
+			mb.write(out);
+		}
+		return bos.toByteArray();
+	}
+
+	private static MatrixBlock getInput(double sparsity) {
+		return MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+	}
+}
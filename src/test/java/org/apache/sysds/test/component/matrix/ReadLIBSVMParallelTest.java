@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.io.FileFormatPropertiesLIBSVM;
+import org.apache.sysds.runtime.io.ReaderTextLIBSVMParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ReadLIBSVMParallelTest {
+	private static final int rows = 3456;
+	private static final int cols = 501; //incl label
+
+	@Test
+	public void testReadSortedCSR() throws IOException {
+		runReadTest(false, false, " ", ":");
+	}
+
+	@Test
+	public void testReadUnsortedZerosCSR() throws IOException {
+		runReadTest(true, true, " ", ":");
+	}
+
+	@Test
+	public void testReadCustomDelimCSR() throws IOException {
+		runReadTest(true, false, ",", "=");
+	}
+
+	@Test
+	public void testReadPaddedRowsCSR() throws IOException {
+		double[][] expected = new double[rows][cols];
+		File file = writeLibsvm(expected, false, false, " ", ":");
+		try {
+			MatrixBlock mb = new ReaderTextLIBSVMParallel(new FileFormatPropertiesLIBSVM(" ", ":"))
+				.readMatrixFromHDFS(file.getAbsolutePath(), rows + 10, cols, 1000, -1);
+			assertEquals(rows + 10, mb.getNumRows());
+			MatrixBlock tmp = mb.slice(0, rows - 1);
+			TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(tmp), rows, cols, 0);
+			assertEquals(0, mb.slice(rows, rows + 9).getNonZeros());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void runReadTest(boolean unsorted, boolean zeros, String delim, String idelim)
+		throws IOException
+	{
+		double[][] expected = new double[rows][cols];
+		File file = writeLibsvm(expected, unsorted, zeros, delim, idelim);
+		boolean flag = ReaderTextLIBSVMParallel.DIRECT_CSR_READ;
+		try {
+			FileFormatPropertiesLIBSVM props = new FileFormatPropertiesLIBSVM(delim, idelim);
+			ReaderTextLIBSVMParallel.DIRECT_CSR_READ = true;
+			MatrixBlock mb1 = new ReaderTextLIBSVMParallel(props)
+				.readMatrixFromHDFS(file.getAbsolutePath(), rows, cols, 1000, -1);
+			ReaderTextLIBSVMParallel.DIRECT_CSR_READ = false;
+			MatrixBlock mb2 = new ReaderTextLIBSVMParallel(props)
+				.readMatrixFromHDFS(file.getAbsolutePath(), rows, cols, 1000, -1);
+
+			assertTrue(mb1.isInSparseFormat());
+			assertTrue(mb1.getSparseBlock() instanceof SparseBlockCSR);
+			assertTrue(mb1.getSparseBlock().checkValidity(rows, cols, mb1.getNonZeros(), true));
+			assertEquals(mb2.getNonZeros(), mb1.getNonZeros());
+			assertEquals(mb1.recomputeNonZeros(), mb1.getNonZeros());
+			TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(mb1), rows, cols, 0);
+			TestUtils.compareMatrices(mb2, mb1, 0);
+		}
+		finally {
+			ReaderTextLIBSVMParallel.DIRECT_CSR_READ = flag;
+			file.delete();
+		}
+	}
+
+	private static File writeLibsvm(double[][] expected, boolean unsorted, boolean zeros,
+		String delim, String idelim) throws IOException
+	{
+		Random rand = new Random(7);
+		File file = File.createTempFile("libsvm", ".txt");
+		try( FileWriter w = new FileWriter(file) ) {
+			for( int i = 0; i < rows; i++ ) {
+				int label = rand.nextInt(2);
+				expected[i][cols-1] = label;
+				StringBuilder sb = new StringBuilder(String.valueOf(label));
+				int[] ix = new int[rand.nextInt(8)];
+				for( int j = 0; j < ix.length; j++ )
+					ix[j] = j * (cols / 8) + rand.nextInt(cols / 8);
+				for( int j = 0; j < ix.length; j++ ) {
+					int c = unsorted ? ix[ix.length - j - 1] : ix[j];
+					double v = (zeros && rand.nextInt(4) == 0) ? 0 : Math.round(rand.nextDouble() * 1e4) / 1e2;
+					expected[i][c] = v;
+					sb.append(delim).append(c + 1).append(idelim).append(v);
+				}
+				w.write(sb.append("\n").toString());
+			}
+		}
+		return file;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.misc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.sysds.runtime.util.FastByteParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastByteParserTest {
+
+	@Test
+	public void testParseDoubleSimple() {
+		checkDouble("0");
+		checkDouble("-0");
+		checkDouble("1.5");
+		checkDouble("-123.456");
+		checkDouble("+7");
+		checkDouble(".25");
+		checkDouble("3.");
+		checkDouble("1e10");
+		checkDouble("1.7976931348623157E308");
+		checkDouble("4.9E-324");
+		checkDouble("0.1");
+		checkDouble("123456789012345678901234567890");
+	}
+
+	@Test
+	public void testParseDoubleSpecial() {
+		checkDouble("NaN");
+		checkDouble("Infinity");
+		checkDouble("-Infinity");
+	}
+
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for(int i = 0; i < 100000; i++) {
+			double v = (rand.nextDouble() - 0.5) * Math.pow(10, rand.nextInt(40) - 20);
+			checkDouble(Double.toString(v));
+			checkDouble(String.format("%.6f", v));
+		}
+	}
+
+	@Test
+	public void testParseDoubleOffsets() {
+		byte[] b = "xx,-2.75,yy".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(-2.75, FastByteParser.parseDouble(b, 3, 8), 0);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseDoubleInvalid() {
+		byte[] b = "1.2.3".getBytes(StandardCharsets.UTF_8);
+		FastByteParser.parseDouble(b, 0, b.length);
+	}
+
+	@Test
+	public void testParseInt() {
+		byte[] b = "-1234,56".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(-1234, FastByteParser.parseInt(b, 0, 5));
+		Assert.assertEquals(56, FastByteParser.parseInt(b, 6, 8));
+	}
+
+	@Test
+	public void testParseLong() {
+		byte[] b = "-123456789012,9223372036854775807".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(-123456789012L, FastByteParser.parseLong(b, 0, 13));
+		Assert.assertEquals(Long.MAX_VALUE, FastByteParser.parseLong(b, 14, b.length));
+	}
+
+	private static void checkDouble(String s) {
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(s, Double.doubleToLongBits(Double.parseDouble(s)),
+			Double.doubleToLongBits(FastByteParser.parseDouble(b, 0, b.length)));
+	}
+}
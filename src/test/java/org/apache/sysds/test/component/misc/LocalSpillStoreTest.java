@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.controlprogram.caching.LocalSpillStore;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalSpillStoreTest {
+	private File _dir;
+	private LocalSpillStore _store;
+	private long _segSize;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("spill").toFile();
+		_segSize = LocalSpillStore.SEGMENT_SIZE;
+		LocalSpillStore.SEGMENT_SIZE = 256 * 1024;
+		_store = new LocalSpillStore(_dir.getAbsolutePath(), "cache_seg", -1);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		_store.close();
+		LocalSpillStore.SEGMENT_SIZE = _segSize;
+		assertEquals(0, getNumFiles());
+		FileUtils.deleteDirectory(_dir);
+	}
+
+	@Test
+	public void testRoundtripMatrixDense() throws IOException {
+		runRoundtripMatrix(0.9);
+	}
+
+	@Test
+	public void testRoundtripMatrixSparse() throws IOException {
+		runRoundtripMatrix(0.05);
+	}
+
+	@Test
+	public void testRoundtripFrame() throws IOException {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(100, 5, 7);
+		_store.writeBlock("f1", fb);
+		FrameBlock fb2 = (FrameBlock) _store.readBlock("f1", false);
+		for(int i = 0; i < fb.getNumRows(); i++)
+			for(int j = 0; j < fb.getNumColumns(); j++)
+				assertEquals(String.valueOf(fb.get(i, j)), String.valueOf(fb2.get(i, j)));
+	}
+
+	@Test
+	public void testRoundtripByteArray() throws IOException {
+		MatrixBlock mb = getMatrix(0.5, 3);
+		byte[] data = new byte[(int) mb.getExactSerializedSize()];
+		new Random(7).nextBytes(data);
+		_store.writeBlock("b1", data);
+		assertTrue(_store.containsBlock("b1"));
+		assertEquals(data.length, _store.getDiskSize());
+		//byte arrays are read back as serialized blocks
+		_store.writeBlock("b2", serialize(mb));
+		TestUtils.compareMatrices(mb, (MatrixBlock) _store.readBlock("b2", true), 0);
+	}
+
+	@Test
+	public void testOverwriteAndDelete() throws IOException {
+		MatrixBlock mb1 = getMatrix(0.9, 1);
+		MatrixBlock mb2 = getMatrix(0.1, 2);
+		_store.writeBlock("m1", mb1);
+		_store.writeBlock("m1", mb2);
+		assertEquals(1, _store.getNumBlocks());
+		TestUtils.compareMatrices(mb2, (MatrixBlock) _store.readBlock("m1", true), 0);
+		assertTrue(_store.deleteBlock("m1"));
+		assertFalse(_store.deleteBlock("m1"));
+		assertNull(_store.readBlock("m1", true));
+	}
+
+	@Test
+	public void testSegmentDropAndCompaction() throws IOException {
+		//write many blocks across multiple segments
+		int n = 40;
+		MatrixBlock[] blocks = new MatrixBlock[n];
+		for(int i = 0; i < n; i++) {
+			blocks[i] = getMatrix(0.9, i);
+			_store.writeBlock("m" + i, blocks[i]);
+		}
+		int numSegs = _store.getNumSegments();
+		assertTrue(numSegs > 2);
+		assertEquals(numSegs, getNumFiles());
+
+		//delete all but every fourth block, and compact
+		for(int i = 0; i < n; i++)
+			if(i % 4 != 0)
+				_store.deleteBlock("m" + i);
+		_store.compact();
+		assertTrue(_store.getNumSegments() < numSegs);
+		assertEquals(_store.getNumSegments(), getNumFiles());
+		assertEquals(n / 4, _store.getNumBlocks());
+		for(int i = 0; i < n; i += 4)
+			TestUtils.compareMatrices(blocks[i], (MatrixBlock) _store.readBlock("m" + i, true), 0);
+
+		//delete remaining blocks, which drops all non-active segments
+		for(int i = 0; i < n; i += 4)
+			_store.deleteBlock("m" + i);
+		assertEquals(0, _store.getNumBlocks());
+		assertTrue(_store.getNumSegments() <= 1);
+	}
+
+	@Test
+	public void testBoundedSize() throws IOException {
+		_store.close();
+		MatrixBlock mb = getMatrix(0.9, 3);
+		long size = mb.getExactSerializedSize();
+		_store = new LocalSpillStore(_dir.getAbsolutePath(), "cache_seg", 3 * size);
+		for(int i = 0; i < 10; i++) {
+			//overwrites and deletes free space for subsequent writes
+			_store.writeBlock("m" + (i % 2), mb);
+			_store.deleteBlock("m" + ((i + 1) % 2));
+		}
+		assertTrue(_store.getDiskSize() <= 3 * size);
+		_store.writeBlock("m2", mb);
+		_store.writeBlock("m3", mb);
+		try {
+			_store.writeBlock("m4", mb);
+			fail("Expected exceeded spill store size.");
+		}
+		catch(IOException ex) {
+			//expected
+		}
+		TestUtils.compareMatrices(mb, (MatrixBlock) _store.readBlock("m3", true), 0);
+	}
+
+	private void runRoundtripMatrix(double sparsity) throws IOException {
+		MatrixBlock mb = getMatrix(sparsity, 7);
+		_store.writeBlock("m1", mb);
+		_store.writeBlock("m2", getMatrix(sparsity, 8));
+		MatrixBlock mb2 = (MatrixBlock) _store.readBlock("m1", true);
+		assertEquals(mb.isInSparseFormat(), mb2.isInSparseFormat());
+		TestUtils.compareMatrices(mb, mb2, 0);
+		assertEquals(1, getNumFiles());
+	}
+
+	private static MatrixBlock getMatrix(double sparsity, long seed) {
+		return MatrixBlock.randOperations(100, 100, sparsity, -1, 1, "uniform", seed);
+	}
+
+	private static byte[] serialize(MatrixBlock mb) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		mb.write(new DataOutputStream(bos));
+		return bos.toByteArray();
+	}
+
+	private int getNumFiles() {
+		String[] files = _dir.list();
+		return files != null ? files.length : 0;
+	}
+}
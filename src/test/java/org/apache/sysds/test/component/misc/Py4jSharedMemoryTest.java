@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.Py4jConverterUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class Py4jSharedMemoryTest {
+	@Test
+	public void testDenseRoundtrip() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(234, 57, 0.9, -1, 1, "uniform", 7));
+	}
+
+	@Test
+	public void testSparseRoundtrip() throws IOException {
+		runRoundtrip(MatrixBlock.randOperations(234, 57, 0.05, -1, 1, "uniform", 7));
+	}
+
+	@Test
+	public void testEmptyRoundtrip() throws IOException {
+		runRoundtrip(new MatrixBlock(234, 57, true));
+	}
+
+	@Test
+	public void testReadFP32() throws IOException {
+		File file = File.createTempFile("shm", ".bin");
+		try {
+			ByteBuffer buf = ByteBuffer.allocate(4 * 12).order(ByteOrder.LITTLE_ENDIAN);
+			for(int i = 0; i < 12; i++)
+				buf.putFloat(i * 0.5f);
+			Files.write(file.toPath(), buf.array());
+			MatrixBlock mb = Py4jConverterUtils.convertSharedMemoryToMB(file.getAbsolutePath(), 3, 4, ValueType.FP32);
+			for(int i = 0; i < 12; i++)
+				assertEquals(i * 0.5, mb.getValue(i / 4, i % 4), 0);
+			assertEquals(11, mb.getNonZeros());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private static void runRoundtrip(MatrixBlock mb) throws IOException {
+		File file = File.createTempFile("shm", ".bin");
+		try {
+			String fname = file.getAbsolutePath();
+			int rlen = mb.getNumRows(), clen = mb.getNumColumns();
+
+			//dense exchange
+			Py4jConverterUtils.convertMBToSharedMemory(mb, fname);
+			assertEquals(8L * rlen * clen, file.length());
+			MatrixBlock mb2 = Py4jConverterUtils.convertSharedMemoryToMB(fname, rlen, clen, ValueType.FP64);
+			TestUtils.compareMatrices(mb, mb2, 0);
+			assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+
+			//csr exchange
+			int nnz = Py4jConverterUtils.convertMBToSharedMemoryCSR(mb, fname);
+			assertEquals(mb.getNonZeros(), nnz);
+			MatrixBlock mb3 = Py4jConverterUtils.convertSharedMemoryCSRToMB(fname, rlen, clen, nnz);
+			TestUtils.compareMatrices(mb, mb3, 0);
+			assertEquals(mb.getNonZeros(), mb3.getNonZeros());
+		}
+		finally {
+			file.delete();
+		}
+	}
+}
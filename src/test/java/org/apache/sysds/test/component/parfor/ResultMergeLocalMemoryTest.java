@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.parfor;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+
+public class ResultMergeLocalMemoryTest
+{
+	private static final int ROWS = 1000;
+	private static final int COLS = 20;
+	private static final int WORKERS = 4;
+	private static final int PAR = 3;
+	
+	@BeforeClass
+	public static void init() throws IOException {
+		CacheableData.initCaching("tmp_result_merge_test");
+	}
+	
+	@Test
+	public void testParallelMergeNewTargetWithCompare() {
+		runResultMergeTest(true, false, true);
+	}
+	
+	@Test
+	public void testParallelMergeInPlaceWithCompare() {
+		runResultMergeTest(true, true, true);
+	}
+	
+	@Test
+	public void testParallelMergeNewTargetWithoutCompare() {
+		runResultMergeTest(false, false, true);
+	}
+	
+	@Test
+	public void testParallelMergeInPlaceWithoutCompare() {
+		runResultMergeTest(false, true, true);
+	}
+	
+	@Test
+	public void testSerialMergeWithCompare() {
+		runResultMergeTest(true, false, false);
+	}
+	
+	@Test
+	public void testSerialMergeWithoutCompare() {
+		runResultMergeTest(false, false, false);
+	}
+	
+	private static void runResultMergeTest(boolean compare, boolean inplace, boolean parallel) {
+		//old output (non-empty old state is used as compare matrix)
+		MatrixBlock old = compare ?
+			MatrixBlock.randOperations(ROWS, COLS, 1.0, 1, 2, "uniform", 7) :
+			new MatrixBlock(ROWS, COLS, false);
+		
+		//worker results: each worker updates a disjoint subset of rows, and keeps
+		//the old state (if any) of all other rows (incl. rows updated by no worker)
+		MatrixBlock expected = compare ? new MatrixBlock(old) :
+			new MatrixBlock(ROWS, COLS, false).allocateBlock();
+		MatrixBlock[] results = new MatrixBlock[WORKERS];
+		for( int w=0; w<WORKERS; w++ ) {
+			results[w] = compare ? new MatrixBlock(old) : new MatrixBlock(ROWS, COLS, true);
+			for( int i=w; i<ROWS; i+=WORKERS+1 )
+				for( int j=0; j<COLS; j++ ) {
+					double val = (j % 3 == 0) ? 0 : 10 + w + j; //incl updates to zero
+					results[w].quickSetValue(i, j, val);
+					expected.quickSetValue(i, j, val);
+				}
+			results[w].examSparsity();
+		}
+		expected.recomputeNonZeros();
+		
+		MatrixObject out = createMatrixObject(old, "out");
+		if( inplace )
+			out.setUpdateType(UpdateType.INPLACE_PINNED);
+		MatrixObject[] in = new MatrixObject[WORKERS];
+		for( int w=0; w<WORKERS; w++ )
+			in[w] = createMatrixObject(results[w], "in"+w);
+		
+		//merge worker results into the output
+		ResultMergeLocalMemory rm = new ResultMergeLocalMemory(out, in, "merged", false);
+		MatrixObject ret = parallel ? rm.executeParallelMerge(PAR) : rm.executeSerialMerge();
+		if( inplace )
+			Assert.assertSame(out, ret);
+		else
+			Assert.assertNotSame(out, ret);
+		
+		MatrixBlock mb = ret.acquireRead();
+		Assert.assertEquals(expected.getNonZeros(), mb.getNonZeros());
+		TestUtils.compareMatrices(expected, mb, 0);
+		ret.release();
+		Assert.assertEquals(expected.getNonZeros(), ret.getNnz());
+	}
+	
+	private static MatrixObject createMatrixObject(MatrixBlock mb, String fname) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(ROWS, COLS, 1000, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.FP64, fname, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+}
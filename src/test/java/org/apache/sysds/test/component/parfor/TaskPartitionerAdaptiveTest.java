@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerAdaptive;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.IterationStatistics;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+public class TaskPartitionerAdaptiveTest
+{
+	private static final int N = 10000;
+	private static final int P = 8;
+	
+	@Test
+	public void testNoStatistics() throws InterruptedException {
+		//w/o observed iterations, only single-iteration tasks
+		List<Task> tasks = createTasks(new IterationStatistics());
+		Assert.assertEquals(N, tasks.size());
+		Assert.assertEquals(N, countIterations(tasks));
+	}
+	
+	@Test
+	public void testHomogeneousIterations() throws InterruptedException {
+		//w/o variance, task sizes bounded by factoring
+		IterationStatistics stats = new IterationStatistics();
+		stats.addTask(100, 100*10, 100*10*10);
+		List<Task> tasks = createTasks(stats);
+		Assert.assertTrue(tasks.size() < N/50);
+		Assert.assertEquals(N, countIterations(tasks));
+	}
+	
+	@Test
+	public void testSkewedIterations() throws InterruptedException {
+		//w/ high variance, more and smaller tasks than w/o variance
+		IterationStatistics stats = new IterationStatistics();
+		stats.addTask(99, 99*1, 99*1*1);
+		stats.addTask(1, 1*1000, 1*1000*1000);
+		IterationStatistics stats2 = new IterationStatistics();
+		stats2.addTask(100, 100*10, 100*10*10);
+		List<Task> tasks = createTasks(stats);
+		Assert.assertTrue(tasks.size() > 2 * createTasks(stats2).size());
+		Assert.assertEquals(N, countIterations(tasks));
+	}
+	
+	private static List<Task> createTasks(IterationStatistics stats) throws InterruptedException {
+		LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+		TaskPartitionerAdaptive tp = new TaskPartitionerAdaptive(1, P, stats,
+			"i", new IntObject(1), new IntObject(N), new IntObject(1));
+		long numTasks = tp.createTasks(queue);
+		List<Task> ret = new ArrayList<>();
+		Task t = null;
+		while( (t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS )
+			ret.add(t);
+		Assert.assertEquals(numTasks, ret.size());
+		return ret;
+	}
+	
+	private static long countIterations(List<Task> tasks) {
+		long count = 0;
+		for( Task t : tasks ) {
+			if( t.getType() == Task.TaskType.RANGE ) {
+				List<IntObject> it = t.getIterations();
+				count += (it.get(1).getLongValue()-it.get(0).getLongValue())/it.get(2).getLongValue()+1;
+			}
+			else
+				count += t.size();
+		}
+		return count;
+	}
+}
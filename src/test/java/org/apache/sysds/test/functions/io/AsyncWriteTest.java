@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class AsyncWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "AsyncWrite";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncWriteTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-asyncwrite.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+
+	private final static int rows = 1500;
+	private final static int cols = 110;
+	private final static int iters = 12;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"X", "Z"}));
+	}
+
+	@Test
+	public void testAsyncWriteBinary() {
+		runAsyncWriteTest(FileFormat.BINARY);
+	}
+
+	@Test
+	public void testAsyncWriteText() {
+		runAsyncWriteTest(FileFormat.TEXT);
+	}
+
+	@Test
+	public void testAsyncWriteCSV() {
+		runAsyncWriteTest(FileFormat.CSV);
+	}
+
+	private void runAsyncWriteTest(FileFormat fmt) {
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			getAndLoadTestConfiguration(TEST_NAME);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols),
+				String.valueOf(iters), output("X"), fmt.toString(), output("Z")};
+			runTest(true, false, null, -1);
+
+			//all writes are complete and each file holds its own snapshot
+			int blen = OptimizerUtils.DEFAULT_BLOCKSIZE;
+			MatrixBlock prev = null;
+			for(int i = 1; i <= iters; i++) {
+				MatrixBlock cur = DataConverter.readMatrixFromHDFS(output("X") + i, fmt, rows, cols, blen);
+				if( prev != null ) {
+					double[][] a = DataConverter.convertToDoubleMatrix(prev);
+					double[][] b = DataConverter.convertToDoubleMatrix(cur);
+					for(int r = 0; r < rows; r++)
+						for(int c = 0; c < cols; c++)
+							Assert.assertEquals(a[r][c] + i, b[r][c], 1e-9);
+				}
+				prev = cur;
+			}
+
+			//the last of the repeated overwrites wins
+			MatrixBlock last = DataConverter.readMatrixFromHDFS(output("Z"), fmt, rows, cols, blen);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(prev),
+				DataConverter.convertToDoubleMatrix(last), rows, cols, 1e-9);
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class CompressedWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "CompressedWriteTest";
+	private final static String TEST_NAME2 = "CompressedReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedWriteTest.class.getSimpleName() + "/";
+	
+	public static int rows1 = 746;
+	public static int rows2 = 2500;
+	public static int cols = 10;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "Y" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "Z" }) );
+	}
+	
+	@Test
+	public void testSingleBlock() 
+	{ 
+		runCompressedWriteReadTest( rows1 ); 
+	}
+	
+	@Test
+	public void testMultiBlock() 
+	{ 
+		runCompressedWriteReadTest( rows2 ); 
+	}
+
+	private void runCompressedWriteReadTest( int rows ) 
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//generate compressible dataset (few distinct values per column)
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 1, 5, 1.0, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("X"), FileFormat.BINARY, mc);
+			HDFSTool.writeMetaDataFile(input("X.mtd"), ValueType.FP64, mc, FileFormat.BINARY);
+			
+			//write compressed binary blocks
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("Y") };
+			runTest(true, false, null, -1);
+			String mtd = new String(Files.readAllBytes(Paths.get(output("Y.mtd"))), StandardCharsets.UTF_8);
+			Assert.assertTrue(mtd.contains("\"" + DataExpression.COMPRESSED + "\""));
+			
+			//read compressed binary blocks (via metadata) and write uncompressed
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", output("Y"), output("Z") };
+			runTest(true, false, null, -1);
+			
+			//compare matrices 
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(output("Z"), FileFormat.BINARY, rows, cols, 1000, -1);
+			for( int i=0; i<mb.getNumRows(); i++ )
+				for( int j=0; j<mb.getNumColumns(); j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j) * 7, mb2.quickGetValue(i, j), 0);
+		}
+		catch(Exception ex)
+		{
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.binary;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.io.BinaryBlockIndex;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MatrixWriter;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class ReadIndexRangeTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "ReadIndexRangeTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadIndexRangeTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1234;
+	private final static int cols = 567;
+	private final static int blen = 100;
+	private final static int numParts = 3;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testDenseRowRange() {
+		runReadIndexRangeTest(0.9, new IndexRange(150, 449, 0, cols-1), false);
+	}
+	
+	@Test
+	public void testSparseRowRange() {
+		runReadIndexRangeTest(0.05, new IndexRange(150, 449, 0, cols-1), false);
+	}
+	
+	@Test
+	public void testDenseSubBlock() {
+		runReadIndexRangeTest(0.9, new IndexRange(33, 77, 120, 150), false);
+	}
+	
+	@Test
+	public void testSparseUnaligned() {
+		runReadIndexRangeTest(0.05, new IndexRange(99, 1233, 199, 566), false);
+	}
+	
+	@Test
+	public void testDenseRowRangeNative() {
+		runReadIndexRangeTest(0.9, new IndexRange(150, 449, 0, cols-1), true);
+	}
+	
+	@Test
+	public void testSparseUnalignedNative() {
+		runReadIndexRangeTest(0.05, new IndexRange(99, 1233, 199, 566), true);
+	}
+
+	@Test
+	public void testDenseRowRangeBlockIndex() {
+		runBlockIndexTest(0.9, new IndexRange(150, 449, 0, cols-1));
+	}
+	
+	@Test
+	public void testSparseUnalignedBlockIndex() {
+		runBlockIndexTest(0.05, new IndexRange(99, 1233, 199, 566));
+	}
+	
+	@Test
+	public void testDenseSubBlockBlockIndex() {
+		runBlockIndexTest(0.9, new IndexRange(433, 477, 120, 150));
+	}
+	
+	@Test
+	public void testReadPushdownRowRange() {
+		runReadPushdownTest(new IndexRange(150, 449, 0, cols-1), true);
+	}
+	
+	@Test
+	public void testReadPushdownSubBlock() {
+		runReadPushdownTest(new IndexRange(33, 777, 120, 150), true);
+	}
+	
+	@Test
+	public void testNoReadPushdownLargeOutput() {
+		runReadPushdownTest(new IndexRange(0, rows-1, 0, cols-101), false);
+	}
+
+	private void runReadIndexRangeTest( double sparsity, IndexRange ixrange, boolean nativeLocal ) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			DMLConfig conf = new DMLConfig(getCurConfigFile().getPath());
+			conf.setTextValue(DMLConfig.CP_NATIVE_LOCAL_FILES, String.valueOf(nativeLocal));
+			ConfigurationManager.setLocalConfig(conf);
+			
+			//write input matrix in binary block format
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			MatrixWriter writer = nativeLocal ? 
+				new WriterBinaryBlockParallel(-1) : new WriterBinaryBlock(-1);
+			writer.writeMatrixToHDFS(mb, output("X"), rows, cols, blen, mb.getNonZeros());
+			
+			//read index range and compare with in-memory slice
+			MatrixBlock ret = new ReaderBinaryBlock(false).readMatrixRangeFromHDFS(
+				output("X"), rows, cols, blen, mb.getNonZeros(), ixrange);
+			MatrixBlock expected = mb.slice((int)ixrange.rowStart, (int)ixrange.rowEnd, 
+				(int)ixrange.colStart, (int)ixrange.colEnd);
+			TestUtils.compareMatrices(expected, ret, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+	
+	private void runBlockIndexTest( double sparsity, IndexRange ixrange ) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//write multi-part binary block file with block index
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			Path path = new Path(output("X"));
+			JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+			FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+			new PartWriter().writeParts(path, job, fs, mb).write(fs, path);
+			Assert.assertNotNull(BinaryBlockIndex.read(fs, path));
+			
+			//read index range via block index
+			MatrixBlock expected = mb.slice((int)ixrange.rowStart, (int)ixrange.rowEnd, 
+				(int)ixrange.colStart, (int)ixrange.colEnd);
+			MatrixBlock ret1 = new ReaderBinaryBlock(false).readMatrixRangeFromHDFS(
+				output("X"), rows, cols, blen, mb.getNonZeros(), ixrange);
+			TestUtils.compareMatrices(expected, ret1, 0);
+			
+			//read index range via key scan (w/o block index)
+			fs.delete(new Path(path, BinaryBlockIndex.FILE_NAME), false);
+			Assert.assertNull(BinaryBlockIndex.read(fs, path));
+			MatrixBlock ret2 = new ReaderBinaryBlock(false).readMatrixRangeFromHDFS(
+				output("X"), rows, cols, blen, mb.getNonZeros(), ixrange);
+			TestUtils.compareMatrices(expected, ret2, 0);
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runReadPushdownTest( IndexRange ixrange, boolean pushdown ) {
+		ExecMode platformOld = setExecMode(ExecMode.HYBRID);
+		long oldmem = InfrastructureAnalyzer.getLocalMaxMemory();
+		
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//write input matrix in binary block format
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("X"), FileFormat.BINARY, mc);
+			HDFSTool.writeMetaDataFile(input("X.mtd"), ValueType.FP64, mc, FileFormat.BINARY);
+			
+			//modify memory budget such that the input exceeds the local memory
+			InfrastructureAnalyzer.setLocalMaxMemory(4*1024*1024); //4MB
+			
+			//right indexing over persistent read (1-based indexes)
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"),
+				String.valueOf(ixrange.rowStart+1), String.valueOf(ixrange.rowEnd+1),
+				String.valueOf(ixrange.colStart+1), String.valueOf(ixrange.colEnd+1), output("R") };
+			runTest(true, false, null, -1);
+			
+			//check for CP right indexing w/o spark instructions if pushed down
+			Assert.assertEquals(pushdown, heavyHittersContainsString("rightIndex"));
+			Assert.assertEquals(!pushdown, heavyHittersContainsString("sp_rightIndex"));
+			if( pushdown )
+				Assert.assertEquals(0, Statistics.getNoOfExecutedSPInst());
+			
+			//compare result with in-memory slice
+			int rrows = (int)(ixrange.rowEnd - ixrange.rowStart + 1);
+			int rcols = (int)(ixrange.colEnd - ixrange.colStart + 1);
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(output("R"), FileFormat.BINARY, rrows, rcols, blen);
+			MatrixBlock expected = mb.slice((int)ixrange.rowStart, (int)ixrange.rowEnd, 
+				(int)ixrange.colStart, (int)ixrange.colEnd);
+			TestUtils.compareMatrices(expected, ret, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			InfrastructureAnalyzer.setLocalMaxMemory(oldmem);
+			resetExecMode(platformOld);
+		}
+	}
+	
+	private static class PartWriter extends WriterBinaryBlock
+	{
+		public PartWriter() {
+			super(-1);
+		}
+		
+		//writes row partitions into separate part files, similar to the parallel
+		//writer for large outputs, and returns the collected block positions
+		public BinaryBlockIndex writeParts(Path path, JobConf job, FileSystem fs, MatrixBlock src) 
+			throws IOException
+		{
+			HDFSTool.deleteFileIfExistOnHDFS(path, job);
+			fs.mkdirs(path);
+			BinaryBlockIndex index = new BinaryBlockIndex();
+			int blklen = (int)Math.ceil((double)rows / blen / numParts) * blen;
+			for( int i=0; i<numParts; i++ ) {
+				String name = IOUtilFunctions.getPartFileName(i);
+				long[] entries = writeBinaryBlockMatrixToSequenceFile(new Path(path, name),
+					job, fs, src, blen, i*blklen, Math.min((i+1)*blklen, rows));
+				Assert.assertNotNull(entries);
+				index.addPart(name, entries);
+			}
+			return index;
+		}
+	}
+}
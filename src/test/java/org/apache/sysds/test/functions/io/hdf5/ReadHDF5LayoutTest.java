@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.io.hdf5;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Reads HDF5 inputs with chunked layout and non-double data types, whose contents are
+ * generated as follows: v = ((i*50+j) % 7); x[i,j] = (v==3) ? 0 : v*0.5-1.25.
+ * The chunked file uses 16x12 float32 chunks with a two-level chunk B-tree and one
+ * unallocated chunk (rows 16-31, columns 24-35), and the contiguous file stores
+ * the values times four as int16.
+ */
+public class ReadHDF5LayoutTest extends AutomatedTestBase {
+
+	private final static String TEST_NAME = "ReadHDF5LayoutTest";
+	private final static String TEST_DIR = "functions/io/hdf5/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadHDF5LayoutTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Y"}));
+	}
+
+	@Test
+	public void testChunkedFloat32Seq() {
+		runReadTest("chunked_float32.h5", false);
+	}
+
+	@Test
+	public void testChunkedFloat32Parallel() {
+		runReadTest("chunked_float32.h5", true);
+	}
+
+	@Test
+	public void testContiguousInt16Seq() {
+		runReadTest("contiguous_int16.h5", false);
+	}
+
+	@Test
+	public void testContiguousInt16Parallel() {
+		runReadTest("contiguous_int16.h5", true);
+	}
+
+	private void runReadTest(String fname, boolean parallel) {
+		try {
+			String input = SCRIPT_DIR + TEST_DIR + INPUT_DIR + fname;
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5("DATASET_1");
+			MatrixReader reader = parallel ? new ReaderHDF5Parallel(props) : new ReaderHDF5(props);
+			MatrixBlock mb = reader.readMatrixFromHDFS(input, 50, 50, 1000, -1);
+
+			boolean chunked = fname.startsWith("chunked");
+			MatrixBlock expected = new MatrixBlock(50, 50, false);
+			for(int i = 0; i < 50; i++)
+				for(int j = 0; j < 50; j++) {
+					int v = (i * 50 + j) % 7;
+					double val = (v == 3) ? 0 : v * 0.5 - 1.25;
+					if(chunked && i >= 16 && i < 32 && j >= 24 && j < 36)
+						val = 0;
+					expected.quickSetValue(i, j, chunked ? val : (int) (val * 4));
+				}
+			TestUtils.compareMatrices(expected, mb, 0);
+			Assert.assertEquals(expected.getNonZeros(), mb.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class ParForSharedReadInputTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_sharedinput";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForSharedReadInputTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 1e-6;
+	
+	private final static int rows = 1200;
+	private final static int cols = 50;
+	
+	@Override
+	public void setUp() 
+	{
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForSharedReadInputDense() 
+	{
+		runParForSharedReadInputTest(1.0);
+	}
+	
+	@Test
+	public void testParForSharedReadInputSparse() 
+	{
+		runParForSharedReadInputTest(0.05);
+	}
+	
+	private void runParForSharedReadInputTest( double sparsity )
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", input("X"), output("R") };
+		
+		double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+		writeInputMatrixWithMTD("X", X, true);
+		
+		//run test (the reassignment of X after the parfor loop fails
+		//if the pinned shared input was not released by the workers)
+		runTest(true, false, null, -1);
+		
+		//compare row sums of X+1 plus the total sum of X+1
+		double[] rsums = new double[rows];
+		double total = 0;
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ )
+				rsums[i] += X[i][j] + 1;
+			total += rsums[i];
+		}
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+		for( int i=0; i<rows; i++ )
+			Assert.assertEquals(rsums[i] + total, dmlfile.get(new CellIndex(i+1, 1)), eps);
+	}
+}